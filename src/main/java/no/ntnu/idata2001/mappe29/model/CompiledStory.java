@@ -0,0 +1,231 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import no.ntnu.idata2001.mappe29.model.exceptions.BrokenLinksException;
+
+/**
+ * Represents a compiled form of a story where every link has already been resolved to the
+ * passage it links to. The passages of the story get dense ids from 0, where the opening passage
+ * always has id 0, and the target of every link is stored both as a passage id and as a direct
+ * reference to the passage. Moving through the story is then a single lookup instead of resolving
+ * the reference of the link on every step, and a link that does not refer to a passage is
+ * reported once when the story is compiled.
+ *
+ * <p>A compiled story is a snapshot of the story. If passages, links or the actions of links are
+ * added to or removed from the story afterwards, {@link #isUpToDate()} returns false and the
+ * story must be compiled again.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.23.
+ */
+public final class CompiledStory {
+  private final Story story;
+  private final int modificationCount;
+  private final Passage[] passages;
+  private final Map<Passage, Integer> passageIds;
+  private final int[][] linkTargets;
+  private final Map<Link, Passage> linkPassages;
+  private final LinkEffect[][] linkEffects;
+
+  /**
+   * Creates an instance of CompiledStory.
+   *
+   * @param story             the story that was compiled.
+   * @param modificationCount the modification count of the story when it was compiled.
+   * @param passages          the passages of the story ordered by their ids.
+   * @param passageIds        the ids of the passages of the story.
+   * @param linkTargets       the passage ids of the targets of the links of every passage.
+   * @param linkPassages      the passages that the links of the story link to.
+   * @param linkEffects       the fused effects of the actions of the links of every passage.
+   */
+  private CompiledStory(Story story, int modificationCount, Passage[] passages,
+                        Map<Passage, Integer> passageIds, int[][] linkTargets,
+                        Map<Link, Passage> linkPassages, LinkEffect[][] linkEffects) {
+    this.story = story;
+    this.modificationCount = modificationCount;
+    this.passages = passages;
+    this.passageIds = passageIds;
+    this.linkTargets = linkTargets;
+    this.linkPassages = linkPassages;
+    this.linkEffects = linkEffects;
+  }
+
+  /**
+   * Compiles the specified story by resolving the target of every link in its passages.
+   *
+   * @param story the specified story.
+   * @return the compiled story.
+   * @throws IllegalArgumentException if the specified story is null.
+   * @throws BrokenLinksException     if one or more links do not refer to a passage in the story.
+   */
+  public static CompiledStory compile(Story story) throws BrokenLinksException {
+    if (story == null) {
+      throw new IllegalArgumentException("Story cannot be null");
+    }
+    List<Passage> passageList = new ArrayList<>(story.getPassages().size());
+    Map<Passage, Integer> passageIds = new IdentityHashMap<>();
+    passageList.add(story.getOpeningPassage());
+    passageIds.put(story.getOpeningPassage(), 0);
+    for (Passage passage : story.getPassages()) {
+      if (!passageIds.containsKey(passage)) {
+        passageIds.put(passage, passageList.size());
+        passageList.add(passage);
+      }
+    }
+
+    Passage[] passages = passageList.toArray(new Passage[0]);
+    int[][] linkTargets = new int[passages.length][];
+    Map<Link, Passage> linkPassages = new IdentityHashMap<>();
+    LinkEffect[][] linkEffects = new LinkEffect[passages.length][];
+    List<String> brokenLinkTexts = new ArrayList<>();
+    for (int passageId = 0; passageId < passages.length; passageId++) {
+      List<Link> links = passages[passageId].getLinks();
+      linkTargets[passageId] = new int[links.size()];
+      linkEffects[passageId] = new LinkEffect[links.size()];
+      for (int linkIndex = 0; linkIndex < links.size(); linkIndex++) {
+        Link link = links.get(linkIndex);
+        linkEffects[passageId][linkIndex] = link.getEffect();
+        Passage target = story.getPassageByTitle(link.getReference());
+        if (target == null) {
+          brokenLinkTexts.add(link.getText());
+          linkTargets[passageId][linkIndex] = -1;
+        } else {
+          linkTargets[passageId][linkIndex] = passageIds.get(target);
+          linkPassages.put(link, target);
+        }
+      }
+    }
+    if (!brokenLinkTexts.isEmpty()) {
+      throw new BrokenLinksException("The story has broken links: "
+          + String.join(", ", brokenLinkTexts));
+    }
+
+    return new CompiledStory(story, story.getModificationCount(), passages, passageIds,
+        linkTargets, linkPassages, linkEffects);
+  }
+
+  /**
+   * Gets the story that was compiled.
+   *
+   * @return the story that was compiled.
+   */
+  public Story getStory() {
+    return this.story;
+  }
+
+  /**
+   * Checks if this compiled story still matches its story, meaning no passages, links or actions
+   * of links have been added to or removed from the story since it was compiled.
+   *
+   * @return true if this compiled story still matches its story, false otherwise.
+   */
+  public boolean isUpToDate() {
+    return this.modificationCount == this.story.getModificationCount();
+  }
+
+  /**
+   * Gets the number of passages in this compiled story. Passage ids go from 0 to one less than
+   * this number.
+   *
+   * @return the number of passages in this compiled story.
+   */
+  public int getPassageCount() {
+    return this.passages.length;
+  }
+
+  /**
+   * Gets the passage with the specified id.
+   *
+   * @param passageId the specified id.
+   * @return the passage with the specified id.
+   * @throws IllegalArgumentException if the specified id is out of range.
+   */
+  public Passage getPassage(int passageId) {
+    this.checkPassageId(passageId);
+    return this.passages[passageId];
+  }
+
+  /**
+   * Gets the id of the specified passage in this compiled story.
+   *
+   * @param passage the specified passage.
+   * @return the id of the specified passage, or -1 if the passage is not in this compiled story.
+   */
+  public int getPassageId(Passage passage) {
+    Integer passageId = this.passageIds.get(passage);
+    return passageId == null ? -1 : passageId;
+  }
+
+  /**
+   * Gets the number of links of the passage with the specified id.
+   *
+   * @param passageId the specified passage id.
+   * @return the number of links of the passage.
+   * @throws IllegalArgumentException if the specified id is out of range.
+   */
+  public int getLinkCount(int passageId) {
+    this.checkPassageId(passageId);
+    return this.linkTargets[passageId].length;
+  }
+
+  /**
+   * Gets the id of the passage that the specified link of the specified passage links to. The
+   * links of a passage are numbered in the order of {@link Passage#getLinks()}.
+   *
+   * @param passageId the specified passage id.
+   * @param linkIndex the specified index of the link in the links of the passage.
+   * @return the id of the passage that the link links to.
+   * @throws IllegalArgumentException if the specified passage id or link index is out of range.
+   */
+  public int getLinkTarget(int passageId, int linkIndex) {
+    this.checkPassageId(passageId);
+    if (linkIndex < 0 || linkIndex >= this.linkTargets[passageId].length) {
+      throw new IllegalArgumentException("Link index is out of range");
+    }
+    return this.linkTargets[passageId][linkIndex];
+  }
+
+  /**
+   * Gets the fused effect of the actions of the specified link of the specified passage, as it
+   * was when the story was compiled.
+   *
+   * @param passageId the specified passage id.
+   * @param linkIndex the specified index of the link in the links of the passage.
+   * @return the fused effect of the actions of the link.
+   * @throws IllegalArgumentException if the specified passage id or link index is out of range.
+   */
+  public LinkEffect getLinkEffect(int passageId, int linkIndex) {
+    this.checkPassageId(passageId);
+    if (linkIndex < 0 || linkIndex >= this.linkEffects[passageId].length) {
+      throw new IllegalArgumentException("Link index is out of range");
+    }
+    return this.linkEffects[passageId][linkIndex];
+  }
+
+  /**
+   * Gets the passage that the specified link links to. Only the link instances in the passages
+   * of the story are resolved, so an equal link that was created somewhere else is not found.
+   *
+   * @param link the specified link.
+   * @return the passage that the specified link links to, or {@code null} if the link is not one
+   *         of the links of this compiled story.
+   */
+  public Passage getTarget(Link link) {
+    return this.linkPassages.get(link);
+  }
+
+  /**
+   * Checks that the specified passage id is in range.
+   *
+   * @param passageId the specified passage id.
+   * @throws IllegalArgumentException if the specified passage id is out of range.
+   */
+  private void checkPassageId(int passageId) {
+    if (passageId < 0 || passageId >= this.passages.length) {
+      throw new IllegalArgumentException("Passage id is out of range");
+    }
+  }
+}
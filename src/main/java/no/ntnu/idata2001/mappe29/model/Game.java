@@ -1,7 +1,7 @@
 package no.ntnu.idata2001.mappe29.model;
 
 import java.util.List;
-import no.ntnu.idata2001.mappe29.model.exceptions.NoBrokenLinksException;
+import no.ntnu.idata2001.mappe29.model.exceptions.BrokenLinksException;
 import no.ntnu.idata2001.mappe29.model.goals.Goal;
 
 /**
@@ -14,6 +14,9 @@ import no.ntnu.idata2001.mappe29.model.goals.Goal;
 public class Game {
   private Player player;
   private Story story;
+  private CompiledStory compiledStory;
+  private int failedModificationCount;
+  private String compileFailure;
   private List<Goal> goals;
 
   /**
@@ -28,6 +31,7 @@ public class Game {
     this.setPlayer(player);
     this.setStory(story);
     this.setGoals(goals);
+    this.player.setItemDictionary(this.story.getItemDictionary());
   }
 
   /**
@@ -62,7 +66,8 @@ public class Game {
   }
 
   /**
-   * Sets the story of this game to the specified story.
+   * Sets the story of this game to the specified story, and compiles it so the links of the
+   * story are resolved once instead of on every move.
    *
    * @param story the specified story.
    * @throws IllegalArgumentException if the specified story is null or contains broken links.
@@ -70,13 +75,58 @@ public class Game {
   private void setStory(Story story) {
     if (story == null) {
       throw new IllegalArgumentException("Story cannot be null");
+    } else if (story.hasBrokenLinks()) {
+      throw new IllegalArgumentException("Story cannot contain broken links");
     }
+    this.story = story;
+    this.failedModificationCount = -1;
+    this.compileFailure = null;
     try {
-      story.getBrokenLinks();
-      throw new IllegalArgumentException("Story cannot contain broken links");
-    } catch (NoBrokenLinksException exception) {
-      this.story = story;
+      this.compiledStory = CompiledStory.compile(this.story);
+    } catch (BrokenLinksException exception) {
+      throw new IllegalArgumentException(exception.getMessage());
+    }
+  }
+
+  /**
+   * Finds an up-to-date compiled story of this game. The story is compiled again if it has
+   * changed since it was last compiled, unless compiling it already failed without the story
+   * changing since.
+   *
+   * @return the compiled story of this game, or {@code null} if the story contains broken links.
+   */
+  private CompiledStory findCompiledStory() {
+    int modificationCount = this.story.getModificationCount();
+    if (!this.compiledStory.isUpToDate() && modificationCount != this.failedModificationCount) {
+      try {
+        this.compiledStory = CompiledStory.compile(this.story);
+        this.failedModificationCount = -1;
+        this.compileFailure = null;
+      } catch (BrokenLinksException exception) {
+        this.failedModificationCount = modificationCount;
+        this.compileFailure = exception.getMessage();
+      }
+    }
+    CompiledStory upToDateCompiledStory = null;
+    if (this.compiledStory.isUpToDate()) {
+      upToDateCompiledStory = this.compiledStory;
     }
+    return upToDateCompiledStory;
+  }
+
+  /**
+   * Gets the compiled story of this game. The story is compiled again first if it has changed
+   * since it was last compiled.
+   *
+   * @return the compiled story of this game.
+   * @throws IllegalArgumentException if the story has changed and now contains broken links.
+   */
+  public CompiledStory getCompiledStory() {
+    CompiledStory upToDateCompiledStory = this.findCompiledStory();
+    if (upToDateCompiledStory == null) {
+      throw new IllegalArgumentException(this.compileFailure);
+    }
+    return upToDateCompiledStory;
   }
 
   /**
@@ -113,7 +163,10 @@ public class Game {
   }
 
   /**
-   * Goes to the passage that the specified link links to.
+   * Goes to the passage that the specified link links to. The links of the passages of the story
+   * are resolved through the compiled story, and any other link is looked up by its reference.
+   * While the story has changed and contains broken links, every link is looked up by its
+   * reference.
    *
    * @param link the specified link.
    * @return the passage that the specified link links to.
@@ -121,7 +174,18 @@ public class Game {
    *                                  this story.
    */
   public Passage go(Link link) {
-    return this.story.getPassage(link);
+    if (link == null) {
+      throw new IllegalArgumentException("Link cannot be null");
+    }
+    Passage passage = null;
+    CompiledStory upToDateCompiledStory = this.findCompiledStory();
+    if (upToDateCompiledStory != null) {
+      passage = upToDateCompiledStory.getTarget(link);
+    }
+    if (passage == null) {
+      passage = this.story.getPassage(link);
+    }
+    return passage;
   }
 
 }
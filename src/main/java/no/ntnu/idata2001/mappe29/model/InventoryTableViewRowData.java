@@ -1,7 +1,5 @@
 package no.ntnu.idata2001.mappe29.model;
 
-import javafx.scene.image.Image;
-
 /**
  * Represents an inventory row data of the inventory table view in the Passage screen of the Paths
  * Application.
@@ -10,40 +8,42 @@ import javafx.scene.image.Image;
  * @version 2023.05.22.
  */
 public class InventoryTableViewRowData {
-  private Image image;
+  private String imagePath;
   private String description;
 
   /**
    * Creates an instance of InventoryTableViewRowData.
    *
-   * @param image       the specified image of this inventory tableview row data.
+   * @param imagePath   the specified image path of this inventory tableview row data.
    * @param description the specified description of this inventory tableview row data.
    */
-  public InventoryTableViewRowData(Image image, String description) {
-    this.setImage(image);
+  public InventoryTableViewRowData(String imagePath, String description) {
+    this.setImagePath(imagePath);
     this.setDescription(description);
   }
 
   /**
-   * Sets the image of this inventory tableview row data to the specified image.
+   * Sets the image path of this inventory tableview row data to the specified image path.
    *
-   * @param image the specified image.
-   * @throws IllegalArgumentException if the specified image is null.
+   * @param imagePath the specified image path.
+   * @throws IllegalArgumentException if the specified image path is null or blank.
    */
-  private void setImage(Image image) {
-    if (image == null) {
-      throw new IllegalArgumentException("Image cannot be null");
+  private void setImagePath(String imagePath) {
+    if (imagePath == null) {
+      throw new IllegalArgumentException("Image path cannot be null");
+    } else if (imagePath.isBlank()) {
+      throw new IllegalArgumentException("Image path cannot be blank");
     }
-    this.image = image;
+    this.imagePath = imagePath;
   }
 
   /**
-   * Gets the image of this inventory tableview row data.
+   * Gets the image path of this inventory tableview row data.
    *
-   * @return the image of this inventory tableview row data.
+   * @return the image path of this inventory tableview row data.
    */
-  public Image getImage() {
-    return this.image;
+  public String getImagePath() {
+    return this.imagePath;
   }
 
   /**
@@ -0,0 +1,103 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper methods for an inventory that is stored as the bits of a long array, where bit n is set
+ * if the item with id n in an {@link ItemDictionary ItemDictionary} is in the inventory. Used by
+ * the analyzers that play a story without creating a player for every step.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+final class ItemBits {
+
+  /**
+   * Private constructor, since this class only has static methods.
+   */
+  private ItemBits() {
+  }
+
+  /**
+   * Gets the number of long words that are needed to store one bit for every item in the
+   * specified dictionary.
+   *
+   * @param itemDictionary the specified dictionary.
+   * @return the number of long words.
+   */
+  static int getWordCount(ItemDictionary itemDictionary) {
+    return (itemDictionary.size() + 63) / 64;
+  }
+
+  /**
+   * Checks if the specified bit is set.
+   *
+   * @param bits  the specified bits.
+   * @param index the index of the bit.
+   * @return true if the bit is set, false otherwise.
+   */
+  static boolean get(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * Sets the specified bit.
+   *
+   * @param bits  the specified bits.
+   * @param index the index of the bit.
+   */
+  static void set(long[] bits, int index) {
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  /**
+   * Clears the specified bit.
+   *
+   * @param bits  the specified bits.
+   * @param index the index of the bit.
+   */
+  static void clear(long[] bits, int index) {
+    bits[index >>> 6] &= ~(1L << index);
+  }
+
+  /**
+   * Creates a player with the specified stats and the items of the specified bits.
+   *
+   * @param health         the specified health.
+   * @param score          the specified score.
+   * @param gold           the specified gold.
+   * @param items          the bits of the items in the inventory.
+   * @param itemDictionary the dictionary of the items.
+   * @return the player.
+   */
+  static Player createPlayer(int health, int score, int gold, long[] items,
+                             ItemDictionary itemDictionary) {
+    List<String> inventory = new ArrayList<>();
+    for (int itemId = 0; itemId < itemDictionary.size(); itemId++) {
+      if (get(items, itemId)) {
+        inventory.add(itemDictionary.getItem(itemId));
+      }
+    }
+    return new Player.PlayerBuilder().withHealth(health).withScore(score).withGold(gold)
+        .withInventory(inventory).build();
+  }
+
+  /**
+   * Reads the inventory of the specified player into the specified bits. Items that are not in
+   * the specified dictionary are ignored.
+   *
+   * @param player         the specified player.
+   * @param items          the bits of the items in the inventory.
+   * @param itemDictionary the dictionary of the items.
+   */
+  static void readInventory(Player player, long[] items, ItemDictionary itemDictionary) {
+    for (int itemId = 0; itemId < itemDictionary.size(); itemId++) {
+      if (player.hasItem(itemDictionary.getItem(itemId))) {
+        set(items, itemId);
+      } else {
+        clear(items, itemId);
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a dictionary that gives every item of a story a small number as id. The ids go from
+ * 0 and up in the order the items are interned, so a set of items can be stored as the bits of a
+ * {@link java.util.BitSet BitSet} instead of as a list of names.
+ *
+ * <p>The items of a story are interned when the story is parsed, and the items of item goals
+ * when the goals are made. Items are never removed from a dictionary, so an id stays valid as
+ * long as the dictionary exists.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+public final class ItemDictionary {
+  private final Map<String, Integer> itemIds;
+  private final List<String> items;
+
+  /**
+   * Creates an instance of ItemDictionary without any items.
+   */
+  public ItemDictionary() {
+    this.itemIds = new HashMap<>();
+    this.items = new ArrayList<>();
+  }
+
+  /**
+   * Interns the specified item and gets its id. An item that is already in this dictionary keeps
+   * the id it has.
+   *
+   * @param item the specified item.
+   * @return the id of the specified item.
+   * @throws IllegalArgumentException if the specified item is null or blank.
+   */
+  public int intern(String item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null");
+    } else if (item.isBlank()) {
+      throw new IllegalArgumentException("Item cannot be blank");
+    }
+    Integer itemId = this.itemIds.get(item);
+    if (itemId == null) {
+      itemId = this.items.size();
+      this.itemIds.put(item, itemId);
+      this.items.add(item);
+    }
+    return itemId;
+  }
+
+  /**
+   * Gets the id of the specified item.
+   *
+   * @param item the specified item.
+   * @return the id of the specified item, or -1 if the item is not in this dictionary.
+   */
+  public int getId(String item) {
+    Integer itemId = this.itemIds.get(item);
+    return itemId == null ? -1 : itemId;
+  }
+
+  /**
+   * Gets the item with the specified id.
+   *
+   * @param itemId the specified id.
+   * @return the item with the specified id.
+   * @throws IllegalArgumentException if the specified id is out of range.
+   */
+  public String getItem(int itemId) {
+    if (itemId < 0 || itemId >= this.items.size()) {
+      throw new IllegalArgumentException("Item id is out of range");
+    }
+    return this.items.get(itemId);
+  }
+
+  /**
+   * Gets the number of items in this dictionary.
+   *
+   * @return the number of items in this dictionary.
+   */
+  public int size() {
+    return this.items.size();
+  }
+}
@@ -0,0 +1,251 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents an immutable set of item ids from an {@link ItemDictionary ItemDictionary}. Adding
+ * or removing an item gives a new set and leaves this set as it is.
+ *
+ * <p>The set is a tree of arrays with up to 32 entries. The leaves are arrays of longs where
+ * every bit is an item id, so one leaf holds 2048 ids. A new set only copies the arrays on the
+ * path to the changed bit and shares every other array with the old set. For a story with fewer
+ * than 64 items, that is a single array with one long.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public final class ItemSet {
+  /**
+   * The set without any items.
+   */
+  public static final ItemSet EMPTY = new ItemSet(new long[0], 0, 0);
+
+  private static final int LEAF_SHIFT = 11;
+  private static final int LEVEL_SHIFT = 5;
+  private static final int WIDTH_MASK = 31;
+
+  private final Object root;
+  private final int levels;
+  private final int size;
+
+  /**
+   * Creates an instance of ItemSet.
+   *
+   * @param root   the root of the tree, a leaf if there are no levels above the leaves.
+   * @param levels the number of levels above the leaves.
+   * @param size   the number of item ids in the set.
+   */
+  private ItemSet(Object root, int levels, int size) {
+    this.root = root;
+    this.levels = levels;
+    this.size = size;
+  }
+
+  /**
+   * Creates a set with the item ids of the specified bits.
+   *
+   * @param bits the specified bits.
+   * @return a set with the item ids of the bits.
+   * @throws IllegalArgumentException if the specified bits are null.
+   */
+  public static ItemSet of(BitSet bits) {
+    if (bits == null) {
+      throw new IllegalArgumentException("Bits cannot be null");
+    }
+    ItemSet itemSet = EMPTY;
+    for (int itemId = bits.nextSetBit(0); itemId >= 0; itemId = bits.nextSetBit(itemId + 1)) {
+      itemSet = itemSet.with(itemId);
+    }
+    return itemSet;
+  }
+
+  /**
+   * Checks if this set contains the specified item id.
+   *
+   * @param itemId the specified item id.
+   * @return true if this set contains the item id, false otherwise.
+   */
+  public boolean contains(int itemId) {
+    boolean contains = false;
+    if (itemId >= 0 && itemId < this.getCapacity()) {
+      Object node = this.root;
+      for (int level = this.levels; node != null && level > 0; level--) {
+        Object[] children = (Object[]) node;
+        int index = getIndex(itemId, level);
+        node = index < children.length ? children[index] : null;
+      }
+      if (node != null) {
+        long[] words = (long[]) node;
+        int index = getIndex(itemId, 0);
+        contains = index < words.length && (words[index] & (1L << itemId)) != 0;
+      }
+    }
+    return contains;
+  }
+
+  /**
+   * Gets a set with the item ids of this set and the specified item id.
+   *
+   * @param itemId the specified item id.
+   * @return this set if it already contains the item id, a new set otherwise.
+   * @throws IllegalArgumentException if the specified item id is less than 0.
+   */
+  public ItemSet with(int itemId) {
+    if (itemId < 0) {
+      throw new IllegalArgumentException("Item id cannot be less than 0");
+    }
+    ItemSet itemSet = this;
+    if (!this.contains(itemId)) {
+      Object newRoot = this.root;
+      int newLevels = this.levels;
+      while (itemId >= getCapacity(newLevels)) {
+        newRoot = new Object[] {newRoot};
+        newLevels++;
+      }
+      itemSet = new ItemSet(setBit(newRoot, newLevels, itemId, true), newLevels, this.size + 1);
+    }
+    return itemSet;
+  }
+
+  /**
+   * Gets a set with the item ids of this set except the specified item id.
+   *
+   * @param itemId the specified item id.
+   * @return this set if it does not contain the item id, a new set otherwise.
+   */
+  public ItemSet without(int itemId) {
+    ItemSet itemSet = this;
+    if (this.contains(itemId)) {
+      itemSet = new ItemSet(setBit(this.root, this.levels, itemId, false), this.levels,
+          this.size - 1);
+    }
+    return itemSet;
+  }
+
+  /**
+   * Gets the number of item ids in this set.
+   *
+   * @return the number of item ids.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the item ids of this set as bits.
+   *
+   * @return a new set of bits with the item ids of this set.
+   */
+  public BitSet toBitSet() {
+    BitSet bits = new BitSet();
+    addBits(bits, this.root, this.levels, 0);
+    return bits;
+  }
+
+  /**
+   * Adds the bits of the specified node to the specified bits.
+   *
+   * @param bits      the specified bits.
+   * @param node      the node of the tree.
+   * @param level     the level of the node, 0 for a leaf.
+   * @param firstItem the first item id that the node covers.
+   */
+  private static void addBits(BitSet bits, Object node, int level, int firstItem) {
+    if (level == 0) {
+      long[] words = (long[]) node;
+      for (int index = 0; index < words.length; index++) {
+        long word = words[index];
+        while (word != 0) {
+          bits.set(firstItem + index * 64 + Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+    } else {
+      Object[] children = (Object[]) node;
+      long childCapacity = getCapacity(level - 1);
+      for (int index = 0; index < children.length; index++) {
+        if (children[index] != null) {
+          addBits(bits, children[index], level - 1, (int) (firstItem + index * childCapacity));
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets a copy of the path from the specified node to the specified item id, with the bit of
+   * the item id set to the specified value. The nodes that are not on the path are shared.
+   *
+   * @param node   the node of the tree, or null if there is no node yet.
+   * @param level  the level of the node, 0 for a leaf.
+   * @param itemId the specified item id.
+   * @param value  true to set the bit, false to clear it.
+   * @return the new node.
+   */
+  private static Object setBit(Object node, int level, int itemId, boolean value) {
+    int index = getIndex(itemId, level);
+    Object newNode;
+    if (level == 0) {
+      long[] words = node == null ? new long[0] : (long[]) node;
+      long[] newWords = Arrays.copyOf(words, Math.max(words.length, index + 1));
+      if (value) {
+        newWords[index] |= 1L << itemId;
+      } else {
+        newWords[index] &= ~(1L << itemId);
+      }
+      newNode = newWords;
+    } else {
+      Object[] children = node == null ? new Object[0] : (Object[]) node;
+      Object[] newChildren = Arrays.copyOf(children, Math.max(children.length, index + 1));
+      newChildren[index] = setBit(newChildren[index], level - 1, itemId, value);
+      newNode = newChildren;
+    }
+    return newNode;
+  }
+
+  /**
+   * Gets the index in a node at the specified level of the entry that covers the specified item
+   * id.
+   *
+   * @param itemId the specified item id.
+   * @param level  the level of the node, 0 for a leaf.
+   * @return the index of the entry.
+   */
+  private static int getIndex(int itemId, int level) {
+    int shift = level == 0 ? 6 : LEAF_SHIFT + (level - 1) * LEVEL_SHIFT;
+    return (itemId >>> shift) & WIDTH_MASK;
+  }
+
+  /**
+   * Gets the number of item ids that a tree with the specified number of levels can hold.
+   *
+   * @param levels the number of levels above the leaves.
+   * @return the number of item ids.
+   */
+  private static long getCapacity(int levels) {
+    return 1L << (LEAF_SHIFT + levels * LEVEL_SHIFT);
+  }
+
+  /**
+   * Gets the number of item ids that this set can hold without a new level.
+   *
+   * @return the number of item ids.
+   */
+  private long getCapacity() {
+    return getCapacity(this.levels);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    boolean equal = this == object;
+    if (!equal && object instanceof ItemSet other) {
+      equal = this.size == other.size && this.toBitSet().equals(other.toBitSet());
+    }
+    return equal;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.toBitSet().hashCode();
+  }
+}
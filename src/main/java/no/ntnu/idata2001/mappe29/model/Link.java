@@ -1,6 +1,7 @@
 package no.ntnu.idata2001.mappe29.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import no.ntnu.idata2001.mappe29.model.actions.Action;
 
@@ -13,6 +14,8 @@ public class Link {
   private String text;
   private String reference;
   private List<Action> actions;
+  private LinkEffect effect;
+  private final List<Passage> passages;
 
   /**
    * Creates an instance of Link.
@@ -27,6 +30,7 @@ public class Link {
     this.setText(text);
     this.setReference(reference);
     this.actions = new ArrayList<>();
+    this.passages = new ArrayList<>();
   }
 
   /**
@@ -43,6 +47,7 @@ public class Link {
     this.setText(text);
     this.setReference(reference);
     this.setActions(actions);
+    this.passages = new ArrayList<>();
   }
 
   /**
@@ -104,17 +109,33 @@ public class Link {
       throw new IllegalArgumentException("Action cannot be null");
     }
     this.actions.add(action);
+    this.handleActionsChanged();
+  }
+
+  /**
+   * Removes the specified action from the actions list.
+   *
+   * @param action the action to be removed.
+   * @throws IllegalArgumentException if the action is null or not in the actions of this link.
+   */
+  public void removeAction(Action action) {
+    if (action == null) {
+      throw new IllegalArgumentException("Action cannot be null");
+    } else if (!this.actions.remove(action)) {
+      throw new IllegalArgumentException("The specified action is not in the actions of this link");
+    }
+    this.handleActionsChanged();
   }
 
   /**
    * Returns the list of special objects that make it possible to influence the characteristics of a
-   * player.
+   * player. The list cannot be modified, actions are added and removed through this link.
    *
    * @return the list of special objects that make it possible to influence the characteristics of a
    *     player.
    */
   public List<Action> getActions() {
-    return this.actions;
+    return Collections.unmodifiableList(this.actions);
   }
 
   /**
@@ -129,7 +150,51 @@ public class Link {
     } else if (actions.isEmpty()) {
       throw new IllegalArgumentException("Actions cannot be empty");
     }
-    this.actions = actions;
+    this.actions = new ArrayList<>(actions);
+    this.effect = null;
+  }
+
+  /**
+   * Clears the fused effect of this link and tells the passages that contain this link that its
+   * actions have changed.
+   */
+  private void handleActionsChanged() {
+    this.effect = null;
+    for (Passage passage : this.passages) {
+      passage.handleLinkActionsChanged();
+    }
+  }
+
+  /**
+   * Registers the specified passage as a passage that contains this link, so that the passage is
+   * notified when actions are added to or removed from this link.
+   *
+   * @param passage the specified passage.
+   */
+  void addPassage(Passage passage) {
+    this.passages.add(passage);
+  }
+
+  /**
+   * Unregisters the specified passage as a passage that contains this link.
+   *
+   * @param passage the specified passage.
+   */
+  void removePassage(Passage passage) {
+    this.passages.remove(passage);
+  }
+
+  /**
+   * Returns the fused effect of the actions of this link. The effect is compiled the first time
+   * it is needed and compiled again if actions have been added or removed since.
+   *
+   * @return the fused effect of the actions of this link.
+   */
+  public LinkEffect getEffect() {
+    if (this.effect == null) {
+      this.effect = LinkEffect.compile(this.actions);
+    }
+    return this.effect;
   }
 
   @Override
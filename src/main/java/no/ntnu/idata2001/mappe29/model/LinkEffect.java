@@ -0,0 +1,395 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+
+/**
+ * Represents the combined effect of all the actions of a link on a player. The actions are fused
+ * into one effect when the effect is compiled, so applying it only takes a few primitive
+ * operations instead of executing every action one after the other.
+ *
+ * <p>Health and score are clamped by the player after every action, for example health never goes
+ * above 100 and score never goes below 0. A sequence of such clamped additions is again a single
+ * clamped addition, {@code min(max, max(min, value + delta))}, so the health and score of the
+ * effect are stored as a delta with a lower and upper bound, and the result is the same as
+ * executing the actions one by one. Gold has no bounds and is stored as a delta.</p>
+ *
+ * <p>The items of the inventory are stored as the items that must be in the inventory, the items
+ * that must not be in the inventory, and the items that are added and removed. The effect checks
+ * all items before it changes the player, so either the whole effect is applied or none of it.
+ * If the actions cannot be fused, because they contain an unknown action or would always fail,
+ * the effect executes the actions one after the other instead.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.23.
+ */
+public final class LinkEffect {
+  private static final LinkEffect NO_EFFECT = new LinkEffect();
+
+  private long healthDelta;
+  private long healthMinimum;
+  private long healthMaximum;
+  private long scoreDelta;
+  private long scoreMinimum;
+  private long scoreMaximum;
+  private long goldDelta;
+  private String[] requiredItems;
+  private String[] forbiddenItems;
+  private String[] addedItems;
+  private String[] removedItems;
+  private int actionCount;
+  private List<Action> actions;
+
+  /**
+   * Creates an instance of LinkEffect that does not change the player.
+   */
+  private LinkEffect() {
+    this.healthDelta = 0;
+    this.healthMinimum = Long.MIN_VALUE;
+    this.healthMaximum = Long.MAX_VALUE;
+    this.scoreDelta = 0;
+    this.scoreMinimum = Long.MIN_VALUE;
+    this.scoreMaximum = Long.MAX_VALUE;
+    this.goldDelta = 0;
+    this.requiredItems = new String[0];
+    this.forbiddenItems = new String[0];
+    this.addedItems = new String[0];
+    this.removedItems = new String[0];
+    this.actionCount = 0;
+    this.actions = null;
+  }
+
+  /**
+   * Compiles the specified actions into one effect.
+   *
+   * @param actions the specified actions, in the order they are executed.
+   * @return the effect of the specified actions.
+   * @throws IllegalArgumentException if the specified actions are null or one of them is null.
+   */
+  public static LinkEffect compile(List<Action> actions) {
+    if (actions == null) {
+      throw new IllegalArgumentException("Actions cannot be null");
+    } else if (actions.isEmpty()) {
+      return NO_EFFECT;
+    }
+    LinkEffect linkEffect = new LinkEffect();
+    linkEffect.actionCount = actions.size();
+    Map<String, Boolean> firstItemAdded = new LinkedHashMap<>();
+    Map<String, Boolean> lastItemAdded = new LinkedHashMap<>();
+    boolean fused = true;
+    for (Action action : actions) {
+      if (action == null) {
+        throw new IllegalArgumentException("One of the actions is null");
+      }
+      if (action instanceof AddHealthAction addHealthAction) {
+        linkEffect.addHealth(addHealthAction.getHealth(), Long.MIN_VALUE, 100);
+      } else if (action instanceof ReduceHealthAction reduceHealthAction) {
+        linkEffect.addHealth(-reduceHealthAction.getHealth(), 0, Long.MAX_VALUE);
+      } else if (action instanceof AddScoreAction addScoreAction) {
+        linkEffect.addScore(addScoreAction.getPoints(), Long.MIN_VALUE, Long.MAX_VALUE);
+      } else if (action instanceof ReduceScoreAction reduceScoreAction) {
+        linkEffect.addScore(-reduceScoreAction.getPoints(), 0, Long.MAX_VALUE);
+      } else if (action instanceof AddGoldAction addGoldAction) {
+        linkEffect.goldDelta += addGoldAction.getGold();
+      } else if (action instanceof ReduceGoldAction reduceGoldAction) {
+        linkEffect.goldDelta -= reduceGoldAction.getGold();
+      } else if (action instanceof AddToInventoryAction addToInventoryAction) {
+        fused &= recordItem(addToInventoryAction.getItem(), true, firstItemAdded, lastItemAdded);
+      } else if (action instanceof RemoveFromInventoryAction removeFromInventoryAction) {
+        fused &= recordItem(removeFromInventoryAction.getItem(), false, firstItemAdded,
+            lastItemAdded);
+      } else {
+        fused = false;
+      }
+    }
+
+    if (fused) {
+      linkEffect.setItems(firstItemAdded, lastItemAdded);
+    } else {
+      linkEffect.actions = new ArrayList<>(actions);
+    }
+    return linkEffect;
+  }
+
+  /**
+   * Records that the specified item is added to or removed from the inventory.
+   *
+   * @param item           the specified item.
+   * @param added          true if the item is added, false if it is removed.
+   * @param firstItemAdded whether the first action on every item adds it.
+   * @param lastItemAdded  whether the last action on every item adds it.
+   * @return true if the item can be added or removed after the earlier actions on it, false if
+   *         the action always fails.
+   */
+  private static boolean recordItem(String item, boolean added,
+                                    Map<String, Boolean> firstItemAdded,
+                                    Map<String, Boolean> lastItemAdded) {
+    Boolean lastAdded = lastItemAdded.put(item, added);
+    firstItemAdded.putIfAbsent(item, added);
+    return lastAdded == null || lastAdded != added;
+  }
+
+  /**
+   * Sets the items of this effect from the first and last action on every item.
+   *
+   * @param firstItemAdded whether the first action on every item adds it.
+   * @param lastItemAdded  whether the last action on every item adds it.
+   */
+  private void setItems(Map<String, Boolean> firstItemAdded, Map<String, Boolean> lastItemAdded) {
+    List<String> required = new ArrayList<>();
+    List<String> forbidden = new ArrayList<>();
+    List<String> added = new ArrayList<>();
+    List<String> removed = new ArrayList<>();
+    for (Map.Entry<String, Boolean> entry : firstItemAdded.entrySet()) {
+      String item = entry.getKey();
+      boolean firstAdded = entry.getValue();
+      boolean lastAdded = lastItemAdded.get(item);
+      if (firstAdded) {
+        forbidden.add(item);
+        if (lastAdded) {
+          added.add(item);
+        }
+      } else {
+        required.add(item);
+        if (!lastAdded) {
+          removed.add(item);
+        }
+      }
+    }
+    this.requiredItems = required.toArray(new String[0]);
+    this.forbiddenItems = forbidden.toArray(new String[0]);
+    this.addedItems = added.toArray(new String[0]);
+    this.removedItems = removed.toArray(new String[0]);
+  }
+
+  /**
+   * Adds the specified clamped addition to the health of this effect.
+   *
+   * @param delta   the health that is added.
+   * @param minimum the lower bound of the health after the addition.
+   * @param maximum the upper bound of the health after the addition.
+   */
+  private void addHealth(long delta, long minimum, long maximum) {
+    this.healthDelta += delta;
+    this.healthMinimum = clamp(shift(this.healthMinimum, delta), minimum, maximum);
+    this.healthMaximum = clamp(shift(this.healthMaximum, delta), minimum, maximum);
+  }
+
+  /**
+   * Adds the specified clamped addition to the score of this effect.
+   *
+   * @param delta   the score that is added.
+   * @param minimum the lower bound of the score after the addition.
+   * @param maximum the upper bound of the score after the addition.
+   */
+  private void addScore(long delta, long minimum, long maximum) {
+    this.scoreDelta += delta;
+    this.scoreMinimum = clamp(shift(this.scoreMinimum, delta), minimum, maximum);
+    this.scoreMaximum = clamp(shift(this.scoreMaximum, delta), minimum, maximum);
+  }
+
+  /**
+   * Shifts the specified bound by the specified delta. A bound that is unbounded stays unbounded.
+   *
+   * @param bound the specified bound.
+   * @param delta the specified delta.
+   * @return the shifted bound.
+   */
+  private static long shift(long bound, long delta) {
+    long shiftedBound = bound;
+    if (bound != Long.MIN_VALUE && bound != Long.MAX_VALUE) {
+      shiftedBound = bound + delta;
+    }
+    return shiftedBound;
+  }
+
+  /**
+   * Clamps the specified value between the specified minimum and maximum.
+   *
+   * @param value   the specified value.
+   * @param minimum the specified minimum.
+   * @param maximum the specified maximum.
+   * @return the clamped value.
+   */
+  private static long clamp(long value, long minimum, long maximum) {
+    return Math.min(maximum, Math.max(minimum, value));
+  }
+
+  /**
+   * Applies this effect to the specified player.
+   *
+   * @param player the specified player.
+   * @throws IllegalArgumentException if the specified player is null, does not have an item that
+   *                                  is removed, or already has an item that is added.
+   */
+  public void apply(Player player) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player cannot be null");
+    }
+    if (this.actions != null) {
+      for (Action action : this.actions) {
+        action.execute(player);
+      }
+    } else {
+      for (String item : this.requiredItems) {
+        if (!player.hasItem(item)) {
+          throw new IllegalArgumentException("The inventory does not have the specified item");
+        }
+      }
+      for (String item : this.forbiddenItems) {
+        if (player.hasItem(item)) {
+          throw new IllegalArgumentException("Item is already in the inventory");
+        }
+      }
+      player.applyStats(this.applyToHealth(player.getHealth()),
+          this.applyToScore(player.getScore()), this.applyToGold(player.getGold()),
+          this.removedItems, this.addedItems);
+    }
+  }
+
+  /**
+   * Gets the state after this effect has been applied to the specified state. The specified
+   * state is not changed.
+   *
+   * @param state the specified state.
+   * @return the new state.
+   * @throws IllegalArgumentException if the specified state is null, does not have an item that
+   *                                  is removed, or already has an item that is added.
+   */
+  public PlayerState applyTo(PlayerState state) {
+    if (state == null) {
+      throw new IllegalArgumentException("Player state cannot be null");
+    }
+    PlayerState newState;
+    if (this.actions != null) {
+      Player player = state.toPlayer();
+      this.apply(player);
+      newState = player.snapshot();
+    } else {
+      for (String item : this.requiredItems) {
+        if (!state.hasItem(item)) {
+          throw new IllegalArgumentException("The inventory does not have the specified item");
+        }
+      }
+      for (String item : this.forbiddenItems) {
+        if (state.hasItem(item)) {
+          throw new IllegalArgumentException("Item is already in the inventory");
+        }
+      }
+      newState = state.withHealth(this.applyToHealth(state.getHealth()))
+          .withScore(this.applyToScore(state.getScore()))
+          .withGold(this.applyToGold(state.getGold()));
+      for (String item : this.removedItems) {
+        newState = newState.withoutItem(item);
+      }
+      for (String item : this.addedItems) {
+        newState = newState.withItem(item);
+      }
+    }
+    return newState;
+  }
+
+  /**
+   * Gets the health after this effect has been applied to the specified health.
+   *
+   * @param health the health before the effect.
+   * @return the health after the effect.
+   */
+  int applyToHealth(int health) {
+    return (int) clamp(health + this.healthDelta, this.healthMinimum, this.healthMaximum);
+  }
+
+  /**
+   * Gets the score after this effect has been applied to the specified score.
+   *
+   * @param score the score before the effect.
+   * @return the score after the effect.
+   */
+  int applyToScore(int score) {
+    return (int) clamp(score + this.scoreDelta, this.scoreMinimum, this.scoreMaximum);
+  }
+
+  /**
+   * Gets the gold after this effect has been applied to the specified gold.
+   *
+   * @param gold the gold before the effect.
+   * @return the gold after the effect.
+   */
+  int applyToGold(int gold) {
+    return (int) (gold + this.goldDelta);
+  }
+
+  /**
+   * Gets the items that must be in the inventory for this effect to be applied.
+   *
+   * @return the items that must be in the inventory.
+   */
+  String[] getRequiredItems() {
+    return this.requiredItems;
+  }
+
+  /**
+   * Gets the items that must not be in the inventory for this effect to be applied.
+   *
+   * @return the items that must not be in the inventory.
+   */
+  String[] getForbiddenItems() {
+    return this.forbiddenItems;
+  }
+
+  /**
+   * Gets the items that this effect adds to the inventory.
+   *
+   * @return the items that this effect adds to the inventory.
+   */
+  String[] getAddedItems() {
+    return this.addedItems;
+  }
+
+  /**
+   * Gets the items that this effect removes from the inventory.
+   *
+   * @return the items that this effect removes from the inventory.
+   */
+  String[] getRemovedItems() {
+    return this.removedItems;
+  }
+
+  /**
+   * Gets the actions that this effect executes one after the other when it was not fused.
+   *
+   * @return the actions of this effect, or {@code null} if this effect was fused.
+   */
+  List<Action> getActions() {
+    return this.actions;
+  }
+
+  /**
+   * Checks if this effect was fused, or if it executes the actions one after the other.
+   *
+   * @return true if this effect was fused, false otherwise.
+   */
+  public boolean isFused() {
+    return this.actions == null;
+  }
+
+  /**
+   * Gets the number of actions that were compiled into this effect.
+   *
+   * @return the number of actions that were compiled into this effect.
+   */
+  public int getActionCount() {
+    return this.actionCount;
+  }
+}
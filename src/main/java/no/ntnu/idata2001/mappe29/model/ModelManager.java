@@ -1,12 +1,15 @@
 package no.ntnu.idata2001.mappe29.model;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import javafx.scene.image.Image;
+import java.util.concurrent.ConcurrentHashMap;
 import no.ntnu.idata2001.mappe29.PathsApp;
 import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
 import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
@@ -16,8 +19,13 @@ import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
 import no.ntnu.idata2001.mappe29.model.exceptions.InvalidLinksException;
 import no.ntnu.idata2001.mappe29.model.exceptions.InvalidPassagesException;
 import no.ntnu.idata2001.mappe29.model.exceptions.ModelComponentsInitializationException;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalog;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalogEntry;
 import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileFormatter;
 import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileManager;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportResult;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryParseCache;
+import no.ntnu.idata2001.mappe29.model.goals.GoalTracker;
 import no.ntnu.idata2001.mappe29.userinterface.screens.Screen;
 
 /**
@@ -31,8 +39,10 @@ public class ModelManager {
   private final Map<String, Story> storyCollection;
   private final Random randomGenerator;
   private final StoryFileManager storyFileManager;
+  private final StoryCatalog storyCatalog;
   private User user;
   private Player player;
+  private GoalTracker goalTracker;
   private final PathsApp pathsApp;
   private final List<Screen> storyCollectionSubscribers;
 
@@ -50,11 +60,21 @@ public class ModelManager {
       throw new IllegalArgumentException("PathsApp cannot be null");
     }
     this.pathsApp = pathsApp;
-    this.storyCollection = new HashMap<>();
+    this.storyCollection = new ConcurrentHashMap<>();
     this.randomGenerator = new Random();
     this.storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    this.storyCatalog = new StoryCatalog(
+        Path.of(System.getProperty("user.home"), "Paths", "stories"),
+        Path.of(System.getProperty("user.home"), "Paths", "cache", "catalog.index"));
+    try {
+      this.storyFileManager.setStoryParseCache(new StoryParseCache(
+          Path.of(System.getProperty("user.home"), "Paths", "cache")));
+    } catch (IOException exception) {
+      // Story files are parsed without a cache if the cache directory cannot be read.
+    }
     this.initializeModelComponents();
     this.user = new User();
+    this.goalTracker = null;
     this.storyCollectionSubscribers = new ArrayList<>();
   }
 
@@ -67,6 +87,75 @@ public class ModelManager {
     return this.storyCollection;
   }
 
+  /**
+   * Adds the specified stories to the story collection in one step. Stories with the same title
+   * as a story in the story collection, or as an earlier story in the specified stories, are not
+   * added. The story collection is only changed after all the specified stories have been
+   * checked, so it is left unchanged if one of the stories is null. The stories are
+   * not published atomically, so a thread that iterates the story collection while they are
+   * added may see only some of them.
+   *
+   * @param stories the specified stories.
+   * @return the stories that were added to the story collection.
+   * @throws IllegalArgumentException if the specified stories are null or one of them is null.
+   */
+  public synchronized List<Story> addStories(Collection<Story> stories) {
+    if (stories == null) {
+      throw new IllegalArgumentException("Stories cannot be null");
+    }
+    Map<String, Story> newStories = new LinkedHashMap<>();
+    for (Story story : stories) {
+      if (story == null) {
+        throw new IllegalArgumentException("One of the stories is null");
+      }
+      if (!this.storyCollection.containsKey(story.getTitle())) {
+        newStories.putIfAbsent(story.getTitle(), story);
+      }
+    }
+    this.storyCollection.putAll(newStories);
+    return new ArrayList<>(newStories.values());
+  }
+
+  /**
+   * Gets the catalog of the story library directory, which is the Paths/stories directory in the
+   * home directory of the user.
+   *
+   * @return the story catalog.
+   */
+  public StoryCatalog getStoryCatalog() {
+    return this.storyCatalog;
+  }
+
+  /**
+   * Gets the story of the specified catalog entry. If the story collection has no story with
+   * the title of the entry, the story file is parsed, checked for broken links and added to the
+   * story collection. The story can be loaded on a background thread, since the story
+   * collection can be read while stories are added to it.
+   *
+   * @param entry the specified catalog entry.
+   * @return the story of the catalog entry.
+   * @throws IllegalArgumentException if the specified entry is null.
+   * @throws CorruptStoryException    if the story file cannot be read, is corrupt or has broken
+   *                                  links.
+   */
+  public Story loadCatalogStory(StoryCatalogEntry entry) throws CorruptStoryException {
+    if (entry == null) {
+      throw new IllegalArgumentException("Catalog entry cannot be null");
+    }
+    Story story = this.storyCollection.get(entry.getTitle());
+    if (story == null) {
+      StoryImportResult importResult = this.storyFileManager
+          .importStories(List.of(entry.getPath()));
+      if (importResult.hasFailedFiles()) {
+        throw new CorruptStoryException(importResult.getFailedFiles().get(entry.getPath()));
+      }
+      Story parsedStory = importResult.getStories().get(0);
+      this.addStories(List.of(parsedStory));
+      story = this.storyCollection.get(parsedStory.getTitle());
+    }
+    return story;
+  }
+
   /**
    * Gets a random story from the story collection.
    *
@@ -139,6 +228,29 @@ public class ModelManager {
     return this.player;
   }
 
+  /**
+   * Starts tracking the current goals of the player, replacing the goal tracker of the previous
+   * story if there is one.
+   *
+   * @return the new goal tracker.
+   */
+  public GoalTracker startGoalTracker() {
+    if (this.goalTracker != null) {
+      this.goalTracker.detach();
+    }
+    this.goalTracker = new GoalTracker(this.player);
+    return this.goalTracker;
+  }
+
+  /**
+   * Gets the goal tracker of the story that is played.
+   *
+   * @return the goal tracker, or {@code null} if no story has been started.
+   */
+  public GoalTracker getGoalTracker() {
+    return this.goalTracker;
+  }
+
   /**
    * Initializes the model components of the Paths application.
    *
@@ -150,15 +262,12 @@ public class ModelManager {
     Story trollAdventureStory;
     try {
       trollAdventureStory = this.createTrollAdventureStory();
-      Image storyImage = new Image(this.pathsApp.getClass()
-          .getResource("/images/icons/story_icon.png").toExternalForm());
-      trollAdventureStory.setImage(storyImage);
-      Image storyBackgroundImage = new Image(this.getClass()
-          .getResource("/images/backgrounds/forest_image.png").toExternalForm());
-      trollAdventureStory.setBackgroundImage(storyBackgroundImage);
-      Image storyDarkBackgroundImage = new Image(this.getClass()
-          .getResource("/images/backgrounds/forest_image_dark.png").toExternalForm());
-      trollAdventureStory.setDarkBackgroundImage(storyDarkBackgroundImage);
+      String storyImagePath = "/images/icons/story_icon.png";
+      trollAdventureStory.setImagePath(storyImagePath);
+      String storyBackgroundImagePath = "/images/backgrounds/forest_image.png";
+      trollAdventureStory.setBackgroundImagePath(storyBackgroundImagePath);
+      String storyDarkBackgroundImagePath = "/images/backgrounds/forest_image_dark.png";
+      trollAdventureStory.setDarkBackgroundImagePath(storyDarkBackgroundImagePath);
       trollAdventureStory.setIntro1Text(
           "Embark on an extraordinary quest through the realm of trolls. In this immersive"
               + " adventure, you'll navigate treacherous landscapes and face the enigmatic"
@@ -195,6 +304,7 @@ public class ModelManager {
       throw new CorruptStoryException("Story created during application "
           + "initialization is corrupt. Broken links have been detected");
     }
+    StoryFileFormatter.internItems(story);
 
     return story;
   }
@@ -241,9 +351,8 @@ public class ModelManager {
     continueLink.addAction(new AddToInventoryAction("Sword"));
     continueLink.addAction(new AddToInventoryAction("Magic_Grimoire"));
     openingPassage.addLink(continueLink);
-    Image openingPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/opening_image.png").toExternalForm());
-    openingPassage.setBackgroundImage(openingPassageImage);
+    String openingPassageImagePath = "/images/stories/troll_adventure/opening_image.png";
+    openingPassage.setBackgroundImagePath(openingPassageImagePath);
 
     List<Passage> passages = new ArrayList<>();
     passages.add(openingPassage);
@@ -253,10 +362,8 @@ public class ModelManager {
             + "grimoire in your inventory");
     Link continueLink2 = new Link("Continue", "troll_adventure_what_to_do_passage1");
     youSeeTrollPassage.addLink(continueLink2);
-    Image youSeeTrollPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/you_see_troll_image.png")
-        .toExternalForm());
-    youSeeTrollPassage.setBackgroundImage(youSeeTrollPassageImage);
+    String youSeeTrollPassageImagePath = "/images/stories/troll_adventure/you_see_troll_image.png";
+    youSeeTrollPassage.setBackgroundImagePath(youSeeTrollPassageImagePath);
     passages.add(youSeeTrollPassage);
 
 
@@ -271,7 +378,7 @@ public class ModelManager {
     Passage whatToDoPassage1 = new Passage("troll_adventure_what_to_do_passage1",
         "What will you do?");
     whatToDoPassage1.addAllLinks(talkToTrollLink, attackTheTrollLink, runAwayLink);
-    whatToDoPassage1.setBackgroundImage(youSeeTrollPassageImage);
+    whatToDoPassage1.setBackgroundImagePath(youSeeTrollPassageImagePath);
     passages.add(whatToDoPassage1);
 
     Passage talkToTrollPassage = new Passage("troll_adventure_talk_to_troll_passage",
@@ -281,10 +388,8 @@ public class ModelManager {
     Link blowKissLink = new Link("Blow a kiss", "troll_adventure_blow_kiss_passage");
     blowKissLink.addAction(new AddScoreAction(100));
     talkToTrollPassage.addAllLinks(sayHelloLink, blowKissLink);
-    Image talkToTrollPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/talk_to_troll_image.png")
-        .toExternalForm());
-    talkToTrollPassage.setBackgroundImage(talkToTrollPassageImage);
+    String talkToTrollPassageImagePath = "/images/stories/troll_adventure/talk_to_troll_image.png";
+    talkToTrollPassage.setBackgroundImagePath(talkToTrollPassageImagePath);
     passages.add(talkToTrollPassage);
 
     Passage sayHelloPassage = new Passage("troll_adventure_say_hello_passage",
@@ -292,10 +397,8 @@ public class ModelManager {
     Link failedContinueLink = new Link("Continue", "troll_adventure_story_failed"
         + "_passage");
     sayHelloPassage.addLink(failedContinueLink);
-    Image sayHelloPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/say_hello_image.png")
-        .toExternalForm());
-    sayHelloPassage.setBackgroundImage(sayHelloPassageImage);
+    String sayHelloPassageImagePath = "/images/stories/troll_adventure/say_hello_image.png";
+    sayHelloPassage.setBackgroundImagePath(sayHelloPassageImagePath);
     passages.add(sayHelloPassage);
 
     Passage blowKissPassage = new Passage("troll_adventure_blow_kiss_passage",
@@ -304,10 +407,8 @@ public class ModelManager {
         "troll_adventure_kiss_troll_passage");
     kissTrollLink.addAction(new AddScoreAction(100));
     blowKissPassage.addAllLinks(kissTrollLink, attackTheTrollLink);
-    Image blowKissPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/blow_kiss_image.png")
-        .toExternalForm());
-    blowKissPassage.setBackgroundImage(blowKissPassageImage);
+    String blowKissPassageImagePath = "/images/stories/troll_adventure/blow_kiss_image.png";
+    blowKissPassage.setBackgroundImagePath(blowKissPassageImagePath);
     passages.add(blowKissPassage);
 
     Passage kissTrollPassage = new Passage("troll_adventure_kiss_troll_passage",
@@ -317,10 +418,8 @@ public class ModelManager {
     tryToMakeLoveLink.addAction(new AddGoldAction(1000));
     tryToMakeLoveLink.addAction(new AddScoreAction(300));
     kissTrollPassage.addAllLinks(tryToMakeLoveLink, runAwayLink);
-    Image kissTrollPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/kiss_troll_image.png")
-        .toExternalForm());
-    kissTrollPassage.setBackgroundImage(kissTrollPassageImage);
+    String kissTrollPassageImagePath = "/images/stories/troll_adventure/kiss_troll_image.png";
+    kissTrollPassage.setBackgroundImagePath(kissTrollPassageImagePath);
     passages.add(kissTrollPassage);
 
     Passage tryToMakeLovePassage = new Passage("troll_adventure_try_to_make_love_passage",
@@ -330,10 +429,9 @@ public class ModelManager {
     Link successContinueLink = new Link("Continue", "troll_adventure_story_success"
         + "_passage");
     tryToMakeLovePassage.addLink(successContinueLink);
-    Image tryToMakeLovePassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/try_to_make_love_image.png")
-        .toExternalForm());
-    tryToMakeLovePassage.setBackgroundImage(tryToMakeLovePassageImage);
+    String tryToMakeLovePassageImagePath =
+        "/images/stories/troll_adventure/try_to_make_love_image.png";
+    tryToMakeLovePassage.setBackgroundImagePath(tryToMakeLovePassageImagePath);
     passages.add(tryToMakeLovePassage);
 
 
@@ -348,20 +446,16 @@ public class ModelManager {
     Passage attackTrollPassage = new Passage("troll_adventure_attack_troll_passage",
         "How do you want to attack the troll?");
     attackTrollPassage.addAllLinks(useSwordLink, castMagicSpellLink);
-    Image attackTrollPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/attack_troll_image.png")
-        .toExternalForm());
-    attackTrollPassage.setBackgroundImage(attackTrollPassageImage);
+    String attackTrollPassageImagePath = "/images/stories/troll_adventure/attack_troll_image.png";
+    attackTrollPassage.setBackgroundImagePath(attackTrollPassageImagePath);
     passages.add(attackTrollPassage);
 
     Passage useSwordPassage = new Passage("troll_adventure_use_sword_passage",
         "As you swing your sword, the troll notices you. With a skillful maneuver, the "
             + "troll redirects your sword, and it pierces your chest. You die.");
     useSwordPassage.addLink(failedContinueLink);
-    Image useSwordPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/use_sword_image.png")
-        .toExternalForm());
-    useSwordPassage.setBackgroundImage(useSwordPassageImage);
+    String useSwordPassageImagePath = "/images/stories/troll_adventure/use_sword_image.png";
+    useSwordPassage.setBackgroundImagePath(useSwordPassageImagePath);
     passages.add(useSwordPassage);
 
     Passage castMagicSpellPassage = new Passage("troll_adventure_cast_magic_spell_passage",
@@ -369,10 +463,9 @@ public class ModelManager {
             + "troll to stone. As the troll solidifies, it shatters into a pile of rubble, "
             + "revealing 100 gold coins. You gain the gold coins and 50 score points.");
     castMagicSpellPassage.addLink(successContinueLink);
-    Image castMagicSpellPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/cast_magic_spell_image.png")
-        .toExternalForm());
-    castMagicSpellPassage.setBackgroundImage(castMagicSpellPassageImage);
+    String castMagicSpellPassageImagePath =
+        "/images/stories/troll_adventure/cast_magic_spell_image.png";
+    castMagicSpellPassage.setBackgroundImagePath(castMagicSpellPassageImagePath);
     passages.add(castMagicSpellPassage);
 
 
@@ -383,12 +476,10 @@ public class ModelManager {
         "troll_adventure_cast_magic_spell_passage");
     stopAndCastMagicSpell.addAction(new AddGoldAction(100));
     stopAndCastMagicSpell.addAction(new AddScoreAction(50));
-    Image runAwayPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/run_away_image.png")
-        .toExternalForm());
+    String runAwayPassageImagePath = "/images/stories/troll_adventure/run_away_image.png";
     Passage runAwayPassage = new Passage("troll_adventure_run_away_passage",
         "The troll sees you and runs after you.");
-    runAwayPassage.setBackgroundImage(runAwayPassageImage);
+    runAwayPassage.setBackgroundImagePath(runAwayPassageImagePath);
     runAwayPassage.addAllLinks(keepRunningLink, stopAndCastMagicSpell);
     passages.add(runAwayPassage);
 
@@ -397,24 +488,22 @@ public class ModelManager {
             + "blow. Your health diminishes, and with your last breath, you realize the futility "
             + "of your escape attempt.");
     keepRunningPassage.addLink(failedContinueLink);
-    Image keepRunningPassageImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/stories/troll_adventure/keep_running_image.png")
-        .toExternalForm());
-    keepRunningPassage.setBackgroundImage(keepRunningPassageImage);
+    String keepRunningPassageImagePath = "/images/stories/troll_adventure/keep_running_image.png";
+    keepRunningPassage.setBackgroundImagePath(keepRunningPassageImagePath);
     passages.add(keepRunningPassage);
 
     Passage trollAdventureStorySuccessPassage = new Passage(
         "troll_adventure_story_success_passage",
         "As you swing your sword, the troll notices you. With a skillful maneuver, the "
             + "troll redirects your sword, and it pierces your chest. You die.");
-    trollAdventureStorySuccessPassage.setBackgroundImage(useSwordPassageImage);
+    trollAdventureStorySuccessPassage.setBackgroundImagePath(useSwordPassageImagePath);
     passages.add(trollAdventureStorySuccessPassage);
 
     Passage trollAdventureStoryFailedPassage = new Passage(
         "troll_adventure_story_failed_passage",
         "As you swing your sword, the troll notices you. With a skillful maneuver, the "
             + "troll redirects your sword, and it pierces your chest. You die.");
-    trollAdventureStoryFailedPassage.setBackgroundImage(useSwordPassageImage);
+    trollAdventureStoryFailedPassage.setBackgroundImagePath(useSwordPassageImagePath);
     passages.add(trollAdventureStoryFailedPassage);
 
     return passages;
@@ -2,7 +2,6 @@ package no.ntnu.idata2001.mappe29.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import javafx.scene.image.Image;
 import no.ntnu.idata2001.mappe29.model.exceptions.InvalidLinksException;
 
 /**
@@ -19,7 +18,8 @@ public class Passage {
   private String content;
   private final List<Link> links;
   private boolean endingPassage;
-  private Image backgroundImage;
+  private String backgroundImagePath;
+  private final List<Story> stories;
 
   /**
    * Creates an instance of Passage.
@@ -33,7 +33,8 @@ public class Passage {
     this.setContent(content);
     this.links = new ArrayList<>();
     this.endingPassage = false;
-    this.backgroundImage = null;
+    this.backgroundImagePath = null;
+    this.stories = new ArrayList<>();
   }
 
   /**
@@ -86,25 +87,27 @@ public class Passage {
   }
 
   /**
-   * Sets the background image of this passage to the specified background image.
+   * Sets the background image path of this passage to the specified background image path.
    *
-   * @param backgroundImage the specified background image.
-   * @throws IllegalArgumentException if the specified background image is null.
+   * @param backgroundImagePath the specified background image path.
+   * @throws IllegalArgumentException if the specified background image path is null or blank.
    */
-  public void setBackgroundImage(Image backgroundImage) {
-    if (backgroundImage == null) {
-      throw new IllegalArgumentException("Background image cannot be null");
+  public void setBackgroundImagePath(String backgroundImagePath) {
+    if (backgroundImagePath == null) {
+      throw new IllegalArgumentException("Background image path cannot be null");
+    } else if (backgroundImagePath.isBlank()) {
+      throw new IllegalArgumentException("Background image path cannot be blank");
     }
-    this.backgroundImage = backgroundImage;
+    this.backgroundImagePath = backgroundImagePath;
   }
 
   /**
-   * Gets the background image of this passage.
+   * Gets the background image path of this passage.
    *
-   * @return the background image of this passage.
+   * @return the background image path of this passage.
    */
-  public Image getBackgroundImage() {
-    return this.backgroundImage;
+  public String getBackgroundImagePath() {
+    return this.backgroundImagePath;
   }
 
   /**
@@ -118,7 +121,12 @@ public class Passage {
     if (link == null) {
       throw new IllegalArgumentException("Link cannot be null");
     }
-    return this.links.add(link);
+    boolean added = this.links.add(link);
+    link.addPassage(this);
+    for (Story story : this.stories) {
+      story.handleLinkAdded(this, link);
+    }
+    return added;
   }
 
   /**
@@ -193,7 +201,39 @@ public class Passage {
     } else if (!this.links.contains(link)) {
       throw new IllegalArgumentException("The specified link is not in the links of this passage");
     }
-    this.links.remove(link);
+    Link removedLink = this.links.remove(this.links.indexOf(link));
+    removedLink.removePassage(this);
+    for (Story story : this.stories) {
+      story.handleLinkRemoved(this, removedLink);
+    }
+  }
+
+  /**
+   * Tells the stories that contain this passage that the actions of one of its links have changed.
+   */
+  void handleLinkActionsChanged() {
+    for (Story story : this.stories) {
+      story.handleLinkActionsChanged();
+    }
+  }
+
+  /**
+   * Registers the specified story as a story that contains this passage, so that the story is
+   * notified when links are added to or removed from this passage.
+   *
+   * @param story the specified story.
+   */
+  void addStory(Story story) {
+    this.stories.add(story);
+  }
+
+  /**
+   * Unregisters the specified story as a story that contains this passage.
+   *
+   * @param story the specified story.
+   */
+  void removeStory(Story story) {
+    this.stories.remove(story);
   }
 
   @Override
@@ -1,6 +1,8 @@
 package no.ntnu.idata2001.mappe29.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import no.ntnu.idata2001.mappe29.model.goals.Goal;
 
@@ -23,6 +25,10 @@ import no.ntnu.idata2001.mappe29.model.goals.Goal;
  *   debt.</li>
  * </ol>
  *
+ * <p>The inventory is stored as a bit for every item in the item dictionary of the player, so
+ * checking or changing an item does not search through a list. Items that are not in the
+ * dictionary are kept in a small list next to the bits.</p>
+ *
  * @author Tiago Brito.
  * @version 2023.02.23
  */
@@ -31,14 +37,44 @@ public class Player {
   private int health;
   private int score;
   private int gold;
-  private List<String> inventory;
+  private ItemDictionary itemDictionary;
+  private BitSet itemBits;
+  private List<String> otherItems;
   private List<Goal> goals;
+  private final List<PlayerStatListener> statListeners;
 
   /**
    * Private constructor to force use of PlayerBuilder.
    */
   private Player() {
+    this.itemDictionary = new ItemDictionary();
+    this.itemBits = new BitSet();
+    this.otherItems = new ArrayList<>();
+    this.statListeners = new ArrayList<>();
+  }
 
+  /**
+   * Adds the specified listener to the listeners that are notified when the stats of this player
+   * change.
+   *
+   * @param statListener the specified listener.
+   * @throws IllegalArgumentException if the specified listener is null.
+   */
+  public void addStatListener(PlayerStatListener statListener) {
+    if (statListener == null) {
+      throw new IllegalArgumentException("Stat listener cannot be null");
+    }
+    this.statListeners.add(statListener);
+  }
+
+  /**
+   * Removes the specified listener from the listeners that are notified when the stats of this
+   * player change.
+   *
+   * @param statListener the specified listener.
+   */
+  public void removeStatListener(PlayerStatListener statListener) {
+    this.statListeners.remove(statListener);
   }
 
   /**
@@ -131,7 +167,13 @@ public class Player {
     } else if (health > 100) {
       throw new IllegalArgumentException("Health attribute cannot be greater than 100");
     }
+    int oldHealth = this.health;
     this.health = health;
+    if (oldHealth != health) {
+      for (PlayerStatListener statListener : this.statListeners) {
+        statListener.onHealthChanged(this, oldHealth, health);
+      }
+    }
   }
 
   /**
@@ -186,7 +228,13 @@ public class Player {
     if (score < 0) {
       throw new IllegalArgumentException("Score attribute cannot be less than 0");
     }
+    int oldScore = this.score;
     this.score = score;
+    if (oldScore != score) {
+      for (PlayerStatListener statListener : this.statListeners) {
+        statListener.onScoreChanged(this, oldScore, score);
+      }
+    }
   }
 
   /**
@@ -232,7 +280,13 @@ public class Player {
    * @param gold the specified gold.
    */
   private void setGold(int gold) {
+    int oldGold = this.gold;
     this.gold = gold;
+    if (oldGold != gold) {
+      for (PlayerStatListener statListener : this.statListeners) {
+        statListener.onGoldChanged(this, oldGold, gold);
+      }
+    }
   }
 
   /**
@@ -247,10 +301,13 @@ public class Player {
       throw new IllegalArgumentException("Item cannot be null");
     } else if (item.isBlank()) {
       throw new IllegalArgumentException("Item cannot be blank");
-    } else if (this.inventory.contains(item)) {
+    } else if (this.hasItem(item)) {
       throw new IllegalArgumentException("Item is already in the inventory");
     }
-    this.inventory.add(item);
+    this.storeItem(item);
+    for (PlayerStatListener statListener : this.statListeners) {
+      statListener.onItemAdded(this, item);
+    }
   }
 
   /**
@@ -264,23 +321,54 @@ public class Player {
       throw new IllegalArgumentException("Item to be removed be null");
     } else if (item.isBlank()) {
       throw new IllegalArgumentException("Item to be removed be blank");
-    } else if (!this.inventory.contains(item)) {
+    } else if (!this.hasItem(item)) {
       throw new IllegalArgumentException("The inventory does not have the specified item");
     }
-    this.inventory.remove(item);
+    if (!this.otherItems.remove(item)) {
+      this.itemBits.clear(this.itemDictionary.getId(item));
+    }
+    for (PlayerStatListener statListener : this.statListeners) {
+      statListener.onItemRemoved(this, item);
+    }
   }
 
   /**
-   * Gets this player's inventory.
+   * Stores the specified item in the inventory of this player, as a bit if the item is in the item
+   * dictionary and in the list of other items if it is not. An item stays in the list of other
+   * items if it is interned later, since the item dictionary is shared and can still grow.
+   *
+   * @param item the specified item.
+   */
+  private void storeItem(String item) {
+    int itemId = this.itemDictionary.getId(item);
+    if (itemId >= 0) {
+      this.itemBits.set(itemId);
+    } else {
+      this.otherItems.add(item);
+    }
+  }
+
+  /**
+   * Gets this player's inventory. The items in the item dictionary come first in the order of
+   * their ids, followed by the other items in the order they were added. The returned list is a
+   * copy that cannot be modified.
    *
    * @return this player's inventory.
    */
   public List<String> getInventory() {
-    return this.inventory;
+    List<String> inventory = new ArrayList<>(this.itemBits.cardinality()
+        + this.otherItems.size());
+    for (int itemId = this.itemBits.nextSetBit(0); itemId >= 0;
+         itemId = this.itemBits.nextSetBit(itemId + 1)) {
+      inventory.add(this.itemDictionary.getItem(itemId));
+    }
+    inventory.addAll(this.otherItems);
+    return Collections.unmodifiableList(inventory);
   }
 
   /**
-   * Sets the inventory of this player to the specified inventory.
+   * Sets the inventory of this player to the specified inventory. The listeners of this player
+   * are notified of every item that is no longer in the inventory and every item that is new.
    *
    * @param inventory the specified inventory.
    * @throws IllegalArgumentException if the specified inventory is null.
@@ -289,7 +377,66 @@ public class Player {
     if (inventory == null) {
       throw new IllegalArgumentException("Inventory cannot be null");
     }
-    this.inventory = inventory;
+    List<String> oldInventory = this.getInventory();
+    this.itemBits = new BitSet(this.itemDictionary.size());
+    this.otherItems = new ArrayList<>();
+    for (String item : inventory) {
+      if (!this.hasItem(item)) {
+        this.storeItem(item);
+      }
+    }
+    for (PlayerStatListener statListener : this.statListeners) {
+      for (String item : oldInventory) {
+        if (!this.hasItem(item)) {
+          statListener.onItemRemoved(this, item);
+        }
+      }
+      for (String item : inventory) {
+        if (!oldInventory.contains(item)) {
+          statListener.onItemAdded(this, item);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the item dictionary that this player uses to store the inventory.
+   *
+   * @return the item dictionary of this player.
+   */
+  public ItemDictionary getItemDictionary() {
+    return this.itemDictionary;
+  }
+
+  /**
+   * Sets the item dictionary of this player to the specified item dictionary, usually the
+   * dictionary of the story that is played. The items in the inventory stay the same, they are
+   * only stored again with the ids of the new dictionary.
+   *
+   * @param itemDictionary the specified item dictionary.
+   * @throws IllegalArgumentException if the specified item dictionary is null.
+   */
+  public void setItemDictionary(ItemDictionary itemDictionary) {
+    if (itemDictionary == null) {
+      throw new IllegalArgumentException("Item dictionary cannot be null");
+    }
+    List<String> inventory = this.getInventory();
+    this.itemDictionary = itemDictionary;
+    this.itemBits = new BitSet(itemDictionary.size());
+    this.otherItems = new ArrayList<>();
+    for (String item : inventory) {
+      this.storeItem(item);
+    }
+  }
+
+  /**
+   * Gets the items in the inventory of this player that are in the item dictionary, as a set of
+   * item ids. The returned set is a copy.
+   *
+   * @return the ids of the items in the inventory of this player.
+   */
+  public BitSet getItemBits() {
+    return (BitSet) this.itemBits.clone();
   }
 
   /**
@@ -306,13 +453,69 @@ public class Player {
   }
 
   /**
-   * Checks if this player has the specified item.
+   * Checks if this player has the specified item. Both the bits and the list of other items are
+   * checked, since an item in the list of other items may have been interned after it was
+   * stored.
    *
    * @param item the specified item.
    * @return true if the player has the specified item, false otherwise.
    */
   public boolean hasItem(String item) {
-    return this.inventory.contains(item);
+    int itemId = this.itemDictionary.getId(item);
+    return (itemId >= 0 && this.itemBits.get(itemId)) || this.otherItems.contains(item);
+  }
+
+  /**
+   * Sets the health, score and gold of this player and updates the inventory in one step. This
+   * is used by {@link LinkEffect} after it has checked that the items can be removed and added.
+   *
+   * @param health       the new health of this player.
+   * @param score        the new score of this player.
+   * @param gold         the new gold of this player.
+   * @param removedItems the items that are removed from the inventory.
+   * @param addedItems   the items that are added to the inventory.
+   * @throws IllegalArgumentException if the health or score is out of range, or an item cannot be
+   *                                  removed or added.
+   */
+  void applyStats(int health, int score, int gold, String[] removedItems,
+                  String[] addedItems) {
+    this.setHealth(health);
+    this.setScore(score);
+    this.setGold(gold);
+    for (String item : removedItems) {
+      this.removeFromInventory(item);
+    }
+    for (String item : addedItems) {
+      this.addToInventory(item);
+    }
+  }
+
+  /**
+   * Takes a snapshot of the health, score, gold and inventory of this player. The snapshot does
+   * not change when this player changes.
+   *
+   * @return the snapshot of this player.
+   */
+  public PlayerState snapshot() {
+    return new PlayerState(this.itemDictionary, this.health, this.score, this.gold,
+        ItemSet.of(this.itemBits), List.copyOf(this.otherItems));
+  }
+
+  /**
+   * Sets the health, score, gold and inventory of this player to the ones of the specified
+   * snapshot. The listeners of this player are notified of every stat that changes.
+   *
+   * @param state the specified snapshot.
+   * @throws IllegalArgumentException if the specified snapshot is null.
+   */
+  public void restore(PlayerState state) {
+    if (state == null) {
+      throw new IllegalArgumentException("Player state cannot be null");
+    }
+    this.setHealth(state.getHealth());
+    this.setScore(state.getScore());
+    this.setGold(state.getGold());
+    this.setInventory(state.getInventory());
   }
 
   /**
@@ -508,8 +711,12 @@ public class Player {
       player.health = this.health;
       player.gold = this.gold;
       player.score = this.score;
-      player.inventory = this.inventory;
-      player.goals = this.goals;
+      for (String item : this.inventory) {
+        if (!player.hasItem(item)) {
+          player.storeItem(item);
+        }
+      }
+      player.goals = new ArrayList<>(this.goals);
 
       return player;
     }
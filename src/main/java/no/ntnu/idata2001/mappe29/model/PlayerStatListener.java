@@ -0,0 +1,59 @@
+package no.ntnu.idata2001.mappe29.model;
+
+/**
+ * Represents a listener that is notified when one of the stats of a player changes. Every method
+ * has an empty default implementation, so a listener only overrides the changes it shows. A
+ * listener is only notified when the value actually changes.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.23.
+ */
+public interface PlayerStatListener {
+  /**
+   * Called when the health of the specified player has changed.
+   *
+   * @param player    the player whose health changed.
+   * @param oldHealth the health of the player before the change.
+   * @param newHealth the health of the player after the change.
+   */
+  default void onHealthChanged(Player player, int oldHealth, int newHealth) {
+  }
+
+  /**
+   * Called when the score of the specified player has changed.
+   *
+   * @param player   the player whose score changed.
+   * @param oldScore the score of the player before the change.
+   * @param newScore the score of the player after the change.
+   */
+  default void onScoreChanged(Player player, int oldScore, int newScore) {
+  }
+
+  /**
+   * Called when the gold of the specified player has changed.
+   *
+   * @param player  the player whose gold changed.
+   * @param oldGold the gold of the player before the change.
+   * @param newGold the gold of the player after the change.
+   */
+  default void onGoldChanged(Player player, int oldGold, int newGold) {
+  }
+
+  /**
+   * Called when the specified item has been added to the inventory of the specified player.
+   *
+   * @param player the player whose inventory changed.
+   * @param item   the item that was added.
+   */
+  default void onItemAdded(Player player, String item) {
+  }
+
+  /**
+   * Called when the specified item has been removed from the inventory of the specified player.
+   *
+   * @param player the player whose inventory changed.
+   * @param item   the item that was removed.
+   */
+  default void onItemRemoved(Player player, String item) {
+  }
+}
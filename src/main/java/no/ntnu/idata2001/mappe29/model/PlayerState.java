@@ -0,0 +1,251 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents an immutable snapshot of the health, score, gold and inventory of a
+ * {@link Player Player}. A state is taken with {@link Player#snapshot()} and put back with
+ * {@link Player#restore(PlayerState)}, which makes it possible to undo choices or to try several
+ * choices from the same point.
+ *
+ * <p>A state never changes, so keeping or sharing it costs nothing. The methods that change a
+ * stat give a new state. The inventory is an {@link ItemSet ItemSet} that shares everything but
+ * the changed path with the old state, so a new state only takes a few small arrays.</p>
+ *
+ * <p>Items that are not in the item dictionary of the player are kept in a small list, like in
+ * the player. The state does not add items to the dictionary, since the dictionary is shared
+ * with the player and the story. An item in the list stays there if it is interned later, and
+ * both places are checked when looking for an item.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public final class PlayerState {
+  private final ItemDictionary itemDictionary;
+  private final int health;
+  private final int score;
+  private final int gold;
+  private final ItemSet items;
+  private final List<String> otherItems;
+
+  /**
+   * Creates an instance of PlayerState.
+   *
+   * @param itemDictionary the item dictionary of the inventory.
+   * @param health         the health of the state.
+   * @param score          the score of the state.
+   * @param gold           the gold of the state.
+   * @param items          the ids of the items in the item dictionary.
+   * @param otherItems     the items that are not in the item dictionary, which cannot be
+   *                       modified.
+   */
+  PlayerState(ItemDictionary itemDictionary, int health, int score, int gold, ItemSet items,
+              List<String> otherItems) {
+    this.itemDictionary = itemDictionary;
+    this.health = health;
+    this.score = score;
+    this.gold = gold;
+    this.items = items;
+    this.otherItems = otherItems;
+  }
+
+  /**
+   * Gets the health of this state.
+   *
+   * @return the health of this state.
+   */
+  public int getHealth() {
+    return this.health;
+  }
+
+  /**
+   * Gets the score of this state.
+   *
+   * @return the score of this state.
+   */
+  public int getScore() {
+    return this.score;
+  }
+
+  /**
+   * Gets the gold of this state.
+   *
+   * @return the gold of this state.
+   */
+  public int getGold() {
+    return this.gold;
+  }
+
+  /**
+   * Gets the item dictionary of the inventory of this state.
+   *
+   * @return the item dictionary.
+   */
+  public ItemDictionary getItemDictionary() {
+    return this.itemDictionary;
+  }
+
+  /**
+   * Gets the ids of the items of this state that are in the item dictionary.
+   *
+   * @return the ids of the items.
+   */
+  public ItemSet getItems() {
+    return this.items;
+  }
+
+  /**
+   * Gets the inventory of this state, in the same order as {@link Player#getInventory()}.
+   *
+   * @return the inventory of this state, which cannot be modified.
+   */
+  public List<String> getInventory() {
+    List<String> inventory = new ArrayList<>(this.items.size() + this.otherItems.size());
+    BitSet bits = this.items.toBitSet();
+    for (int itemId = bits.nextSetBit(0); itemId >= 0; itemId = bits.nextSetBit(itemId + 1)) {
+      inventory.add(this.itemDictionary.getItem(itemId));
+    }
+    inventory.addAll(this.otherItems);
+    return Collections.unmodifiableList(inventory);
+  }
+
+  /**
+   * Checks if the inventory of this state has the specified item.
+   *
+   * @param item the specified item.
+   * @return true if the inventory has the item, false otherwise.
+   */
+  public boolean hasItem(String item) {
+    int itemId = this.itemDictionary.getId(item);
+    return (itemId >= 0 && this.items.contains(itemId)) || this.otherItems.contains(item);
+  }
+
+  /**
+   * Gets a state with the specified health and the other stats of this state.
+   *
+   * @param health the specified health.
+   * @return the new state.
+   * @throws IllegalArgumentException if the specified health is less than 0 or greater than 100.
+   */
+  public PlayerState withHealth(int health) {
+    if (health < 0) {
+      throw new IllegalArgumentException("Health attribute cannot be less than 0");
+    } else if (health > 100) {
+      throw new IllegalArgumentException("Health attribute cannot be greater than 100");
+    }
+    return new PlayerState(this.itemDictionary, health, this.score, this.gold, this.items,
+        this.otherItems);
+  }
+
+  /**
+   * Gets a state with the specified score and the other stats of this state.
+   *
+   * @param score the specified score.
+   * @return the new state.
+   * @throws IllegalArgumentException if the specified score is less than 0.
+   */
+  public PlayerState withScore(int score) {
+    if (score < 0) {
+      throw new IllegalArgumentException("Score attribute cannot be less than 0");
+    }
+    return new PlayerState(this.itemDictionary, this.health, score, this.gold, this.items,
+        this.otherItems);
+  }
+
+  /**
+   * Gets a state with the specified gold and the other stats of this state.
+   *
+   * @param gold the specified gold.
+   * @return the new state.
+   */
+  public PlayerState withGold(int gold) {
+    return new PlayerState(this.itemDictionary, this.health, this.score, gold, this.items,
+        this.otherItems);
+  }
+
+  /**
+   * Gets a state with the specified item added to the inventory of this state.
+   *
+   * @param item the specified item.
+   * @return the new state.
+   * @throws IllegalArgumentException if the specified item is null, blank, or already in the
+   *                                  inventory.
+   */
+  public PlayerState withItem(String item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item cannot be null");
+    } else if (item.isBlank()) {
+      throw new IllegalArgumentException("Item cannot be blank");
+    } else if (this.hasItem(item)) {
+      throw new IllegalArgumentException("Item is already in the inventory");
+    }
+    int itemId = this.itemDictionary.getId(item);
+    ItemSet newItems = this.items;
+    List<String> newOtherItems = this.otherItems;
+    if (itemId >= 0) {
+      newItems = this.items.with(itemId);
+    } else {
+      List<String> otherItemList = new ArrayList<>(this.otherItems);
+      otherItemList.add(item);
+      newOtherItems = Collections.unmodifiableList(otherItemList);
+    }
+    return new PlayerState(this.itemDictionary, this.health, this.score, this.gold, newItems,
+        newOtherItems);
+  }
+
+  /**
+   * Gets a state with the specified item removed from the inventory of this state.
+   *
+   * @param item the specified item.
+   * @return the new state.
+   * @throws IllegalArgumentException if the specified item is null or not in the inventory.
+   */
+  public PlayerState withoutItem(String item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Item to be removed cannot be null");
+    } else if (!this.hasItem(item)) {
+      throw new IllegalArgumentException("The inventory does not have the specified item");
+    }
+    ItemSet newItems = this.items;
+    List<String> newOtherItems = this.otherItems;
+    if (this.otherItems.contains(item)) {
+      List<String> otherItemList = new ArrayList<>(this.otherItems);
+      otherItemList.remove(item);
+      newOtherItems = Collections.unmodifiableList(otherItemList);
+    } else {
+      newItems = this.items.without(this.itemDictionary.getId(item));
+    }
+    return new PlayerState(this.itemDictionary, this.health, this.score, this.gold, newItems,
+        newOtherItems);
+  }
+
+  /**
+   * Gets the state after the actions of the specified link have been performed on this state.
+   *
+   * @param link the specified link.
+   * @return the new state.
+   * @throws IllegalArgumentException if the specified link is null, or its actions cannot be
+   *                                  performed, for example because an item is missing.
+   */
+  public PlayerState follow(Link link) {
+    if (link == null) {
+      throw new IllegalArgumentException("Link cannot be null");
+    }
+    return link.getEffect().applyTo(this);
+  }
+
+  /**
+   * Creates a new player with the stats and inventory of this state, and no goals.
+   *
+   * @return the new player.
+   */
+  Player toPlayer() {
+    Player player = new Player.PlayerBuilder().withHealth(this.health).withScore(this.score)
+        .withGold(this.gold).withInventory(this.getInventory()).build();
+    player.setItemDictionary(this.itemDictionary);
+    return player;
+  }
+}
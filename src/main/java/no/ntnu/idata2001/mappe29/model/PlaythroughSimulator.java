@@ -0,0 +1,342 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+
+/**
+ * Represents a simulator that plays a story many times, choosing a random link in every passage,
+ * so story authors can see how a story plays out. The results are collected in a
+ * {@link SimulationReport SimulationReport}.
+ *
+ * <p>The simulator starts from the player, story and goals of a {@link Game Game}. When it is
+ * created, the links of the story are resolved through the compiled story of the game and the
+ * actions of every link are fused into a {@link LinkEffect LinkEffect}. A playthrough then only
+ * works on a passage id, three numbers and the bits of the inventory, and does not create any
+ * objects. Only links with actions that cannot be fused, and goals that are not gold, health,
+ * score or item goals, are played with a real {@link Player Player}.</p>
+ *
+ * <p>The playthroughs are split into chunks that run in parallel on the common fork-join pool.
+ * Every chunk has its own {@link SplittableRandom SplittableRandom} split from the seed, so a
+ * simulation with the same seed always gives the same report.</p>
+ *
+ * <p>In every passage, the simulator chooses among the links that can be followed, meaning the
+ * player has the items the link removes and does not have the items it adds. A playthrough ends
+ * in a passage without links, when no link can be followed, or at the step limit.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+public class PlaythroughSimulator {
+  private final CompiledStory compiledStory;
+  private final ItemDictionary itemDictionary;
+  private final SimulatedLink[][] links;
+  private final boolean[] successPassages;
+  private final boolean[] failedPassages;
+  private final int startHealth;
+  private final int startScore;
+  private final int startGold;
+  private final long[] startItems;
+  private final SimulatedGoals goals;
+  private int maximumSteps;
+
+  /**
+   * Creates an instance of PlaythroughSimulator for the story, the current stats of the player
+   * and the goals of the specified game.
+   *
+   * @param game the specified game.
+   * @throws IllegalArgumentException if the specified game is null or its story has broken links.
+   */
+  public PlaythroughSimulator(Game game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null");
+    }
+    this.compiledStory = game.getCompiledStory();
+    this.itemDictionary = new ItemDictionary();
+    Player player = game.getPlayer();
+    for (String item : player.getInventory()) {
+      this.itemDictionary.intern(item);
+    }
+    this.goals = new SimulatedGoals(game.getGoals(), this.itemDictionary);
+
+    int passageCount = this.compiledStory.getPassageCount();
+    this.links = new SimulatedLink[passageCount][];
+    this.successPassages = new boolean[passageCount];
+    this.failedPassages = new boolean[passageCount];
+    for (int passageId = 0; passageId < passageCount; passageId++) {
+      String title = this.compiledStory.getPassage(passageId).getTitle();
+      this.successPassages[passageId] = title.contains("story_success");
+      this.failedPassages[passageId] = title.contains("story_failed");
+      this.links[passageId] = new SimulatedLink[this.compiledStory.getLinkCount(passageId)];
+      for (int linkIndex = 0; linkIndex < this.links[passageId].length; linkIndex++) {
+        this.links[passageId][linkIndex] = new SimulatedLink(
+            this.compiledStory.getLinkTarget(passageId, linkIndex),
+            this.compiledStory.getLinkEffect(passageId, linkIndex), this.itemDictionary);
+      }
+    }
+
+    this.startHealth = player.getHealth();
+    this.startScore = player.getScore();
+    this.startGold = player.getGold();
+    this.startItems = new long[ItemBits.getWordCount(this.itemDictionary)];
+    for (String item : player.getInventory()) {
+      ItemBits.set(this.startItems, this.itemDictionary.getId(item));
+    }
+    this.maximumSteps = 10000;
+  }
+
+  /**
+   * Gets the maximum number of links that are followed in one playthrough.
+   *
+   * @return the maximum number of steps.
+   */
+  public int getMaximumSteps() {
+    return this.maximumSteps;
+  }
+
+  /**
+   * Sets the maximum number of links that are followed in one playthrough. Playthroughs that
+   * reach this limit are stopped, so a story with a loop does not run forever.
+   *
+   * @param maximumSteps the specified maximum number of steps.
+   * @throws IllegalArgumentException if the specified maximum number of steps is less than 1.
+   */
+  public void setMaximumSteps(int maximumSteps) {
+    if (maximumSteps < 1) {
+      throw new IllegalArgumentException("Maximum steps cannot be less than 1");
+    }
+    this.maximumSteps = maximumSteps;
+  }
+
+  /**
+   * Simulates the specified number of random playthroughs.
+   *
+   * @param playthroughs the specified number of playthroughs.
+   * @param seed         the seed of the random choices.
+   * @return the report of the simulation.
+   * @throws IllegalArgumentException if the specified number of playthroughs is less than 1.
+   */
+  public SimulationReport simulate(long playthroughs, long seed) {
+    if (playthroughs < 1) {
+      throw new IllegalArgumentException("Playthroughs cannot be less than 1");
+    }
+    int chunkCount = (int) Math.min(playthroughs,
+        Runtime.getRuntime().availableProcessors() * 8L);
+    SplittableRandom seedRandom = new SplittableRandom(seed);
+    SplittableRandom[] chunkRandoms = new SplittableRandom[chunkCount];
+    for (int chunk = 0; chunk < chunkCount; chunk++) {
+      chunkRandoms[chunk] = seedRandom.split();
+    }
+
+    Tally tally = IntStream.range(0, chunkCount).parallel()
+        .mapToObj(chunk -> {
+          long chunkPlaythroughs = playthroughs / chunkCount
+              + (chunk < playthroughs % chunkCount ? 1 : 0);
+          return this.simulateChunk(chunkPlaythroughs, chunkRandoms[chunk]);
+        })
+        .reduce(Tally::merge)
+        .orElseThrow();
+    return this.createReport(playthroughs, tally);
+  }
+
+  /**
+   * Simulates the specified number of playthroughs on the current thread.
+   *
+   * @param playthroughs the specified number of playthroughs.
+   * @param random       the random generator of the chunk.
+   * @return the tally of the playthroughs.
+   */
+  private Tally simulateChunk(long playthroughs, SplittableRandom random) {
+    Tally tally = new Tally(this.links.length, this.goals.size());
+    long[] items = new long[this.startItems.length];
+    for (long playthrough = 0; playthrough < playthroughs; playthrough++) {
+      System.arraycopy(this.startItems, 0, items, 0, items.length);
+      int health = this.startHealth;
+      int score = this.startScore;
+      int gold = this.startGold;
+      int passageId = 0;
+      int steps = 0;
+      boolean playing = true;
+      while (playing) {
+        SimulatedLink[] passageLinks = this.links[passageId];
+        if (passageLinks.length == 0) {
+          tally.endingCounts[passageId]++;
+          playing = false;
+        } else if (steps == this.maximumSteps) {
+          tally.stepLimitCount++;
+          playing = false;
+        } else {
+          SimulatedLink link = this.chooseLink(passageLinks, items, random);
+          if (link == null) {
+            tally.stuckCount++;
+            playing = false;
+          } else if (link.getEffect().isFused()) {
+            health = link.getEffect().applyToHealth(health);
+            score = link.getEffect().applyToScore(score);
+            gold = link.getEffect().applyToGold(gold);
+            link.applyItems(items);
+            passageId = link.getTarget();
+            steps++;
+          } else {
+            Player player = ItemBits.createPlayer(health, score, gold, items,
+                this.itemDictionary);
+            try {
+              for (Action action : link.getEffect().getActions()) {
+                action.execute(player);
+              }
+              health = player.getHealth();
+              score = player.getScore();
+              gold = player.getGold();
+              ItemBits.readInventory(player, items, this.itemDictionary);
+              passageId = link.getTarget();
+              steps++;
+            } catch (IllegalArgumentException exception) {
+              tally.stuckCount++;
+              playing = false;
+            }
+          }
+        }
+      }
+      this.tallyPlaythrough(tally, health, score, gold, items);
+    }
+    return tally;
+  }
+
+  /**
+   * Chooses a random link among the specified links that can be followed.
+   *
+   * @param passageLinks the links of the passage.
+   * @param items        the bits of the items in the inventory.
+   * @param random       the random generator of the chunk.
+   * @return the chosen link, or {@code null} if none of the links can be followed.
+   */
+  private SimulatedLink chooseLink(SimulatedLink[] passageLinks, long[] items,
+                                   SplittableRandom random) {
+    int followableLinks = 0;
+    for (SimulatedLink link : passageLinks) {
+      if (link.canFollow(items)) {
+        followableLinks++;
+      }
+    }
+    SimulatedLink chosenLink = null;
+    if (followableLinks > 0) {
+      int choice = random.nextInt(followableLinks);
+      for (int index = 0; chosenLink == null; index++) {
+        if (passageLinks[index].canFollow(items)) {
+          if (choice == 0) {
+            chosenLink = passageLinks[index];
+          }
+          choice--;
+        }
+      }
+    }
+    return chosenLink;
+  }
+
+  /**
+   * Adds the result of one playthrough to the specified tally.
+   *
+   * @param tally  the specified tally.
+   * @param health the health of the player at the end.
+   * @param score  the score of the player at the end.
+   * @param gold   the gold of the player at the end.
+   * @param items  the bits of the items in the inventory at the end.
+   */
+  private void tallyPlaythrough(Tally tally, int health, int score, int gold, long[] items) {
+    if (health == 0) {
+      tally.deathCount++;
+    }
+    tally.healthSum += health;
+    tally.scoreSum += score;
+    tally.goldSum += gold;
+    for (int goalIndex = 0; goalIndex < this.goals.size(); goalIndex++) {
+      boolean fulfilled = this.goals.isFulfilled(goalIndex, health, score, gold, items);
+      if (fulfilled) {
+        tally.goalCounts[goalIndex]++;
+      }
+    }
+  }
+
+  /**
+   * Creates the report of the simulation from the specified tally.
+   *
+   * @param playthroughs the number of playthroughs.
+   * @param tally        the tally of all the playthroughs.
+   * @return the report of the simulation.
+   */
+  private SimulationReport createReport(long playthroughs, Tally tally) {
+    Map<String, Long> endingCounts = new LinkedHashMap<>();
+    long successCount = 0;
+    long failedCount = 0;
+    for (int passageId = 0; passageId < tally.endingCounts.length; passageId++) {
+      long endingCount = tally.endingCounts[passageId];
+      if (endingCount > 0) {
+        endingCounts.put(this.compiledStory.getPassage(passageId).getTitle(), endingCount);
+        if (this.successPassages[passageId]) {
+          successCount += endingCount;
+        } else if (this.failedPassages[passageId]) {
+          failedCount += endingCount;
+        }
+      }
+    }
+    List<Double> goalSuccessRates = new ArrayList<>();
+    for (long goalCount : tally.goalCounts) {
+      goalSuccessRates.add((double) goalCount / playthroughs);
+    }
+    return new SimulationReport(playthroughs, endingCounts, successCount, failedCount,
+        tally.deathCount, tally.stuckCount, tally.stepLimitCount,
+        (double) tally.healthSum / playthroughs, (double) tally.scoreSum / playthroughs,
+        (double) tally.goldSum / playthroughs, this.goals.getGoals(), goalSuccessRates);
+  }
+
+  /**
+   * Represents the counts and sums of the playthroughs of one chunk.
+   */
+  private static final class Tally {
+    private final long[] endingCounts;
+    private final long[] goalCounts;
+    private long deathCount;
+    private long stuckCount;
+    private long stepLimitCount;
+    private long healthSum;
+    private long scoreSum;
+    private long goldSum;
+
+    /**
+     * Creates an instance of Tally with all counts at 0.
+     *
+     * @param passageCount the number of passages of the story.
+     * @param goalCount    the number of goals.
+     */
+    private Tally(int passageCount, int goalCount) {
+      this.endingCounts = new long[passageCount];
+      this.goalCounts = new long[goalCount];
+    }
+
+    /**
+     * Adds the counts of the specified tally to this tally.
+     *
+     * @param other the specified tally.
+     * @return this tally.
+     */
+    private Tally merge(Tally other) {
+      for (int index = 0; index < this.endingCounts.length; index++) {
+        this.endingCounts[index] += other.endingCounts[index];
+      }
+      for (int index = 0; index < this.goalCounts.length; index++) {
+        this.goalCounts[index] += other.goalCounts[index];
+      }
+      this.deathCount += other.deathCount;
+      this.stuckCount += other.stuckCount;
+      this.stepLimitCount += other.stepLimitCount;
+      this.healthSum += other.healthSum;
+      this.scoreSum += other.scoreSum;
+      this.goldSum += other.goldSum;
+      return this;
+    }
+  }
+}
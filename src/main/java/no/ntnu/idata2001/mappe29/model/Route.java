@@ -0,0 +1,109 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a sequence of choices from the opening passage of a story to an ending passage,
+ * found by a {@link RouteSolver RouteSolver}, together with the stats of the player at the end.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public final class Route {
+  private final List<Link> links;
+  private final Passage ending;
+  private final int health;
+  private final int score;
+  private final int gold;
+  private final boolean unbounded;
+  private final boolean complete;
+
+  /**
+   * Creates an instance of Route.
+   *
+   * @param links     the links of the route, in the order they are followed.
+   * @param ending    the passage the route ends in.
+   * @param health    the health of the player at the end.
+   * @param score     the score of the player at the end.
+   * @param gold      the gold of the player at the end.
+   * @param unbounded true if a loop was found that can raise the maximized stat forever.
+   * @param complete  true if the search was not stopped at the label limit.
+   */
+  Route(List<Link> links, Passage ending, int health, int score, int gold, boolean unbounded,
+        boolean complete) {
+    this.links = Collections.unmodifiableList(new ArrayList<>(links));
+    this.ending = ending;
+    this.health = health;
+    this.score = score;
+    this.gold = gold;
+    this.unbounded = unbounded;
+    this.complete = complete;
+  }
+
+  /**
+   * Gets the links of the route, in the order they are followed from the opening passage.
+   *
+   * @return the links of the route.
+   */
+  public List<Link> getLinks() {
+    return this.links;
+  }
+
+  /**
+   * Gets the passage the route ends in.
+   *
+   * @return the ending passage.
+   */
+  public Passage getEnding() {
+    return this.ending;
+  }
+
+  /**
+   * Gets the health of the player at the end of the route.
+   *
+   * @return the health at the end.
+   */
+  public int getHealth() {
+    return this.health;
+  }
+
+  /**
+   * Gets the score of the player at the end of the route.
+   *
+   * @return the score at the end.
+   */
+  public int getScore() {
+    return this.score;
+  }
+
+  /**
+   * Gets the gold of the player at the end of the route.
+   *
+   * @return the gold at the end.
+   */
+  public int getGold() {
+    return this.gold;
+  }
+
+  /**
+   * Checks if the story has a loop that raises the maximized stat every time it is followed. The
+   * route then follows the loop once, but a player could get any amount by following it again.
+   *
+   * @return true if the maximized stat has no upper limit, false otherwise.
+   */
+  public boolean isUnbounded() {
+    return this.unbounded;
+  }
+
+  /**
+   * Checks if the search looked at every player state that was not dominated. If not, the
+   * search was stopped at the label limit and a better route may exist.
+   *
+   * @return true if the route is the best route, false if it is only the best route found.
+   */
+  public boolean isComplete() {
+    return this.complete;
+  }
+}
@@ -0,0 +1,556 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.GoldGoal;
+import no.ntnu.idata2001.mappe29.model.goals.HealthGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ScoreGoal;
+
+/**
+ * Represents a solver that finds the best sequence of choices from the opening passage of a
+ * story to a good ending, for example the route that gives the most score or the shortest route
+ * that fulfills a list of goals. A good ending is a passage without links, whose title does not
+ * contain "story_failed", reached with health left.
+ *
+ * <p>The solver searches the passages breadth first, carrying labels. A label is a player state
+ * in a passage: health, score, gold and the bits of the inventory, and the label and link it came
+ * from. The actions of the links only add to or subtract from the stats, with limits, so a player
+ * with at least as much of every stat and the same items can always do at least as well. A new
+ * label that is dominated by a label already in the passage is dropped, and labels that the new
+ * label dominates are not expanded. This keeps the number of labels per passage small.</p>
+ *
+ * <p>When a new label has at least the stats of one of the labels it came from, the player has
+ * gone around a loop that only made the stats better. Such a loop is followed once, and if it
+ * raised the maximized stat the route is marked as unbounded. When searching for goals, the
+ * number of links is part of the dominance so the shortest route is kept, and a loop is followed
+ * again as long as it raises a stat that is still below a goal.</p>
+ *
+ * <p>Goals that are not gold, health, score or item goals may not grow with the stats, so with
+ * such goals a label only dominates an equal label. The search stops at a maximum number of
+ * labels, so a story with a loop that never stops raising a stat cannot make it run forever.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public class RouteSolver {
+  private static final int MAXIMIZE_SCORE = 0;
+  private static final int MAXIMIZE_GOLD = 1;
+  private static final int FULFILL_GOALS = 2;
+
+  private final CompiledStory compiledStory;
+  private final ItemDictionary itemDictionary;
+  private final SimulatedLink[][] links;
+  private final boolean[] goodEndingPassages;
+  private final int startHealth;
+  private final int startScore;
+  private final int startGold;
+  private final long[] startItems;
+  private int maximumLabels;
+
+  private int objective;
+  private boolean exactDominance;
+  private int healthTarget;
+  private int scoreTarget;
+  private int goldTarget;
+  private int labelCount;
+  private int[] labelPassages;
+  private int[] labelHealth;
+  private int[] labelScore;
+  private int[] labelGold;
+  private int[] labelDepths;
+  private int[] labelParents;
+  private int[] labelLinkIndexes;
+  private int[] nextLabels;
+  private boolean[] dominatedLabels;
+  private boolean[] loopLabels;
+  private long[] labelItems;
+  private int[] passageLabels;
+  private boolean unbounded;
+  private boolean complete;
+
+  /**
+   * Creates an instance of RouteSolver for the story and the current stats of the player of the
+   * specified game.
+   *
+   * @param game the specified game.
+   * @throws IllegalArgumentException if the specified game is null or its story has broken links.
+   */
+  public RouteSolver(Game game) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null");
+    }
+    this.compiledStory = game.getCompiledStory();
+    this.itemDictionary = new ItemDictionary();
+    Player player = game.getPlayer();
+    for (String item : player.getInventory()) {
+      this.itemDictionary.intern(item);
+    }
+    int passageCount = this.compiledStory.getPassageCount();
+    this.links = new SimulatedLink[passageCount][];
+    this.goodEndingPassages = new boolean[passageCount];
+    for (int passageId = 0; passageId < passageCount; passageId++) {
+      this.links[passageId] = new SimulatedLink[this.compiledStory.getLinkCount(passageId)];
+      for (int linkIndex = 0; linkIndex < this.links[passageId].length; linkIndex++) {
+        this.links[passageId][linkIndex] = new SimulatedLink(
+            this.compiledStory.getLinkTarget(passageId, linkIndex),
+            this.compiledStory.getLinkEffect(passageId, linkIndex), this.itemDictionary);
+      }
+      this.goodEndingPassages[passageId] = this.links[passageId].length == 0
+          && !this.compiledStory.getPassage(passageId).getTitle().contains("story_failed");
+    }
+    this.startHealth = player.getHealth();
+    this.startScore = player.getScore();
+    this.startGold = player.getGold();
+    this.startItems = new long[ItemBits.getWordCount(this.itemDictionary)];
+    for (String item : player.getInventory()) {
+      ItemBits.set(this.startItems, this.itemDictionary.getId(item));
+    }
+    this.maximumLabels = 1000000;
+  }
+
+  /**
+   * Gets the maximum number of labels that one search may create.
+   *
+   * @return the maximum number of labels.
+   */
+  public int getMaximumLabels() {
+    return this.maximumLabels;
+  }
+
+  /**
+   * Sets the maximum number of labels that one search may create. A search that reaches this
+   * limit returns the best route it has found, marked as not complete.
+   *
+   * @param maximumLabels the specified maximum number of labels.
+   * @throws IllegalArgumentException if the specified maximum number of labels is less than 1.
+   */
+  public void setMaximumLabels(int maximumLabels) {
+    if (maximumLabels < 1) {
+      throw new IllegalArgumentException("Maximum labels cannot be less than 1");
+    }
+    this.maximumLabels = maximumLabels;
+  }
+
+  /**
+   * Finds the route to a good ending that gives the most score. Ties are broken by the most gold
+   * and then by the fewest links.
+   *
+   * @return the route with the most score, or an empty optional if no good ending can be
+   *         reached.
+   */
+  public Optional<Route> findMaximumScoreRoute() {
+    return this.maximize(MAXIMIZE_SCORE);
+  }
+
+  /**
+   * Finds the route to a good ending that gives the most gold. Ties are broken by the most score
+   * and then by the fewest links.
+   *
+   * @return the route with the most gold, or an empty optional if no good ending can be reached.
+   */
+  public Optional<Route> findMaximumGoldRoute() {
+    return this.maximize(MAXIMIZE_GOLD);
+  }
+
+  /**
+   * Finds the route with the fewest links to a good ending where all the specified goals are
+   * fulfilled.
+   *
+   * @param goals the specified goals.
+   * @return the shortest route that fulfills the goals, or an empty optional if there is no such
+   *         route.
+   * @throws IllegalArgumentException if the specified goals are null or one of them is null.
+   */
+  public Optional<Route> findRoute(List<Goal> goals) {
+    if (goals == null) {
+      throw new IllegalArgumentException("Goals cannot be null");
+    }
+    boolean knownItems = true;
+    boolean monotoneGoals = true;
+    int minimumHealth = Integer.MIN_VALUE;
+    int minimumScore = Integer.MIN_VALUE;
+    int minimumGold = Integer.MIN_VALUE;
+    for (Goal goal : goals) {
+      if (goal == null) {
+        throw new IllegalArgumentException("One of the goals is null");
+      } else if (goal instanceof HealthGoal healthGoal) {
+        minimumHealth = Math.max(minimumHealth, healthGoal.getMinimumHealth());
+      } else if (goal instanceof ScoreGoal scoreGoal) {
+        minimumScore = Math.max(minimumScore, scoreGoal.getMinimumPoints());
+      } else if (goal instanceof GoldGoal goldGoal) {
+        minimumGold = Math.max(minimumGold, goldGoal.getMinimumGold());
+      } else if (goal instanceof ItemGoal itemGoal) {
+        knownItems &= this.itemDictionary.getId(itemGoal.getMandatoryItem()) >= 0;
+      } else {
+        monotoneGoals = false;
+      }
+    }
+
+    Optional<Route> route = Optional.empty();
+    if (knownItems) {
+      this.healthTarget = minimumHealth;
+      this.scoreTarget = minimumScore;
+      this.goldTarget = minimumGold;
+      route = this.search(FULFILL_GOALS, new SimulatedGoals(goals, this.itemDictionary),
+          !monotoneGoals);
+    }
+    return route;
+  }
+
+  /**
+   * Searches for the route that maximizes the stat of the specified objective, without goals.
+   * Loops that only make the stats better are followed once.
+   *
+   * @param objective the objective of the search.
+   * @return the best route, or an empty optional if no good ending can be reached.
+   */
+  private Optional<Route> maximize(int objective) {
+    this.healthTarget = Integer.MIN_VALUE;
+    this.scoreTarget = Integer.MIN_VALUE;
+    this.goldTarget = Integer.MIN_VALUE;
+    return this.search(objective, new SimulatedGoals(Collections.emptyList(),
+        this.itemDictionary), false);
+  }
+
+  /**
+   * Searches the labels breadth first and gets the best route for the specified objective.
+   *
+   * @param objective      the objective of the search.
+   * @param goals          the goals that must be fulfilled at the ending.
+   * @param exactDominance true if a label only dominates labels with the same stats.
+   * @return the best route, or an empty optional if no route was found.
+   */
+  private Optional<Route> search(int objective, SimulatedGoals goals, boolean exactDominance) {
+    this.objective = objective;
+    this.exactDominance = exactDominance;
+    this.resetLabels();
+    this.addLabel(0, this.startHealth, this.startScore, this.startGold, this.startItems, -1, -1,
+        false);
+
+    int itemWords = this.startItems.length;
+    long[] items = new long[itemWords];
+    long[] nextItems = new long[itemWords];
+    int bestLabel = -1;
+    boolean searching = true;
+    for (int label = 0; searching && label < this.labelCount; label++) {
+      int passageId = this.labelPassages[label];
+      int health = this.labelHealth[label];
+      int score = this.labelScore[label];
+      int gold = this.labelGold[label];
+      System.arraycopy(this.labelItems, label * itemWords, items, 0, itemWords);
+      SimulatedLink[] passageLinks = this.links[passageId];
+
+      if (passageLinks.length == 0) {
+        if (this.goodEndingPassages[passageId] && health > 0
+            && this.fulfillsGoals(goals, health, score, gold, items)
+            && (bestLabel < 0 || this.isBetter(label, bestLabel))) {
+          bestLabel = label;
+          searching = objective != FULFILL_GOALS;
+        }
+      } else if (!this.dominatedLabels[label]) {
+        for (int linkIndex = 0; linkIndex < passageLinks.length; linkIndex++) {
+          SimulatedLink link = passageLinks[linkIndex];
+          if (link.canFollow(items)) {
+            System.arraycopy(items, 0, nextItems, 0, itemWords);
+            this.follow(link, label, linkIndex, health, score, gold, nextItems);
+          }
+        }
+      }
+    }
+
+    Optional<Route> route = Optional.empty();
+    if (bestLabel >= 0) {
+      route = Optional.of(this.createRoute(bestLabel));
+    }
+    return route;
+  }
+
+  /**
+   * Follows the specified link from the specified label, and offers the label it leads to.
+   *
+   * @param link      the specified link.
+   * @param parent    the label the link is followed from.
+   * @param linkIndex the index of the link in its passage.
+   * @param health    the health before the link is followed.
+   * @param score     the score before the link is followed.
+   * @param gold      the gold before the link is followed.
+   * @param nextItems the bits of the inventory, which are changed to the inventory after the
+   *                  link is followed.
+   */
+  private void follow(SimulatedLink link, int parent, int linkIndex, int health, int score,
+                      int gold, long[] nextItems) {
+    LinkEffect effect = link.getEffect();
+    if (effect.isFused()) {
+      link.applyItems(nextItems);
+      this.offerLabel(link.getTarget(), effect.applyToHealth(health), effect.applyToScore(score),
+          effect.applyToGold(gold), nextItems, parent, linkIndex);
+    } else {
+      Player player = ItemBits.createPlayer(health, score, gold, nextItems, this.itemDictionary);
+      try {
+        for (Action action : effect.getActions()) {
+          action.execute(player);
+        }
+        ItemBits.readInventory(player, nextItems, this.itemDictionary);
+        this.offerLabel(link.getTarget(), player.getHealth(), player.getScore(), player.getGold(),
+            nextItems, parent, linkIndex);
+      } catch (IllegalArgumentException exception) {
+        // The actions of the link cannot be performed, so the link cannot be followed.
+      }
+    }
+  }
+
+  /**
+   * Adds a new label to the specified passage, unless it is dominated by one of the labels that
+   * are already in the passage, or it comes from a loop that only made the stats better.
+   *
+   * @param passageId the passage of the new label.
+   * @param health    the health of the new label.
+   * @param score     the score of the new label.
+   * @param gold      the gold of the new label.
+   * @param items     the bits of the inventory of the new label.
+   * @param parent    the label the new label came from.
+   * @param linkIndex the index of the link that was followed from the parent.
+   */
+  private void offerLabel(int passageId, int health, int score, int gold, long[] items,
+                          int parent, int linkIndex) {
+    int depth = this.labelDepths[parent] + 1;
+    boolean dropped = false;
+    boolean loop = false;
+    for (int label = this.passageLabels[passageId]; !dropped && label >= 0;
+         label = this.nextLabels[label]) {
+      if (this.hasItems(label, items)) {
+        int otherHealth = this.labelHealth[label];
+        int otherScore = this.labelScore[label];
+        int otherGold = this.labelGold[label];
+        if (!this.dominatedLabels[label] && this.dominates(otherHealth, otherScore, otherGold,
+            this.labelDepths[label], health, score, gold, depth)) {
+          dropped = true;
+        } else if (health >= otherHealth && score >= otherScore && gold >= otherGold
+            && this.isAncestor(label, parent)) {
+          loop = true;
+          dropped = this.loopLabels[parent]
+              && !(health > otherHealth && otherHealth < this.healthTarget
+              || score > otherScore && otherScore < this.scoreTarget
+              || gold > otherGold && otherGold < this.goldTarget);
+          this.unbounded |= health > 0
+              && (this.objective == MAXIMIZE_SCORE && score > otherScore
+              || this.objective == MAXIMIZE_GOLD && gold > otherGold);
+        }
+      }
+    }
+
+    if (!dropped) {
+      for (int label = this.passageLabels[passageId]; label >= 0; label = this.nextLabels[label]) {
+        if (this.hasItems(label, items) && this.dominates(health, score, gold, depth,
+            this.labelHealth[label], this.labelScore[label], this.labelGold[label],
+            this.labelDepths[label])) {
+          this.dominatedLabels[label] = true;
+        }
+      }
+      this.addLabel(passageId, health, score, gold, items, parent, linkIndex,
+          loop || this.loopLabels[parent]);
+    }
+  }
+
+  /**
+   * Checks if the first stats dominate the second stats, meaning they are at least as good in
+   * every way.
+   *
+   * @param health      the first health.
+   * @param score       the first score.
+   * @param gold        the first gold.
+   * @param depth       the first number of links.
+   * @param otherHealth the second health.
+   * @param otherScore  the second score.
+   * @param otherGold   the second gold.
+   * @param otherDepth  the second number of links.
+   * @return true if the first stats dominate the second stats, false otherwise.
+   */
+  private boolean dominates(int health, int score, int gold, int depth, int otherHealth,
+                            int otherScore, int otherGold, int otherDepth) {
+    boolean dominates;
+    if (this.exactDominance) {
+      dominates = health == otherHealth && score == otherScore && gold == otherGold
+          && depth <= otherDepth;
+    } else {
+      dominates = health >= otherHealth && score >= otherScore && gold >= otherGold
+          && (this.objective != FULFILL_GOALS || depth <= otherDepth);
+    }
+    return dominates;
+  }
+
+  /**
+   * Checks if the specified label has the specified inventory.
+   *
+   * @param label the specified label.
+   * @param items the bits of the inventory.
+   * @return true if the label has exactly the items, false otherwise.
+   */
+  private boolean hasItems(int label, long[] items) {
+    int offset = label * items.length;
+    boolean equal = true;
+    for (int index = 0; equal && index < items.length; index++) {
+      equal = this.labelItems[offset + index] == items[index];
+    }
+    return equal;
+  }
+
+  /**
+   * Checks if the specified label is on the path to the specified descendant.
+   *
+   * @param label      the specified label.
+   * @param descendant the label whose path is checked.
+   * @return true if the label is the descendant or one of the labels it came from, false
+   *         otherwise.
+   */
+  private boolean isAncestor(int label, int descendant) {
+    int current = descendant;
+    while (this.labelDepths[current] > this.labelDepths[label]) {
+      current = this.labelParents[current];
+    }
+    return current == label;
+  }
+
+  /**
+   * Checks if the specified stats fulfill all the specified goals.
+   *
+   * @param goals  the specified goals.
+   * @param health the health of the player.
+   * @param score  the score of the player.
+   * @param gold   the gold of the player.
+   * @param items  the bits of the inventory.
+   * @return true if every goal is fulfilled, false otherwise.
+   */
+  private boolean fulfillsGoals(SimulatedGoals goals, int health, int score, int gold,
+                                long[] items) {
+    boolean fulfilled = true;
+    for (int goalIndex = 0; fulfilled && goalIndex < goals.size(); goalIndex++) {
+      fulfilled = goals.isFulfilled(goalIndex, health, score, gold, items);
+    }
+    return fulfilled;
+  }
+
+  /**
+   * Checks if the specified ending label is a better end of a route than the best label so far.
+   *
+   * @param label     the specified ending label.
+   * @param bestLabel the best ending label so far.
+   * @return true if the label is better, false otherwise.
+   */
+  private boolean isBetter(int label, int bestLabel) {
+    int first = this.objective == MAXIMIZE_GOLD ? this.labelGold[label] : this.labelScore[label];
+    int bestFirst = this.objective == MAXIMIZE_GOLD
+        ? this.labelGold[bestLabel] : this.labelScore[bestLabel];
+    int second = this.objective == MAXIMIZE_GOLD ? this.labelScore[label] : this.labelGold[label];
+    int bestSecond = this.objective == MAXIMIZE_GOLD
+        ? this.labelScore[bestLabel] : this.labelGold[bestLabel];
+    boolean better;
+    if (first != bestFirst) {
+      better = first > bestFirst;
+    } else if (second != bestSecond) {
+      better = second > bestSecond;
+    } else {
+      better = this.labelDepths[label] < this.labelDepths[bestLabel];
+    }
+    return better;
+  }
+
+  /**
+   * Creates the route that ends in the specified label.
+   *
+   * @param endLabel the label at the end of the route.
+   * @return the route.
+   */
+  private Route createRoute(int endLabel) {
+    List<Link> routeLinks = new ArrayList<>();
+    for (int label = endLabel; this.labelParents[label] >= 0; label = this.labelParents[label]) {
+      Passage passage = this.compiledStory.getPassage(
+          this.labelPassages[this.labelParents[label]]);
+      routeLinks.add(passage.getLinks().get(this.labelLinkIndexes[label]));
+    }
+    Collections.reverse(routeLinks);
+    return new Route(routeLinks, this.compiledStory.getPassage(this.labelPassages[endLabel]),
+        this.labelHealth[endLabel], this.labelScore[endLabel], this.labelGold[endLabel],
+        this.unbounded, this.complete);
+  }
+
+  /**
+   * Removes the labels of the previous search.
+   */
+  private void resetLabels() {
+    int capacity = 16;
+    this.labelCount = 0;
+    this.labelPassages = new int[capacity];
+    this.labelHealth = new int[capacity];
+    this.labelScore = new int[capacity];
+    this.labelGold = new int[capacity];
+    this.labelDepths = new int[capacity];
+    this.labelParents = new int[capacity];
+    this.labelLinkIndexes = new int[capacity];
+    this.nextLabels = new int[capacity];
+    this.dominatedLabels = new boolean[capacity];
+    this.loopLabels = new boolean[capacity];
+    this.labelItems = new long[capacity * this.startItems.length];
+    this.passageLabels = new int[this.links.length];
+    Arrays.fill(this.passageLabels, -1);
+    this.unbounded = false;
+    this.complete = true;
+  }
+
+  /**
+   * Stores a new label and adds it to the labels of its passage, unless the maximum number of
+   * labels is reached.
+   *
+   * @param passageId the passage of the label.
+   * @param health    the health of the label.
+   * @param score     the score of the label.
+   * @param gold      the gold of the label.
+   * @param items     the bits of the inventory of the label.
+   * @param parent    the label the new label came from, or -1 for the first label.
+   * @param linkIndex the index of the link that was followed from the parent, or -1 for the
+   *                  first label.
+   * @param loop      true if a loop that only made the stats better was followed on the way to
+   *                  the label.
+   */
+  private void addLabel(int passageId, int health, int score, int gold, long[] items,
+                        int parent, int linkIndex, boolean loop) {
+    if (this.labelCount == this.maximumLabels) {
+      this.complete = false;
+    } else {
+      if (this.labelCount == this.labelPassages.length) {
+        int capacity = (int) Math.min(this.maximumLabels, this.labelCount * 2L);
+        this.labelPassages = Arrays.copyOf(this.labelPassages, capacity);
+        this.labelHealth = Arrays.copyOf(this.labelHealth, capacity);
+        this.labelScore = Arrays.copyOf(this.labelScore, capacity);
+        this.labelGold = Arrays.copyOf(this.labelGold, capacity);
+        this.labelDepths = Arrays.copyOf(this.labelDepths, capacity);
+        this.labelParents = Arrays.copyOf(this.labelParents, capacity);
+        this.labelLinkIndexes = Arrays.copyOf(this.labelLinkIndexes, capacity);
+        this.nextLabels = Arrays.copyOf(this.nextLabels, capacity);
+        this.dominatedLabels = Arrays.copyOf(this.dominatedLabels, capacity);
+        this.loopLabels = Arrays.copyOf(this.loopLabels, capacity);
+        this.labelItems = Arrays.copyOf(this.labelItems, capacity * items.length);
+      }
+      int label = this.labelCount;
+      this.labelPassages[label] = passageId;
+      this.labelHealth[label] = health;
+      this.labelScore[label] = score;
+      this.labelGold[label] = gold;
+      this.labelDepths[label] = parent < 0 ? 0 : this.labelDepths[parent] + 1;
+      this.labelParents[label] = parent;
+      this.labelLinkIndexes[label] = linkIndex;
+      this.dominatedLabels[label] = false;
+      this.loopLabels[label] = loop;
+      System.arraycopy(items, 0, this.labelItems, label * items.length, items.length);
+      this.nextLabels[label] = this.passageLabels[passageId];
+      this.passageLabels[passageId] = label;
+      this.labelCount++;
+    }
+  }
+}
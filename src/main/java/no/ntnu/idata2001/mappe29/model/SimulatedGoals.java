@@ -0,0 +1,102 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.GoldGoal;
+import no.ntnu.idata2001.mappe29.model.goals.HealthGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ScoreGoal;
+
+/**
+ * Represents goals compiled into a type and a value, so the analyzers can check them against
+ * plain stats and item bits. Goals that are not gold, health, score or item goals are checked
+ * with a player that is created for the check.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+final class SimulatedGoals {
+  private static final int GOLD_GOAL = 0;
+  private static final int HEALTH_GOAL = 1;
+  private static final int SCORE_GOAL = 2;
+  private static final int ITEM_GOAL = 3;
+  private static final int OTHER_GOAL = 4;
+
+  private final List<Goal> goals;
+  private final int[] goalTypes;
+  private final int[] goalValues;
+  private final ItemDictionary itemDictionary;
+
+  /**
+   * Creates an instance of SimulatedGoals, and interns the items of the item goals into the
+   * specified dictionary.
+   *
+   * @param goals          the goals to compile.
+   * @param itemDictionary the dictionary of the items.
+   */
+  SimulatedGoals(List<Goal> goals, ItemDictionary itemDictionary) {
+    this.goals = new ArrayList<>(goals);
+    this.goalTypes = new int[goals.size()];
+    this.goalValues = new int[goals.size()];
+    this.itemDictionary = itemDictionary;
+    for (int goalIndex = 0; goalIndex < this.goals.size(); goalIndex++) {
+      Goal goal = this.goals.get(goalIndex);
+      if (goal instanceof GoldGoal goldGoal) {
+        this.goalTypes[goalIndex] = GOLD_GOAL;
+        this.goalValues[goalIndex] = goldGoal.getMinimumGold();
+      } else if (goal instanceof HealthGoal healthGoal) {
+        this.goalTypes[goalIndex] = HEALTH_GOAL;
+        this.goalValues[goalIndex] = healthGoal.getMinimumHealth();
+      } else if (goal instanceof ScoreGoal scoreGoal) {
+        this.goalTypes[goalIndex] = SCORE_GOAL;
+        this.goalValues[goalIndex] = scoreGoal.getMinimumPoints();
+      } else if (goal instanceof ItemGoal itemGoal) {
+        this.goalTypes[goalIndex] = ITEM_GOAL;
+        this.goalValues[goalIndex] = itemDictionary.intern(itemGoal.getMandatoryItem());
+      } else {
+        this.goalTypes[goalIndex] = OTHER_GOAL;
+      }
+    }
+  }
+
+  /**
+   * Gets the goals that were compiled.
+   *
+   * @return the goals that were compiled.
+   */
+  List<Goal> getGoals() {
+    return this.goals;
+  }
+
+  /**
+   * Gets the number of goals that were compiled.
+   *
+   * @return the number of goals.
+   */
+  int size() {
+    return this.goals.size();
+  }
+
+  /**
+   * Checks if the goal with the specified index is fulfilled by the specified stats.
+   *
+   * @param goalIndex the index of the goal.
+   * @param health    the health of the player.
+   * @param score     the score of the player.
+   * @param gold      the gold of the player.
+   * @param items     the bits of the items in the inventory.
+   * @return true if the goal is fulfilled, false otherwise.
+   */
+  boolean isFulfilled(int goalIndex, int health, int score, int gold, long[] items) {
+    int goalValue = this.goalValues[goalIndex];
+    return switch (this.goalTypes[goalIndex]) {
+      case GOLD_GOAL -> goalValue <= gold;
+      case HEALTH_GOAL -> goalValue <= health;
+      case SCORE_GOAL -> goalValue <= score;
+      case ITEM_GOAL -> ItemBits.get(items, goalValue);
+      default -> this.goals.get(goalIndex)
+          .isFulfilled(ItemBits.createPlayer(health, score, gold, items, this.itemDictionary));
+    };
+  }
+}
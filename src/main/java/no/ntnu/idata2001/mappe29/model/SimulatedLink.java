@@ -0,0 +1,100 @@
+package no.ntnu.idata2001.mappe29.model;
+
+/**
+ * Represents a link of a compiled story as the analyzers follow it: the id of the passage it
+ * links to, the fused effect of its actions, and the items of the effect as item ids.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+final class SimulatedLink {
+  private final int target;
+  private final LinkEffect effect;
+  private final int[] requiredItems;
+  private final int[] forbiddenItems;
+  private final int[] addedItems;
+  private final int[] removedItems;
+
+  /**
+   * Creates an instance of SimulatedLink, and interns the items of the effect into the specified
+   * dictionary.
+   *
+   * @param target         the id of the passage that the link links to.
+   * @param effect         the fused effect of the actions of the link.
+   * @param itemDictionary the dictionary of the items.
+   */
+  SimulatedLink(int target, LinkEffect effect, ItemDictionary itemDictionary) {
+    this.target = target;
+    this.effect = effect;
+    this.requiredItems = internItems(effect.getRequiredItems(), itemDictionary);
+    this.forbiddenItems = internItems(effect.getForbiddenItems(), itemDictionary);
+    this.addedItems = internItems(effect.getAddedItems(), itemDictionary);
+    this.removedItems = internItems(effect.getRemovedItems(), itemDictionary);
+  }
+
+  /**
+   * Interns the specified items into the specified dictionary.
+   *
+   * @param items          the specified items.
+   * @param itemDictionary the specified dictionary.
+   * @return the ids of the items.
+   */
+  private static int[] internItems(String[] items, ItemDictionary itemDictionary) {
+    int[] itemIds = new int[items.length];
+    for (int index = 0; index < items.length; index++) {
+      itemIds[index] = itemDictionary.intern(items[index]);
+    }
+    return itemIds;
+  }
+
+  /**
+   * Gets the id of the passage that this link links to.
+   *
+   * @return the id of the passage that this link links to.
+   */
+  int getTarget() {
+    return this.target;
+  }
+
+  /**
+   * Gets the fused effect of the actions of this link.
+   *
+   * @return the fused effect of the actions of this link.
+   */
+  LinkEffect getEffect() {
+    return this.effect;
+  }
+
+  /**
+   * Checks if this link can be followed with the specified items in the inventory, meaning the
+   * player has the items the link removes and does not have the items it adds. An effect that
+   * was not fused can always be tried.
+   *
+   * @param items the bits of the items in the inventory.
+   * @return true if this link can be followed, false otherwise.
+   */
+  boolean canFollow(long[] items) {
+    boolean canFollow = true;
+    for (int index = 0; canFollow && index < this.requiredItems.length; index++) {
+      canFollow = ItemBits.get(items, this.requiredItems[index]);
+    }
+    for (int index = 0; canFollow && index < this.forbiddenItems.length; index++) {
+      canFollow = !ItemBits.get(items, this.forbiddenItems[index]);
+    }
+    return canFollow;
+  }
+
+  /**
+   * Applies the items of the fused effect of this link to the specified bits.
+   *
+   * @param items the bits of the items in the inventory.
+   */
+  void applyItems(long[] items) {
+    for (int itemId : this.removedItems) {
+      ItemBits.clear(items, itemId);
+    }
+    for (int itemId : this.addedItems) {
+      ItemBits.set(items, itemId);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+
+/**
+ * Represents the results of simulating many random playthroughs of a story with a
+ * {@link PlaythroughSimulator PlaythroughSimulator}. The report tells how often every ending
+ * passage was reached, how often the player died or got stuck, the average stats of the player
+ * at the end, and how often each goal was fulfilled.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+public final class SimulationReport {
+  private final long playthroughs;
+  private final Map<String, Long> endingCounts;
+  private final long successCount;
+  private final long failedCount;
+  private final long deathCount;
+  private final long stuckCount;
+  private final long stepLimitCount;
+  private final double averageHealth;
+  private final double averageScore;
+  private final double averageGold;
+  private final List<Goal> goals;
+  private final List<Double> goalSuccessRates;
+
+  /**
+   * Creates an instance of SimulationReport.
+   *
+   * @param playthroughs     the number of playthroughs that were simulated.
+   * @param endingCounts     the number of playthroughs that ended in every ending passage, by
+   *                         passage title.
+   * @param successCount     the number of playthroughs that ended in a success passage.
+   * @param failedCount      the number of playthroughs that ended in a failed passage.
+   * @param deathCount       the number of playthroughs where the player had no health left.
+   * @param stuckCount       the number of playthroughs where no link could be followed.
+   * @param stepLimitCount   the number of playthroughs that were stopped at the step limit.
+   * @param averageHealth    the average health of the player at the end.
+   * @param averageScore     the average score of the player at the end.
+   * @param averageGold      the average gold of the player at the end.
+   * @param goals            the goals that were checked at the end.
+   * @param goalSuccessRates the share of playthroughs that fulfilled every goal.
+   */
+  SimulationReport(long playthroughs, Map<String, Long> endingCounts, long successCount,
+                   long failedCount, long deathCount, long stuckCount, long stepLimitCount,
+                   double averageHealth, double averageScore, double averageGold,
+                   List<Goal> goals, List<Double> goalSuccessRates) {
+    this.playthroughs = playthroughs;
+    this.endingCounts = Collections.unmodifiableMap(endingCounts);
+    this.successCount = successCount;
+    this.failedCount = failedCount;
+    this.deathCount = deathCount;
+    this.stuckCount = stuckCount;
+    this.stepLimitCount = stepLimitCount;
+    this.averageHealth = averageHealth;
+    this.averageScore = averageScore;
+    this.averageGold = averageGold;
+    this.goals = Collections.unmodifiableList(new ArrayList<>(goals));
+    this.goalSuccessRates = Collections.unmodifiableList(new ArrayList<>(goalSuccessRates));
+  }
+
+  /**
+   * Gets the number of playthroughs that were simulated.
+   *
+   * @return the number of playthroughs.
+   */
+  public long getPlaythroughs() {
+    return this.playthroughs;
+  }
+
+  /**
+   * Gets the number of playthroughs that ended in every ending passage, by passage title. An
+   * ending passage is a passage without links.
+   *
+   * @return the number of playthroughs that ended in every ending passage.
+   */
+  public Map<String, Long> getEndingCounts() {
+    return this.endingCounts;
+  }
+
+  /**
+   * Gets the number of playthroughs that ended in a passage whose title contains
+   * "story_success".
+   *
+   * @return the number of successful playthroughs.
+   */
+  public long getSuccessCount() {
+    return this.successCount;
+  }
+
+  /**
+   * Gets the number of playthroughs that ended in a passage whose title contains "story_failed".
+   *
+   * @return the number of failed playthroughs.
+   */
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Gets the number of playthroughs where the player had no health left at the end.
+   *
+   * @return the number of playthroughs where the player died.
+   */
+  public long getDeathCount() {
+    return this.deathCount;
+  }
+
+  /**
+   * Gets the share of playthroughs where the player had no health left at the end.
+   *
+   * @return the death rate, from 0 to 1.
+   */
+  public double getDeathRate() {
+    return this.rate(this.deathCount);
+  }
+
+  /**
+   * Gets the number of playthroughs that stopped in a passage with links where none of the links
+   * could be followed, because the player did not have or already had an item.
+   *
+   * @return the number of playthroughs that got stuck.
+   */
+  public long getStuckCount() {
+    return this.stuckCount;
+  }
+
+  /**
+   * Gets the number of playthroughs that were stopped because they reached the step limit, which
+   * usually means the story has a loop.
+   *
+   * @return the number of playthroughs that were stopped at the step limit.
+   */
+  public long getStepLimitCount() {
+    return this.stepLimitCount;
+  }
+
+  /**
+   * Gets the average health of the player at the end of a playthrough.
+   *
+   * @return the average health.
+   */
+  public double getAverageHealth() {
+    return this.averageHealth;
+  }
+
+  /**
+   * Gets the average score of the player at the end of a playthrough.
+   *
+   * @return the average score.
+   */
+  public double getAverageScore() {
+    return this.averageScore;
+  }
+
+  /**
+   * Gets the average gold of the player at the end of a playthrough.
+   *
+   * @return the average gold.
+   */
+  public double getAverageGold() {
+    return this.averageGold;
+  }
+
+  /**
+   * Gets the goals that were checked at the end of every playthrough.
+   *
+   * @return the goals that were checked.
+   */
+  public List<Goal> getGoals() {
+    return this.goals;
+  }
+
+  /**
+   * Gets the share of playthroughs that fulfilled every goal, in the same order as
+   * {@link #getGoals()}.
+   *
+   * @return the success rates of the goals, from 0 to 1.
+   */
+  public List<Double> getGoalSuccessRates() {
+    return this.goalSuccessRates;
+  }
+
+  /**
+   * Gets the specified count as a share of all playthroughs.
+   *
+   * @param count the specified count.
+   * @return the share of all playthroughs, or 0 if no playthroughs were simulated.
+   */
+  private double rate(long count) {
+    return this.playthroughs == 0 ? 0 : (double) count / this.playthroughs;
+  }
+}
@@ -0,0 +1,540 @@
+package no.ntnu.idata2001.mappe29.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+
+/**
+ * Represents an analyzer that finds every state a player can reach in a story. A state is a
+ * passage together with the health, score, gold and inventory of the player. Starting from the
+ * opening passage and the current stats of the player of a {@link Game Game}, every link that can
+ * be followed is followed, and the actions of the link change the stats exactly like they change
+ * a {@link Player Player}.
+ *
+ * <p>Every state is stored once, as a fixed number of longs in one large array, and a hash table
+ * of state numbers finds states that were already visited. A state that is reached again is not
+ * explored again, so loops in the story end. The states are explored in the order they are
+ * found, and the states a state leads to are stored in the same order, so no extra queue or
+ * graph objects are needed.</p>
+ *
+ * <p>The exploration stops when the stored states would use more memory than the memory budget.
+ * The explorer is then not complete, and the answers only cover the states that were found.</p>
+ *
+ * <p>A good ending is a state in a passage without links, where the player has health left and
+ * the title of the passage does not contain "story_failed". A state is doomed if no good ending
+ * can be reached from it. A choice is always fatal if every state it leads to is doomed.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+public class StateSpaceExplorer {
+  private static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+  private final CompiledStory compiledStory;
+  private final ItemDictionary itemDictionary;
+  private final SimulatedLink[][] links;
+  private final int[] firstLinkNumbers;
+  private final int stateWidth;
+  private final long memoryBudget;
+  private long[] states;
+  private int stateCount;
+  private int[] table;
+  private int[] edgeStarts;
+  private int[] edgeTargets;
+  private int[] edgeLinkNumbers;
+  private int edgeCount;
+  private int exploredCount;
+  private boolean complete;
+  private boolean[] reachedPassages;
+  private boolean[] doomedStates;
+
+  /**
+   * Creates an instance of StateSpaceExplorer with a memory budget of 256 MB, and explores the
+   * story of the specified game.
+   *
+   * @param game the specified game.
+   * @throws IllegalArgumentException if the specified game is null or its story has broken links.
+   */
+  public StateSpaceExplorer(Game game) {
+    this(game, DEFAULT_MEMORY_BUDGET);
+  }
+
+  /**
+   * Creates an instance of StateSpaceExplorer, and explores the story of the specified game.
+   *
+   * @param game         the specified game.
+   * @param memoryBudget the maximum number of bytes that the stored states may use.
+   * @throws IllegalArgumentException if the specified game is null, its story has broken links,
+   *                                  or the memory budget is less than 1.
+   */
+  public StateSpaceExplorer(Game game, long memoryBudget) {
+    if (game == null) {
+      throw new IllegalArgumentException("Game cannot be null");
+    } else if (memoryBudget < 1) {
+      throw new IllegalArgumentException("Memory budget cannot be less than 1");
+    }
+    this.compiledStory = game.getCompiledStory();
+    this.memoryBudget = memoryBudget;
+    this.itemDictionary = new ItemDictionary();
+    Player player = game.getPlayer();
+    for (String item : player.getInventory()) {
+      this.itemDictionary.intern(item);
+    }
+    int passageCount = this.compiledStory.getPassageCount();
+    this.links = new SimulatedLink[passageCount][];
+    this.firstLinkNumbers = new int[passageCount + 1];
+    for (int passageId = 0; passageId < passageCount; passageId++) {
+      this.links[passageId] = new SimulatedLink[this.compiledStory.getLinkCount(passageId)];
+      this.firstLinkNumbers[passageId + 1] = this.firstLinkNumbers[passageId]
+          + this.links[passageId].length;
+      for (int linkIndex = 0; linkIndex < this.links[passageId].length; linkIndex++) {
+        this.links[passageId][linkIndex] = new SimulatedLink(
+            this.compiledStory.getLinkTarget(passageId, linkIndex),
+            this.compiledStory.getLinkEffect(passageId, linkIndex), this.itemDictionary);
+      }
+    }
+    this.stateWidth = 2 + ItemBits.getWordCount(this.itemDictionary);
+
+    this.states = new long[16 * this.stateWidth];
+    this.table = new int[32];
+    this.edgeStarts = new int[17];
+    this.edgeTargets = new int[16];
+    this.edgeLinkNumbers = new int[16];
+    this.complete = true;
+    long[] items = new long[this.stateWidth - 2];
+    for (String item : player.getInventory()) {
+      ItemBits.set(items, this.itemDictionary.getId(item));
+    }
+    this.addState(0, player.getHealth(), player.getScore(), player.getGold(), items);
+    this.explore();
+    this.findReachedPassages();
+    this.findDoomedStates();
+  }
+
+  /**
+   * Explores the states in the order they were found, until every state is explored or the
+   * memory budget is used.
+   */
+  private void explore() {
+    long[] items = new long[this.stateWidth - 2];
+    long[] nextItems = new long[this.stateWidth - 2];
+    while (this.complete && this.exploredCount < this.stateCount) {
+      int state = this.exploredCount;
+      int offset = state * this.stateWidth;
+      int passageId = (int) (this.states[offset] >>> 32);
+      int health = (int) this.states[offset];
+      int score = (int) (this.states[offset + 1] >>> 32);
+      int gold = (int) this.states[offset + 1];
+      System.arraycopy(this.states, offset + 2, items, 0, items.length);
+      this.ensureEdgeStartCapacity(state + 2);
+      this.edgeStarts[state] = this.edgeCount;
+
+      SimulatedLink[] passageLinks = this.links[passageId];
+      for (int linkIndex = 0; this.complete && linkIndex < passageLinks.length; linkIndex++) {
+        SimulatedLink link = passageLinks[linkIndex];
+        if (link.canFollow(items)) {
+          System.arraycopy(items, 0, nextItems, 0, items.length);
+          int nextState = this.follow(link, health, score, gold, nextItems);
+          if (nextState >= 0) {
+            this.addEdge(nextState, this.firstLinkNumbers[passageId] + linkIndex);
+          }
+        }
+      }
+      if (this.complete) {
+        this.exploredCount++;
+        this.edgeStarts[this.exploredCount] = this.edgeCount;
+      }
+    }
+  }
+
+  /**
+   * Follows the specified link from the specified stats, and gets the state it leads to.
+   *
+   * @param link      the specified link.
+   * @param health    the health before the link is followed.
+   * @param score     the score before the link is followed.
+   * @param gold      the gold before the link is followed.
+   * @param nextItems the bits of the inventory, which are changed to the inventory after the
+   *                  link is followed.
+   * @return the number of the state the link leads to, or -1 if the actions of the link fail or
+   *         the memory budget is used.
+   */
+  private int follow(SimulatedLink link, int health, int score, int gold, long[] nextItems) {
+    LinkEffect effect = link.getEffect();
+    int nextState = -1;
+    if (effect.isFused()) {
+      link.applyItems(nextItems);
+      nextState = this.addState(link.getTarget(), effect.applyToHealth(health),
+          effect.applyToScore(score), effect.applyToGold(gold), nextItems);
+    } else {
+      Player player = ItemBits.createPlayer(health, score, gold, nextItems, this.itemDictionary);
+      try {
+        for (Action action : effect.getActions()) {
+          action.execute(player);
+        }
+        ItemBits.readInventory(player, nextItems, this.itemDictionary);
+        nextState = this.addState(link.getTarget(), player.getHealth(), player.getScore(),
+            player.getGold(), nextItems);
+      } catch (IllegalArgumentException exception) {
+        nextState = -1;
+      }
+    }
+    return nextState;
+  }
+
+  /**
+   * Gets the number of the specified state, and stores the state if it has not been found
+   * before.
+   *
+   * @param passageId the passage id of the state.
+   * @param health    the health of the state.
+   * @param score     the score of the state.
+   * @param gold      the gold of the state.
+   * @param items     the bits of the inventory of the state.
+   * @return the number of the state, or -1 if the state is new and storing it would use more
+   *         memory than the memory budget.
+   */
+  private int addState(int passageId, int health, int score, int gold, long[] items) {
+    long first = ((long) passageId << 32) | (health & 0xFFFFFFFFL);
+    long second = ((long) score << 32) | (gold & 0xFFFFFFFFL);
+    long hash = first * 0x9E3779B97F4A7C15L + second;
+    for (long word : items) {
+      hash = hash * 0x9E3779B97F4A7C15L + word;
+    }
+    int mask = this.table.length - 1;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    int state = -1;
+    while (state < 0 && this.table[slot] != 0) {
+      int candidate = this.table[slot] - 1;
+      if (this.hasState(candidate, first, second, items)) {
+        state = candidate;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (state < 0) {
+      if (this.getMemoryUse(this.stateCount + 1) > this.memoryBudget) {
+        this.complete = false;
+      } else {
+        state = this.stateCount;
+        this.ensureStateCapacity(state + 1);
+        int offset = state * this.stateWidth;
+        this.states[offset] = first;
+        this.states[offset + 1] = second;
+        System.arraycopy(items, 0, this.states, offset + 2, items.length);
+        this.stateCount++;
+        this.table[slot] = state + 1;
+        if (this.stateCount * 2 > this.table.length) {
+          this.growTable();
+        }
+      }
+    }
+    return state;
+  }
+
+  /**
+   * Checks if the stored state with the specified number equals the specified words.
+   *
+   * @param state  the number of the stored state.
+   * @param first  the first word of the state.
+   * @param second the second word of the state.
+   * @param items  the bits of the inventory of the state.
+   * @return true if the stored state equals the words, false otherwise.
+   */
+  private boolean hasState(int state, long first, long second, long[] items) {
+    int offset = state * this.stateWidth;
+    boolean equal = this.states[offset] == first && this.states[offset + 1] == second;
+    for (int index = 0; equal && index < items.length; index++) {
+      equal = this.states[offset + 2 + index] == items[index];
+    }
+    return equal;
+  }
+
+  /**
+   * Inserts the specified state into the hash table.
+   *
+   * @param state the number of the state.
+   * @param hash  the hash of the state.
+   */
+  private void insertIntoTable(int state, int hash) {
+    int mask = this.table.length - 1;
+    int slot = hash & mask;
+    while (this.table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    this.table[slot] = state + 1;
+  }
+
+  /**
+   * Doubles the size of the hash table and inserts all the stored states again.
+   */
+  private void growTable() {
+    this.table = new int[this.table.length * 2];
+    for (int state = 0; state < this.stateCount; state++) {
+      int offset = state * this.stateWidth;
+      long hash = this.states[offset] * 0x9E3779B97F4A7C15L + this.states[offset + 1];
+      for (int index = 2; index < this.stateWidth; index++) {
+        hash = hash * 0x9E3779B97F4A7C15L + this.states[offset + index];
+      }
+      this.insertIntoTable(state, (int) (hash ^ (hash >>> 32)));
+    }
+  }
+
+  /**
+   * Estimates the memory that is used by the specified number of states: the longs of the states
+   * and the slots of the hash table.
+   *
+   * @param states the specified number of states.
+   * @return the estimated number of bytes.
+   */
+  private long getMemoryUse(int states) {
+    return (long) states * this.stateWidth * Long.BYTES + (long) states * 4 * Integer.BYTES;
+  }
+
+  /**
+   * Makes sure the array of states can hold the specified number of states.
+   *
+   * @param capacity the specified number of states.
+   */
+  private void ensureStateCapacity(int capacity) {
+    if (capacity * this.stateWidth > this.states.length) {
+      this.states = Arrays.copyOf(this.states, this.states.length * 2);
+    }
+  }
+
+  /**
+   * Makes sure the array of edge starts can hold the specified number of entries.
+   *
+   * @param capacity the specified number of entries.
+   */
+  private void ensureEdgeStartCapacity(int capacity) {
+    if (capacity > this.edgeStarts.length) {
+      this.edgeStarts = Arrays.copyOf(this.edgeStarts, Math.max(capacity,
+          this.edgeStarts.length * 2));
+    }
+  }
+
+  /**
+   * Stores an edge from the state that is explored to the specified state.
+   *
+   * @param target     the number of the state the edge leads to.
+   * @param linkNumber the number of the link of the edge, counted over all passages.
+   */
+  private void addEdge(int target, int linkNumber) {
+    if (this.edgeCount == this.edgeTargets.length) {
+      this.edgeTargets = Arrays.copyOf(this.edgeTargets, this.edgeCount * 2);
+      this.edgeLinkNumbers = Arrays.copyOf(this.edgeLinkNumbers, this.edgeCount * 2);
+    }
+    this.edgeTargets[this.edgeCount] = target;
+    this.edgeLinkNumbers[this.edgeCount] = linkNumber;
+    this.edgeCount++;
+  }
+
+  /**
+   * Finds the passages of the stored states.
+   */
+  private void findReachedPassages() {
+    this.reachedPassages = new boolean[this.compiledStory.getPassageCount()];
+    for (int state = 0; state < this.stateCount; state++) {
+      this.reachedPassages[this.getPassageId(state)] = true;
+    }
+  }
+
+  /**
+   * Finds the states from which no good ending can be reached, by going backwards from the good
+   * endings. States with links that were not explored are counted as not doomed, since their
+   * future is not known.
+   */
+  private void findDoomedStates() {
+    int[] incomingStarts = new int[this.stateCount + 1];
+    for (int edge = 0; edge < this.edgeCount; edge++) {
+      incomingStarts[this.edgeTargets[edge] + 1]++;
+    }
+    for (int state = 0; state < this.stateCount; state++) {
+      incomingStarts[state + 1] += incomingStarts[state];
+    }
+    int[] incomingSources = new int[this.edgeCount];
+    int[] nextIncoming = Arrays.copyOf(incomingStarts, this.stateCount);
+    for (int state = 0; state < this.exploredCount; state++) {
+      for (int edge = this.edgeStarts[state]; edge < this.edgeStarts[state + 1]; edge++) {
+        incomingSources[nextIncoming[this.edgeTargets[edge]]++] = state;
+      }
+    }
+
+    this.doomedStates = new boolean[this.stateCount];
+    Arrays.fill(this.doomedStates, true);
+    int[] queue = new int[this.stateCount];
+    int queueEnd = 0;
+    for (int state = 0; state < this.stateCount; state++) {
+      boolean unexplored = state >= this.exploredCount
+          && this.links[this.getPassageId(state)].length > 0;
+      if (unexplored || this.isGoodEnding(state)) {
+        this.doomedStates[state] = false;
+        queue[queueEnd++] = state;
+      }
+    }
+    for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+      int state = queue[queueStart];
+      for (int index = incomingStarts[state]; index < incomingStarts[state + 1]; index++) {
+        int source = incomingSources[index];
+        if (this.doomedStates[source]) {
+          this.doomedStates[source] = false;
+          queue[queueEnd++] = source;
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if the specified state is a good ending.
+   *
+   * @param state the number of the state.
+   * @return true if the state is a good ending, false otherwise.
+   */
+  private boolean isGoodEnding(int state) {
+    int passageId = this.getPassageId(state);
+    return this.links[passageId].length == 0 && this.getHealth(state) > 0
+        && !this.compiledStory.getPassage(passageId).getTitle().contains("story_failed");
+  }
+
+  /**
+   * Gets the passage id of the specified state.
+   *
+   * @param state the number of the state.
+   * @return the passage id of the state.
+   */
+  private int getPassageId(int state) {
+    return (int) (this.states[state * this.stateWidth] >>> 32);
+  }
+
+  /**
+   * Gets the health of the specified state.
+   *
+   * @param state the number of the state.
+   * @return the health of the state.
+   */
+  private int getHealth(int state) {
+    return (int) this.states[state * this.stateWidth];
+  }
+
+  /**
+   * Checks if every reachable state was explored within the memory budget.
+   *
+   * @return true if every reachable state was explored, false otherwise.
+   */
+  public boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Gets the number of states that were found.
+   *
+   * @return the number of states that were found.
+   */
+  public int getStateCount() {
+    return this.stateCount;
+  }
+
+  /**
+   * Checks if the specified passage can be reached from the opening passage.
+   *
+   * @param passage the specified passage.
+   * @return true if the specified passage can be reached, false if it cannot be reached or is not
+   *         in the story.
+   * @throws IllegalArgumentException if the specified passage is null.
+   */
+  public boolean isReachable(Passage passage) {
+    if (passage == null) {
+      throw new IllegalArgumentException("Passage cannot be null");
+    }
+    int passageId = this.compiledStory.getPassageId(passage);
+    return passageId >= 0 && this.reachedPassages[passageId];
+  }
+
+  /**
+   * Checks if the specified goals can all be fulfilled at the same time at the end of the story,
+   * meaning there is a reachable state in a passage without links that fulfills every goal.
+   *
+   * @param goals the specified goals.
+   * @return true if the goals can be fulfilled together, false otherwise.
+   * @throws IllegalArgumentException if the specified goals are null or one of them is null.
+   */
+  public boolean canBeFulfilledTogether(List<Goal> goals) {
+    if (goals == null) {
+      throw new IllegalArgumentException("Goals cannot be null");
+    }
+    boolean knownItems = true;
+    for (Goal goal : goals) {
+      if (goal == null) {
+        throw new IllegalArgumentException("One of the goals is null");
+      } else if (goal instanceof ItemGoal itemGoal
+          && this.itemDictionary.getId(itemGoal.getMandatoryItem()) < 0) {
+        knownItems = false;
+      }
+    }
+
+    boolean fulfilled = false;
+    if (knownItems) {
+      SimulatedGoals simulatedGoals = new SimulatedGoals(goals, this.itemDictionary);
+      long[] items = new long[this.stateWidth - 2];
+      for (int state = 0; !fulfilled && state < this.stateCount; state++) {
+        if (this.links[this.getPassageId(state)].length == 0) {
+          int offset = state * this.stateWidth;
+          int score = (int) (this.states[offset + 1] >>> 32);
+          int gold = (int) this.states[offset + 1];
+          System.arraycopy(this.states, offset + 2, items, 0, items.length);
+          fulfilled = true;
+          for (int goalIndex = 0; fulfilled && goalIndex < simulatedGoals.size(); goalIndex++) {
+            fulfilled = simulatedGoals.isFulfilled(goalIndex, this.getHealth(state), score, gold,
+                items);
+          }
+        }
+      }
+    }
+    return fulfilled;
+  }
+
+  /**
+   * Checks if no good ending can be reached from the start of the story.
+   *
+   * @return true if the story cannot end well, false otherwise.
+   */
+  public boolean isDoomedFromStart() {
+    return this.doomedStates[0];
+  }
+
+  /**
+   * Gets the links that are always fatal, meaning that every time one of them can be followed, it
+   * leads to a state from which no good ending can be reached.
+   *
+   * @return the links that are always fatal.
+   */
+  public List<Link> getFatalChoices() {
+    int linkCount = this.firstLinkNumbers[this.links.length];
+    boolean[] followed = new boolean[linkCount];
+    boolean[] fatal = new boolean[linkCount];
+    Arrays.fill(fatal, true);
+    for (int edge = 0; edge < this.edgeCount; edge++) {
+      int linkNumber = this.edgeLinkNumbers[edge];
+      followed[linkNumber] = true;
+      if (!this.doomedStates[this.edgeTargets[edge]]) {
+        fatal[linkNumber] = false;
+      }
+    }
+
+    List<Link> fatalChoices = new ArrayList<>();
+    for (int passageId = 0; passageId < this.links.length; passageId++) {
+      List<Link> passageLinks = this.compiledStory.getPassage(passageId).getLinks();
+      for (int linkIndex = 0; linkIndex < this.links[passageId].length; linkIndex++) {
+        int linkNumber = this.firstLinkNumbers[passageId] + linkIndex;
+        if (followed[linkNumber] && fatal[linkNumber]) {
+          fatalChoices.add(passageLinks.get(linkIndex));
+        }
+      }
+    }
+    return fatalChoices;
+  }
+}
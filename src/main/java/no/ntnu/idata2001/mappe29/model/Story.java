@@ -2,10 +2,12 @@ package no.ntnu.idata2001.mappe29.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import javafx.scene.image.Image;
+import java.util.Set;
 import no.ntnu.idata2001.mappe29.model.exceptions.InvalidPassagesException;
 import no.ntnu.idata2001.mappe29.model.exceptions.NoBrokenLinksException;
 
@@ -21,10 +23,17 @@ import no.ntnu.idata2001.mappe29.model.exceptions.NoBrokenLinksException;
 public class Story {
   private String title;
   private final Map<Link, Passage> passages;
+  private final Map<String, Passage> passageIndex;
+  private final Map<String, List<Link>> brokenLinks;
+  private int brokenLinkCount;
+  private final Map<String, List<Link>> incomingLinks;
+  private final Map<String, List<Passage>> incomingPassages;
+  private int modificationCount;
+  private final ItemDictionary itemDictionary;
   private Passage openingPassage;
-  private Image image;
-  private Image backgroundImage;
-  private Image darkBackgroundImage;
+  private String imagePath;
+  private String backgroundImagePath;
+  private String darkBackgroundImagePath;
   private String intro1Text;
   private String intro2Text;
 
@@ -38,10 +47,17 @@ public class Story {
   public Story(String title, Passage openingPassage) {
     this.setTitle(title);
     this.passages = new HashMap<>();
+    this.passageIndex = new HashMap<>();
+    this.brokenLinks = new HashMap<>();
+    this.brokenLinkCount = 0;
+    this.incomingLinks = new HashMap<>();
+    this.incomingPassages = new HashMap<>();
+    this.modificationCount = 0;
+    this.itemDictionary = new ItemDictionary();
     this.setOpeningPassage(openingPassage);
-    this.image = null;
-    this.backgroundImage = null;
-    this.darkBackgroundImage = null;
+    this.imagePath = null;
+    this.backgroundImagePath = null;
+    this.darkBackgroundImagePath = null;
     this.intro1Text = "";
     this.intro2Text = "";
     this.addPassage(this.getOpeningPassage());
@@ -96,69 +112,75 @@ public class Story {
   }
 
   /**
-   * Sets the image of this story to the specified image.
+   * Sets the image path of this story to the specified image path.
    *
-   * @param image the specified image.
-   * @throws IllegalArgumentException if the specified image is null.
+   * @param imagePath the specified image path.
+   * @throws IllegalArgumentException if the specified image path is null or blank.
    */
-  public void setImage(Image image) {
-    if (image == null) {
-      throw new IllegalArgumentException("Background image cannot be null");
+  public void setImagePath(String imagePath) {
+    if (imagePath == null) {
+      throw new IllegalArgumentException("Image path cannot be null");
+    } else if (imagePath.isBlank()) {
+      throw new IllegalArgumentException("Image path cannot be blank");
     }
-    this.image = image;
+    this.imagePath = imagePath;
   }
 
   /**
-   * Gets the image of this story.
+   * Gets the image path of this story.
    *
-   * @return the image of this story.
+   * @return the image path of this story.
    */
-  public Image getImage() {
-    return this.image;
+  public String getImagePath() {
+    return this.imagePath;
   }
 
   /**
-   * Sets the background image of this story to the specified background image.
+   * Sets the background image path of this story to the specified background image path.
    *
-   * @param backgroundImage the specified background image.
-   * @throws IllegalArgumentException if the specified background image is null.
+   * @param backgroundImagePath the specified background image path.
+   * @throws IllegalArgumentException if the specified background image path is null or blank.
    */
-  public void setBackgroundImage(Image backgroundImage) {
-    if (backgroundImage == null) {
-      throw new IllegalArgumentException("Background image cannot be null");
+  public void setBackgroundImagePath(String backgroundImagePath) {
+    if (backgroundImagePath == null) {
+      throw new IllegalArgumentException("Background image path cannot be null");
+    } else if (backgroundImagePath.isBlank()) {
+      throw new IllegalArgumentException("Background image path cannot be blank");
     }
-    this.backgroundImage = backgroundImage;
+    this.backgroundImagePath = backgroundImagePath;
   }
 
   /**
-   * Gets the background image of this story.
+   * Gets the background image path of this story.
    *
-   * @return the background image of this story.
+   * @return the background image path of this story.
    */
-  public Image getBackgroundImage() {
-    return this.backgroundImage;
+  public String getBackgroundImagePath() {
+    return this.backgroundImagePath;
   }
 
   /**
-   * Sets the dark background image of this story to the specified dark background image.
+   * Sets the dark background image path of this story to the specified dark background image path.
    *
-   * @param darkBackgroundImage the specified dark background image.
-   * @throws IllegalArgumentException if the specified dark background image is null.
+   * @param darkBackgroundImagePath the specified dark background image path.
+   * @throws IllegalArgumentException if the specified dark background image path is null or blank.
    */
-  public void setDarkBackgroundImage(Image darkBackgroundImage) {
-    if (darkBackgroundImage == null) {
-      throw new IllegalArgumentException("Dark background image cannot be null");
+  public void setDarkBackgroundImagePath(String darkBackgroundImagePath) {
+    if (darkBackgroundImagePath == null) {
+      throw new IllegalArgumentException("Dark background image path cannot be null");
+    } else if (darkBackgroundImagePath.isBlank()) {
+      throw new IllegalArgumentException("Dark background image path cannot be blank");
     }
-    this.darkBackgroundImage = darkBackgroundImage;
+    this.darkBackgroundImagePath = darkBackgroundImagePath;
   }
 
   /**
-   * Gets the dark background image of this story.
+   * Gets the dark background image path of this story.
    *
-   * @return the dark background image of this story.
+   * @return the dark background image path of this story.
    */
-  public Image getDarkBackgroundImage() {
-    return this.darkBackgroundImage;
+  public String getDarkBackgroundImagePath() {
+    return this.darkBackgroundImagePath;
   }
 
   /**
@@ -219,8 +241,33 @@ public class Story {
     if (passage == null) {
       throw new IllegalArgumentException("Passage cannot be null");
     }
-    Link link = this.createLink(passage);
-    this.passages.put(link, passage);
+    Passage replacedPassage = this.passageIndex.get(passage.getTitle());
+    if (replacedPassage != passage) {
+      if (replacedPassage != null) {
+        this.unindexLinks(replacedPassage);
+      }
+      Link link = this.createLink(passage);
+      this.passages.put(link, passage);
+      this.indexPassage(passage);
+    }
+  }
+
+  /**
+   * Adds the specified passage and its links to the indexes of this story.
+   *
+   * @param passage the specified passage.
+   */
+  private void indexPassage(Passage passage) {
+    this.modificationCount++;
+    this.passageIndex.put(passage.getTitle(), passage);
+    List<Link> resolvedLinks = this.brokenLinks.remove(passage.getTitle());
+    if (resolvedLinks != null) {
+      this.brokenLinkCount -= resolvedLinks.size();
+    }
+    passage.addStory(this);
+    for (Link passageLink : passage.getLinks()) {
+      this.handleLinkAdded(passage, passageLink);
+    }
   }
 
   /**
@@ -257,10 +304,31 @@ public class Story {
   public Passage getPassage(Link link) {
     if (link == null) {
       throw new IllegalArgumentException("Link cannot be null");
-    } else if (!this.doesLinkReferToPassageInPassages(link)) {
+    }
+    Passage passage = this.passageIndex.get(link.getReference());
+    if (passage == null) {
       throw new IllegalArgumentException("The specified link is not in the passages of this story");
     }
-    return this.passages.get(link);
+    return passage;
+  }
+
+  /**
+   * Gets the dictionary of the items that are used in this story.
+   *
+   * @return the dictionary of the items that are used in this story.
+   */
+  public ItemDictionary getItemDictionary() {
+    return this.itemDictionary;
+  }
+
+  /**
+   * Gets the passage in this story with the specified title.
+   *
+   * @param title the specified title.
+   * @return the passage with the specified title, or {@code null} if there is no such passage.
+   */
+  public Passage getPassageByTitle(String title) {
+    return this.passageIndex.get(title);
   }
 
   /**
@@ -295,8 +363,7 @@ public class Story {
     if (link == null) {
       throw new IllegalArgumentException("Link cannot be null");
     }
-    return !this.passages.values().stream()
-        .filter(passage -> passage.getTitle().equals(link.getReference())).toList().isEmpty();
+    return this.passageIndex.containsKey(link.getReference());
   }
 
   /**
@@ -310,9 +377,51 @@ public class Story {
     if (passage == null) {
       throw new IllegalArgumentException("Passage cannot be null");
     }
-    return this.passages.values().stream().filter(otherPassage -> otherPassage.hasLinks())
-        .flatMap(otherPassage -> otherPassage.getLinks().stream())
-        .anyMatch(link -> link.getReference().equals(passage.getTitle()));
+    return this.incomingLinks.containsKey(passage.getTitle());
+  }
+
+  /**
+   * Gets all the links in the passages of this story that link to the specified passage.
+   *
+   * @param passage the specified passage.
+   * @return a {@code List} of the links that link to the specified passage.
+   * @throws IllegalArgumentException if the specified passage is null.
+   */
+  public List<Link> getLinksToPassage(Passage passage) {
+    if (passage == null) {
+      throw new IllegalArgumentException("Passage cannot be null");
+    }
+    List<Link> links = this.incomingLinks.get(passage.getTitle());
+    List<Link> linksToPassage = new ArrayList<>();
+    if (links != null) {
+      linksToPassage.addAll(links);
+    }
+    return linksToPassage;
+  }
+
+  /**
+   * Gets all the passages in this story that have at least one link to the specified passage.
+   * Each passage is only included once, in the order its first link to the passage was added.
+   *
+   * @param passage the specified passage.
+   * @return a {@code List} of the passages that link to the specified passage.
+   * @throws IllegalArgumentException if the specified passage is null.
+   */
+  public List<Passage> getPassagesLinkingToPassage(Passage passage) {
+    if (passage == null) {
+      throw new IllegalArgumentException("Passage cannot be null");
+    }
+    List<Passage> sourcePassages = this.incomingPassages.get(passage.getTitle());
+    List<Passage> passagesLinkingToPassage = new ArrayList<>();
+    if (sourcePassages != null) {
+      Set<Passage> visitedPassages = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (Passage sourcePassage : sourcePassages) {
+        if (visitedPassages.add(sourcePassage)) {
+          passagesLinkingToPassage.add(sourcePassage);
+        }
+      }
+    }
+    return passagesLinkingToPassage;
   }
 
   /**
@@ -334,29 +443,30 @@ public class Story {
       throw new IllegalArgumentException("Cannot delete a passage when there are other passages "
           + "that link to it");
     } else {
+      this.modificationCount++;
+      this.unindexLinks(passage);
       this.passages.remove(link);
+      this.passageIndex.remove(passage.getTitle());
     }
   }
 
   /**
-   * Gets all the broken links in the passages of this story.
+   * Gets all the broken links in the passages of this story. Broken links are tracked as passages
+   * and links are added and removed, so this only visits the broken links themselves.
    *
    * @return a {@code List} of all the broken links.
    * @throws NoBrokenLinksException if there are no broken links in the passages of this story.
    */
   public List<Link> getBrokenLinks() throws NoBrokenLinksException {
-    List<Link> brokenLinks = new ArrayList<>();
-    for (Link link : this.passages.keySet()) {
-      Passage passage = this.getPassage(link);
-      passage.getLinks().stream()
-          .filter(passageLink -> !this.doesLinkReferToPassageInPassages(passageLink))
-          .forEach(passageLink -> brokenLinks.add(passageLink));
-    }
-    if (brokenLinks.isEmpty()) {
+    if (!this.hasBrokenLinks()) {
       throw new NoBrokenLinksException("No broken links were found");
     }
+    List<Link> brokenLinksList = new ArrayList<>(this.brokenLinkCount);
+    for (List<Link> links : this.brokenLinks.values()) {
+      brokenLinksList.addAll(links);
+    }
 
-    return brokenLinks;
+    return brokenLinksList;
   }
 
   /**
@@ -365,13 +475,108 @@ public class Story {
    * @return true if this story has broken links, false otherwise.
    */
   public boolean hasBrokenLinks() {
-    boolean hasBrokenLinks = true;
-    try {
-      this.getBrokenLinks();
-    } catch (NoBrokenLinksException exception) {
-      hasBrokenLinks = false;
+    return this.brokenLinkCount > 0;
+  }
+
+  /**
+   * Gets the number of times the passages, links or actions of links of this story have changed.
+   * A compiled story uses it to detect that it no longer matches this story.
+   *
+   * @return the number of changes to the passages, links and actions of links of this story.
+   */
+  int getModificationCount() {
+    return this.modificationCount;
+  }
+
+  /**
+   * Updates the link indexes of this story after the specified link was added to the specified
+   * passage of this story.
+   *
+   * @param passage the passage the link was added to.
+   * @param link    the link that was added.
+   */
+  void handleLinkAdded(Passage passage, Link link) {
+    this.modificationCount++;
+    this.incomingLinks.computeIfAbsent(link.getReference(), reference -> new ArrayList<>())
+        .add(link);
+    this.incomingPassages.computeIfAbsent(link.getReference(), reference -> new ArrayList<>())
+        .add(passage);
+    if (!this.passageIndex.containsKey(link.getReference())) {
+      this.brokenLinks.computeIfAbsent(link.getReference(), reference -> new ArrayList<>())
+          .add(link);
+      this.brokenLinkCount++;
     }
+  }
 
-    return hasBrokenLinks;
+  /**
+   * Records that the actions of a link in a passage of this story have changed, so a compiled
+   * story with the fused effects of the old actions is no longer up to date.
+   */
+  void handleLinkActionsChanged() {
+    this.modificationCount++;
+  }
+
+  /**
+   * Updates the link indexes of this story after the specified link was removed from the
+   * specified passage of this story.
+   *
+   * @param passage the passage the link was removed from.
+   * @param link    the link that was removed.
+   */
+  void handleLinkRemoved(Passage passage, Link link) {
+    this.modificationCount++;
+    List<Link> links = this.incomingLinks.get(link.getReference());
+    List<Passage> sourcePassages = this.incomingPassages.get(link.getReference());
+    if (links != null) {
+      int index = 0;
+      while (index < links.size()
+          && (links.get(index) != link || sourcePassages.get(index) != passage)) {
+        index++;
+      }
+      if (index < links.size()) {
+        links.remove(index);
+        sourcePassages.remove(index);
+        if (links.isEmpty()) {
+          this.incomingLinks.remove(link.getReference());
+          this.incomingPassages.remove(link.getReference());
+        }
+      }
+    }
+    this.removeBrokenLink(link);
+  }
+
+  /**
+   * Removes the specified link from the broken links of this story if it is one of them.
+   *
+   * @param link the specified link.
+   */
+  private void removeBrokenLink(Link link) {
+    List<Link> links = this.brokenLinks.get(link.getReference());
+    if (links != null) {
+      int index = 0;
+      while (index < links.size() && links.get(index) != link) {
+        index++;
+      }
+      if (index < links.size()) {
+        links.remove(index);
+        this.brokenLinkCount--;
+        if (links.isEmpty()) {
+          this.brokenLinks.remove(link.getReference());
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes the links of the specified passage from the link indexes of this story and stops
+   * listening to changes of its links.
+   *
+   * @param passage the specified passage.
+   */
+  private void unindexLinks(Passage passage) {
+    passage.removeStory(this);
+    for (Link link : passage.getLinks()) {
+      this.handleLinkRemoved(passage, link);
+    }
   }
 }
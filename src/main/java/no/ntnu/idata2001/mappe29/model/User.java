@@ -1,31 +1,29 @@
 package no.ntnu.idata2001.mappe29.model;
 
-import javafx.scene.image.Image;
-
 /**
  * Represents a user of the Paths Application.
  */
 public class User {
   private String name;
-  private Image image;
+  private String imagePath;
 
   /**
    * Creates an instance of User.
    */
   public User() {
     this.name = null;
-    this.image = null;
+    this.imagePath = null;
   }
 
   /**
    * Creates an instance of user.
    *
-   * @param name  the specified name of the user.
-   * @param image the specified image of the user.
+   * @param name      the specified name of the user.
+   * @param imagePath the specified image path of the user.
    */
-  public User(String name, Image image) {
+  public User(String name, String imagePath) {
     this.setName(name);
-    this.setImage(image);
+    this.setImagePath(imagePath);
   }
 
   /**
@@ -53,23 +51,26 @@ public class User {
   }
 
   /**
-   * Sets the image of this user to the specified image.
+   * Sets the image path of this user to the specified image path.
    *
-   * @param image the image of this player.
+   * @param imagePath the specified image path.
+   * @throws IllegalArgumentException if the specified image path is null or blank.
    */
-  public void setImage(Image image) {
-    if (image == null) {
-      throw new IllegalArgumentException("Image view of the image of the user cannot be null");
+  public void setImagePath(String imagePath) {
+    if (imagePath == null) {
+      throw new IllegalArgumentException("Image path cannot be null");
+    } else if (imagePath.isBlank()) {
+      throw new IllegalArgumentException("Image path cannot be blank");
     }
-    this.image = image;
+    this.imagePath = imagePath;
   }
 
   /**
-   * Gets the image of this player.
+   * Gets the image path of this user.
    *
-   * @return the image of this player.
+   * @return the image path of this user.
    */
-  public Image getImage() {
-    return this.image;
+  public String getImagePath() {
+    return this.imagePath;
   }
 }
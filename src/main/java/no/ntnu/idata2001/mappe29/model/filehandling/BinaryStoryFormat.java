@@ -0,0 +1,418 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
+
+/**
+ * Represents the binary story file format, stored in .pathsb files next to the .paths text
+ * files. A binary story file holds the same story as the text file, but is read with one bulk
+ * read and without parsing any text.
+ *
+ * <p>All numbers are big-endian. A file has the following parts:</p>
+ * <ol>
+ *   <li>The magic number {@code PTHB} and the version of the format as a short.</li>
+ *   <li>The header: the CRC-32 checksum of the rest of the file after the header, the number of
+ *   passages, and the length in bytes and the UTF-8 bytes of the story title. The title must be
+ *   a valid story title, just like in a text story file. A
+ *   {@link StoryCatalog StoryCatalog} only reads the header.</li>
+ *   <li>The string table: the number of strings, and then the length in bytes and the UTF-8
+ *   bytes of every string. Every passage title, text, reference and item is stored only once,
+ *   and the rest of the file refers to strings by their index in the table.</li>
+ *   <li>For every passage, starting with the opening passage: the string indexes of the title and
+ *   content, and the number of links.</li>
+ *   <li>For every link: the string indexes of the text and reference, and the number of
+ *   actions. Links are resolved by their reference when the story is read.</li>
+ *   <li>For every action: a byte with the type of the action and an int with its amount or the
+ *   string index of its item.</li>
+ * </ol>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public class BinaryStoryFormat {
+  /**
+   * The file extension of binary story files.
+   */
+  public static final String FILE_EXTENSION = ".pathsb";
+
+  static final int MAGIC = 0x50544842;
+  static final short VERSION = 3;
+  static final int HEADER_SIZE = 18;
+  private static final byte ADD_GOLD = 1;
+  private static final byte ADD_HEALTH = 2;
+  private static final byte ADD_SCORE = 3;
+  private static final byte ADD_TO_INVENTORY = 4;
+  private static final byte REDUCE_GOLD = 5;
+  private static final byte REDUCE_HEALTH = 6;
+  private static final byte REDUCE_SCORE = 7;
+  private static final byte REMOVE_FROM_INVENTORY = 8;
+  private static final StoryLineTokenizer STORY_LINE_TOKENIZER = new StoryLineTokenizer();
+
+  /**
+   * Writes the specified story in the binary format to the specified output stream. The output
+   * stream is not closed.
+   *
+   * @param story        the specified story.
+   * @param outputStream the specified output stream.
+   * @throws IllegalArgumentException if the specified story or output stream is null.
+   * @throws UnknownActionException   if the action of a link is an unknown action.
+   * @throws IOException              if an input or output error occurs.
+   */
+  public void writeStory(Story story, OutputStream outputStream)
+      throws UnknownActionException, IOException {
+    if (story == null) {
+      throw new IllegalArgumentException("Story cannot be null");
+    } else if (outputStream == null) {
+      throw new IllegalArgumentException("Output stream cannot be null");
+    }
+    List<Passage> passages = new ArrayList<>();
+    passages.add(story.getOpeningPassage());
+    for (Passage passage : story.getPassages()) {
+      if (passage != story.getOpeningPassage()) {
+        passages.add(passage);
+      }
+    }
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    for (Passage passage : passages) {
+      addString(strings, passage.getTitle());
+      addString(strings, passage.getContent());
+      for (Link link : passage.getLinks()) {
+        addString(strings, link.getText());
+        addString(strings, link.getReference());
+        for (Action action : link.getActions()) {
+          getActionType(action);
+          getActionValue(action, strings);
+        }
+      }
+    }
+
+    CRC32 checksum = new CRC32();
+    ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+    DataOutputStream body = new DataOutputStream(new CheckedOutputStream(bodyBytes, checksum));
+    body.writeInt(strings.size());
+    for (String string : strings.keySet()) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      body.writeInt(bytes.length);
+      body.write(bytes);
+    }
+    for (Passage passage : passages) {
+      body.writeInt(strings.get(passage.getTitle()));
+      body.writeInt(strings.get(passage.getContent()));
+      body.writeInt(passage.getLinks().size());
+      for (Link link : passage.getLinks()) {
+        body.writeInt(strings.get(link.getText()));
+        body.writeInt(strings.get(link.getReference()));
+        body.writeInt(link.getActions().size());
+        for (Action action : link.getActions()) {
+          body.writeByte(getActionType(action));
+          body.writeInt(getActionValue(action, strings));
+        }
+      }
+    }
+    body.flush();
+
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+    output.writeInt(MAGIC);
+    output.writeShort(VERSION);
+    output.writeInt((int) checksum.getValue());
+    output.writeInt(passages.size());
+    byte[] titleBytes = story.getTitle().getBytes(StandardCharsets.UTF_8);
+    output.writeInt(titleBytes.length);
+    output.write(titleBytes);
+    bodyBytes.writeTo(output);
+    output.flush();
+  }
+
+  /**
+   * Writes the specified story in the binary format to the file at the specified path.
+   *
+   * @param story the specified story.
+   * @param path  the specified path.
+   * @throws IllegalArgumentException if the specified story or path is null.
+   * @throws UnknownActionException   if the action of a link is an unknown action.
+   * @throws IOException              if an input or output error occurs.
+   */
+  public void writeStory(Story story, Path path) throws UnknownActionException, IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    try (OutputStream outputStream = Files.newOutputStream(path)) {
+      this.writeStory(story, outputStream);
+    }
+  }
+
+  /**
+   * Reads a story from the specified bytes of a binary story file. The checksum in the header is
+   * checked before the rest of the file is read.
+   *
+   * @param bytes the specified bytes.
+   * @return the story of the bytes.
+   * @throws IllegalArgumentException if the specified bytes are null.
+   * @throws CorruptStoryException    if the bytes are not a valid binary story file of a
+   *                                  supported version.
+   */
+  public Story readStory(byte[] bytes) throws CorruptStoryException {
+    if (bytes == null) {
+      throw new IllegalArgumentException("Bytes cannot be null");
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+      int storedChecksum = buffer.getInt();
+      int passageCount = readCount(buffer, 12);
+      String storyTitle = readTitle(buffer);
+      CRC32 checksum = new CRC32();
+      checksum.update(buffer.duplicate());
+      if ((int) checksum.getValue() != storedChecksum || passageCount == 0) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+      String[] stringArray = new String[readCount(buffer, 4)];
+      for (int index = 0; index < stringArray.length; index++) {
+        int length = readCount(buffer, 1);
+        stringArray[index] = new String(bytes, buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+      }
+      StringTable strings = index -> {
+        if (index < 0 || index >= stringArray.length) {
+          throw new CorruptStoryException("Corrupt story file was provided");
+        }
+        return stringArray[index];
+      };
+
+      Story story = null;
+      for (int passageIndex = 0; passageIndex < passageCount; passageIndex++) {
+        Passage passage = new Passage(readString(buffer, strings), readString(buffer, strings));
+        int linkCount = readCount(buffer, 12);
+        for (int linkIndex = 0; linkIndex < linkCount; linkIndex++) {
+          Link link = new Link(readString(buffer, strings), readString(buffer, strings));
+          int actionCount = readCount(buffer, 5);
+          for (int actionIndex = 0; actionIndex < actionCount; actionIndex++) {
+            link.addAction(readAction(buffer, strings));
+          }
+          passage.addLink(link);
+        }
+        if (story == null) {
+          story = StoryFileFormatter.createStory(storyTitle, passage);
+        } else {
+          StoryFileFormatter.addParsedPassage(story, passage);
+        }
+      }
+      if (buffer.hasRemaining()) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+      StoryFileFormatter.internItems(story);
+      return story;
+    } catch (BufferUnderflowException | IllegalArgumentException exception) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+  }
+
+  /**
+   * Reads a story from the binary story file at the specified path. The whole file is read at
+   * once.
+   *
+   * @param path the specified path.
+   * @return the story of the file.
+   * @throws IllegalArgumentException if the specified path is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the file is not a valid binary story file of a supported
+   *                                  version.
+   */
+  public Story readStory(Path path) throws IOException, CorruptStoryException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    return this.readStory(Files.readAllBytes(path));
+  }
+
+  /**
+   * Adds the specified string to the string table, unless it is already in it.
+   *
+   * @param strings the string table, with the index of every string.
+   * @param string  the specified string.
+   * @return the index of the string in the string table.
+   */
+  private static int addString(Map<String, Integer> strings, String string) {
+    return strings.computeIfAbsent(string, key -> strings.size());
+  }
+
+  /**
+   * Gets the type byte of the specified action.
+   *
+   * @param action the specified action.
+   * @return the type byte of the action.
+   * @throws UnknownActionException if the specified action is an unknown action.
+   */
+  private static byte getActionType(Action action) throws UnknownActionException {
+    byte actionType;
+    if (action instanceof AddGoldAction) {
+      actionType = ADD_GOLD;
+    } else if (action instanceof AddHealthAction) {
+      actionType = ADD_HEALTH;
+    } else if (action instanceof AddScoreAction) {
+      actionType = ADD_SCORE;
+    } else if (action instanceof AddToInventoryAction) {
+      actionType = ADD_TO_INVENTORY;
+    } else if (action instanceof ReduceGoldAction) {
+      actionType = REDUCE_GOLD;
+    } else if (action instanceof ReduceHealthAction) {
+      actionType = REDUCE_HEALTH;
+    } else if (action instanceof ReduceScoreAction) {
+      actionType = REDUCE_SCORE;
+    } else if (action instanceof RemoveFromInventoryAction) {
+      actionType = REMOVE_FROM_INVENTORY;
+    } else {
+      throw new UnknownActionException("Unknown action has been specified in a link");
+    }
+    return actionType;
+  }
+
+  /**
+   * Gets the value of the specified action that is stored after its type: the amount, or the
+   * string index of the item.
+   *
+   * @param action  the specified action, which is a known action.
+   * @param strings the string table.
+   * @return the value of the action.
+   */
+  private static int getActionValue(Action action, Map<String, Integer> strings) {
+    int value;
+    if (action instanceof AddGoldAction addGoldAction) {
+      value = addGoldAction.getGold();
+    } else if (action instanceof AddHealthAction addHealthAction) {
+      value = addHealthAction.getHealth();
+    } else if (action instanceof AddScoreAction addScoreAction) {
+      value = addScoreAction.getPoints();
+    } else if (action instanceof AddToInventoryAction addToInventoryAction) {
+      value = addString(strings, addToInventoryAction.getItem());
+    } else if (action instanceof ReduceGoldAction reduceGoldAction) {
+      value = reduceGoldAction.getGold();
+    } else if (action instanceof ReduceHealthAction reduceHealthAction) {
+      value = reduceHealthAction.getHealth();
+    } else if (action instanceof ReduceScoreAction reduceScoreAction) {
+      value = reduceScoreAction.getPoints();
+    } else {
+      value = addString(strings, ((RemoveFromInventoryAction) action).getItem());
+    }
+    return value;
+  }
+
+  /**
+   * Reads an action record from the specified buffer.
+   *
+   * @param buffer  the specified buffer.
+   * @param strings the string table.
+   * @return the action of the record.
+   * @throws CorruptStoryException if the record has an unknown type or string index.
+   */
+  private static Action readAction(ByteBuffer buffer, StringTable strings)
+      throws CorruptStoryException {
+    byte actionType = buffer.get();
+    return switch (actionType) {
+      case ADD_GOLD -> new AddGoldAction(buffer.getInt());
+      case ADD_HEALTH -> new AddHealthAction(buffer.getInt());
+      case ADD_SCORE -> new AddScoreAction(buffer.getInt());
+      case ADD_TO_INVENTORY -> new AddToInventoryAction(readString(buffer, strings));
+      case REDUCE_GOLD -> new ReduceGoldAction(buffer.getInt());
+      case REDUCE_HEALTH -> new ReduceHealthAction(buffer.getInt());
+      case REDUCE_SCORE -> new ReduceScoreAction(buffer.getInt());
+      case REMOVE_FROM_INVENTORY -> new RemoveFromInventoryAction(readString(buffer, strings));
+      default -> throw new CorruptStoryException("Corrupt story file was provided");
+    };
+  }
+
+  /**
+   * Reads a string index from the specified buffer and gets the string.
+   *
+   * @param buffer  the specified buffer.
+   * @param strings the string table.
+   * @return the string of the index.
+   * @throws CorruptStoryException if the index is not in the string table.
+   */
+  private static String readString(ByteBuffer buffer, StringTable strings)
+      throws CorruptStoryException {
+    return strings.getString(buffer.getInt());
+  }
+
+  /**
+   * Reads the story title of the header from the specified buffer. The title is checked the same
+   * way as the title of a text story file.
+   *
+   * @param buffer the specified buffer, at the length of the title.
+   * @return the title of the story.
+   * @throws CorruptStoryException if the title is too long for the buffer or is not a valid story
+   *                               title.
+   */
+  static String readTitle(ByteBuffer buffer) throws CorruptStoryException {
+    byte[] titleBytes = new byte[readCount(buffer, 1)];
+    buffer.get(titleBytes);
+    String title = new String(titleBytes, StandardCharsets.UTF_8);
+    if (!STORY_LINE_TOKENIZER.isValidTitle(title)) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+    return title;
+  }
+
+  /**
+   * Reads a count from the specified buffer, and checks that the rest of the buffer is large
+   * enough for that many entries, so a corrupt count cannot allocate a huge array.
+   *
+   * @param buffer        the specified buffer.
+   * @param bytesPerEntry the smallest number of bytes that one entry uses.
+   * @return the count.
+   * @throws CorruptStoryException if the count is negative or too large for the buffer.
+   */
+  static int readCount(ByteBuffer buffer, int bytesPerEntry)
+      throws CorruptStoryException {
+    int count = buffer.getInt();
+    if (count < 0 || (long) count * bytesPerEntry > buffer.remaining()) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+    return count;
+  }
+
+  /**
+   * Represents the string table of a binary story file, which gets a string by its index.
+   */
+  @FunctionalInterface
+  private interface StringTable {
+    /**
+     * Gets the string with the specified index.
+     *
+     * @param index the specified index.
+     * @return the string with the index.
+     * @throws CorruptStoryException if the index is not in the string table.
+     */
+    String getString(int index) throws CorruptStoryException;
+  }
+}
@@ -0,0 +1,54 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Represents an input stream that reports the number of bytes read from the underlying input
+ * stream to a story import listener.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.22.
+ */
+class CountingInputStream extends FilterInputStream {
+  private final StoryImportListener storyImportListener;
+
+  /**
+   * Creates an instance of CountingInputStream.
+   *
+   * @param inputStream         the underlying input stream.
+   * @param storyImportListener the listener the number of bytes read is reported to.
+   */
+  CountingInputStream(InputStream inputStream, StoryImportListener storyImportListener) {
+    super(inputStream);
+    this.storyImportListener = storyImportListener;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int value = super.read();
+    if (value != -1) {
+      this.storyImportListener.onBytesRead(1);
+    }
+    return value;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    int bytesRead = super.read(buffer, offset, length);
+    if (bytesRead > 0) {
+      this.storyImportListener.onBytesRead(bytesRead);
+    }
+    return bytesRead;
+  }
+
+  @Override
+  public long skip(long bytes) throws IOException {
+    long bytesSkipped = super.skip(bytes);
+    if (bytesSkipped > 0) {
+      this.storyImportListener.onBytesRead(bytesSkipped);
+    }
+    return bytesSkipped;
+  }
+}
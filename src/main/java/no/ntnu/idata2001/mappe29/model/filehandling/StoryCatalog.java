@@ -0,0 +1,371 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+
+/**
+ * Represents a catalog of the story files in a story library directory. Scanning the library
+ * reads a {@link StoryCatalogEntry StoryCatalogEntry} for every .paths and .pathsb file, with the
+ * title, number of passages, size and checksum of the story, without parsing the story. A story
+ * is only parsed when it is chosen, for example with {@link StoryFileManager#importStories(List)}.
+ *
+ * <p>Binary story files have a header with the checksum, number of passages and title, so only
+ * the first bytes of the file are read. Text story files have no header, so a new or changed text
+ * story file is read once through a small buffer, where the first line is the title and every
+ * line that starts with {@code ::} is a passage. Titles are checked the same way as when the
+ * story is parsed.</p>
+ *
+ * <p>The entries of files whose size and modification time have not changed are kept from the
+ * previous scan, so scanning the library again only reads new and changed files. A catalog with
+ * an index file also saves its entries there after every scan that changed them, and reads them
+ * back on its first scan, so the story files are not read again when the application starts.
+ * Scanning a large library can still take a while, so it should not be done on the JavaFX
+ * application thread.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public class StoryCatalog {
+  private static final int READ_BUFFER_SIZE = 8192;
+  private static final int INDEX_MAGIC = 0x50544843;
+  private static final short INDEX_VERSION = 1;
+  private static final StoryLineTokenizer STORY_LINE_TOKENIZER = new StoryLineTokenizer();
+  private final Path libraryDirectory;
+  private final Path indexFile;
+  private final Map<Path, StoryCatalogEntry> entries;
+  private final Map<Path, String> failedFiles;
+  private boolean indexRead;
+
+  /**
+   * Creates an instance of StoryCatalog without an index file, so the entries are only kept in
+   * memory.
+   *
+   * @param libraryDirectory the story library directory.
+   * @throws IllegalArgumentException if the specified library directory is null.
+   */
+  public StoryCatalog(Path libraryDirectory) {
+    if (libraryDirectory == null) {
+      throw new IllegalArgumentException("Library directory cannot be null");
+    }
+    this.libraryDirectory = libraryDirectory;
+    this.indexFile = null;
+    this.entries = new HashMap<>();
+    this.failedFiles = new LinkedHashMap<>();
+    this.indexRead = true;
+  }
+
+  /**
+   * Creates an instance of StoryCatalog that saves its entries in the specified index file.
+   *
+   * @param libraryDirectory the story library directory.
+   * @param indexFile        the index file, which is created by the first scan.
+   * @throws IllegalArgumentException if the specified library directory or index file is null.
+   */
+  public StoryCatalog(Path libraryDirectory, Path indexFile) {
+    if (libraryDirectory == null) {
+      throw new IllegalArgumentException("Library directory cannot be null");
+    } else if (indexFile == null) {
+      throw new IllegalArgumentException("Index file cannot be null");
+    }
+    this.libraryDirectory = libraryDirectory;
+    this.indexFile = indexFile;
+    this.entries = new HashMap<>();
+    this.failedFiles = new LinkedHashMap<>();
+    this.indexRead = false;
+  }
+
+  /**
+   * Gets the story library directory of this catalog.
+   *
+   * @return the story library directory.
+   */
+  public Path getLibraryDirectory() {
+    return this.libraryDirectory;
+  }
+
+  /**
+   * Scans the story library directory and gets an entry for every story file in it, sorted by
+   * path. A library directory that does not exist has no story files. Story files whose header
+   * cannot be read are left out and reported by {@link #getFailedFiles()}. The index file is
+   * updated if any entry changed, and is left as it was if it cannot be written.
+   *
+   * @return the entries of the story files in the library directory.
+   * @throws IOException if the story files in the library directory cannot be listed.
+   */
+  public synchronized List<StoryCatalogEntry> scan() throws IOException {
+    if (!this.indexRead) {
+      this.readIndex();
+      this.indexRead = true;
+    }
+    List<Path> paths = new ArrayList<>();
+    if (Files.isDirectory(this.libraryDirectory)) {
+      try (DirectoryStream<Path> directoryStream =
+               Files.newDirectoryStream(this.libraryDirectory, "*.{paths,pathsb}")) {
+        for (Path path : directoryStream) {
+          if (Files.isRegularFile(path)) {
+            paths.add(path);
+          }
+        }
+      }
+    }
+    paths.sort(null);
+
+    Map<Path, StoryCatalogEntry> newEntries = new HashMap<>();
+    List<StoryCatalogEntry> scannedEntries = new ArrayList<>(paths.size());
+    boolean entriesChanged = false;
+    this.failedFiles.clear();
+    for (Path path : paths) {
+      try {
+        StoryCatalogEntry entry = this.entries.get(path);
+        if (entry == null || entry.getSize() != Files.size(path)
+            || entry.getLastModified() != Files.getLastModifiedTime(path).toMillis()) {
+          entry = readEntry(path);
+          entriesChanged = true;
+        }
+        newEntries.put(path, entry);
+        scannedEntries.add(entry);
+      } catch (CorruptStoryException exception) {
+        this.failedFiles.put(path, exception.getMessage());
+      } catch (IOException exception) {
+        this.failedFiles.put(path, "Story file could not be read");
+      }
+    }
+    entriesChanged = entriesChanged || newEntries.size() != this.entries.size();
+    this.entries.clear();
+    this.entries.putAll(newEntries);
+    if (entriesChanged && this.indexFile != null) {
+      this.writeIndex(scannedEntries);
+    }
+    return scannedEntries;
+  }
+
+  /**
+   * Reads the entries that were saved in the index file by an earlier scan. An index file that
+   * does not exist, is corrupt or is of another version is ignored, so every story file is read
+   * again.
+   */
+  private void readIndex() {
+    Map<Path, StoryCatalogEntry> indexedEntries = new HashMap<>();
+    if (Files.isRegularFile(this.indexFile)) {
+      try (DataInputStream input = new DataInputStream(
+          new BufferedInputStream(Files.newInputStream(this.indexFile)))) {
+        if (input.readInt() == INDEX_MAGIC && input.readShort() == INDEX_VERSION) {
+          int entryCount = input.readInt();
+          for (int index = 0; index < entryCount; index++) {
+            Path path = this.libraryDirectory.resolve(input.readUTF());
+            String title = input.readUTF();
+            int passageCount = input.readInt();
+            long size = input.readLong();
+            long checksum = input.readLong();
+            long lastModified = input.readLong();
+            indexedEntries.put(path, new StoryCatalogEntry(path, title, passageCount, size,
+                checksum, lastModified));
+          }
+          this.entries.putAll(indexedEntries);
+        }
+      } catch (IOException | InvalidPathException exception) {
+        // A corrupt index file only means that the story files are read again.
+      }
+    }
+  }
+
+  /**
+   * Writes the specified entries to the index file. The entries are written to a temporary file
+   * first, so a crash never leaves a partly written index file.
+   *
+   * @param scannedEntries the specified entries.
+   */
+  private void writeIndex(List<StoryCatalogEntry> scannedEntries) {
+    try {
+      Path indexDirectory = this.indexFile.toAbsolutePath().getParent();
+      Files.createDirectories(indexDirectory);
+      Path temporaryPath = Files.createTempFile(indexDirectory,
+          this.indexFile.getFileName().toString(), ".tmp");
+      try {
+        try (DataOutputStream output = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+          output.writeInt(INDEX_MAGIC);
+          output.writeShort(INDEX_VERSION);
+          output.writeInt(scannedEntries.size());
+          for (StoryCatalogEntry entry : scannedEntries) {
+            output.writeUTF(entry.getPath().getFileName().toString());
+            output.writeUTF(entry.getTitle());
+            output.writeInt(entry.getPassageCount());
+            output.writeLong(entry.getSize());
+            output.writeLong(entry.getChecksum());
+            output.writeLong(entry.getLastModified());
+          }
+        }
+        Files.move(temporaryPath, this.indexFile, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temporaryPath);
+      }
+    } catch (IOException exception) {
+      // The entries are still kept in memory, and the index file is written by the next scan.
+    }
+  }
+
+  /**
+   * Gets the story files that were left out of the last scan, with the reason for each of them.
+   *
+   * @return the paths and reasons of the story files that were left out.
+   */
+  public synchronized Map<Path, String> getFailedFiles() {
+    return new LinkedHashMap<>(this.failedFiles);
+  }
+
+  /**
+   * Reads the entry of the story file at the specified path.
+   *
+   * @param path the specified path.
+   * @return the entry of the story file.
+   * @throws IllegalArgumentException if the specified path is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the title or number of passages cannot be read, or the
+   *                                  title is not a valid story title.
+   */
+  public static StoryCatalogEntry readEntry(Path path) throws IOException, CorruptStoryException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    long lastModified = Files.getLastModifiedTime(path).toMillis();
+    StoryCatalogEntry entry;
+    if (path.getFileName().toString().endsWith(BinaryStoryFormat.FILE_EXTENSION)) {
+      entry = readBinaryEntry(path, lastModified);
+    } else {
+      entry = readTextEntry(path, lastModified);
+    }
+    return entry;
+  }
+
+  /**
+   * Reads the entry of the text story file at the specified path.
+   *
+   * @param path         the specified path.
+   * @param lastModified the time the story file was last modified.
+   * @return the entry of the story file.
+   * @throws IOException           if an input or output error occurs.
+   * @throws CorruptStoryException if the story file has no valid title or no passages.
+   */
+  private static StoryCatalogEntry readTextEntry(Path path, long lastModified)
+      throws IOException, CorruptStoryException {
+    CRC32 checksum = new CRC32();
+    ByteArrayOutputStream titleBytes = new ByteArrayOutputStream();
+    boolean readingTitle = true;
+    int lineColumn = 0;
+    boolean passageLine = false;
+    int passageCount = 0;
+    long size = 0;
+    byte[] buffer = new byte[READ_BUFFER_SIZE];
+    try (InputStream inputStream = Files.newInputStream(path)) {
+      int bytesRead = inputStream.read(buffer);
+      while (bytesRead >= 0) {
+        checksum.update(buffer, 0, bytesRead);
+        size += bytesRead;
+        for (int index = 0; index < bytesRead; index++) {
+          byte character = buffer[index];
+          if (character == '\n' || character == '\r') {
+            readingTitle = false;
+            lineColumn = 0;
+            passageLine = false;
+          } else {
+            if (readingTitle) {
+              titleBytes.write(character);
+            } else if (lineColumn < 2) {
+              passageLine = character == ':' && (lineColumn == 0 || passageLine);
+              if (passageLine && lineColumn == 1) {
+                passageCount++;
+              }
+            }
+            lineColumn++;
+          }
+        }
+        bytesRead = inputStream.read(buffer);
+      }
+    }
+    String title = titleBytes.toString(StandardCharsets.UTF_8);
+    if (!STORY_LINE_TOKENIZER.isValidTitle(title) || passageCount == 0) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+    return new StoryCatalogEntry(path, title, passageCount, size, checksum.getValue(),
+        lastModified);
+  }
+
+  /**
+   * Reads the entry of the binary story file at the specified path. Only the header of the file
+   * is read, and the checksum is the one stored in the header, which covers the rest of the file.
+   *
+   * @param path         the specified path.
+   * @param lastModified the time the story file was last modified.
+   * @return the entry of the story file.
+   * @throws IOException           if an input or output error occurs.
+   * @throws CorruptStoryException if the story file does not start with a valid header, or the
+   *                               title is not a valid story title.
+   */
+  private static StoryCatalogEntry readBinaryEntry(Path path, long lastModified)
+      throws IOException, CorruptStoryException {
+    try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = fileChannel.size();
+      ByteBuffer header = readBytes(fileChannel, 0, BinaryStoryFormat.HEADER_SIZE);
+      if (header.getInt() != BinaryStoryFormat.MAGIC
+          || header.getShort() != BinaryStoryFormat.VERSION) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+      long checksum = Integer.toUnsignedLong(header.getInt());
+      int passageCount = header.getInt();
+      int titleLength = header.getInt();
+      if (passageCount <= 0 || titleLength < 0
+          || titleLength > size - BinaryStoryFormat.HEADER_SIZE) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+      ByteBuffer titleBytes = readBytes(fileChannel, BinaryStoryFormat.HEADER_SIZE, titleLength);
+      String title = StandardCharsets.UTF_8.decode(titleBytes).toString();
+      if (!STORY_LINE_TOKENIZER.isValidTitle(title)) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+      return new StoryCatalogEntry(path, title, passageCount, size, checksum, lastModified);
+    }
+  }
+
+  /**
+   * Reads the specified number of bytes at the specified position of the specified file channel.
+   *
+   * @param fileChannel the specified file channel.
+   * @param position    the specified position.
+   * @param length      the specified number of bytes.
+   * @return a buffer with the bytes, ready to be read.
+   * @throws IOException           if an input or output error occurs.
+   * @throws CorruptStoryException if the file ends before all the bytes have been read.
+   */
+  private static ByteBuffer readBytes(FileChannel fileChannel, long position, int length)
+      throws IOException, CorruptStoryException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (fileChannel.read(buffer, position + buffer.position()) < 0) {
+        throw new CorruptStoryException("Corrupt story file was provided");
+      }
+    }
+    return buffer.flip();
+  }
+}
@@ -0,0 +1,100 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.nio.file.Path;
+
+/**
+ * Represents the summary of a story file in a {@link StoryCatalog StoryCatalog}: the title and
+ * number of passages of the story, and the size and CRC-32 checksum of the file. The checksum of
+ * a binary story file is the one in its header, which covers the file after the header. An entry
+ * is read without parsing the story, so it holds no passages.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public final class StoryCatalogEntry {
+  private final Path path;
+  private final String title;
+  private final int passageCount;
+  private final long size;
+  private final long checksum;
+  private final long lastModified;
+
+  /**
+   * Creates an instance of StoryCatalogEntry.
+   *
+   * @param path         the path of the story file.
+   * @param title        the title of the story.
+   * @param passageCount the number of passages in the story.
+   * @param size         the size of the story file in bytes.
+   * @param checksum     the CRC-32 checksum of the story file.
+   * @param lastModified the time the story file was last modified, in milliseconds.
+   */
+  StoryCatalogEntry(Path path, String title, int passageCount, long size, long checksum,
+                    long lastModified) {
+    this.path = path;
+    this.title = title;
+    this.passageCount = passageCount;
+    this.size = size;
+    this.checksum = checksum;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Gets the path of the story file.
+   *
+   * @return the path of the story file.
+   */
+  public Path getPath() {
+    return this.path;
+  }
+
+  /**
+   * Gets the title of the story.
+   *
+   * @return the title of the story.
+   */
+  public String getTitle() {
+    return this.title;
+  }
+
+  /**
+   * Gets the number of passages in the story.
+   *
+   * @return the number of passages.
+   */
+  public int getPassageCount() {
+    return this.passageCount;
+  }
+
+  /**
+   * Gets the size of the story file.
+   *
+   * @return the size of the story file in bytes.
+   */
+  public long getSize() {
+    return this.size;
+  }
+
+  /**
+   * Gets the CRC-32 checksum of the story file.
+   *
+   * @return the checksum of the story file.
+   */
+  public long getChecksum() {
+    return this.checksum;
+  }
+
+  /**
+   * Gets the time the story file was last modified when this entry was read.
+   *
+   * @return the time in milliseconds.
+   */
+  long getLastModified() {
+    return this.lastModified;
+  }
+
+  @Override
+  public String toString() {
+    return this.title;
+  }
+}
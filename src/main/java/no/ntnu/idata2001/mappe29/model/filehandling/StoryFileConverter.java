@@ -0,0 +1,90 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
+
+/**
+ * Represents a converter between .paths text story files and .pathsb binary story files. Both
+ * formats hold the same story, so converting a file to the other format and back gives the same
+ * story.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public class StoryFileConverter {
+  private final StoryFileFormatter storyFileFormatter;
+  private final BinaryStoryFormat binaryStoryFormat;
+
+  /**
+   * Creates an instance of StoryFileConverter.
+   */
+  public StoryFileConverter() {
+    this.storyFileFormatter = new StoryFileFormatter();
+    this.binaryStoryFormat = new BinaryStoryFormat();
+  }
+
+  /**
+   * Gets the path of the binary story file that belongs next to the specified text story file,
+   * which is the same path with the .pathsb extension.
+   *
+   * @param textPath the path of the text story file.
+   * @return the path of the binary story file.
+   * @throws IllegalArgumentException if the specified path is null.
+   */
+  public static Path getBinaryPath(Path textPath) {
+    if (textPath == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    String fileName = textPath.getFileName().toString();
+    if (fileName.endsWith(".paths")) {
+      fileName = fileName.substring(0, fileName.length() - ".paths".length());
+    }
+    return textPath.resolveSibling(fileName + BinaryStoryFormat.FILE_EXTENSION);
+  }
+
+  /**
+   * Converts the text story file at the specified path into a binary story file.
+   *
+   * @param textPath   the path of the text story file.
+   * @param binaryPath the path of the binary story file that is written.
+   * @throws IllegalArgumentException if one of the specified paths is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the text story file is corrupt.
+   * @throws UnknownActionException   if the action of a link is an unknown action.
+   */
+  public void convertToBinary(Path textPath, Path binaryPath)
+      throws IOException, CorruptStoryException, UnknownActionException {
+    if (binaryPath == null) {
+      throw new IllegalArgumentException("Binary path cannot be null");
+    }
+    Story story = this.storyFileFormatter.parseStory(textPath);
+    this.binaryStoryFormat.writeStory(story, binaryPath);
+  }
+
+  /**
+   * Converts the binary story file at the specified path into a text story file.
+   *
+   * @param binaryPath the path of the binary story file.
+   * @param textPath   the path of the text story file that is written.
+   * @throws IllegalArgumentException if one of the specified paths is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the binary story file is corrupt.
+   * @throws UnknownActionException   if the action of a link is an unknown action.
+   */
+  public void convertToText(Path binaryPath, Path textPath)
+      throws IOException, CorruptStoryException, UnknownActionException {
+    if (textPath == null) {
+      throw new IllegalArgumentException("Text path cannot be null");
+    }
+    Story story = this.binaryStoryFormat.readStory(binaryPath);
+    try (Writer writer = Files.newBufferedWriter(textPath, StandardCharsets.UTF_8)) {
+      this.storyFileFormatter.writeStory(story, writer);
+    }
+  }
+}
@@ -1,9 +1,19 @@
 package no.ntnu.idata2001.mappe29.model.filehandling;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import javafx.scene.image.Image;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import no.ntnu.idata2001.mappe29.model.ItemDictionary;
 import no.ntnu.idata2001.mappe29.model.Link;
 import no.ntnu.idata2001.mappe29.model.Passage;
 import no.ntnu.idata2001.mappe29.model.Story;
@@ -22,12 +32,26 @@ import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
 
 /**
  * Represents a Story File Formatter that is responsible for formatting Story instances into
- * a list of strings, and for parsing a list of strings into Story instances.
+ * a list of strings, and for parsing a list of strings or a story file into Story instances.
  *
  * @author Tiago Brito.
  * @version 2023.05.15.
  */
 public class StoryFileFormatter {
+  private static final String PASSAGE_BACKGROUND_IMAGE_PATH =
+      "/images/backgrounds/default_background.png";
+  private static final StoryImportListener NO_LISTENER = new StoryImportListener() {
+  };
+  private static final int WRITE_BUFFER_SIZE = 8192;
+  private final StoryLineTokenizer storyLineTokenizer;
+
+  /**
+   * Creates an instance of StoryFileFormatter.
+   */
+  public StoryFileFormatter() {
+    this.storyLineTokenizer = new StoryLineTokenizer();
+  }
+
   /**
    * Formats the specified story into a list of strings of the contents of the story file.
    *
@@ -56,6 +80,86 @@ public class StoryFileFormatter {
     return storyFileContents;
   }
 
+  /**
+   * Writes the specified story as the contents of a story file to the specified writer, with
+   * every line ended by {@code \n}. The lines are the same as those of
+   * {@link #formatStory(Story)}, but they are appended to one buffer that is written to the
+   * writer whenever it is full, so no list of lines is built. The writer is flushed, but not
+   * closed.
+   *
+   * @param story  the specified story.
+   * @param writer the specified writer.
+   * @throws IllegalArgumentException if the specified story or writer is null.
+   * @throws UnknownActionException   if the action of a link is an unknown action.
+   * @throws IOException              if an input or output error occurs.
+   */
+  public void writeStory(Story story, Writer writer) throws UnknownActionException, IOException {
+    if (story == null) {
+      throw new IllegalArgumentException("Story cannot be null");
+    } else if (writer == null) {
+      throw new IllegalArgumentException("Writer cannot be null");
+    }
+    StringBuilder buffer = new StringBuilder(WRITE_BUFFER_SIZE);
+    char[] chars = new char[WRITE_BUFFER_SIZE];
+    Passage openingPassage = story.getOpeningPassage();
+    buffer.append(story.getTitle()).append('\n');
+    this.appendPassage(openingPassage, buffer.append('\n'));
+    for (Passage passage : story.getPassages()) {
+      if (passage != openingPassage) {
+        this.appendPassage(passage, buffer.append('\n'));
+        if (buffer.length() >= WRITE_BUFFER_SIZE) {
+          chars = writeBuffer(buffer, chars, writer);
+        }
+      }
+    }
+    writeBuffer(buffer, chars, writer);
+    writer.flush();
+  }
+
+  /**
+   * Appends the lines of the specified passage to the specified string builder.
+   *
+   * @param passage       the specified passage.
+   * @param stringBuilder the specified string builder.
+   * @throws UnknownActionException if the action of a link is an unknown action.
+   */
+  private void appendPassage(Passage passage, StringBuilder stringBuilder)
+      throws UnknownActionException {
+    stringBuilder.append("::").append(passage.getTitle()).append('\n');
+    stringBuilder.append(passage.getContent()).append('\n');
+    if (!passage.getLinks().isEmpty()) {
+      for (Link link : passage.getLinks()) {
+        this.appendLink(link, stringBuilder);
+        stringBuilder.append('\n');
+      }
+    } else {
+      stringBuilder.append("[no_links]\n");
+    }
+  }
+
+  /**
+   * Writes the contents of the specified string builder to the specified writer and empties the
+   * string builder. The contents are copied through the specified array, which is replaced by a
+   * larger array if it is too small.
+   *
+   * @param stringBuilder the specified string builder.
+   * @param chars         the array that the contents are copied through.
+   * @param writer        the specified writer.
+   * @return the array that the contents were copied through.
+   * @throws IOException if an input or output error occurs.
+   */
+  private static char[] writeBuffer(StringBuilder stringBuilder, char[] chars, Writer writer)
+      throws IOException {
+    char[] buffer = chars;
+    if (buffer.length < stringBuilder.length()) {
+      buffer = new char[stringBuilder.length()];
+    }
+    stringBuilder.getChars(0, stringBuilder.length(), buffer, 0);
+    writer.write(buffer, 0, stringBuilder.length());
+    stringBuilder.setLength(0);
+    return buffer;
+  }
+
   /**
    * Parses the specified contents of the story file into an instance of Story.
    *
@@ -71,93 +175,220 @@ public class StoryFileFormatter {
     } else if (storyFileContents.isEmpty()) {
       throw new IllegalArgumentException("Story file contents cannot be empty");
     }
-    String firstLine = storyFileContents.get(0);
-    if (!firstLine.matches("[a-zA-Z ]+")) {
+    return this.parseStoryFromIterator(storyFileContents.iterator(), NO_LISTENER);
+  }
+
+  /**
+   * Parses the story file read by the specified reader into an instance of Story. The story file
+   * is read one line at a time and every passage is added to the story as soon as it has been
+   * read, so the contents of the story file are never held in memory as a whole.
+   *
+   * @param reader the specified reader.
+   * @return an instance of Story of the story file.
+   * @throws IllegalArgumentException if the specified reader is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the story file provided was corrupt.
+   */
+  public Story parseStory(Reader reader) throws IOException, CorruptStoryException {
+    return this.parseStory(reader, NO_LISTENER);
+  }
+
+  /**
+   * Parses the story file read by the specified reader into an instance of Story, and informs
+   * the specified listener about every passage that has been parsed. Parsing stops when the
+   * listener is cancelled.
+   *
+   * @param reader              the specified reader.
+   * @param storyImportListener the specified listener.
+   * @return an instance of Story of the story file.
+   * @throws IllegalArgumentException if the specified reader or listener is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the story file provided was corrupt.
+   * @throws CancellationException    if the listener was cancelled while parsing.
+   * @see #parseStory(Reader)
+   */
+  public Story parseStory(Reader reader, StoryImportListener storyImportListener)
+      throws IOException, CorruptStoryException {
+    if (reader == null) {
+      throw new IllegalArgumentException("Reader cannot be null");
+    } else if (storyImportListener == null) {
+      throw new IllegalArgumentException("Story import listener cannot be null");
+    }
+    BufferedReader bufferedReader;
+    if (reader instanceof BufferedReader) {
+      bufferedReader = (BufferedReader) reader;
+    } else {
+      bufferedReader = new BufferedReader(reader);
+    }
+    try {
+      return this.parseStoryFromIterator(bufferedReader.lines().iterator(),
+          storyImportListener);
+    } catch (UncheckedIOException exception) {
+      throw exception.getCause();
+    } catch (NoSuchElementException | IllegalArgumentException exception) {
+      // A truncated passage or a value rejected by the model means the file is corrupt.
       throw new CorruptStoryException("Corrupt story file was provided");
     }
+  }
 
-    Iterator<String> stringIterator = storyFileContents.iterator();
+  /**
+   * Parses the story file at the specified path into an instance of Story. The story file is
+   * read as UTF-8.
+   *
+   * @param path the specified path.
+   * @return an instance of Story of the story file.
+   * @throws IllegalArgumentException if the specified path is null.
+   * @throws IOException              if an input or output error occurs.
+   * @throws CorruptStoryException    if the story file provided was corrupt.
+   */
+  public Story parseStory(Path path) throws IOException, CorruptStoryException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return this.parseStory(reader);
+    }
+  }
+
+  /**
+   * Parses the lines of the specified string iterator into an instance of Story.
+   *
+   * @param stringIterator      the specified string iterator.
+   * @param storyImportListener the listener that is informed about every parsed passage.
+   * @return an instance of Story of the lines of the string iterator.
+   * @throws CorruptStoryException if the story file provided was corrupt.
+   * @throws CancellationException if the listener was cancelled while parsing.
+   */
+  private Story parseStoryFromIterator(Iterator<String> stringIterator,
+                                       StoryImportListener storyImportListener)
+      throws CorruptStoryException {
+    if (!stringIterator.hasNext()) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
     String storyTitle = stringIterator.next();
-    List<Passage> storyPassages = this.createPassagesFromIterator(stringIterator);
+    if (!this.storyLineTokenizer.isValidTitle(storyTitle)) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
 
-    Image passageBackgroundImage = new Image(this.getClass()
-        .getResource("/images/backgrounds/default_background.png").toExternalForm());
+    Passage openingPassage = this.readPassageFromIterator(stringIterator);
+    if (openingPassage == null) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+    Story story = createStory(storyTitle, openingPassage);
+
+    int passagesParsed = 1;
+    storyImportListener.onPassageParsed(passagesParsed);
+    Passage passage = this.readPassageFromIterator(stringIterator);
+    while (passage != null) {
+      if (storyImportListener.isCancelled()) {
+        throw new CancellationException("Parsing of the story file was cancelled");
+      }
+      addParsedPassage(story, passage);
+      passagesParsed++;
+      storyImportListener.onPassageParsed(passagesParsed);
+      passage = this.readPassageFromIterator(stringIterator);
+    }
 
-    Passage openingPassage = storyPassages.get(0);
-    openingPassage.setBackgroundImage(passageBackgroundImage);
+    internItems(story);
+    return story;
+  }
+
+  /**
+   * Creates a story with the specified title and opening passage, and the images and intro texts
+   * that every story read from a story file gets.
+   *
+   * @param storyTitle     the title of the story.
+   * @param openingPassage the opening passage of the story.
+   * @return the new story.
+   */
+  static Story createStory(String storyTitle, Passage openingPassage) {
+    openingPassage.setBackgroundImagePath(PASSAGE_BACKGROUND_IMAGE_PATH);
     Story story = new Story(storyTitle, openingPassage);
-    Image storyImage = new Image(this.getClass()
-        .getResource("/images/icons/story_icon.png").toExternalForm());
-    story.setImage(storyImage);
-    Image storyBackgroundImage = new Image(this.getClass()
-        .getResource("/images/backgrounds/sunset_adventure.png").toExternalForm());
-    story.setBackgroundImage(storyBackgroundImage);
-    Image storyDarkBackgroundImage = new Image(this.getClass()
-        .getResource("/images/backgrounds/sunset_adventure_dark.png").toExternalForm());
-    story.setDarkBackgroundImage(storyDarkBackgroundImage);
+    story.setImagePath("/images/icons/story_icon.png");
+    story.setBackgroundImagePath("/images/backgrounds/sunset_adventure.png");
+    story.setDarkBackgroundImagePath("/images/backgrounds/sunset_adventure_dark.png");
     story.setIntro1Text(
         "Embark on an extraordinary quest through mystical realms, shaping your path with choices "
             + "as you navigate puzzles and challenges. ");
     story.setIntro2Text("Encounter mythical creatures, uncover hidden treasures, and"
         + " unlock ancient" + " mysteries in this immersive adventure across"
         + " mesmerizing landscapes.");
-    storyPassages.stream().filter(passage -> passage != openingPassage)
-        .forEach(passage -> {
-          passage.setBackgroundImage(passageBackgroundImage);
-          story.addPassage(passage);
-        });
-
     return story;
   }
 
   /**
-   * Creates a list of passages from the specified string iterator.
+   * Adds the specified passage, read from a story file, to the specified story.
+   *
+   * @param story   the specified story.
+   * @param passage the specified passage.
+   */
+  static void addParsedPassage(Story story, Passage passage) {
+    passage.setBackgroundImagePath(PASSAGE_BACKGROUND_IMAGE_PATH);
+    story.addPassage(passage);
+  }
+
+  /**
+   * Interns the items that are added to or removed from the inventory by the links of the
+   * specified story into the item dictionary of the story.
+   *
+   * @param story the specified story.
+   */
+  public static void internItems(Story story) {
+    ItemDictionary itemDictionary = story.getItemDictionary();
+    for (Passage passage : story.getPassages()) {
+      for (Link link : passage.getLinks()) {
+        for (Action action : link.getActions()) {
+          if (action instanceof AddToInventoryAction) {
+            itemDictionary.intern(((AddToInventoryAction) action).getItem());
+          } else if (action instanceof RemoveFromInventoryAction) {
+            itemDictionary.intern(((RemoveFromInventoryAction) action).getItem());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the next passage from the specified string iterator.
    *
    * @param stringIterator the specified string iterator.
-   * @return the list of passages from the specified string iterator.
+   * @return the next passage, or {@code null} if there are no more passages.
    * @throws CorruptStoryException if the story file provided was corrupt.
    */
-  private List<Passage> createPassagesFromIterator(Iterator<String> stringIterator)
+  private Passage readPassageFromIterator(Iterator<String> stringIterator)
       throws CorruptStoryException {
-    List<Passage> storyPassages = new ArrayList<>();
-    while (stringIterator.hasNext()) {
+    Passage passage = null;
+    while (passage == null && stringIterator.hasNext()) {
       String line = stringIterator.next();
       if (line.startsWith("::")) {
         String passageTitle = line.substring(2);
         String passageContent = stringIterator.next();
-        List<Link> passageLinks = this.createLinksFromIterator(stringIterator);
-        Passage passage = new Passage(passageTitle, passageContent);
-        if (!passageLinks.isEmpty()) {
-          for (Link link : passageLinks) {
-            passage.addLink(link);
-          }
-        }
-        storyPassages.add(passage);
+        passage = new Passage(passageTitle, passageContent);
+        this.addLinksFromIterator(stringIterator, passage);
       } else if (!line.isBlank()) {
         throw new CorruptStoryException("Corrupt story file was provided");
       }
     }
-    return storyPassages;
+    return passage;
   }
 
   /**
-   * Creates a list of links from the specified string iterator.
+   * Adds the links read from the specified string iterator to the specified passage.
    *
    * @param stringIterator the specified string iterator.
-   * @return a list of links from the specified string iterator.
+   * @param passage        the specified passage.
    * @throws CorruptStoryException if the story file provided was corrupt.
    */
-  private List<Link> createLinksFromIterator(Iterator<String> stringIterator)
+  private void addLinksFromIterator(Iterator<String> stringIterator, Passage passage)
       throws CorruptStoryException {
     boolean linksRead = false;
-    List<Link> passageLinks = new ArrayList<>();
     while (stringIterator.hasNext() && !linksRead) {
       String linkLine = stringIterator.next();
-      if (linkLine.startsWith("[")) {
-        Link link;
+      if (this.storyLineTokenizer.isNoLinksLine(linkLine)) {
+        linksRead = true;
+      } else if (linkLine.startsWith("[")) {
         try {
-          link = this.parseLinkFromString(linkLine);
-          passageLinks.add(link);
+          passage.addLink(this.storyLineTokenizer.parseLink(linkLine));
         } catch (StringHasNoLinksException exception) {
           linksRead = true;
         }
@@ -167,8 +398,6 @@ public class StoryFileFormatter {
         throw new CorruptStoryException("Corrupt story file was provided");
       }
     }
-
-    return passageLinks;
   }
 
   /**
@@ -186,37 +415,7 @@ public class StoryFileFormatter {
     } else if (linkString.isBlank()) {
       throw new IllegalArgumentException("Link string cannot be blank");
     }
-
-    String linkText =
-        linkString.substring(linkString.indexOf("[") + 1, linkString.indexOf("]"));
-    if (linkText.equals("no_links")) {
-      throw new StringHasNoLinksException("String has no links");
-    }
-    String linkReference =
-        linkString.substring(linkString.indexOf("(") + 1, linkString.indexOf(")"));
-    List<Action> linkActions = new ArrayList<>();
-
-    int actionsStartIndex = linkString.indexOf("{");
-    int actionsEndIndex = linkString.indexOf("}");
-    if (actionsStartIndex != -1 && actionsEndIndex != -1
-        && actionsStartIndex < actionsEndIndex - 1) {
-      String actionsString = linkString.substring(actionsStartIndex + 1, actionsEndIndex);
-      String[] actionsArray = actionsString.split(",\\s*");
-      for (String actionString : actionsArray) {
-        if (!actionString.equals("no_actions")) {
-          Action action = this.parseActionFromString(actionString.trim());
-          linkActions.add(action);
-        }
-      }
-    }
-
-    Link link;
-    if (linkActions.isEmpty()) {
-      link = new Link(linkText, linkReference);
-    } else {
-      link = new Link(linkText, linkReference, linkActions);
-    }
-    return link;
+    return this.storyLineTokenizer.parseLink(linkString);
   }
 
   /**
@@ -233,66 +432,7 @@ public class StoryFileFormatter {
     } else if (actionString.isBlank()) {
       throw new IllegalArgumentException("Action string cannot be blank");
     }
-    Action action;
-    String[] actionComponents = actionString.split(" ");
-    int value;
-    String item;
-    switch (actionComponents[0]) {
-      case "Add":
-        try {
-          value = Integer.parseInt(actionComponents[1]);
-          switch (actionComponents[2]) {
-            case "gold":
-              action = new AddGoldAction(value);
-              break;
-
-            case "health":
-              action = new AddHealthAction(value);
-              break;
-
-            case "points":
-              action = new AddScoreAction(value);
-              break;
-
-            default:
-              throw new CorruptStoryException("The story file provided is corrupt");
-          }
-
-        } catch (NumberFormatException exception) {
-          item = actionComponents[1];
-          action = new AddToInventoryAction(item);
-        }
-        break;
-
-      case "Reduce":
-        value = Integer.parseInt(actionComponents[1]);
-        switch (actionComponents[2]) {
-          case "gold":
-            action = new ReduceGoldAction(value);
-            break;
-
-          case "health":
-            action = new ReduceHealthAction(value);
-            break;
-
-          case "points":
-            action = new ReduceScoreAction(value);
-            break;
-
-          default:
-            throw new CorruptStoryException("The story file provided is corrupt");
-        }
-        break;
-
-      case "Remove":
-        action = new RemoveFromInventoryAction(actionComponents[1]);
-        break;
-
-      default:
-        throw new CorruptStoryException("The story file provided is corrupt");
-    }
-
-    return action;
+    return this.storyLineTokenizer.parseAction(actionString);
   }
 
   /**
@@ -335,23 +475,36 @@ public class StoryFileFormatter {
    */
   private String createLinkString(Link link) throws UnknownActionException {
     StringBuilder linkLine = new StringBuilder();
-    linkLine.append("[" + link.getText() + "] (" + link.getReference() + ") {");
+    this.appendLink(link, linkLine);
+    return linkLine.toString();
+  }
+
+  /**
+   * Appends the link string of the specified link to the specified string builder.
+   *
+   * @param link          the specified link.
+   * @param stringBuilder the specified string builder.
+   * @throws UnknownActionException if an action of the specified link is an unknown action.
+   */
+  private void appendLink(Link link, StringBuilder stringBuilder)
+      throws UnknownActionException {
+    stringBuilder.append('[').append(link.getText()).append("] (").append(link.getReference())
+        .append(") {");
 
     if (!link.getActions().isEmpty()) {
       for (int index = 0; index < link.getActions().size(); index++) {
         Action action = link.getActions().get(index);
-        this.addActionToStringBuilder(action, linkLine);
+        this.addActionToStringBuilder(action, stringBuilder);
 
         if (index + 1 < link.getActions().size()) {
-          linkLine.append(", ");
+          stringBuilder.append(", ");
         }
       }
     } else {
-      linkLine.append("no_actions");
+      stringBuilder.append("no_actions");
     }
 
-    linkLine.append("}");
-    return linkLine.toString();
+    stringBuilder.append('}');
   }
 
   /**
@@ -373,28 +526,33 @@ public class StoryFileFormatter {
 
     if (action instanceof AddGoldAction) {
       AddGoldAction addGoldAction = (AddGoldAction) action;
-      stringBuilder.append("Add " + addGoldAction.getGold() + " gold");
+      stringBuilder.append("Add ").append(addGoldAction.getGold()).append(" gold");
     } else if (action instanceof AddHealthAction) {
       AddHealthAction addHealthAction = (AddHealthAction) action;
-      stringBuilder.append("Add " + addHealthAction.getHealth() + " health");
+      stringBuilder.append("Add ").append(addHealthAction.getHealth()).append(" health");
     } else if (action instanceof AddScoreAction) {
       AddScoreAction addScoreAction = (AddScoreAction) action;
-      stringBuilder.append("Add " + addScoreAction.getPoints() + " points to score");
+      stringBuilder.append("Add ").append(addScoreAction.getPoints())
+          .append(" points to score");
     } else if (action instanceof AddToInventoryAction) {
       AddToInventoryAction addToInventoryAction = (AddToInventoryAction) action;
-      stringBuilder.append("Add " + addToInventoryAction.getItem() + " to inventory");
+      stringBuilder.append("Add ").append(addToInventoryAction.getItem())
+          .append(" to inventory");
     } else if (action instanceof ReduceGoldAction) {
       ReduceGoldAction reduceGoldAction = (ReduceGoldAction) action;
-      stringBuilder.append("Reduce " + reduceGoldAction.getGold() + " gold");
+      stringBuilder.append("Reduce ").append(reduceGoldAction.getGold()).append(" gold");
     } else if (action instanceof ReduceHealthAction) {
       ReduceHealthAction reduceHealthAction = (ReduceHealthAction) action;
-      stringBuilder.append("Reduce " + reduceHealthAction.getHealth() + " health");
+      stringBuilder.append("Reduce ").append(reduceHealthAction.getHealth())
+          .append(" health");
     } else if (action instanceof ReduceScoreAction) {
       ReduceScoreAction reduceScoreAction = (ReduceScoreAction) action;
-      stringBuilder.append("Reduce " + reduceScoreAction.getPoints() + " points from score");
+      stringBuilder.append("Reduce ").append(reduceScoreAction.getPoints())
+          .append(" points from score");
     } else if (action instanceof RemoveFromInventoryAction) {
       RemoveFromInventoryAction removeFromInventoryAction = (RemoveFromInventoryAction) action;
-      stringBuilder.append("Remove " + removeFromInventoryAction.getItem() + " from inventory");
+      stringBuilder.append("Remove ").append(removeFromInventoryAction.getItem())
+          .append(" from inventory");
     } else {
       throw new UnknownActionException("Unknown action has been specified in a link");
     }
@@ -1,17 +1,33 @@
 package no.ntnu.idata2001.mappe29.model.filehandling;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javafx.stage.FileChooser;
+import no.ntnu.idata2001.mappe29.model.Link;
 import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.exceptions.BrokenLinksException;
 import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.NoBrokenLinksException;
 import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
 
 /**
@@ -23,13 +39,37 @@ import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
  */
 public class StoryFileManager {
   private final StoryFileFormatter storyFileFormatter;
+  private final BinaryStoryFormat binaryStoryFormat;
+  private StoryParseCache storyParseCache;
 
   public StoryFileManager(StoryFileFormatter storyFileFormatter) {
     this.storyFileFormatter = storyFileFormatter;
+    this.binaryStoryFormat = new BinaryStoryFormat();
+    this.storyParseCache = null;
   }
 
   /**
-   * Saves the specified story as a .paths file.
+   * Sets the cache of parsed stories that text story files are looked up in when they are
+   * imported. Stories that are found in the cache are read from their binary form instead of
+   * being parsed again, and stories that are parsed without broken links are added to it.
+   *
+   * @param storyParseCache the specified cache, or {@code null} to parse every text story file.
+   */
+  public void setStoryParseCache(StoryParseCache storyParseCache) {
+    this.storyParseCache = storyParseCache;
+  }
+
+  /**
+   * Gets the cache of parsed stories of this story file manager.
+   *
+   * @return the cache of parsed stories, or {@code null} if there is no cache.
+   */
+  public StoryParseCache getStoryParseCache() {
+    return this.storyParseCache;
+  }
+
+  /**
+   * Saves the specified story as a .paths file, and as a .pathsb binary file next to it.
    *
    * @param story the specified story.
    * @throws UnknownActionException if a link in the passages of the story contains an unknown
@@ -38,7 +78,6 @@ public class StoryFileManager {
    */
   public void saveStoryToFile(Story story) throws
       UnknownActionException, IOException {
-    List<String> storyFileContents = this.storyFileFormatter.formatStory(story);
     String fileName = story.getTitle() + ".paths";
 
     FileChooser fileChooser = new FileChooser();
@@ -47,12 +86,15 @@ public class StoryFileManager {
     File file = fileChooser.showSaveDialog(null);
 
     if (file != null) {
-      try (OutputStreamWriter
-               writer = new OutputStreamWriter(new FileOutputStream(file),
+      try (Writer writer = new OutputStreamWriter(new FileOutputStream(file),
           StandardCharsets.UTF_8)) {
-        for (String line : storyFileContents) {
-          writer.write(line + "\n");
-        }
+        this.storyFileFormatter.writeStory(story, writer);
+      } catch (IOException exception) {
+        throw new IOException("Failed to save story to file");
+      }
+      try {
+        this.binaryStoryFormat.writeStory(story,
+            StoryFileConverter.getBinaryPath(file.toPath()));
       } catch (IOException exception) {
         throw new IOException("Failed to save story to file");
       }
@@ -60,37 +102,213 @@ public class StoryFileManager {
   }
 
   /**
-   * Opens the specified story from a .paths file.
+   * Lets the user choose one or more .paths or .pathsb files to open.
    *
-   * @return the specified story.
-   * @throws IOException               if an input or output error occurs.
-   * @throws CorruptStoryException if a corrupt story file was provided.
+   * @return the paths of the chosen story files, or an empty list if no files were chosen.
    */
-  public Story openStoryFromFile() throws IOException, CorruptStoryException {
-    Story story = null;
-
+  public List<Path> chooseStoryFiles() {
     FileChooser fileChooser = new FileChooser();
-    fileChooser.setTitle("Open Story File");
+    fileChooser.setTitle("Open Story Files");
     fileChooser.getExtensionFilters()
-        .add(new FileChooser.ExtensionFilter("Story Files", "*.paths"));
-    File file = fileChooser.showOpenDialog(null);
-    if (file != null) {
-      try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-        List<String> fileContents = new ArrayList<>();
-        String line;
-        while ((line = reader.readLine()) != null) {
-          fileContents.add(line);
+        .add(new FileChooser.ExtensionFilter("Story Files", "*.paths", "*.pathsb"));
+    List<File> files = fileChooser.showOpenMultipleDialog(null);
+    List<Path> paths = new ArrayList<>();
+    if (files != null) {
+      for (File file : files) {
+        paths.add(file.toPath());
+      }
+    }
+    return paths;
+  }
+
+  /**
+   * Imports all the .paths and .pathsb files in the specified directory.
+   *
+   * @param directory the specified directory.
+   * @return the result of the import.
+   * @throws IllegalArgumentException if the specified directory is null.
+   * @throws IOException              if the story files in the directory cannot be listed.
+   * @see #importStories(List)
+   */
+  public StoryImportResult importStories(Path directory) throws IOException {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory cannot be null");
+    }
+    List<Path> paths = new ArrayList<>();
+    try (DirectoryStream<Path> directoryStream =
+             Files.newDirectoryStream(directory, "*.{paths,pathsb}")) {
+      for (Path path : directoryStream) {
+        if (Files.isRegularFile(path)) {
+          paths.add(path);
         }
-        story = this.storyFileFormatter.parseStory(fileContents);
-      } catch (IOException exception) {
-        throw new IOException("Failed to open story file");
-      } catch (CorruptStoryException exception) {
-        throw new CorruptStoryException("Corrupt story file was provided");
       }
     }
-    if (story == null) {
-      throw new IOException("Failed to open story file");
+    paths.sort(null);
+    return this.importStories(paths);
+  }
+
+  /**
+   * Imports the story files at the specified paths. The story files are parsed and checked for
+   * broken links in parallel, using at most one thread per available processor. Story files that
+   * are corrupt, have broken links or cannot be read are reported in the failed files of the
+   * result instead of failing the whole import.
+   *
+   * @param paths the specified paths.
+   * @return the result of the import.
+   * @throws IllegalArgumentException if the specified paths are null or one of them is null.
+   */
+  public StoryImportResult importStories(List<Path> paths) {
+    return this.importStories(paths, new StoryImportListener() {
+    });
+  }
+
+  /**
+   * Imports the story files at the specified paths, and informs the specified listener about
+   * the progress of the import. Story files that have not been fully parsed when the listener is
+   * cancelled are reported as cancelled in the failed files of the result.
+   *
+   * @param paths               the specified paths.
+   * @param storyImportListener the specified listener.
+   * @return the result of the import.
+   * @throws IllegalArgumentException if the specified paths are null, one of them is null, or
+   *                                  the specified listener is null.
+   * @see #importStories(List)
+   */
+  public StoryImportResult importStories(List<Path> paths,
+                                         StoryImportListener storyImportListener) {
+    if (paths == null) {
+      throw new IllegalArgumentException("Paths cannot be null");
+    } else if (paths.stream().anyMatch(Objects::isNull)) {
+      throw new IllegalArgumentException("One of the paths is null");
+    } else if (storyImportListener == null) {
+      throw new IllegalArgumentException("Story import listener cannot be null");
+    }
+    StoryImportResult importResult = new StoryImportResult();
+    if (!paths.isEmpty()) {
+      int threads = Math.min(paths.size(), Runtime.getRuntime().availableProcessors());
+      ExecutorService executorService = Executors.newFixedThreadPool(threads);
+      try {
+        List<Future<Story>> futures = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+          futures.add(executorService.submit(() -> this.importStory(path, storyImportListener)));
+        }
+        for (int index = 0; index < paths.size(); index++) {
+          this.collectImportedStory(paths.get(index), futures.get(index), importResult);
+        }
+      } finally {
+        executorService.shutdownNow();
+      }
+    }
+    return importResult;
+  }
+
+  /**
+   * Parses the story file at the specified path and checks it for broken links.
+   *
+   * @param path                the specified path.
+   * @param storyImportListener the listener that is informed about the progress of the import.
+   * @return the story of the story file.
+   * @throws IOException           if an input or output error occurs.
+   * @throws CorruptStoryException if the story file is corrupt.
+   * @throws BrokenLinksException  if the story has broken links.
+   * @throws CancellationException if the listener was cancelled.
+   */
+  private Story importStory(Path path, StoryImportListener storyImportListener)
+      throws IOException, CorruptStoryException, BrokenLinksException {
+    if (storyImportListener.isCancelled()) {
+      throw new CancellationException("Import of story file was cancelled");
+    }
+    StoryParseCache cache = this.storyParseCache;
+    Story story = null;
+    String key = null;
+    if (isBinaryStoryFile(path)) {
+      byte[] bytes = Files.readAllBytes(path);
+      storyImportListener.onBytesRead(bytes.length);
+      story = this.binaryStoryFormat.readStory(bytes);
+    } else {
+      if (cache != null) {
+        key = StoryParseCache.getKey(path);
+        story = cache.getStory(key);
+        if (story != null) {
+          storyImportListener.onBytesRead(Files.size(path));
+          key = null;
+        }
+      }
+      if (story == null) {
+        MessageDigest digest = key == null ? null : StoryParseCache.createDigest();
+        InputStream inputStream = new CountingInputStream(Files.newInputStream(path),
+            storyImportListener);
+        if (digest != null) {
+          inputStream = new DigestInputStream(inputStream, digest);
+        }
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+          story = this.storyFileFormatter.parseStory(reader, storyImportListener);
+        }
+        if (digest != null && !key.equals(StoryParseCache.getKey(digest))) {
+          // The file changed after it was hashed, so the story is not cached under that key.
+          key = null;
+        }
+      }
+    }
+    storyImportListener.onValidationStarted(path);
+    if (story.hasBrokenLinks()) {
+      StringBuilder brokenLinksStringBuilder = new StringBuilder("Story has broken links:");
+      try {
+        for (Link link : story.getBrokenLinks()) {
+          brokenLinksStringBuilder.append(" ").append(link.getText()).append(",");
+        }
+        brokenLinksStringBuilder.setLength(brokenLinksStringBuilder.length() - 1);
+      } catch (NoBrokenLinksException exception) {
+        throw new IllegalStateException(exception.getMessage());
+      }
+      throw new BrokenLinksException(brokenLinksStringBuilder.toString());
+    }
+    if (key != null) {
+      try {
+        cache.putStory(key, story);
+      } catch (IOException | UnknownActionException exception) {
+        // A story that cannot be cached is still imported, and is parsed again next time.
+      }
     }
     return story;
   }
+
+  /**
+   * Checks if the file at the specified path is a binary story file, by its extension.
+   *
+   * @param path the specified path.
+   * @return true if the file has the .pathsb extension, false otherwise.
+   */
+  private static boolean isBinaryStoryFile(Path path) {
+    return path.getFileName().toString().endsWith(BinaryStoryFormat.FILE_EXTENSION);
+  }
+
+  /**
+   * Waits for the import of the story file at the specified path and adds its outcome to the
+   * specified import result.
+   *
+   * @param path         the path of the story file.
+   * @param future       the future of the import of the story file.
+   * @param importResult the specified import result.
+   */
+  private void collectImportedStory(Path path, Future<Story> future,
+                                    StoryImportResult importResult) {
+    try {
+      importResult.addStory(future.get());
+    } catch (ExecutionException exception) {
+      Throwable cause = exception.getCause();
+      if (cause instanceof CorruptStoryException || cause instanceof BrokenLinksException) {
+        importResult.addFailedFile(path, cause.getMessage());
+      } else if (cause instanceof CancellationException) {
+        importResult.addFailedFile(path, "Import of story file was cancelled");
+      } else if (cause instanceof IOException) {
+        importResult.addFailedFile(path, "Failed to open story file");
+      } else {
+        importResult.addFailedFile(path, "Failed to import story file");
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      importResult.addFailedFile(path, "Import of story file was interrupted");
+    }
+  }
 }
@@ -0,0 +1,46 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.nio.file.Path;
+
+/**
+ * Represents a listener that is informed about the progress of reading and importing story
+ * files, and that can cancel them. When several story files are imported at once the methods
+ * are called from several threads at the same time, so implementations must be thread safe.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.22.
+ */
+public interface StoryImportListener {
+  /**
+   * Called when bytes of a story file have been read.
+   *
+   * @param bytes the number of bytes that have been read since the last call.
+   */
+  default void onBytesRead(long bytes) {
+  }
+
+  /**
+   * Called when a passage of a story file has been parsed and added to its story.
+   *
+   * @param passagesParsed the number of passages of the story file parsed so far.
+   */
+  default void onPassageParsed(int passagesParsed) {
+  }
+
+  /**
+   * Called when a story file has been parsed and its story is checked for broken links.
+   *
+   * @param path the path of the story file.
+   */
+  default void onValidationStarted(Path path) {
+  }
+
+  /**
+   * Checks if reading and importing story files should be cancelled.
+   *
+   * @return true if reading and importing story files should be cancelled, false otherwise.
+   */
+  default boolean isCancelled() {
+    return false;
+  }
+}
@@ -0,0 +1,86 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import no.ntnu.idata2001.mappe29.model.Story;
+
+/**
+ * Represents the result of importing several story files at once. It contains the stories that
+ * were imported and the reason every other story file could not be imported, both in the order
+ * the story files were provided.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.22.
+ */
+public class StoryImportResult {
+  private final List<Story> stories;
+  private final Map<Path, String> failedFiles;
+
+  /**
+   * Creates an instance of StoryImportResult without stories or failed files.
+   */
+  public StoryImportResult() {
+    this.stories = new ArrayList<>();
+    this.failedFiles = new LinkedHashMap<>();
+  }
+
+  /**
+   * Adds the specified story to the imported stories of this result.
+   *
+   * @param story the specified story.
+   * @throws IllegalArgumentException if the specified story is null.
+   */
+  void addStory(Story story) {
+    if (story == null) {
+      throw new IllegalArgumentException("Story cannot be null");
+    }
+    this.stories.add(story);
+  }
+
+  /**
+   * Adds the specified story file to the failed files of this result.
+   *
+   * @param path   the path of the story file.
+   * @param reason the reason the story file could not be imported.
+   * @throws IllegalArgumentException if the specified path or reason is null.
+   */
+  void addFailedFile(Path path, String reason) {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    } else if (reason == null) {
+      throw new IllegalArgumentException("Reason cannot be null");
+    }
+    this.failedFiles.put(path, reason);
+  }
+
+  /**
+   * Gets the stories that were imported.
+   *
+   * @return the stories that were imported.
+   */
+  public List<Story> getStories() {
+    return this.stories;
+  }
+
+  /**
+   * Gets the story files that could not be imported, mapped to the reason they could not be
+   * imported.
+   *
+   * @return the story files that could not be imported.
+   */
+  public Map<Path, String> getFailedFiles() {
+    return this.failedFiles;
+  }
+
+  /**
+   * Checks if any of the story files could not be imported.
+   *
+   * @return true if a story file could not be imported, false otherwise.
+   */
+  public boolean hasFailedFiles() {
+    return !this.failedFiles.isEmpty();
+  }
+}
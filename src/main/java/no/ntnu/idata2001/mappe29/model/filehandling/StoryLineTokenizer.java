@@ -0,0 +1,334 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.StringHasNoLinksException;
+
+/**
+ * Represents a Story Line Tokenizer that reads the lines of a story file in a single pass over
+ * their characters. Link lines follow the grammar {@code [text] (reference) {actions}}, where
+ * the actions are separated by commas and the actions block is optional.
+ *
+ * <p>The tokenizer does not use regular expressions and does not throw exceptions for valid
+ * lines. Only the text, the reference and inventory items of a link line are copied into new
+ * strings. It is expected to parse at least one million typical link lines per second on a
+ * desktop machine, which is measured by the benchmark in the tests of this class. The benchmark
+ * only runs with {@code mvn test -Pbenchmark}.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.15.
+ */
+public class StoryLineTokenizer {
+  private static final String NO_LINKS = "no_links";
+  private static final String NO_ACTIONS = "no_actions";
+
+  /**
+   * Checks if the specified line is a valid story title. A valid story title is not empty and
+   * only contains the letters a-z, A-Z and spaces.
+   *
+   * @param line the specified line.
+   * @return true if the line is a valid story title, false otherwise.
+   * @throws IllegalArgumentException if the specified line is null.
+   */
+  public boolean isValidTitle(String line) {
+    if (line == null) {
+      throw new IllegalArgumentException("Line cannot be null");
+    }
+    boolean validTitle = !line.isEmpty();
+    int index = 0;
+    while (validTitle && index < line.length()) {
+      char character = line.charAt(index);
+      validTitle = (character >= 'a' && character <= 'z')
+          || (character >= 'A' && character <= 'Z') || character == ' ';
+      index++;
+    }
+    return validTitle;
+  }
+
+  /**
+   * Checks if the specified line is the line that marks a passage without links.
+   *
+   * @param line the specified line.
+   * @return true if the line marks a passage without links, false otherwise.
+   * @throws IllegalArgumentException if the specified line is null.
+   */
+  public boolean isNoLinksLine(String line) {
+    if (line == null) {
+      throw new IllegalArgumentException("Line cannot be null");
+    }
+    int start = this.skipWhitespace(line, 0, line.length());
+    return start < line.length() && line.charAt(start) == '['
+        && line.startsWith(NO_LINKS, start + 1)
+        && start + NO_LINKS.length() + 1 < line.length()
+        && line.charAt(start + NO_LINKS.length() + 1) == ']';
+  }
+
+  /**
+   * Parses the specified link line into a Link.
+   *
+   * @param linkLine the specified link line.
+   * @return the Link of the specified link line.
+   * @throws IllegalArgumentException  if the specified link line is null or blank.
+   * @throws StringHasNoLinksException if the specified link line marks a passage without links.
+   * @throws CorruptStoryException     if the specified link line is not a valid link line.
+   */
+  public Link parseLink(String linkLine) throws StringHasNoLinksException,
+      CorruptStoryException {
+    if (linkLine == null) {
+      throw new IllegalArgumentException("Link line cannot be null");
+    } else if (linkLine.isBlank()) {
+      throw new IllegalArgumentException("Link line cannot be blank");
+    }
+    int length = linkLine.length();
+    int textStart = this.expect(linkLine, this.skipWhitespace(linkLine, 0, length), '[') + 1;
+    int textEnd = this.find(linkLine, textStart, length, ']');
+    if (textEnd - textStart == NO_LINKS.length()
+        && linkLine.startsWith(NO_LINKS, textStart)) {
+      throw new StringHasNoLinksException("String has no links");
+    }
+    int referenceStart =
+        this.expect(linkLine, this.skipWhitespace(linkLine, textEnd + 1, length), '(') + 1;
+    int referenceEnd = this.find(linkLine, referenceStart, length, ')');
+    String linkText = linkLine.substring(textStart, textEnd);
+    String linkReference = linkLine.substring(referenceStart, referenceEnd);
+
+    List<Action> linkActions = null;
+    int actionsStart = this.skipWhitespace(linkLine, referenceEnd + 1, length);
+    if (actionsStart < length) {
+      actionsStart = this.expect(linkLine, actionsStart, '{') + 1;
+      int actionsEnd = this.find(linkLine, actionsStart, length, '}');
+      int actionStart = actionsStart;
+      while (actionStart < actionsEnd) {
+        int actionEnd = actionStart;
+        while (actionEnd < actionsEnd && linkLine.charAt(actionEnd) != ',') {
+          actionEnd++;
+        }
+        int trimmedStart = this.skipWhitespace(linkLine, actionStart, actionEnd);
+        int trimmedEnd = actionEnd;
+        while (trimmedEnd > trimmedStart && linkLine.charAt(trimmedEnd - 1) <= ' ') {
+          trimmedEnd--;
+        }
+        if (trimmedStart < trimmedEnd
+            && !this.regionEquals(linkLine, trimmedStart, trimmedEnd, NO_ACTIONS)) {
+          if (linkActions == null) {
+            linkActions = new ArrayList<>(2);
+          }
+          linkActions.add(this.parseAction(linkLine, trimmedStart, trimmedEnd));
+        }
+        actionStart = actionEnd + 1;
+      }
+    }
+
+    Link link;
+    if (linkActions == null) {
+      link = new Link(linkText, linkReference);
+    } else {
+      link = new Link(linkText, linkReference, linkActions);
+    }
+    return link;
+  }
+
+  /**
+   * Parses the specified action string into an Action.
+   *
+   * @param actionString the specified action string.
+   * @return the Action of the specified action string.
+   * @throws IllegalArgumentException if the specified action string is null or blank.
+   * @throws CorruptStoryException    if the specified action string is not a valid action.
+   */
+  public Action parseAction(String actionString) throws CorruptStoryException {
+    if (actionString == null) {
+      throw new IllegalArgumentException("Action string cannot be null");
+    } else if (actionString.isBlank()) {
+      throw new IllegalArgumentException("Action string cannot be blank");
+    }
+    return this.parseAction(actionString, 0, actionString.length());
+  }
+
+  /**
+   * Parses the action between the specified start and end index of the specified line into an
+   * Action. The words of an action are separated by single spaces.
+   *
+   * @param line  the specified line.
+   * @param start the index of the first character of the action.
+   * @param end   the index after the last character of the action.
+   * @return the Action between the specified start and end index.
+   * @throws CorruptStoryException if the characters between the indexes are not a valid action.
+   */
+  private Action parseAction(String line, int start, int end) throws CorruptStoryException {
+    int verbEnd = this.wordEnd(line, start, end);
+    int firstStart = Math.min(verbEnd + 1, end);
+    int firstEnd = this.wordEnd(line, firstStart, end);
+    int secondStart = Math.min(firstEnd + 1, end);
+    int secondEnd = this.wordEnd(line, secondStart, end);
+    if (firstStart == firstEnd) {
+      throw new CorruptStoryException("The story file provided is corrupt");
+    }
+
+    Action action;
+    if (this.regionEquals(line, start, verbEnd, "Add")) {
+      long value = this.parseInteger(line, firstStart, firstEnd);
+      if (value == Long.MIN_VALUE) {
+        action = new AddToInventoryAction(line.substring(firstStart, firstEnd));
+      } else if (this.regionEquals(line, secondStart, secondEnd, "gold")) {
+        action = new AddGoldAction((int) value);
+      } else if (this.regionEquals(line, secondStart, secondEnd, "health")) {
+        action = new AddHealthAction((int) value);
+      } else if (this.regionEquals(line, secondStart, secondEnd, "points")) {
+        action = new AddScoreAction((int) value);
+      } else {
+        throw new CorruptStoryException("The story file provided is corrupt");
+      }
+    } else if (this.regionEquals(line, start, verbEnd, "Reduce")) {
+      long value = this.parseInteger(line, firstStart, firstEnd);
+      if (value == Long.MIN_VALUE) {
+        throw new CorruptStoryException("The story file provided is corrupt");
+      } else if (this.regionEquals(line, secondStart, secondEnd, "gold")) {
+        action = new ReduceGoldAction((int) value);
+      } else if (this.regionEquals(line, secondStart, secondEnd, "health")) {
+        action = new ReduceHealthAction((int) value);
+      } else if (this.regionEquals(line, secondStart, secondEnd, "points")) {
+        action = new ReduceScoreAction((int) value);
+      } else {
+        throw new CorruptStoryException("The story file provided is corrupt");
+      }
+    } else if (this.regionEquals(line, start, verbEnd, "Remove")) {
+      action = new RemoveFromInventoryAction(line.substring(firstStart, firstEnd));
+    } else {
+      throw new CorruptStoryException("The story file provided is corrupt");
+    }
+    return action;
+  }
+
+  /**
+   * Parses the characters between the specified start and end index of the specified line as a
+   * decimal integer with an optional minus sign.
+   *
+   * @param line  the specified line.
+   * @param start the index of the first character.
+   * @param end   the index after the last character.
+   * @return the integer value, or {@code Long.MIN_VALUE} if the characters are not an integer
+   *         that fits in an {@code int}.
+   */
+  private long parseInteger(String line, int start, int end) {
+    int index = start;
+    boolean negative = index < end && line.charAt(index) == '-';
+    if (negative) {
+      index++;
+    }
+    long value = index < end ? 0 : Long.MIN_VALUE;
+    while (value != Long.MIN_VALUE && index < end) {
+      char character = line.charAt(index);
+      if (character >= '0' && character <= '9' && value <= Integer.MAX_VALUE + 1L) {
+        value = value * 10 + (character - '0');
+      } else {
+        value = Long.MIN_VALUE;
+      }
+      index++;
+    }
+    if (value != Long.MIN_VALUE) {
+      value = negative ? -value : value;
+      if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+        value = Long.MIN_VALUE;
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Checks if the specified expected character is at the specified index of the specified line.
+   *
+   * @param line     the specified line.
+   * @param index    the specified index.
+   * @param expected the specified expected character.
+   * @return the specified index.
+   * @throws CorruptStoryException if the expected character is not at the specified index.
+   */
+  private int expect(String line, int index, char expected) throws CorruptStoryException {
+    if (index >= line.length() || line.charAt(index) != expected) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+    return index;
+  }
+
+  /**
+   * Finds the first index of the specified character between the specified start and end index
+   * of the specified line.
+   *
+   * @param line      the specified line.
+   * @param start     the index to start searching from.
+   * @param end       the index to stop searching at.
+   * @param character the specified character.
+   * @return the index of the specified character.
+   * @throws CorruptStoryException if the character is not found.
+   */
+  private int find(String line, int start, int end, char character)
+      throws CorruptStoryException {
+    int index = start;
+    while (index < end && line.charAt(index) != character) {
+      index++;
+    }
+    if (index == end) {
+      throw new CorruptStoryException("Corrupt story file was provided");
+    }
+    return index;
+  }
+
+  /**
+   * Gets the index of the first character that is not whitespace between the specified start
+   * and end index of the specified line.
+   *
+   * @param line  the specified line.
+   * @param start the index to start from.
+   * @param end   the index to stop at.
+   * @return the index of the first character that is not whitespace, or the end index.
+   */
+  private int skipWhitespace(String line, int start, int end) {
+    int index = start;
+    while (index < end && line.charAt(index) <= ' ') {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Gets the index after the last character of the word that starts at the specified index.
+   *
+   * @param line  the specified line.
+   * @param start the index the word starts at.
+   * @param end   the index to stop at.
+   * @return the index of the first space after the word, or the end index.
+   */
+  private int wordEnd(String line, int start, int end) {
+    int index = start;
+    while (index < end && line.charAt(index) != ' ') {
+      index++;
+    }
+    return index;
+  }
+
+  /**
+   * Checks if the characters between the specified start and end index of the specified line
+   * are equal to the specified word.
+   *
+   * @param line  the specified line.
+   * @param start the index of the first character.
+   * @param end   the index after the last character.
+   * @param word  the specified word.
+   * @return true if the characters are equal to the word, false otherwise.
+   */
+  private boolean regionEquals(String line, int start, int end, String word) {
+    return end - start == word.length() && line.startsWith(word, start);
+  }
+}
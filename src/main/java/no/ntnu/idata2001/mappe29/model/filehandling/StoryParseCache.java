@@ -0,0 +1,411 @@
+package no.ntnu.idata2001.mappe29.model.filehandling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
+
+/**
+ * Represents a cache of parsed and validated stories in a local cache directory. A story is
+ * stored as a binary story file named by the SHA-256 hash of the contents of the text story file
+ * it was parsed from, so a text story file with the same contents is read from the cache instead
+ * of being parsed and checked for broken links again. Only stories without broken links should
+ * be put in the cache.
+ *
+ * <p>The cache is bounded by the number of bytes of the cached files. When a new story makes the
+ * cache exceed its maximum number of bytes, the least recently used stories are removed until it
+ * fits again. The cache directory is kept between runs of the application, and the files in it
+ * are counted again when a cache is created for the directory. A story whose cached file alone
+ * exceeds the maximum number of bytes is not cached. Temporary files that were left behind by a
+ * crash while a story was being cached are removed when a cache is created for the
+ * directory.</p>
+ *
+ * <p>The cache can be used by several threads. Its lock only guards the sizes of the cached files
+ * and the counters, and cached files are read and written without holding it.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.25.
+ */
+public class StoryParseCache {
+  /**
+   * The default maximum number of bytes of cached stories.
+   */
+  public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+  private static final int KEY_LENGTH = 64;
+  private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+  private final Path cacheDirectory;
+  private final long maximumBytes;
+  private final BinaryStoryFormat binaryStoryFormat;
+  private final Map<String, Long> fileSizes;
+  private long cachedBytes;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates an instance of StoryParseCache with the default maximum number of bytes.
+   *
+   * @param cacheDirectory the cache directory, which is created when the first story is cached.
+   * @throws IllegalArgumentException if the specified cache directory is null.
+   * @throws IOException              if the files in the cache directory cannot be listed.
+   */
+  public StoryParseCache(Path cacheDirectory) throws IOException {
+    this(cacheDirectory, DEFAULT_MAXIMUM_BYTES);
+  }
+
+  /**
+   * Creates an instance of StoryParseCache.
+   *
+   * @param cacheDirectory the cache directory, which is created when the first story is cached.
+   * @param maximumBytes   the maximum number of bytes of cached stories.
+   * @throws IllegalArgumentException if the specified cache directory is null or the specified
+   *                                  maximum number of bytes is not positive.
+   * @throws IOException              if the files in the cache directory cannot be listed or a
+   *                                  temporary file cannot be removed.
+   */
+  public StoryParseCache(Path cacheDirectory, long maximumBytes) throws IOException {
+    if (cacheDirectory == null) {
+      throw new IllegalArgumentException("Cache directory cannot be null");
+    } else if (maximumBytes <= 0) {
+      throw new IllegalArgumentException("Maximum bytes must be positive");
+    }
+    this.cacheDirectory = cacheDirectory;
+    this.maximumBytes = maximumBytes;
+    this.binaryStoryFormat = new BinaryStoryFormat();
+    this.fileSizes = new HashMap<>();
+    this.cachedBytes = 0;
+    this.hitCount = 0;
+    this.missCount = 0;
+    this.evictionCount = 0;
+    if (Files.isDirectory(cacheDirectory)) {
+      try (DirectoryStream<Path> directoryStream =
+               Files.newDirectoryStream(cacheDirectory, "*" + BinaryStoryFormat.FILE_EXTENSION)) {
+        for (Path path : directoryStream) {
+          long size = Files.size(path);
+          this.fileSizes.put(getCachedKey(path), size);
+          this.cachedBytes += size;
+        }
+      }
+      try (DirectoryStream<Path> directoryStream =
+               Files.newDirectoryStream(cacheDirectory, "*" + TEMPORARY_FILE_EXTENSION)) {
+        for (Path path : directoryStream) {
+          if (isTemporaryFile(path)) {
+            Files.deleteIfExists(path);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if the specified path is a temporary file of a story that was being cached, whose
+   * name starts with the key of the story.
+   *
+   * @param path the specified path.
+   * @return true if the path is a temporary file of the cache, false otherwise.
+   */
+  private static boolean isTemporaryFile(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.length() > KEY_LENGTH + TEMPORARY_FILE_EXTENSION.length()
+        && fileName.substring(0, KEY_LENGTH).chars().allMatch(HexFormat::isHexDigit);
+  }
+
+  /**
+   * Gets the cache key of the text story file at the specified path, which is the SHA-256 hash of
+   * its contents. The file is read once through a small buffer and never held in memory.
+   *
+   * @param path the specified path.
+   * @return the cache key of the text story file.
+   * @throws IllegalArgumentException if the specified path is null.
+   * @throws IOException              if an input or output error occurs.
+   */
+  public static String getKey(Path path) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    MessageDigest digest = createDigest();
+    try (InputStream inputStream = new DigestInputStream(Files.newInputStream(path), digest)) {
+      inputStream.transferTo(OutputStream.nullOutputStream());
+    }
+    return getKey(digest);
+  }
+
+  /**
+   * Gets the cached story with the specified key.
+   *
+   * @param key the key of the text story file the story was parsed from.
+   * @return a new instance of the cached story, or {@code null} if the story is not cached.
+   * @throws IllegalArgumentException if the specified key is not a SHA-256 hash.
+   */
+  public Story getStory(String key) {
+    checkKey(key);
+    boolean known;
+    synchronized (this) {
+      known = this.fileSizes.containsKey(key);
+    }
+    Story story = null;
+    if (known) {
+      Path path = this.getPath(key);
+      try {
+        story = this.binaryStoryFormat.readStory(path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+      } catch (IOException | CorruptStoryException exception) {
+        story = null;
+        this.removeFile(key);
+      }
+    }
+    synchronized (this) {
+      if (story != null) {
+        this.hitCount++;
+      } else {
+        this.missCount++;
+      }
+    }
+    return story;
+  }
+
+  /**
+   * Puts the specified story in the cache, as parsed from the text story file with the specified
+   * key. The story should have been checked for broken links. A story whose cached file exceeds
+   * the maximum number of bytes of the cache is not cached, and an older cached file with the
+   * same key is removed.
+   *
+   * @param key   the key of the text story file.
+   * @param story the specified story.
+   * @throws IllegalArgumentException if the specified key is not a SHA-256 hash or the specified
+   *                                  story is null.
+   * @throws UnknownActionException   if the action of a link is an unknown action.
+   * @throws IOException              if the story cannot be written to the cache directory.
+   */
+  public void putStory(String key, Story story) throws UnknownActionException, IOException {
+    checkKey(key);
+    if (story == null) {
+      throw new IllegalArgumentException("Story cannot be null");
+    }
+    Path path = this.getPath(key);
+    Files.createDirectories(this.cacheDirectory);
+    Path temporaryPath = Files.createTempFile(this.cacheDirectory, key,
+        TEMPORARY_FILE_EXTENSION);
+    try {
+      this.binaryStoryFormat.writeStory(story, temporaryPath);
+      Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaryPath);
+    }
+    long size = Files.size(path);
+    List<String> evictionCandidates = null;
+    if (size > this.maximumBytes) {
+      synchronized (this) {
+        this.removeEntry(key);
+      }
+      this.deleteFile(key);
+    } else {
+      synchronized (this) {
+        Long oldSize = this.fileSizes.put(key, size);
+        this.cachedBytes += size - (oldSize == null ? 0 : oldSize);
+        if (this.cachedBytes > this.maximumBytes) {
+          evictionCandidates = new ArrayList<>(this.fileSizes.keySet());
+          evictionCandidates.remove(key);
+        }
+      }
+    }
+    if (evictionCandidates != null) {
+      this.evictLeastRecentlyUsedStories(evictionCandidates);
+    }
+  }
+
+  /**
+   * Removes the least recently used of the specified stories from the cache until the cache does
+   * not exceed its maximum number of bytes. The modification times are read and the files are
+   * removed without holding the lock of the cache.
+   *
+   * @param keys the keys of the stories that may be removed.
+   */
+  private void evictLeastRecentlyUsedStories(List<String> keys) {
+    Map<String, FileTime> modifiedTimes = new HashMap<>();
+    for (String key : keys) {
+      FileTime modifiedTime;
+      try {
+        modifiedTime = Files.getLastModifiedTime(this.getPath(key));
+      } catch (IOException exception) {
+        modifiedTime = FileTime.fromMillis(0);
+      }
+      modifiedTimes.put(key, modifiedTime);
+    }
+    keys.sort(Comparator.comparing(modifiedTimes::get));
+    boolean full = true;
+    for (int index = 0; full && index < keys.size(); index++) {
+      String key = keys.get(index);
+      boolean evicted = false;
+      synchronized (this) {
+        full = this.cachedBytes > this.maximumBytes;
+        if (full && this.removeEntry(key)) {
+          this.evictionCount++;
+          evicted = true;
+        }
+      }
+      if (evicted) {
+        this.deleteFile(key);
+      }
+    }
+  }
+
+  /**
+   * Removes the cached file with the specified key from the cache directory, unless another
+   * thread already removed it.
+   *
+   * @param key the specified key.
+   */
+  private void removeFile(String key) {
+    boolean removed;
+    synchronized (this) {
+      removed = this.removeEntry(key);
+    }
+    if (removed) {
+      this.deleteFile(key);
+    }
+  }
+
+  /**
+   * Removes the size of the cached file with the specified key from the cached bytes. The lock of
+   * the cache must be held.
+   *
+   * @param key the specified key.
+   * @return true if the cached file was counted, false otherwise.
+   */
+  private boolean removeEntry(String key) {
+    Long size = this.fileSizes.remove(key);
+    if (size != null) {
+      this.cachedBytes -= size;
+    }
+    return size != null;
+  }
+
+  /**
+   * Deletes the cached file with the specified key.
+   *
+   * @param key the specified key.
+   */
+  private void deleteFile(String key) {
+    try {
+      Files.deleteIfExists(this.getPath(key));
+    } catch (IOException exception) {
+      // The file is no longer counted, and is overwritten if the story is cached again.
+    }
+  }
+
+  /**
+   * Gets the number of stories that were found in the cache.
+   *
+   * @return the number of cache hits.
+   */
+  public synchronized long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Gets the number of stories that were not found in the cache.
+   *
+   * @return the number of cache misses.
+   */
+  public synchronized long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Gets the number of stories that were removed from the cache to keep it within its maximum
+   * number of bytes.
+   *
+   * @return the number of evicted stories.
+   */
+  public synchronized long getEvictionCount() {
+    return this.evictionCount;
+  }
+
+  /**
+   * Gets the number of bytes of the stories in the cache.
+   *
+   * @return the number of cached bytes.
+   */
+  public synchronized long getCachedBytes() {
+    return this.cachedBytes;
+  }
+
+  /**
+   * Gets the path of the cached file with the specified key.
+   *
+   * @param key the specified key.
+   * @return the path of the cached file.
+   */
+  private Path getPath(String key) {
+    return this.cacheDirectory.resolve(key + BinaryStoryFormat.FILE_EXTENSION);
+  }
+
+  /**
+   * Gets the key of the cached file at the specified path, which is its file name without the
+   * extension.
+   *
+   * @param path the specified path.
+   * @return the key of the cached file.
+   */
+  private static String getCachedKey(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.substring(0, fileName.length() - BinaryStoryFormat.FILE_EXTENSION.length());
+  }
+
+  /**
+   * Checks that the specified key is a SHA-256 hash as a hexadecimal string, so it can be used as
+   * a file name in the cache directory.
+   *
+   * @param key the specified key.
+   * @throws IllegalArgumentException if the specified key is not a SHA-256 hash.
+   */
+  private static void checkKey(String key) {
+    if (key == null) {
+      throw new IllegalArgumentException("Key cannot be null");
+    } else if (key.length() != KEY_LENGTH || !key.chars().allMatch(HexFormat::isHexDigit)) {
+      throw new IllegalArgumentException("Key must be a SHA-256 hash");
+    }
+  }
+
+  /**
+   * Creates a message digest that computes the SHA-256 hash of the contents of a text story file.
+   *
+   * @return the message digest.
+   */
+  static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not available");
+    }
+  }
+
+  /**
+   * Completes the specified message digest and gets the hash as a cache key.
+   *
+   * @param digest the specified message digest.
+   * @return the hash as a hexadecimal string.
+   */
+  static String getKey(MessageDigest digest) {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
@@ -1,6 +1,5 @@
 package no.ntnu.idata2001.mappe29.model.goals;
 
-import javafx.scene.image.Image;
 import no.ntnu.idata2001.mappe29.model.Player;
 
 /**
@@ -20,11 +19,12 @@ public interface Goal {
   boolean isFulfilled(Player player);
 
   /**
-   * Gets the image of this goal.
+   * Gets the image path of this goal. The image path is the resource path of the image, which is
+   * resolved to an image by the user interface.
    *
-   * @return the image of this goal.
+   * @return the image path of this goal.
    */
-  Image getImage();
+  String getImagePath();
 
   /**
    * Gets the description of this goal.
@@ -0,0 +1,28 @@
+package no.ntnu.idata2001.mappe29.model.goals;
+
+/**
+ * Represents a listener that is notified by a {@link GoalTracker GoalTracker} when one of its
+ * goals becomes fulfilled or stops being fulfilled. Both methods have an empty default
+ * implementation.
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+public interface GoalListener {
+  /**
+   * Called when the specified goal has become fulfilled.
+   *
+   * @param goal the goal that was fulfilled.
+   */
+  default void onGoalFulfilled(Goal goal) {
+  }
+
+  /**
+   * Called when the specified goal, that was fulfilled, is no longer fulfilled. For example when
+   * the player loses gold after reaching a gold goal.
+   *
+   * @param goal the goal that is no longer fulfilled.
+   */
+  default void onGoalUnfulfilled(Goal goal) {
+  }
+}
@@ -0,0 +1,288 @@
+package no.ntnu.idata2001.mappe29.model.goals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.PlayerStatListener;
+
+/**
+ * Represents a tracker that keeps track of which goals of a player are fulfilled while the player
+ * plays a story. The tracker listens to the stat changes of the player and only evaluates the
+ * goals that depend on the stat that changed.
+ *
+ * <p>Gold, health and score goals are sorted by their minimum value. When a stat changes from an
+ * old to a new value, only the goals with a minimum between the two values change state, and
+ * they are found with a binary search. Item goals are looked up by their item. Goals of other
+ * types are evaluated again on every change.</p>
+ *
+ * <p>The goals are read when the tracker is created. Goals that are added to the player later
+ * are not tracked.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.24.
+ */
+public class GoalTracker implements PlayerStatListener {
+  private final Player player;
+  private final List<Goal> goals;
+  private final Set<Goal> fulfilledGoals;
+  private final ThresholdGoals goldGoals;
+  private final ThresholdGoals healthGoals;
+  private final ThresholdGoals scoreGoals;
+  private final Map<String, List<Goal>> itemGoals;
+  private final List<Goal> otherGoals;
+  private final List<GoalListener> goalListeners;
+
+  /**
+   * Creates an instance of GoalTracker that tracks the current goals of the specified player, and
+   * starts listening to the stat changes of the player.
+   *
+   * @param player the specified player.
+   * @throws IllegalArgumentException if the specified player is null.
+   */
+  public GoalTracker(Player player) {
+    if (player == null) {
+      throw new IllegalArgumentException("Player cannot be null");
+    }
+    this.player = player;
+    this.goals = new ArrayList<>(player.getGoals());
+    this.fulfilledGoals = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<GoldGoal> goldGoalList = new ArrayList<>();
+    List<HealthGoal> healthGoalList = new ArrayList<>();
+    List<ScoreGoal> scoreGoalList = new ArrayList<>();
+    this.itemGoals = new HashMap<>();
+    this.otherGoals = new ArrayList<>();
+    this.goalListeners = new ArrayList<>();
+    for (Goal goal : this.goals) {
+      if (goal instanceof GoldGoal goldGoal) {
+        goldGoalList.add(goldGoal);
+      } else if (goal instanceof HealthGoal healthGoal) {
+        healthGoalList.add(healthGoal);
+      } else if (goal instanceof ScoreGoal scoreGoal) {
+        scoreGoalList.add(scoreGoal);
+      } else if (goal instanceof ItemGoal itemGoal) {
+        this.itemGoals.computeIfAbsent(itemGoal.getMandatoryItem(), item -> new ArrayList<>())
+            .add(itemGoal);
+      } else {
+        this.otherGoals.add(goal);
+      }
+      if (goal.isFulfilled(player)) {
+        this.fulfilledGoals.add(goal);
+      }
+    }
+    this.goldGoals = new ThresholdGoals(goldGoalList, GoldGoal::getMinimumGold);
+    this.healthGoals = new ThresholdGoals(healthGoalList, HealthGoal::getMinimumHealth);
+    this.scoreGoals = new ThresholdGoals(scoreGoalList, ScoreGoal::getMinimumPoints);
+    player.addStatListener(this);
+  }
+
+  /**
+   * Adds the specified listener to the listeners that are notified when a goal changes state.
+   *
+   * @param goalListener the specified listener.
+   * @throws IllegalArgumentException if the specified listener is null.
+   */
+  public void addGoalListener(GoalListener goalListener) {
+    if (goalListener == null) {
+      throw new IllegalArgumentException("Goal listener cannot be null");
+    }
+    this.goalListeners.add(goalListener);
+  }
+
+  /**
+   * Removes the specified listener from the listeners that are notified when a goal changes
+   * state.
+   *
+   * @param goalListener the specified listener.
+   */
+  public void removeGoalListener(GoalListener goalListener) {
+    this.goalListeners.remove(goalListener);
+  }
+
+  /**
+   * Stops listening to the stat changes of the player. The states of the goals are not updated
+   * anymore after this.
+   */
+  public void detach() {
+    this.player.removeStatListener(this);
+  }
+
+  /**
+   * Gets the goals that this tracker tracks.
+   *
+   * @return the goals that this tracker tracks.
+   */
+  public List<Goal> getGoals() {
+    return Collections.unmodifiableList(this.goals);
+  }
+
+  /**
+   * Checks if the specified goal is fulfilled.
+   *
+   * @param goal the specified goal.
+   * @return true if the specified goal is tracked and fulfilled, false otherwise.
+   */
+  public boolean isFulfilled(Goal goal) {
+    return this.fulfilledGoals.contains(goal);
+  }
+
+  /**
+   * Gets the number of goals that are fulfilled.
+   *
+   * @return the number of goals that are fulfilled.
+   */
+  public int getFulfilledGoalCount() {
+    return this.fulfilledGoals.size();
+  }
+
+  /**
+   * Checks if all the goals of this tracker are fulfilled.
+   *
+   * @return true if all the goals are fulfilled, false otherwise.
+   */
+  public boolean areAllGoalsFulfilled() {
+    return this.fulfilledGoals.size() == this.goals.size();
+  }
+
+  @Override
+  public void onGoldChanged(Player player, int oldGold, int newGold) {
+    this.goldGoals.update(oldGold, newGold);
+    this.updateOtherGoals();
+  }
+
+  @Override
+  public void onHealthChanged(Player player, int oldHealth, int newHealth) {
+    this.healthGoals.update(oldHealth, newHealth);
+    this.updateOtherGoals();
+  }
+
+  @Override
+  public void onScoreChanged(Player player, int oldScore, int newScore) {
+    this.scoreGoals.update(oldScore, newScore);
+    this.updateOtherGoals();
+  }
+
+  @Override
+  public void onItemAdded(Player player, String item) {
+    this.updateItemGoals(item, true);
+    this.updateOtherGoals();
+  }
+
+  @Override
+  public void onItemRemoved(Player player, String item) {
+    this.updateItemGoals(item, false);
+    this.updateOtherGoals();
+  }
+
+  /**
+   * Updates the item goals of the specified item.
+   *
+   * @param item      the specified item.
+   * @param fulfilled true if the player now has the item, false otherwise.
+   */
+  private void updateItemGoals(String item, boolean fulfilled) {
+    List<Goal> goalsOfItem = this.itemGoals.get(item);
+    if (goalsOfItem != null) {
+      for (Goal goal : goalsOfItem) {
+        this.setFulfilled(goal, fulfilled);
+      }
+    }
+  }
+
+  /**
+   * Evaluates the goals that are not gold, health, score or item goals again.
+   */
+  private void updateOtherGoals() {
+    for (Goal goal : this.otherGoals) {
+      this.setFulfilled(goal, goal.isFulfilled(this.player));
+    }
+  }
+
+  /**
+   * Sets the state of the specified goal, and notifies the listeners if the state changed.
+   *
+   * @param goal      the specified goal.
+   * @param fulfilled true if the goal is fulfilled, false otherwise.
+   */
+  private void setFulfilled(Goal goal, boolean fulfilled) {
+    if (fulfilled && this.fulfilledGoals.add(goal)) {
+      for (GoalListener goalListener : this.goalListeners) {
+        goalListener.onGoalFulfilled(goal);
+      }
+    } else if (!fulfilled && this.fulfilledGoals.remove(goal)) {
+      for (GoalListener goalListener : this.goalListeners) {
+        goalListener.onGoalUnfulfilled(goal);
+      }
+    }
+  }
+
+  /**
+   * Represents the goals of one stat that are fulfilled when the stat is at least a minimum value,
+   * sorted by that minimum value.
+   */
+  private final class ThresholdGoals {
+    private final Goal[] goals;
+    private final int[] minimumValues;
+
+    /**
+     * Creates an instance of ThresholdGoals.
+     *
+     * @param goals        the goals of the stat.
+     * @param minimumValue the function that gets the minimum value of a goal.
+     * @param <T>          the type of the goals.
+     */
+    private <T extends Goal> ThresholdGoals(List<T> goals, ToIntFunction<T> minimumValue) {
+      List<T> sortedGoals = new ArrayList<>(goals);
+      sortedGoals.sort(Comparator.comparingInt(minimumValue));
+      this.goals = sortedGoals.toArray(new Goal[0]);
+      this.minimumValues = new int[this.goals.length];
+      for (int index = 0; index < this.minimumValues.length; index++) {
+        this.minimumValues[index] = minimumValue.applyAsInt(sortedGoals.get(index));
+      }
+    }
+
+    /**
+     * Updates the goals with a minimum value between the specified old and new value of the
+     * stat.
+     *
+     * @param oldValue the old value of the stat.
+     * @param newValue the new value of the stat.
+     */
+    private void update(int oldValue, int newValue) {
+      boolean fulfilled = newValue > oldValue;
+      int lowValue = Math.min(oldValue, newValue);
+      int highValue = Math.max(oldValue, newValue);
+      for (int index = this.firstIndexAbove(lowValue);
+           index < this.goals.length && this.minimumValues[index] <= highValue; index++) {
+        GoalTracker.this.setFulfilled(this.goals[index], fulfilled);
+      }
+    }
+
+    /**
+     * Gets the index of the first goal with a minimum value greater than the specified value.
+     *
+     * @param value the specified value.
+     * @return the index of the first goal with a greater minimum value, or the number of goals if
+     *         there is no such goal.
+     */
+    private int firstIndexAbove(int value) {
+      int low = 0;
+      int high = this.minimumValues.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (this.minimumValues[middle] <= value) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+  }
+}
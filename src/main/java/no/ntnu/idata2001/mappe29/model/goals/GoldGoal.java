@@ -1,6 +1,5 @@
 package no.ntnu.idata2001.mappe29.model.goals;
 
-import javafx.scene.image.Image;
 import no.ntnu.idata2001.mappe29.model.Player;
 
 /**
@@ -12,7 +11,7 @@ import no.ntnu.idata2001.mappe29.model.Player;
  */
 public class GoldGoal implements Goal {
   private final int minimumGold;
-  private Image image;
+  private String imagePath;
   private String description;
 
   /**
@@ -26,30 +25,42 @@ public class GoldGoal implements Goal {
       throw new IllegalArgumentException("Minimum gold of a gold goal cannot be less than 1");
     }
     this.minimumGold = minimumGold;
-    this.image = null;
+    this.imagePath = null;
     this.description = "";
   }
 
+  /**
+   * Gets the minimum gold of this goal.
+   *
+   * @return the minimum gold of this goal.
+   */
+  public int getMinimumGold() {
+    return this.minimumGold;
+  }
+
   @Override
   public boolean isFulfilled(Player player) {
     return this.minimumGold <= player.getGold();
   }
 
   @Override
-  public Image getImage() {
-    return this.image;
+  public String getImagePath() {
+    return this.imagePath;
   }
 
   /**
-   * Sets the image of this goal to the specified image.
+   * Sets the image path of this goal to the specified image path.
    *
-   * @param image the specified image.
+   * @param imagePath the specified image path.
+   * @throws IllegalArgumentException if the specified image path is null or blank.
    */
-  public void setImage(Image image) {
-    if (image == null) {
-      throw new IllegalArgumentException("Image cannot be null");
+  public void setImagePath(String imagePath) {
+    if (imagePath == null) {
+      throw new IllegalArgumentException("Image path cannot be null");
+    } else if (imagePath.isBlank()) {
+      throw new IllegalArgumentException("Image path cannot be blank");
     }
-    this.image = image;
+    this.imagePath = imagePath;
   }
 
   @Override
@@ -1,6 +1,5 @@
 package no.ntnu.idata2001.mappe29.model.goals;
 
-import javafx.scene.image.Image;
 import no.ntnu.idata2001.mappe29.model.Player;
 
 /**
@@ -12,7 +11,7 @@ import no.ntnu.idata2001.mappe29.model.Player;
  */
 public class ItemGoal implements Goal {
   private String mandatoryItem;
-  private Image image;
+  private String imagePath;
   private String description;
 
   /**
@@ -23,7 +22,7 @@ public class ItemGoal implements Goal {
    */
   public ItemGoal(String mandatoryItem) {
     this.setMandatoryItem(mandatoryItem);
-    this.image = null;
+    this.imagePath = null;
     this.description = "";
   }
 
@@ -57,20 +56,23 @@ public class ItemGoal implements Goal {
   }
 
   @Override
-  public Image getImage() {
-    return this.image;
+  public String getImagePath() {
+    return this.imagePath;
   }
 
   /**
-   * Sets the image of this goal to the specified image.
+   * Sets the image path of this goal to the specified image path.
    *
-   * @param image the specified image.
+   * @param imagePath the specified image path.
+   * @throws IllegalArgumentException if the specified image path is null or blank.
    */
-  public void setImage(Image image) {
-    if (image == null) {
-      throw new IllegalArgumentException("Image cannot be null");
+  public void setImagePath(String imagePath) {
+    if (imagePath == null) {
+      throw new IllegalArgumentException("Image path cannot be null");
+    } else if (imagePath.isBlank()) {
+      throw new IllegalArgumentException("Image path cannot be blank");
     }
-    this.image = image;
+    this.imagePath = imagePath;
   }
 
   @Override
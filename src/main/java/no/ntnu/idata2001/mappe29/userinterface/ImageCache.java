@@ -0,0 +1,190 @@
+package no.ntnu.idata2001.mappe29.userinterface;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a cache of images that are loaded from the resources of the application. Every
+ * resource is only decoded once while it is in the cache, and the same Image instance is shared
+ * by everyone that asks for it.
+ *
+ * <p>The cache is bounded by the number of bytes of the decoded images, counted as four bytes per
+ * pixel. When a new image makes the cache exceed its maximum number of bytes, the least recently
+ * used images are removed from the cache until it fits again. Images that are still used by the
+ * application stay valid after they have been removed from the cache.</p>
+ *
+ * @author Tiago Brito.
+ * @version 2023.05.22.
+ */
+public class ImageCache {
+  /**
+   * The default maximum number of bytes of decoded images in the cache.
+   */
+  public static final long DEFAULT_MAXIMUM_BYTES = 256L * 1024 * 1024;
+
+  private final long maximumBytes;
+  private final Map<String, Image> images;
+  private long cachedBytes;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates an instance of ImageCache with the default maximum number of bytes.
+   */
+  public ImageCache() {
+    this(DEFAULT_MAXIMUM_BYTES);
+  }
+
+  /**
+   * Creates an instance of ImageCache.
+   *
+   * @param maximumBytes the maximum number of bytes of decoded images in the cache.
+   * @throws IllegalArgumentException if the specified maximum number of bytes is not positive.
+   */
+  public ImageCache(long maximumBytes) {
+    if (maximumBytes <= 0) {
+      throw new IllegalArgumentException("Maximum bytes must be positive");
+    }
+    this.maximumBytes = maximumBytes;
+    this.images = new LinkedHashMap<>(16, 0.75f, true);
+    this.cachedBytes = 0;
+    this.hitCount = 0;
+    this.missCount = 0;
+    this.evictionCount = 0;
+  }
+
+  /**
+   * Gets the image of the specified resource path, and loads it if it is not in the cache.
+   *
+   * @param resourcePath the specified resource path, for example
+   *                     {@code /images/icons/gold_icon.png}.
+   * @return the image of the specified resource path.
+   * @throws IllegalArgumentException if the specified resource path is null, blank or there is
+   *                                  no resource with the specified resource path.
+   */
+  public synchronized Image getImage(String resourcePath) {
+    if (resourcePath == null) {
+      throw new IllegalArgumentException("Resource path cannot be null");
+    } else if (resourcePath.isBlank()) {
+      throw new IllegalArgumentException("Resource path cannot be blank");
+    }
+    Image image = this.images.get(resourcePath);
+    if (image != null) {
+      this.hitCount++;
+    } else {
+      this.missCount++;
+      image = this.loadImage(resourcePath);
+      this.images.put(resourcePath, image);
+      this.cachedBytes += this.getDecodedBytes(image);
+      this.evictLeastRecentlyUsedImages();
+    }
+    return image;
+  }
+
+  /**
+   * Loads the image of the specified resource path.
+   *
+   * @param resourcePath the specified resource path.
+   * @return the image of the specified resource path.
+   * @throws IllegalArgumentException if there is no resource with the specified resource path.
+   */
+  protected Image loadImage(String resourcePath) {
+    URL resource = this.getClass().getResource(resourcePath);
+    if (resource == null) {
+      throw new IllegalArgumentException("There is no image resource at " + resourcePath);
+    }
+    return new Image(resource.toExternalForm());
+  }
+
+  /**
+   * Removes the least recently used images from the cache until the cache does not exceed its
+   * maximum number of bytes. The most recently used image is never removed, so an image that is
+   * larger than the maximum number of bytes is still cached until the next image is loaded.
+   */
+  private void evictLeastRecentlyUsedImages() {
+    Iterator<Image> imageIterator = this.images.values().iterator();
+    while (this.cachedBytes > this.maximumBytes && this.images.size() > 1) {
+      Image evictedImage = imageIterator.next();
+      imageIterator.remove();
+      this.cachedBytes -= this.getDecodedBytes(evictedImage);
+      this.evictionCount++;
+    }
+  }
+
+  /**
+   * Gets the number of bytes of the specified image when it is decoded.
+   *
+   * @param image the specified image.
+   * @return the number of bytes of the decoded image.
+   */
+  private long getDecodedBytes(Image image) {
+    return (long) image.getWidth() * (long) image.getHeight() * 4;
+  }
+
+  /**
+   * Removes all images from the cache. The statistics of the cache are kept.
+   */
+  public synchronized void clear() {
+    this.images.clear();
+    this.cachedBytes = 0;
+  }
+
+  /**
+   * Gets the maximum number of bytes of decoded images in the cache.
+   *
+   * @return the maximum number of bytes of decoded images in the cache.
+   */
+  public long getMaximumBytes() {
+    return this.maximumBytes;
+  }
+
+  /**
+   * Gets the number of bytes of the decoded images in the cache.
+   *
+   * @return the number of bytes of the decoded images in the cache.
+   */
+  public synchronized long getCachedBytes() {
+    return this.cachedBytes;
+  }
+
+  /**
+   * Gets the number of images in the cache.
+   *
+   * @return the number of images in the cache.
+   */
+  public synchronized int getSize() {
+    return this.images.size();
+  }
+
+  /**
+   * Gets the number of times an image was found in the cache.
+   *
+   * @return the number of cache hits.
+   */
+  public synchronized long getHitCount() {
+    return this.hitCount;
+  }
+
+  /**
+   * Gets the number of times an image had to be loaded.
+   *
+   * @return the number of cache misses.
+   */
+  public synchronized long getMissCount() {
+    return this.missCount;
+  }
+
+  /**
+   * Gets the number of images that have been removed from the cache to stay within its maximum
+   * number of bytes.
+   *
+   * @return the number of evicted images.
+   */
+  public synchronized long getEvictionCount() {
+    return this.evictionCount;
+  }
+}
@@ -55,6 +55,7 @@ public class UserInterfaceManager {
   private final Stage primaryStage;
   private final Map<String, Screen> screenCollectionMap;
   private final Map<String, Controller> controllerCollectionMap;
+  private final ImageCache imageCache;
 
   /**
    * Creates an instance of UserInterfaceManager.
@@ -71,6 +72,7 @@ public class UserInterfaceManager {
     }
     this.pathsApp = pathsApp;
     this.primaryStage = primaryStage;
+    this.imageCache = new ImageCache();
     this.initializePrimaryStage();
     this.screenCollectionMap = new HashMap<>();
     this.controllerCollectionMap = new HashMap<>();
@@ -127,6 +129,31 @@ public class UserInterfaceManager {
     return this.screenCollectionMap.get(screenName);
   }
 
+  /**
+   * Gets the passage screen showing the specified passage in the specified story. There is only
+   * one passage screen, which is updated to show the specified passage, so its scene is reused
+   * every time the player moves to another passage.
+   *
+   * @param story   the specified story.
+   * @param passage the specified passage.
+   * @return the passage screen showing the specified passage.
+   * @throws IllegalArgumentException if the specified story or passage is null.
+   * @throws IllegalStateException    if the passage screen has not been initialized.
+   */
+  public Screen getPassageScreen(Story story, Passage passage) {
+    if (story == null) {
+      throw new IllegalArgumentException("Story cannot be null");
+    } else if (passage == null) {
+      throw new IllegalArgumentException("Passage cannot be null");
+    }
+    Screen passageScreen = this.screenCollectionMap.get("passage_screen");
+    if (passageScreen == null) {
+      throw new IllegalStateException("Passage screen has not been initialized");
+    }
+    ((PassageScreen) passageScreen).showPassage(passage, story);
+    return passageScreen;
+  }
+
   /**
    * Checks if the specified controller name refers to a controller in the controller collection
    * map of this user interface manager.
@@ -172,6 +199,10 @@ public class UserInterfaceManager {
    * Initializes the primary stage.
    */
   private void initializePrimaryStage() {
+    this.primaryStage.getIcons().add(this.getImage("/images/icons/paths_logo.png"));
+    this.primaryStage.setTitle("Paths Game");
+    this.primaryStage.setMinHeight(650);
+    this.primaryStage.setMinWidth(800);
     this.primaryStage.setOnCloseRequest(event -> {
       event.consume();
       this.terminateApp();
@@ -194,6 +225,26 @@ public class UserInterfaceManager {
     }
   }
 
+  /**
+   * Gets the image cache that all images of the application are loaded through. The model only
+   * holds the resource paths of its images, which are resolved to images through this cache.
+   *
+   * @return the image cache of this user interface manager.
+   */
+  public ImageCache getImageCache() {
+    return this.imageCache;
+  }
+
+  /**
+   * Gets the image of the specified resource path from the image cache of the application.
+   *
+   * @param resourcePath the specified resource path.
+   * @return the image of the specified resource path.
+   */
+  private Image getImage(String resourcePath) {
+    return this.imageCache.getImage(resourcePath);
+  }
+
   /**
    * Adds the icon of the Paths logo to the specified dialog.
    *
@@ -202,7 +253,7 @@ public class UserInterfaceManager {
   public void addPathsIconToDialog(Dialog<?> dialog) {
     Stage dialogStage = (Stage) dialog.getDialogPane().getScene().getWindow();
     dialogStage.getIcons().add(
-        new Image(this.getClass().getResource("/images/icons/paths_logo.png").toExternalForm()));
+        this.getImage("/images/icons/paths_logo.png"));
 
   }
 
@@ -241,8 +292,7 @@ public class UserInterfaceManager {
     String title = "Welcome to Paths";
     String infoText = "PLEASE ENTER INFORMATION ABOUT YOURSELF:";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library.png");
     String nameFieldText = "Name:";
     String genderFieldText = "Gender:";
     String buttonText = "Continue";
@@ -260,30 +310,17 @@ public class UserInterfaceManager {
   private Screen createChooseAvatarMaleScreen() {
     String title = "Choose your Avatar";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library.png")
-            .toExternalForm());
-    Image avatarImage1 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/male/male_arab_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage2 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/male/male_asian_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage3 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/male/male_black_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage4 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/male/male_geek_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage5 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/male/male_latino_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage6 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/male/male_norwegian_avatar_face.png")
-        .toExternalForm());
+        this.getImage("/images/backgrounds/grand_library.png");
+    String avatarImagePath1 = "/images/avatars/male/male_arab_avatar_face.png";
+    String avatarImagePath2 = "/images/avatars/male/male_asian_avatar_face.png";
+    String avatarImagePath3 = "/images/avatars/male/male_black_avatar_face.png";
+    String avatarImagePath4 = "/images/avatars/male/male_geek_avatar_face.png";
+    String avatarImagePath5 = "/images/avatars/male/male_latino_avatar_face.png";
+    String avatarImagePath6 = "/images/avatars/male/male_norwegian_avatar_face.png";
 
     return new ChooseAvatarScreen("choose_avatar_male_screen", title, backgroundImage,
-        avatarImage1, avatarImage2, avatarImage3, avatarImage4, avatarImage5, avatarImage6);
+        avatarImagePath1, avatarImagePath2, avatarImagePath3, avatarImagePath4,
+        avatarImagePath5, avatarImagePath6);
   }
 
   /**
@@ -295,30 +332,17 @@ public class UserInterfaceManager {
   private Screen createChooseAvatarFemaleScreen() {
     String title = "Choose your Avatar";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library.png")
-            .toExternalForm());
-    Image avatarImage1 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/female/female_arab_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage2 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/female/female_asian_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage3 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/female/female_black_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage4 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/female/female_geek_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage5 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/female/female_latina_avatar_face.png")
-        .toExternalForm());
-    Image avatarImage6 = new Image(this.pathsApp.getClass()
-        .getResource("/images/avatars/female/female_norwegian_avatar_face.png")
-        .toExternalForm());
+        this.getImage("/images/backgrounds/grand_library.png");
+    String avatarImagePath1 = "/images/avatars/female/female_arab_avatar_face.png";
+    String avatarImagePath2 = "/images/avatars/female/female_asian_avatar_face.png";
+    String avatarImagePath3 = "/images/avatars/female/female_black_avatar_face.png";
+    String avatarImagePath4 = "/images/avatars/female/female_geek_avatar_face.png";
+    String avatarImagePath5 = "/images/avatars/female/female_latina_avatar_face.png";
+    String avatarImagePath6 = "/images/avatars/female/female_norwegian_avatar_face.png";
 
     return new ChooseAvatarScreen("choose_avatar_female_screen", title, backgroundImage,
-        avatarImage1, avatarImage2, avatarImage3, avatarImage4, avatarImage5, avatarImage6);
+        avatarImagePath1, avatarImagePath2, avatarImagePath3, avatarImagePath4,
+        avatarImagePath5, avatarImagePath6);
   }
 
   /**
@@ -330,8 +354,7 @@ public class UserInterfaceManager {
   private Screen createHomeScreen() {
     String title = "PATHS";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library.png");
     String button1Text = "Play";
     String button2Text = "History";
     String button3Text = "Options";
@@ -350,8 +373,7 @@ public class UserInterfaceManager {
   private Screen createPlayScreen() {
     String title = "Play";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library_dark.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library_dark.png");
     String subTitle = "CHOOSE AN OPTION TO BEGIN";
     String line1Text = "Random Story: Embark on a surprising and unpredictable journey.";
     String line2Text = "Choose Story: Explore specific narratives tailored to your preference.";
@@ -372,8 +394,7 @@ public class UserInterfaceManager {
   private Screen createChooseStoryScreen() {
     String title = "Choose a Story";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library_dark.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library_dark.png");
     String subTitle = "Stories";
     List<Story> stories = this.pathsApp.getModelManager().getStoryCollection().values().stream()
         .toList();
@@ -398,7 +419,7 @@ public class UserInterfaceManager {
     }
     String screenName = story.getTitle() + "_story_introduction_screen";
     String title = story.getTitle();
-    Image backgroundImage = story.getBackgroundImage();
+    Image backgroundImage = this.getImage(story.getBackgroundImagePath());
     String intro1Text = story.getIntro1Text();
     String intro2Text = story.getIntro2Text();
     String button1Text = "Start";
@@ -412,32 +433,22 @@ public class UserInterfaceManager {
   /**
    * Creates the passage screen of the user interface of the Paths Application.
    *
-   * @param passage the specified passage to create the passage screen for.
    * @return the passage screen of the user interface of the Paths Application.
-   * @throws IllegalArgumentException if invalid parameters are used in the creation of the screen
-   *                                  or the specified passage is null.
+   * @throws IllegalArgumentException if invalid parameters are used in the creation of the screen.
    */
-  private Screen createPassageScreen(Passage passage, Story story) {
-    if (passage == null) {
-      throw new IllegalArgumentException("Passage cannot be null");
-    }
+  private Screen createPassageScreen() {
     User user = this.pathsApp.getModelManager().getUser();
     Player player = this.pathsApp.getModelManager().getPlayer();
-    Image scoreImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/score_icon.png").toExternalForm());
-    Image healthImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/health_icon.png").toExternalForm());
-    Image goldImage = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/gold_icon.png").toExternalForm());
+    Image scoreImage = this.getImage("/images/icons/score_icon.png");
+    Image healthImage = this.getImage("/images/icons/health_icon.png");
+    Image goldImage = this.getImage("/images/icons/gold_icon.png");
     String button1Text = "Goals";
-    Image button1Image = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/goal_icon.png").toExternalForm());
+    Image button1Image = this.getImage("/images/icons/goal_icon.png");
     String button2Text = "Inventory";
-    Image button2Image = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/inventory_icon.png").toExternalForm());
+    Image button2Image = this.getImage("/images/icons/inventory_icon.png");
 
     return new PassageScreen(user, player, scoreImage, healthImage, goldImage,
-        button1Text, button1Image, button2Text, button2Image, passage, story);
+        button1Text, button1Image, button2Text, button2Image);
   }
 
   /**
@@ -454,7 +465,7 @@ public class UserInterfaceManager {
     }
     String screenName = story.getTitle() + "_story_success_screen";
     String title = "Story Success";
-    Image backgroundImage = story.getBackgroundImage();
+    Image backgroundImage = this.getImage(story.getBackgroundImagePath());
     String intro1Text = "Congratulations, valiant adventurer! Through your unwavering resolve and "
         + "astute decision-making, you have emerged triumphant in this enthralling tale.";
     String intro2Text = "But remember dear adventurer, this is just one chapter in an epic saga. "
@@ -481,7 +492,7 @@ public class UserInterfaceManager {
     }
     String screenName = story.getTitle() + "_story_failed_screen";
     String title = "Story Failed";
-    Image backgroundImage = story.getBackgroundImage();
+    Image backgroundImage = this.getImage(story.getBackgroundImagePath());
     String intro1Text = "As the story unfolds, the path you have taken leads to an unexpected "
         + "outcome. Alas, the winds of fate have not favored your journey, and you find yourself "
         + "facing failure in this particular tale.";
@@ -506,20 +517,15 @@ public class UserInterfaceManager {
   private Screen createGoalsScreen() {
     String title = "Goals";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library_dark.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library_dark.png");
     String subtitle = "What type of goal do you want to make?";
-    Image image1 = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/gold_icon_big.png").toExternalForm());
+    Image image1 = this.getImage("/images/icons/gold_icon_big.png");
     String image1Text = "Gold Goal";
-    Image image2 = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/health_icon_big.png").toExternalForm());
+    Image image2 = this.getImage("/images/icons/health_icon_big.png");
     String image2Text = "Health Goal";
-    Image image3 = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/inventory_icon_big.png").toExternalForm());
+    Image image3 = this.getImage("/images/icons/inventory_icon_big.png");
     String image3Text = "Item Goal";
-    Image image4 = new Image(this.pathsApp.getClass()
-        .getResource("/images/icons/score_icon_big.png").toExternalForm());
+    Image image4 = this.getImage("/images/icons/score_icon_big.png");
     String image4Text = "Score Goal";
     String buttonText = "Cancel";
 
@@ -536,8 +542,7 @@ public class UserInterfaceManager {
   private Screen createOptionsScreen() {
     String title = "Options";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library_dark.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library_dark.png");
     String button1Text = "Import a Story";
     String button2Text = "Export a Story";
     String button3Text = "Delete a Story";
@@ -557,8 +562,7 @@ public class UserInterfaceManager {
   private Screen createExportStoryScreen() {
     String title = "Export a Story";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library_dark.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library_dark.png");
     String subTitle = "Stories";
     List<Story> stories = this.pathsApp.getModelManager().getStoryCollection().values().stream()
         .toList();
@@ -578,8 +582,7 @@ public class UserInterfaceManager {
   private Screen createDeleteStoryScreen() {
     String title = "Delete a Story";
     Image backgroundImage =
-        new Image(this.pathsApp.getClass()
-            .getResource("/images/backgrounds/grand_library_dark.png").toExternalForm());
+        this.getImage("/images/backgrounds/grand_library_dark.png");
     String subTitle = "Stories";
     List<Story> stories = this.pathsApp.getModelManager().getStoryCollection().values().stream()
         .toList();
@@ -623,6 +626,12 @@ public class UserInterfaceManager {
    * Initializes all the story screens of the Paths Application.
    */
   public void initializeStoryScreens() {
+    Screen oldPassageScreen = this.screenCollectionMap.get("passage_screen");
+    if (oldPassageScreen != null) {
+      ((PassageScreen) oldPassageScreen).detachFromPlayer();
+    }
+    Screen passageScreen = this.createPassageScreen();
+    this.screenCollectionMap.put(passageScreen.getName(), passageScreen);
     for (Story story : this.pathsApp.getModelManager().getStoryCollection().values()
         .stream().toList()) {
       this.initializeStoryScreensForStory(story);
@@ -635,10 +644,6 @@ public class UserInterfaceManager {
   public void initializeStoryScreensForStory(Story story) {
     Screen storyIntroductionScreen = this.createStoryIntroductionScreen(story);
     this.screenCollectionMap.put(storyIntroductionScreen.getName(), storyIntroductionScreen);
-    for (Passage passage : story.getPassages()) {
-      Screen passageScreen = this.createPassageScreen(passage, story);
-      this.screenCollectionMap.put(passageScreen.getName(), passageScreen);
-    }
     Screen storyFinishedSuccessScreen = this.createStoryFinishedSuccessScreen(story);
     this.screenCollectionMap.put(storyFinishedSuccessScreen.getName(),
         storyFinishedSuccessScreen);
@@ -780,22 +785,20 @@ public class UserInterfaceManager {
   }
 
   /**
-   * Sets the scene of the primary stage to the specified scene.
+   * Sets the scene of the primary stage to the specified scene. The stage is only shown the first
+   * time, and the scene is only replaced if it is not already the scene of the stage, so reused
+   * scenes are shown without rebuilding the window.
    *
    * @param scene the specified scene.
    */
   public void setPrimaryStageScene(Scene scene) {
     Platform.runLater(() -> {
-      this.primaryStage.hide();
-      Image icon = new Image(
-          this.getClass().getResource("/images/icons/paths_logo.png").toExternalForm());
-      this.primaryStage.getIcons().add(icon);
-
-      this.primaryStage.setScene(scene);
-      this.primaryStage.setTitle("Paths Game");
-      this.primaryStage.setMinHeight(650);
-      this.primaryStage.setMinWidth(800);
-      this.primaryStage.show();
+      if (this.primaryStage.getScene() != scene) {
+        this.primaryStage.setScene(scene);
+      }
+      if (!this.primaryStage.isShowing()) {
+        this.primaryStage.show();
+      }
     });
   }
 }
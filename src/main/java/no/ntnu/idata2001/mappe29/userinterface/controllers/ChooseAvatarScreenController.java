@@ -32,9 +32,10 @@ public class ChooseAvatarScreenController extends Controller {
   /**
    * Handles the click on an image of an avatar in the choose avatar screens.
    *
-   * @param image the specified image clicked.
+   * @param imagePath the specified image path of the image clicked.
    */
-  public void handleImageClick(Image image) {
+  public void handleImageClick(String imagePath) {
+    Image image = this.pathsApp.getUserInterfaceManager().getImageCache().getImage(imagePath);
     Alert confirmationDialog = new Alert(Alert.AlertType.CONFIRMATION);
     this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(confirmationDialog);
     confirmationDialog.setTitle("Confirm Image Selection");
@@ -46,7 +47,7 @@ public class ChooseAvatarScreenController extends Controller {
 
     ButtonType selectedOption = confirmationDialog.showAndWait().orElse(ButtonType.NO);
     if (selectedOption == ButtonType.YES) {
-      this.pathsApp.getModelManager().getUser().setImage(image);
+      this.pathsApp.getModelManager().getUser().setImagePath(imagePath);
       User user = this.pathsApp.getModelManager().getUser();
       Player player = new Player.PlayerBuilder().withName(user.getName()).build();
       this.pathsApp.getModelManager().setPlayer(player);
@@ -1,7 +1,17 @@
 package no.ntnu.idata2001.mappe29.userinterface.controllers;
 
+import java.util.List;
+import javafx.concurrent.Task;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ProgressBar;
 import no.ntnu.idata2001.mappe29.PathsApp;
 import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalogEntry;
+import no.ntnu.idata2001.mappe29.userinterface.screens.ChooseStoryScreen;
+import no.ntnu.idata2001.mappe29.userinterface.screens.DeleteStoryScreen;
+import no.ntnu.idata2001.mappe29.userinterface.screens.ExportStoryScreen;
 import no.ntnu.idata2001.mappe29.userinterface.screens.Screen;
 
 /**
@@ -43,6 +53,105 @@ public class ChooseStoryScreenController extends Controller {
     }
   }
 
+  /**
+   * Handles the button click of button 1 on the choose story screen of the Paths Application
+   * when a story of the story catalog is selected. A story that has not been loaded yet is
+   * parsed on a background thread, while a dialog shows that it is loading, and its screens are
+   * created once it has been added to the story collection. Cancelling the dialog only keeps the
+   * story from being shown, since a story file cannot be parsed partly.
+   *
+   * @param entry the catalog entry of the selected story.
+   */
+  public void handleButton1Click(StoryCatalogEntry entry) {
+    if (entry == null) {
+      this.pathsApp.getUserInterfaceManager().showErrorDialog("Invalid Story",
+          "Please select a story");
+    } else {
+      Story loadedStory = this.pathsApp.getModelManager().getStoryCollection()
+          .get(entry.getTitle());
+      if (loadedStory != null) {
+        this.handleButton1Click(loadedStory);
+      } else {
+        this.loadCatalogStoryInBackground(entry);
+      }
+    }
+  }
+
+  /**
+   * Loads the story of the specified catalog entry on a background thread, and shows it once it
+   * has been loaded.
+   *
+   * @param entry the specified catalog entry.
+   */
+  private void loadCatalogStoryInBackground(StoryCatalogEntry entry) {
+    Task<Story> loadTask = new Task<>() {
+      @Override
+      protected Story call() throws CorruptStoryException {
+        return pathsApp.getModelManager().loadCatalogStory(entry);
+      }
+    };
+
+    Alert progressDialog = new Alert(Alert.AlertType.INFORMATION);
+    this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(progressDialog);
+    progressDialog.setTitle("Load Story");
+    progressDialog.setHeaderText("Loading the " + entry.getTitle() + " story");
+    ProgressBar progressBar = new ProgressBar();
+    progressBar.setMaxWidth(Double.MAX_VALUE);
+    progressDialog.getDialogPane().setContent(progressBar);
+    progressDialog.getButtonTypes().setAll(ButtonType.CANCEL);
+
+    loadTask.setOnSucceeded(event -> {
+      boolean storyWanted = progressDialog.isShowing();
+      progressDialog.close();
+      Story story = loadTask.getValue();
+      this.publishLoadedStory(story);
+      if (storyWanted) {
+        this.handleButton1Click(story);
+      }
+    });
+    loadTask.setOnFailed(event -> {
+      boolean storyWanted = progressDialog.isShowing();
+      progressDialog.close();
+      if (storyWanted && loadTask.getException() instanceof CorruptStoryException) {
+        this.pathsApp.getUserInterfaceManager().showErrorDialog("Corrupt Story",
+            loadTask.getException().getMessage());
+      } else if (storyWanted) {
+        this.pathsApp.getUserInterfaceManager().showErrorDialog("Story Load Error",
+            "The story file could not be read");
+      }
+    });
+
+    Thread loadThread = new Thread(loadTask, "story-load");
+    loadThread.setDaemon(true);
+    loadThread.start();
+    progressDialog.show();
+  }
+
+  /**
+   * Updates the subscribers of the story collection with the specified story, which has just
+   * been added to the story collection, and creates the screens of the story.
+   *
+   * @param story the specified story.
+   */
+  private void publishLoadedStory(Story story) {
+    List<Story> newStories = this.pathsApp.getModelManager().getStoryCollection().values()
+        .stream().toList();
+    for (Screen screen : this.pathsApp.getModelManager()
+        .getStoryCollectionSubscribers()) {
+      if (screen instanceof ExportStoryScreen) {
+        ExportStoryScreen exportStoryScreen = (ExportStoryScreen) screen;
+        exportStoryScreen.setStories(newStories);
+      } else if (screen instanceof ChooseStoryScreen) {
+        ChooseStoryScreen chooseStoryScreen = (ChooseStoryScreen) screen;
+        chooseStoryScreen.setStories(newStories);
+      } else if (screen instanceof DeleteStoryScreen) {
+        DeleteStoryScreen deleteStoryScreen = (DeleteStoryScreen) screen;
+        deleteStoryScreen.setStories(newStories);
+      }
+    }
+    this.pathsApp.getUserInterfaceManager().initializeStoryScreensForStory(story);
+  }
+
   /**
    * Handles the button click of button 2 on the choose story screen of the Paths Application.
    */
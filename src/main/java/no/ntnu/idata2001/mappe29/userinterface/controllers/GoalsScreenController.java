@@ -3,7 +3,6 @@ package no.ntnu.idata2001.mappe29.userinterface.controllers;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import no.ntnu.idata2001.mappe29.PathsApp;
 import no.ntnu.idata2001.mappe29.model.Passage;
 import no.ntnu.idata2001.mappe29.model.Story;
@@ -73,9 +72,7 @@ public class GoalsScreenController extends Controller {
           throw new NumberFormatException();
         }
         GoldGoal goldGoal = new GoldGoal(number);
-        Image goldImage = new Image(this.pathsApp.getClass()
-            .getResource("/images/icons/gold_icon.png").toExternalForm());
-        goldGoal.setImage(goldImage);
+        goldGoal.setImagePath("/images/icons/gold_icon.png");
         goldGoal.setDescription("Finish the story with " + number + " gold");
         this.pathsApp.getModelManager().getPlayer().getGoals().add(goldGoal);
         this.showSuccessDialog();
@@ -111,9 +108,7 @@ public class GoalsScreenController extends Controller {
           throw new NumberFormatException();
         }
         HealthGoal healthGoal = new HealthGoal(number);
-        Image healthImage = new Image(this.pathsApp.getClass()
-            .getResource("/images/icons/health_icon.png").toExternalForm());
-        healthGoal.setImage(healthImage);
+        healthGoal.setImagePath("/images/icons/health_icon.png");
         healthGoal.setDescription("Finish the story with " + number + " health");
         this.pathsApp.getModelManager().getPlayer().getGoals().add(healthGoal);
         this.showSuccessDialog();
@@ -147,9 +142,8 @@ public class GoalsScreenController extends Controller {
           throw new IllegalArgumentException();
         }
         ItemGoal itemGoal = new ItemGoal(inputData);
-        Image inventoryImage = new Image(this.pathsApp.getClass()
-            .getResource("/images/icons/inventory_icon.png").toExternalForm());
-        itemGoal.setImage(inventoryImage);
+        this.storySelected.getItemDictionary().intern(inputData);
+        itemGoal.setImagePath("/images/icons/inventory_icon.png");
         itemGoal.setDescription("Finish the story with " + inputData);
         this.pathsApp.getModelManager().getPlayer().getGoals().add(itemGoal);
         this.showSuccessDialog();
@@ -185,9 +179,7 @@ public class GoalsScreenController extends Controller {
           throw new NumberFormatException();
         }
         ScoreGoal scoreGoal = new ScoreGoal(number);
-        Image scoreImage = new Image(this.pathsApp.getClass()
-            .getResource("/images/icons/score_icon.png").toExternalForm());
-        scoreGoal.setImage(scoreImage);
+        scoreGoal.setImagePath("/images/icons/score_icon.png");
         scoreGoal.setDescription("Finish this story with " + number + " score points");
         this.pathsApp.getModelManager().getPlayer().getGoals().add(scoreGoal);
         this.showSuccessDialog();
@@ -235,9 +227,12 @@ public class GoalsScreenController extends Controller {
     ButtonType selectedOption = confirmationDialog.showAndWait().orElse(ButtonType.YES);
     if (selectedOption == ButtonType.NO) {
       this.pathsApp.getModelManager().getPlayer().resetStats();
+      this.pathsApp.getModelManager().getPlayer()
+          .setItemDictionary(this.storySelected.getItemDictionary());
+      this.pathsApp.getModelManager().startGoalTracker();
       Passage openingPassage = this.storySelected.getOpeningPassage();
       Screen openingPassageScreen = this.pathsApp.getUserInterfaceManager()
-          .getScreen(openingPassage.getTitle() + "_passage_screen");
+          .getPassageScreen(this.storySelected, openingPassage);
       this.pathsApp.getUserInterfaceManager()
           .setPrimaryStageScene(openingPassageScreen.createScene(this.pathsApp));
     }
@@ -1,16 +1,23 @@
 package no.ntnu.idata2001.mappe29.userinterface.controllers;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.concurrent.Task;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
 import no.ntnu.idata2001.mappe29.PathsApp;
-import no.ntnu.idata2001.mappe29.model.Link;
 import no.ntnu.idata2001.mappe29.model.Story;
-import no.ntnu.idata2001.mappe29.model.exceptions.BrokenLinksException;
-import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
-import no.ntnu.idata2001.mappe29.model.exceptions.NoBrokenLinksException;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileManager;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportListener;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportResult;
 import no.ntnu.idata2001.mappe29.userinterface.screens.ChooseStoryScreen;
 import no.ntnu.idata2001.mappe29.userinterface.screens.DeleteStoryScreen;
 import no.ntnu.idata2001.mappe29.userinterface.screens.ExportStoryScreen;
@@ -40,75 +47,170 @@ public class OptionsScreenController extends Controller {
    * Handles the button click of button 1 on the options screen of the Paths Application.
    */
   public void handleButton1Click() {
-    Story importedStory = null;
-    try {
-      importedStory = this.pathsApp.getModelManager().getStoryFileManager()
-          .openStoryFromFile();
-      if (importedStory.hasBrokenLinks()) {
-        throw new BrokenLinksException("Imported story has broken links");
-      }
-      Map<String, Story> storyCollection = this.pathsApp.getModelManager().getStoryCollection();
-      if (storyCollection.containsKey(importedStory.getTitle())) {
-        this.pathsApp.getUserInterfaceManager().showErrorDialog("Story Already Exists",
-            "The story you are trying to import already exists in the\n"
-                + "stories collection");
-      } else {
-        storyCollection.put(importedStory.getTitle(), importedStory);
-        List<Story> newStories = storyCollection.values().stream().toList();
-        for (Screen screen : this.pathsApp.getModelManager()
-            .getStoryCollectionSubscribers()) {
-          if (screen instanceof ExportStoryScreen) {
-            ExportStoryScreen exportStoryScreen = (ExportStoryScreen) screen;
-            exportStoryScreen.setStories(newStories);
-          } else if (screen instanceof ChooseStoryScreen) {
-            ChooseStoryScreen chooseStoryScreen = (ChooseStoryScreen) screen;
-            chooseStoryScreen.setStories(newStories);
-          } else if (screen instanceof DeleteStoryScreen) {
-            DeleteStoryScreen deleteStoryScreen = (DeleteStoryScreen) screen;
-            deleteStoryScreen.setStories(newStories);
-          }
+    List<Path> storyFiles = this.pathsApp.getModelManager().getStoryFileManager()
+        .chooseStoryFiles();
+    if (storyFiles.isEmpty()) {
+      Alert successCancelDialog = new Alert(Alert.AlertType.INFORMATION);
+      this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(successCancelDialog);
+      successCancelDialog.setTitle("Cancel Import Story");
+      successCancelDialog.setHeaderText("Canceled the import story request");
+      successCancelDialog.getButtonTypes().setAll(ButtonType.OK);
+      successCancelDialog.showAndWait();
+    } else {
+      this.importStoriesInBackground(storyFiles);
+    }
+  }
+
+  /**
+   * Imports the story files at the specified paths on a background thread, while a dialog shows
+   * the progress of the import and lets the user cancel it. The imported stories are published
+   * on the JavaFX application thread once the import is done.
+   *
+   * @param storyFiles the specified paths of the story files.
+   */
+  private void importStoriesInBackground(List<Path> storyFiles) {
+    StoryFileManager storyFileManager = this.pathsApp.getModelManager().getStoryFileManager();
+    Task<StoryImportResult> importTask = new Task<>() {
+      @Override
+      protected StoryImportResult call() throws IOException {
+        long totalBytes = 0;
+        for (Path storyFile : storyFiles) {
+          totalBytes += Files.size(storyFile);
         }
+        long bytesTotal = Math.max(1, totalBytes);
+        AtomicLong bytesRead = new AtomicLong();
+        AtomicInteger passagesParsed = new AtomicInteger();
+        this.updateMessage("Reading story files");
+        return storyFileManager.importStories(storyFiles, new StoryImportListener() {
+          @Override
+          public void onBytesRead(long bytes) {
+            updateProgress(Math.min(bytesRead.addAndGet(bytes), bytesTotal), bytesTotal);
+          }
 
-        Alert successDialog = new Alert(Alert.AlertType.INFORMATION);
-        this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(successDialog);
-        successDialog.setTitle("Successfully Imported Story");
-        successDialog.setHeaderText("Successfully Imported The " + importedStory.getTitle()
-            + " Story");
-        successDialog.getButtonTypes().setAll(ButtonType.OK);
-        successDialog.showAndWait();
-        this.pathsApp.getUserInterfaceManager().initializeStoryScreensForStory(importedStory);
+          @Override
+          public void onPassageParsed(int passagesParsedInStory) {
+            updateMessage("Parsed " + passagesParsed.incrementAndGet() + " passages");
+          }
+
+          @Override
+          public void onValidationStarted(Path path) {
+            updateMessage("Checking " + path.getFileName() + " for broken links");
+          }
+
+          @Override
+          public boolean isCancelled() {
+            return importTaskIsCancelled();
+          }
+        });
+      }
+
+      /**
+       * Checks if this task is cancelled.
+       *
+       * @return true if this task is cancelled, false otherwise.
+       */
+      private boolean importTaskIsCancelled() {
+        return this.isCancelled();
       }
-    } catch (IOException exception) {
+    };
+
+    Alert progressDialog = new Alert(Alert.AlertType.INFORMATION);
+    this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(progressDialog);
+    progressDialog.setTitle("Import Story");
+    progressDialog.setHeaderText("Importing " + storyFiles.size() + " story files");
+    ProgressBar progressBar = new ProgressBar();
+    progressBar.setMaxWidth(Double.MAX_VALUE);
+    progressBar.progressProperty().bind(importTask.progressProperty());
+    Label progressLabel = new Label();
+    progressLabel.textProperty().bind(importTask.messageProperty());
+    progressDialog.getDialogPane().setContent(new VBox(10, progressLabel, progressBar));
+    progressDialog.getButtonTypes().setAll(ButtonType.CANCEL);
+    progressDialog.setOnHidden(event -> importTask.cancel());
+
+    importTask.setOnSucceeded(event -> {
+      progressDialog.close();
+      this.publishImportedStories(importTask.getValue());
+    });
+    importTask.setOnFailed(event -> {
+      progressDialog.close();
+      this.pathsApp.getUserInterfaceManager().showErrorDialog("Story Import Error",
+          "The story files could not be read");
+    });
+    importTask.setOnCancelled(event -> {
+      progressDialog.close();
       Alert successCancelDialog = new Alert(Alert.AlertType.INFORMATION);
       this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(successCancelDialog);
       successCancelDialog.setTitle("Cancel Import Story");
       successCancelDialog.setHeaderText("Canceled the import story request");
       successCancelDialog.getButtonTypes().setAll(ButtonType.OK);
       successCancelDialog.showAndWait();
-    } catch (CorruptStoryException exception) {
-      this.pathsApp.getUserInterfaceManager().showErrorDialog("Corrupt Story Error",
-          "The story you tried to open is corrupted.\nYou have to import stable stories");
-    } catch (BrokenLinksException exception) {
-      StringBuilder brokenLinksStringBuilder = new StringBuilder();
-      try {
-        if (importedStory != null) {
-          List<Link> brokenLinks = importedStory.getBrokenLinks();
-          brokenLinksStringBuilder.append("The story you tried to open is has the following"
-              + " broken links:");
-          for (Link link : brokenLinks) {
-            brokenLinksStringBuilder.append("\nLink: " + link.getText());
-          }
-          brokenLinksStringBuilder.append("\n\nPlease fix these broken links before importing "
-              + "the story");
-          this.pathsApp.getUserInterfaceManager().showErrorDialog("Broken Links Detected",
-              brokenLinksStringBuilder.toString());
+    });
+
+    Thread importThread = new Thread(importTask, "story-import");
+    importThread.setDaemon(true);
+    importThread.start();
+    progressDialog.show();
+  }
+
+  /**
+   * Adds the stories of the specified import result to the story collection, updates the
+   * subscribers of the story collection and informs the user about the result of the import.
+   *
+   * @param importResult the specified import result.
+   */
+  private void publishImportedStories(StoryImportResult importResult) {
+    List<Story> addedStories = this.pathsApp.getModelManager()
+        .addStories(importResult.getStories());
+    if (!addedStories.isEmpty()) {
+      List<Story> newStories = this.pathsApp.getModelManager().getStoryCollection().values()
+          .stream().toList();
+      for (Screen screen : this.pathsApp.getModelManager()
+          .getStoryCollectionSubscribers()) {
+        if (screen instanceof ExportStoryScreen) {
+          ExportStoryScreen exportStoryScreen = (ExportStoryScreen) screen;
+          exportStoryScreen.setStories(newStories);
+        } else if (screen instanceof ChooseStoryScreen) {
+          ChooseStoryScreen chooseStoryScreen = (ChooseStoryScreen) screen;
+          chooseStoryScreen.setStories(newStories);
+        } else if (screen instanceof DeleteStoryScreen) {
+          DeleteStoryScreen deleteStoryScreen = (DeleteStoryScreen) screen;
+          deleteStoryScreen.setStories(newStories);
         }
-      } catch (NoBrokenLinksException noBrokenLinksException) {
-        this.pathsApp.getUserInterfaceManager().showErrorDialog("No Broken Link Error",
-            "This error should not occur");
       }
+      for (Story story : addedStories) {
+        this.pathsApp.getUserInterfaceManager().initializeStoryScreensForStory(story);
+      }
+
+      Alert successDialog = new Alert(Alert.AlertType.INFORMATION);
+      this.pathsApp.getUserInterfaceManager().addPathsIconToDialog(successDialog);
+      successDialog.setTitle("Successfully Imported Story");
+      if (addedStories.size() == 1) {
+        successDialog.setHeaderText("Successfully Imported The " + addedStories.get(0).getTitle()
+            + " Story");
+      } else {
+        successDialog.setHeaderText("Successfully Imported " + addedStories.size()
+            + " Stories");
+      }
+      successDialog.getButtonTypes().setAll(ButtonType.OK);
+      successDialog.showAndWait();
     }
 
+    if (addedStories.size() < importResult.getStories().size()) {
+      this.pathsApp.getUserInterfaceManager().showErrorDialog("Story Already Exists",
+          "The story you are trying to import already exists in the\n"
+              + "stories collection");
+    }
+    if (importResult.hasFailedFiles()) {
+      StringBuilder failedFilesStringBuilder = new StringBuilder();
+      failedFilesStringBuilder.append("The following story files could not be imported:");
+      for (Map.Entry<Path, String> failedFile : importResult.getFailedFiles().entrySet()) {
+        failedFilesStringBuilder.append("\n" + failedFile.getKey().getFileName() + ": "
+            + failedFile.getValue());
+      }
+      failedFilesStringBuilder.append("\n\nPlease fix these story files before importing them");
+      this.pathsApp.getUserInterfaceManager().showErrorDialog("Story Import Error",
+          failedFilesStringBuilder.toString());
+    }
   }
 
   /**
@@ -1,7 +1,6 @@
 package no.ntnu.idata2001.mappe29.userinterface.controllers;
 
 import javafx.scene.control.Alert;
-import javafx.scene.control.Label;
 import javafx.scene.control.TableView;
 import javafx.scene.layout.VBox;
 import no.ntnu.idata2001.mappe29.PathsApp;
@@ -9,9 +8,7 @@ import no.ntnu.idata2001.mappe29.model.InventoryTableViewRowData;
 import no.ntnu.idata2001.mappe29.model.Link;
 import no.ntnu.idata2001.mappe29.model.Player;
 import no.ntnu.idata2001.mappe29.model.Story;
-import no.ntnu.idata2001.mappe29.model.actions.Action;
 import no.ntnu.idata2001.mappe29.model.goals.Goal;
-import no.ntnu.idata2001.mappe29.userinterface.screens.PassageScreen;
 import no.ntnu.idata2001.mappe29.userinterface.screens.Screen;
 
 /**
@@ -84,21 +81,10 @@ public class PassageScreenController extends Controller {
     } else {
       if (!link.getActions().isEmpty()) {
         Player player = this.pathsApp.getModelManager().getPlayer();
-        for (Action action : link.getActions()) {
-          action.execute(player);
-        }
-        for (Screen screen : this.pathsApp.getUserInterfaceManager().getScreens()) {
-          if (screen instanceof PassageScreen) {
-            PassageScreen passageScreen = (PassageScreen) screen;
-            passageScreen.setScoreLabel(new Label("" + player.getScore()));
-            passageScreen.setHealthLabel(new Label("" + player.getHealth()));
-            passageScreen.setGoldLabel(new Label("" + player.getGold()));
-          }
-        }
-
+        link.getEffect().apply(player);
       }
       Screen nextPassageScreen = this.pathsApp.getUserInterfaceManager()
-          .getScreen(nextPassageName + "_passage_screen");
+          .getPassageScreen(story, story.getPassage(link));
       this.pathsApp.getUserInterfaceManager()
           .setPrimaryStageScene(nextPassageScreen.createScene(this.pathsApp));
     }
@@ -1,7 +1,16 @@
 package no.ntnu.idata2001.mappe29.userinterface.controllers;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javafx.concurrent.Task;
 import no.ntnu.idata2001.mappe29.PathsApp;
 import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalog;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalogEntry;
+import no.ntnu.idata2001.mappe29.userinterface.screens.ChooseStoryScreen;
 import no.ntnu.idata2001.mappe29.userinterface.screens.Screen;
 
 /**
@@ -46,19 +55,61 @@ public class PlayScreenController extends Controller {
   }
 
   /**
-   * Handles the button click of button 2 on the play screen of the Paths Application.
+   * Handles the button click of button 2 on the play screen of the Paths Application. The choose
+   * story screen is shown at once with the stories of the story collection, and the stories of
+   * the story library are added to it when the story catalog has been scanned on a background
+   * thread.
    */
   public void handleButton2Click() {
-    if (this.pathsApp.getModelManager().getStoryCollection().size() > 0) {
-      Screen chooseStoryScreen = this.pathsApp.getUserInterfaceManager()
-          .getScreen("choose_story_screen");
-      this.pathsApp.getUserInterfaceManager()
-          .setPrimaryStageScene(chooseStoryScreen.createScene(this.pathsApp));
-    } else {
-      this.pathsApp.getUserInterfaceManager().showErrorDialog("No Stories", "There "
-          + "are stories available to choose");
-    }
+    ChooseStoryScreen chooseStoryScreen = (ChooseStoryScreen) this.pathsApp
+        .getUserInterfaceManager().getScreen("choose_story_screen");
+    this.pathsApp.getUserInterfaceManager()
+        .setPrimaryStageScene(chooseStoryScreen.createScene(this.pathsApp));
+    this.scanStoryCatalogInBackground(chooseStoryScreen);
+  }
 
+  /**
+   * Scans the story catalog on a background thread, and sets the entries of the stories that are
+   * not in the story collection on the specified choose story screen once the scan is done.
+   *
+   * @param chooseStoryScreen the specified choose story screen.
+   */
+  private void scanStoryCatalogInBackground(ChooseStoryScreen chooseStoryScreen) {
+    StoryCatalog storyCatalog = this.pathsApp.getModelManager().getStoryCatalog();
+    Task<List<StoryCatalogEntry>> scanTask = new Task<>() {
+      @Override
+      protected List<StoryCatalogEntry> call() throws IOException {
+        return storyCatalog.scan();
+      }
+    };
+    scanTask.setOnSucceeded(event -> chooseStoryScreen.setCatalogEntries(
+        this.getUnloadedCatalogEntries(scanTask.getValue())));
+    scanTask.setOnFailed(event -> this.pathsApp.getUserInterfaceManager()
+        .showErrorDialog("Story Library Error", "The story library could not be read"));
+
+    Thread scanThread = new Thread(scanTask, "story-catalog-scan");
+    scanThread.setDaemon(true);
+    scanThread.start();
+  }
+
+  /**
+   * Gets the specified catalog entries of the stories that are not in the story collection, so
+   * they can be chosen without parsing them first. Only one entry is kept for every title.
+   *
+   * @param scannedEntries the specified catalog entries.
+   * @return the catalog entries of the stories that have not been loaded.
+   */
+  private List<StoryCatalogEntry> getUnloadedCatalogEntries(
+      List<StoryCatalogEntry> scannedEntries) {
+    Set<String> titles = new HashSet<>(this.pathsApp.getModelManager().getStoryCollection()
+        .keySet());
+    List<StoryCatalogEntry> catalogEntries = new ArrayList<>();
+    for (StoryCatalogEntry entry : scannedEntries) {
+      if (titles.add(entry.getTitle())) {
+        catalogEntries.add(entry);
+      }
+    }
+    return catalogEntries;
   }
 
   /**
@@ -45,9 +45,11 @@ public class StoryInformationScreenController extends Controller {
           .setPrimaryStageScene(goalsScreen.createScene(this.pathsApp));
     } else if (selectedOption == ButtonType.NO) {
       this.pathsApp.getModelManager().getPlayer().resetStats();
+      this.pathsApp.getModelManager().getPlayer().setItemDictionary(story.getItemDictionary());
+      this.pathsApp.getModelManager().startGoalTracker();
       Passage openingPassage = story.getOpeningPassage();
       Screen openingPassageScreen = this.pathsApp.getUserInterfaceManager()
-          .getScreen(openingPassage.getTitle() + "_passage_screen");
+          .getPassageScreen(story, openingPassage);
       this.pathsApp.getUserInterfaceManager()
           .setPrimaryStageScene(openingPassageScreen.createScene(this.pathsApp));
     }
@@ -17,6 +17,7 @@ import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import no.ntnu.idata2001.mappe29.PathsApp;
+import no.ntnu.idata2001.mappe29.userinterface.ImageCache;
 import no.ntnu.idata2001.mappe29.userinterface.controllers.ChooseAvatarScreenController;
 
 /**
@@ -28,33 +29,34 @@ import no.ntnu.idata2001.mappe29.userinterface.controllers.ChooseAvatarScreenCon
 public class ChooseAvatarScreen extends Screen {
   private String title;
   private Image backgroundImage;
-  private Image avatarImage1;
-  private Image avatarImage2;
-  private Image avatarImage3;
-  private Image avatarImage4;
-  private Image avatarImage5;
-  private Image avatarImage6;
+  private String avatarImagePath1;
+  private String avatarImagePath2;
+  private String avatarImagePath3;
+  private String avatarImagePath4;
+  private String avatarImagePath5;
+  private String avatarImagePath6;
 
   /**
    * Creates an instance of ChooseAvatarScreen.
    *
-   * @param title           the title of this screen.
-   * @param backgroundImage the background image of this screen.
-   * @param avatarImage1    the avatar 1 image of this screen.
-   * @param avatarImage2    the avatar 2 image of this screen.
-   * @param avatarImage3    the avatar 3 image of this screen.
-   * @param avatarImage4    the avatar 4 image of this screen.
-   * @param avatarImage5    the avatar 5 image of this screen.
-   * @param avatarImage6    the avatar 6 image of this screen.
+   * @param title            the title of this screen.
+   * @param backgroundImage  the background image of this screen.
+   * @param avatarImagePath1 the avatar 1 image path of this screen.
+   * @param avatarImagePath2 the avatar 2 image path of this screen.
+   * @param avatarImagePath3 the avatar 3 image path of this screen.
+   * @param avatarImagePath4 the avatar 4 image path of this screen.
+   * @param avatarImagePath5 the avatar 5 image path of this screen.
+   * @param avatarImagePath6 the avatar 6 image path of this screen.
    * @throws IllegalArgumentException if invalid parameters are provided.
    */
-  public ChooseAvatarScreen(String name, String title, Image backgroundImage, Image avatarImage1,
-                            Image avatarImage2, Image avatarImage3, Image avatarImage4,
-                            Image avatarImage5, Image avatarImage6) {
+  public ChooseAvatarScreen(String name, String title, Image backgroundImage,
+                            String avatarImagePath1, String avatarImagePath2,
+                            String avatarImagePath3, String avatarImagePath4,
+                            String avatarImagePath5, String avatarImagePath6) {
     super(name);
     this.setTitle(title);
-    this.setImages(backgroundImage, avatarImage1, avatarImage2, avatarImage3, avatarImage4,
-        avatarImage5, avatarImage6);
+    this.setImages(backgroundImage, avatarImagePath1, avatarImagePath2, avatarImagePath3,
+        avatarImagePath4, avatarImagePath5, avatarImagePath6);
   }
 
   /**
@@ -73,42 +75,42 @@ public class ChooseAvatarScreen extends Screen {
   }
 
   /**
-   * Sets the background image and the avatar images of this screen to the specified background
-   * image and avatar images.
+   * Sets the background image and the avatar image paths of this screen to the specified
+   * background image and avatar image paths.
    *
    * @param backgroundImage the specified background image.
-   * @param avatar1         the specified avatar 1 image.
-   * @param avatar2         the specified avatar 2 image.
-   * @param avatar3         the specified avatar 3 image.
-   * @param avatar4         the specified avatar 4 image.
-   * @param avatar5         the specified avatar 5 image.
-   * @param avatar6         the specified avatar 6 image.
+   * @param avatar1         the specified avatar 1 image path.
+   * @param avatar2         the specified avatar 2 image path.
+   * @param avatar3         the specified avatar 3 image path.
+   * @param avatar4         the specified avatar 4 image path.
+   * @param avatar5         the specified avatar 5 image path.
+   * @param avatar6         the specified avatar 6 image path.
    * @throws IllegalArgumentException if the specified background image is null.
    */
-  private void setImages(Image backgroundImage, Image avatar1, Image avatar2, Image avatar3,
-                         Image avatar4, Image avatar5, Image avatar6) {
+  private void setImages(Image backgroundImage, String avatar1, String avatar2, String avatar3,
+                         String avatar4, String avatar5, String avatar6) {
     if (backgroundImage == null) {
       throw new IllegalArgumentException("Background image cannot be null");
     } else if (avatar1 == null) {
-      throw new IllegalArgumentException("Avatar image cannot be null");
+      throw new IllegalArgumentException("Avatar image path cannot be null");
     } else if (avatar2 == null) {
-      throw new IllegalArgumentException("Avatar image cannot be null");
+      throw new IllegalArgumentException("Avatar image path cannot be null");
     } else if (avatar3 == null) {
-      throw new IllegalArgumentException("Avatar image cannot be null");
+      throw new IllegalArgumentException("Avatar image path cannot be null");
     } else if (avatar4 == null) {
-      throw new IllegalArgumentException("Avatar image cannot be null");
+      throw new IllegalArgumentException("Avatar image path cannot be null");
     } else if (avatar5 == null) {
-      throw new IllegalArgumentException("Avatar image cannot be null");
+      throw new IllegalArgumentException("Avatar image path cannot be null");
     } else if (avatar6 == null) {
-      throw new IllegalArgumentException("Avatar image cannot be null");
+      throw new IllegalArgumentException("Avatar image path cannot be null");
     }
     this.backgroundImage = backgroundImage;
-    this.avatarImage1 = avatar1;
-    this.avatarImage2 = avatar2;
-    this.avatarImage3 = avatar3;
-    this.avatarImage4 = avatar4;
-    this.avatarImage5 = avatar5;
-    this.avatarImage6 = avatar6;
+    this.avatarImagePath1 = avatar1;
+    this.avatarImagePath2 = avatar2;
+    this.avatarImagePath3 = avatar3;
+    this.avatarImagePath4 = avatar4;
+    this.avatarImagePath5 = avatar5;
+    this.avatarImagePath6 = avatar6;
   }
 
 
@@ -125,54 +127,55 @@ public class ChooseAvatarScreen extends Screen {
     Label titleLabel = new Label(this.title);
     titleLabel.getStyleClass().add("title-label");
 
+    ImageCache imageCache = pathsApp.getUserInterfaceManager().getImageCache();
     GridPane avatarGridPane = new GridPane();
     avatarGridPane.getStyleClass().add("avatar-grid-pane");
     VBox avatarContainer1 = new VBox();
-    ImageView avatarImageView1 = new ImageView(this.avatarImage1);
+    ImageView avatarImageView1 = new ImageView(imageCache.getImage(this.avatarImagePath1));
     avatarContainer1.setOnMouseClicked(
-        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImage1));
+        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImagePath1));
     avatarContainer1.setOnMouseEntered(event -> avatarContainer1.setCursor(Cursor.HAND));
     avatarContainer1.getChildren().add(avatarImageView1);
     avatarContainer1.getStyleClass().add("avatar-container");
 
     VBox avatarContainer2 = new VBox();
-    ImageView avatarImageView2 = new ImageView(this.avatarImage2);
+    ImageView avatarImageView2 = new ImageView(imageCache.getImage(this.avatarImagePath2));
     avatarContainer2.getChildren().add(avatarImageView2);
     avatarContainer2.getStyleClass().add("avatar-container");
     avatarContainer2.setOnMouseClicked(
-        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImage2));
+        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImagePath2));
     avatarContainer2.setOnMouseEntered(event -> avatarContainer2.setCursor(Cursor.HAND));
 
     VBox avatarContainer3 = new VBox();
-    ImageView avatarImageView3 = new ImageView(this.avatarImage3);
+    ImageView avatarImageView3 = new ImageView(imageCache.getImage(this.avatarImagePath3));
     avatarContainer3.getChildren().add(avatarImageView3);
     avatarContainer3.getStyleClass().add("avatar-container");
     avatarContainer3.setOnMouseClicked(
-        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImage3));
+        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImagePath3));
     avatarContainer3.setOnMouseEntered(event -> avatarContainer3.setCursor(Cursor.HAND));
 
     VBox avatarContainer4 = new VBox();
-    ImageView avatarImageView4 = new ImageView(this.avatarImage4);
+    ImageView avatarImageView4 = new ImageView(imageCache.getImage(this.avatarImagePath4));
     avatarContainer4.getChildren().add(avatarImageView4);
     avatarContainer4.getStyleClass().add("avatar-container");
     avatarContainer4.setOnMouseClicked(
-        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImage4));
+        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImagePath4));
     avatarContainer4.setOnMouseEntered(event -> avatarContainer4.setCursor(Cursor.HAND));
 
     VBox avatarContainer5 = new VBox();
-    ImageView avatarImageView5 = new ImageView(this.avatarImage5);
+    ImageView avatarImageView5 = new ImageView(imageCache.getImage(this.avatarImagePath5));
     avatarContainer5.getChildren().add(avatarImageView5);
     avatarContainer5.getStyleClass().add("avatar-container");
     avatarContainer5.setOnMouseClicked(
-        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImage5));
+        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImagePath5));
     avatarContainer5.setOnMouseEntered(event -> avatarContainer5.setCursor(Cursor.HAND));
 
     VBox avatarContainer6 = new VBox();
-    ImageView avatarImageView6 = new ImageView(this.avatarImage6);
+    ImageView avatarImageView6 = new ImageView(imageCache.getImage(this.avatarImagePath6));
     avatarContainer6.getChildren().add(avatarImageView6);
     avatarContainer6.getStyleClass().add("avatar-container");
     avatarContainer6.setOnMouseClicked(
-        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImage6));
+        event -> this.callControllerHandleImageClick(pathsApp, this.avatarImagePath6));
     avatarContainer6.setOnMouseEntered(event -> avatarContainer6.setCursor(Cursor.HAND));
 
     avatarGridPane.add(avatarContainer1, 0, 0);
@@ -204,14 +207,14 @@ public class ChooseAvatarScreen extends Screen {
   /**
    * Calls the controller handle image click method.
    *
-   * @param pathsApp the PathsApp instance of this application.
-   * @param image    the image selected by the user.
+   * @param pathsApp  the PathsApp instance of this application.
+   * @param imagePath the image path of the image selected by the user.
    */
-  private void callControllerHandleImageClick(PathsApp pathsApp, Image image) {
+  private void callControllerHandleImageClick(PathsApp pathsApp, String imagePath) {
     ChooseAvatarScreenController chooseAvatarScreenController = (ChooseAvatarScreenController)
         pathsApp.getUserInterfaceManager()
             .getController("choose_avatar_screen_controller");
-    chooseAvatarScreenController.handleImageClick(image);
+    chooseAvatarScreenController.handleImageClick(imagePath);
   }
 
   /**
@@ -1,6 +1,8 @@
 package no.ntnu.idata2001.mappe29.userinterface.screens;
 
+import java.util.ArrayList;
 import java.util.List;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Cursor;
@@ -13,7 +15,6 @@ import javafx.scene.control.MenuItem;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
@@ -26,10 +27,14 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import no.ntnu.idata2001.mappe29.PathsApp;
 import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalogEntry;
+import no.ntnu.idata2001.mappe29.userinterface.ImageCache;
 import no.ntnu.idata2001.mappe29.userinterface.controllers.ChooseStoryScreenController;
 
 /**
- * Represents the choose story screen of the Paths Application.
+ * Represents the choose story screen of the Paths Application. The screen lists the stories of
+ * the story collection, followed by the catalog entries of the stories in the story library that
+ * have not been loaded yet, so a story of the library is only parsed when it is chosen.
  *
  * @author Tiago Brito.
  * @version 2023.05.21.
@@ -39,6 +44,8 @@ public class ChooseStoryScreen extends Screen {
   private Image backgroundImage;
   private String subTitle;
   private List<Story> stories;
+  private List<StoryCatalogEntry> catalogEntries;
+  private ObservableList<StoryChoice> storyChoices;
   private String button1Text;
   private String button2Text;
 
@@ -60,6 +67,7 @@ public class ChooseStoryScreen extends Screen {
     this.setBackgroundImage(backgroundImage);
     this.setSubTitle(subTitle);
     this.setStories(stories);
+    this.setCatalogEntries(new ArrayList<>());
     this.setButton1Text(button1Text);
     this.setButton2Text(button2Text);
   }
@@ -120,6 +128,41 @@ public class ChooseStoryScreen extends Screen {
     this.stories = stories;
   }
 
+  /**
+   * Sets the catalog entries of this screen to the specified catalog entries of the stories that
+   * have not been loaded yet. The stories table view of the scene that is shown is updated as
+   * well, so this must be called on the JavaFX application thread.
+   *
+   * @param catalogEntries the specified catalog entries.
+   * @throws IllegalArgumentException if the specified catalog entries are null.
+   */
+  public void setCatalogEntries(List<StoryCatalogEntry> catalogEntries) {
+    if (catalogEntries == null) {
+      throw new IllegalArgumentException("Catalog entries cannot be null");
+    }
+    this.catalogEntries = catalogEntries;
+    if (this.storyChoices != null) {
+      this.storyChoices.setAll(this.createStoryChoices());
+    }
+  }
+
+  /**
+   * Creates the rows of the stories table view: the stories of this screen, followed by the
+   * catalog entries of this screen.
+   *
+   * @return the rows of the stories table view.
+   */
+  private List<StoryChoice> createStoryChoices() {
+    List<StoryChoice> choices = new ArrayList<>(this.stories.size() + this.catalogEntries.size());
+    for (Story story : this.stories) {
+      choices.add(new StoryChoice(story, null));
+    }
+    for (StoryCatalogEntry catalogEntry : this.catalogEntries) {
+      choices.add(new StoryChoice(null, catalogEntry));
+    }
+    return choices;
+  }
+
   /**
    * Sets the button 1 text of this screen to the specified button 1 text.
    *
@@ -168,19 +211,11 @@ public class ChooseStoryScreen extends Screen {
     Label subTitleLabel = new Label(this.subTitle);
     subTitleLabel.getStyleClass().add("subtitle-label");
 
-    Label testLabel = new Label(pathsApp.getModelManager().getRandomStory().getTitle());
-    testLabel.getStyleClass().add("subtitle-label");
-
-    TableView<Story> storiesTableView = this.createStoriesTableView();
+    TableView<StoryChoice> storiesTableView = this.createStoriesTableView(pathsApp);
     storiesTableView.getStyleClass().add("stories-table-view");
     storiesTableView.setOnMouseClicked(event -> {
       if (event.getClickCount() == 2) {
-        Story selectedStory = storiesTableView.getSelectionModel().getSelectedItem();
-
-        ChooseStoryScreenController chooseStoryScreenController = (ChooseStoryScreenController)
-            pathsApp.getUserInterfaceManager()
-                .getController("choose_story_screen_controller");
-        chooseStoryScreenController.handleButton1Click(selectedStory);
+        this.chooseStory(pathsApp, storiesTableView.getSelectionModel().getSelectedItem());
       }
     });
 
@@ -191,14 +226,8 @@ public class ChooseStoryScreen extends Screen {
 
     Button button1 = new Button(this.button1Text);
     button1.getStyleClass().add("button-style");
-    button1.setOnAction(event -> {
-      Story selectedStory = storiesTableView.getSelectionModel().getSelectedItem();
-
-      ChooseStoryScreenController chooseStoryScreenController = (ChooseStoryScreenController)
-          pathsApp.getUserInterfaceManager()
-              .getController("choose_story_screen_controller");
-      chooseStoryScreenController.handleButton1Click(selectedStory);
-    });
+    button1.setOnAction(event ->
+        this.chooseStory(pathsApp, storiesTableView.getSelectionModel().getSelectedItem()));
     button1.setOnMouseEntered(event -> button1.setCursor(Cursor.HAND));
 
     Button button2 = new Button(this.button2Text);
@@ -235,19 +264,23 @@ public class ChooseStoryScreen extends Screen {
   /**
    * Creates the stories table view of this screen.
    *
+   * @param pathsApp the PathsApp instance of this application.
    * @return the stories table view of this screen.
    */
-  private TableView<Story> createStoriesTableView() {
-    TableView<Story> storiesTableView = new TableView<>();
+  private TableView<StoryChoice> createStoriesTableView(PathsApp pathsApp) {
+    ImageCache imageCache = pathsApp.getUserInterfaceManager().getImageCache();
+    TableView<StoryChoice> storiesTableView = new TableView<>();
     storiesTableView.setPlaceholder(new Label("There are no stories"));
-    TableColumn<Story, Image> imageTableColumn = new TableColumn<>();
-    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("image"));
+    TableColumn<StoryChoice, String> imageTableColumn = new TableColumn<>();
+    imageTableColumn.setCellValueFactory(cellData ->
+        new ReadOnlyStringWrapper(cellData.getValue().getImagePath()));
     imageTableColumn.setResizable(false);
     imageTableColumn.setReorderable(false);
     imageTableColumn.prefWidthProperty().bind(storiesTableView.widthProperty().multiply(0.2));
 
-    TableColumn<Story, String> storyNameTableColumn = new TableColumn<>();
-    storyNameTableColumn.setCellValueFactory(new PropertyValueFactory<>("title"));
+    TableColumn<StoryChoice, String> storyNameTableColumn = new TableColumn<>();
+    storyNameTableColumn.setCellValueFactory(cellData ->
+        new ReadOnlyStringWrapper(cellData.getValue().getTitle()));
     storyNameTableColumn.setResizable(false);
     storyNameTableColumn.setReorderable(false);
     storyNameTableColumn.prefWidthProperty().bind(storiesTableView.widthProperty()
@@ -258,12 +291,12 @@ public class ChooseStoryScreen extends Screen {
       private final ImageView imageView = new ImageView();
 
       @Override
-      protected void updateItem(Image image, boolean empty) {
-        super.updateItem(image, empty);
-        if (empty || image == null) {
+      protected void updateItem(String imagePath, boolean empty) {
+        super.updateItem(imagePath, empty);
+        if (empty || imagePath == null) {
           setGraphic(null);
         } else {
-          imageView.setImage(image);
+          imageView.setImage(imageCache.getImage(imagePath));
           getStyleClass().add("table-image-view");
           setGraphic(imageView);
         }
@@ -278,13 +311,32 @@ public class ChooseStoryScreen extends Screen {
       }
     });
 
-    ObservableList<Story> observableStories = FXCollections.observableArrayList(this.stories);
-    storiesTableView.setItems(observableStories);
+    this.storyChoices = FXCollections.observableArrayList(this.createStoryChoices());
+    storiesTableView.setItems(this.storyChoices);
     storiesTableView.getSelectionModel().selectFirst();
 
     return storiesTableView;
   }
 
+  /**
+   * Chooses the story of the specified row of the stories table view. A story of the story
+   * library is loaded by the controller before it is shown.
+   *
+   * @param pathsApp    the PathsApp instance of this application.
+   * @param storyChoice the specified row, or {@code null} if no row is selected.
+   */
+  private void chooseStory(PathsApp pathsApp, StoryChoice storyChoice) {
+    ChooseStoryScreenController chooseStoryScreenController = (ChooseStoryScreenController)
+        pathsApp.getUserInterfaceManager()
+            .getController("choose_story_screen_controller");
+    if (storyChoice != null && storyChoice.getCatalogEntry() != null) {
+      chooseStoryScreenController.handleButton1Click(storyChoice.getCatalogEntry());
+    } else {
+      chooseStoryScreenController.handleButton1Click(
+          storyChoice == null ? null : storyChoice.getStory());
+    }
+  }
+
   /**
    * Creates the menu bar of this screen.
    *
@@ -317,4 +369,61 @@ public class ChooseStoryScreen extends Screen {
     menuBar.getMenus().add(helpMenu);
     return menuBar;
   }
+
+  /**
+   * Represents a row of the stories table view, which is either a story of the story collection
+   * or the catalog entry of a story that has not been loaded yet.
+   */
+  private static final class StoryChoice {
+    private final Story story;
+    private final StoryCatalogEntry catalogEntry;
+
+    /**
+     * Creates an instance of StoryChoice.
+     *
+     * @param story        the story of the row, or {@code null} if the row is a catalog entry.
+     * @param catalogEntry the catalog entry of the row, or {@code null} if the row is a story.
+     */
+    private StoryChoice(Story story, StoryCatalogEntry catalogEntry) {
+      this.story = story;
+      this.catalogEntry = catalogEntry;
+    }
+
+    /**
+     * Gets the story of this row.
+     *
+     * @return the story, or {@code null} if this row is a catalog entry.
+     */
+    private Story getStory() {
+      return this.story;
+    }
+
+    /**
+     * Gets the catalog entry of this row.
+     *
+     * @return the catalog entry, or {@code null} if this row is a story.
+     */
+    private StoryCatalogEntry getCatalogEntry() {
+      return this.catalogEntry;
+    }
+
+    /**
+     * Gets the title of the story of this row.
+     *
+     * @return the title of the story.
+     */
+    private String getTitle() {
+      return this.story != null ? this.story.getTitle() : this.catalogEntry.getTitle();
+    }
+
+    /**
+     * Gets the image path of the story of this row. Stories that have not been loaded have no
+     * image.
+     *
+     * @return the image path, or {@code null} if the story has no image.
+     */
+    private String getImagePath() {
+      return this.story != null ? this.story.getImagePath() : null;
+    }
+  }
 }
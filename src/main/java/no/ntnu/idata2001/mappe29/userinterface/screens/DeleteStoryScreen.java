@@ -26,6 +26,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import no.ntnu.idata2001.mappe29.PathsApp;
 import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.userinterface.ImageCache;
 import no.ntnu.idata2001.mappe29.userinterface.controllers.DeleteStoryScreenController;
 
 /**
@@ -172,7 +173,7 @@ public class DeleteStoryScreen extends Screen {
     Label testLabel = new Label(pathsApp.getModelManager().getRandomStory().getTitle());
     testLabel.getStyleClass().add("subtitle-label");
 
-    TableView<Story> storiesTableView = this.createStoriesTableView();
+    TableView<Story> storiesTableView = this.createStoriesTableView(pathsApp);
     storiesTableView.getStyleClass().add("stories-table-view");
     storiesTableView.setOnMouseClicked(event -> {
       if (event.getClickCount() == 2) {
@@ -235,13 +236,15 @@ public class DeleteStoryScreen extends Screen {
   /**
    * Creates the stories table view of this screen.
    *
+   * @param pathsApp the PathsApp instance of this application.
    * @return the stories table view of this screen.
    */
-  private TableView<Story> createStoriesTableView() {
+  private TableView<Story> createStoriesTableView(PathsApp pathsApp) {
+    ImageCache imageCache = pathsApp.getUserInterfaceManager().getImageCache();
     TableView<Story> storiesTableView = new TableView<>();
     storiesTableView.setPlaceholder(new Label("There are no stories"));
-    TableColumn<Story, Image> imageTableColumn = new TableColumn<>();
-    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("image"));
+    TableColumn<Story, String> imageTableColumn = new TableColumn<>();
+    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("imagePath"));
     imageTableColumn.setResizable(false);
     imageTableColumn.setReorderable(false);
     imageTableColumn.prefWidthProperty().bind(storiesTableView.widthProperty().multiply(0.2));
@@ -258,12 +261,12 @@ public class DeleteStoryScreen extends Screen {
       private final ImageView imageView = new ImageView();
 
       @Override
-      protected void updateItem(Image image, boolean empty) {
-        super.updateItem(image, empty);
-        if (empty || image == null) {
+      protected void updateItem(String imagePath, boolean empty) {
+        super.updateItem(imagePath, empty);
+        if (empty || imagePath == null) {
           setGraphic(null);
         } else {
-          imageView.setImage(image);
+          imageView.setImage(imageCache.getImage(imagePath));
           getStyleClass().add("table-image-view");
           setGraphic(imageView);
         }
@@ -180,7 +180,8 @@ public class HomeScreen extends Screen {
 
     VBox userImageContainer = new VBox();
     userImageContainer.getStyleClass().add("user-image-container");
-    ImageView userImageView = new ImageView(this.user.getImage());
+    ImageView userImageView = new ImageView(
+        pathsApp.getUserInterfaceManager().getImageCache().getImage(this.user.getImagePath()));
     userImageContainer.getChildren().add(userImageView);
 
     userProfileContainer.getChildren().addAll(usernameLabel, userImageContainer);
@@ -228,7 +229,8 @@ public class HomeScreen extends Screen {
     usernameLabel2.getStyleClass().add("username-label");
     VBox userImageContainer2 = new VBox();
     userImageContainer2.getStyleClass().add("user-image-container");
-    ImageView userImageView2 = new ImageView(this.user.getImage());
+    ImageView userImageView2 = new ImageView(
+        pathsApp.getUserInterfaceManager().getImageCache().getImage(this.user.getImagePath()));
     userImageContainer2.getChildren().add(userImageView2);
     invisibleContainer.getChildren().addAll(usernameLabel2, userImageContainer2);
     invisibleContainer.setVisible(false);
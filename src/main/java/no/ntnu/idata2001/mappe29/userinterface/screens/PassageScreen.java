@@ -31,20 +31,24 @@ import no.ntnu.idata2001.mappe29.model.InventoryTableViewRowData;
 import no.ntnu.idata2001.mappe29.model.Link;
 import no.ntnu.idata2001.mappe29.model.Passage;
 import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.PlayerStatListener;
 import no.ntnu.idata2001.mappe29.model.Story;
 import no.ntnu.idata2001.mappe29.model.User;
 import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.GoalTracker;
+import no.ntnu.idata2001.mappe29.userinterface.ImageCache;
 import no.ntnu.idata2001.mappe29.userinterface.controllers.PassageScreenController;
 
 /**
- * Represents the passage screen of the Paths Application.
+ * Represents the passage screen of the Paths Application. The screen listens to the stats of its
+ * player, so only the label of a stat that changed is updated.
  *
  * @author Tiago Brito.
  * @version 2023.05.19.
  */
-public class PassageScreen extends Screen {
+public class PassageScreen extends Screen implements PlayerStatListener {
   private User user;
-  private Image backgroundImage;
+  private String backgroundImagePath;
   private Player player;
   private Image scoreImage;
   private Image healthImage;
@@ -55,9 +59,15 @@ public class PassageScreen extends Screen {
   private Image button2Image;
   private Passage passage;
   private Story story;
-  private Label scoreLabel;
-  private Label healthLabel;
-  private Label goldLabel;
+  private final Label scoreLabel;
+  private final Label healthLabel;
+  private final Label goldLabel;
+  private Scene scene;
+  private BorderPane root;
+  private Label usernameLabel;
+  private ImageView userImageView;
+  private Label passageContentLabel;
+  private HBox buttonContainer;
 
   /**
    * Creates an instance of PassageScreen.
@@ -71,15 +81,12 @@ public class PassageScreen extends Screen {
    * @param button1Image the specified button 1 image of this screen.
    * @param button2Text  the specified button 2 text of this screen.
    * @param button2Image the specified button 2 image of this screen.
-   * @param passage      the specified passage of this screen.
    */
   public PassageScreen(User user, Player player, Image scoreImage,
                        Image healthImage, Image goldImage, String button1Text,
-                       Image button1Image, String button2Text, Image button2Image,
-                       Passage passage, Story story) {
-    super(passage.getTitle() + "_passage_screen");
+                       Image button1Image, String button2Text, Image button2Image) {
+    super("passage_screen");
     this.setUser(user);
-    this.setBackgroundImage(passage.getBackgroundImage());
     this.setPlayer(player);
     this.setScoreImage(scoreImage);
     this.setHealthImage(healthImage);
@@ -88,11 +95,11 @@ public class PassageScreen extends Screen {
     this.setButton1Image(button1Image);
     this.setButton2Text(button2Text);
     this.setButton2Image(button2Image);
-    this.setPassage(passage);
-    this.setStory(story);
     this.scoreLabel = new Label("");
     this.healthLabel = new Label("");
     this.goldLabel = new Label("");
+    this.updatePlayerStats();
+    this.player.addStatListener(this);
   }
 
   /**
@@ -109,16 +116,16 @@ public class PassageScreen extends Screen {
   }
 
   /**
-   * Sets the background image of this screen to the specified background image.
+   * Sets the background image path of this screen to the specified background image path.
    *
-   * @param backgroundImage the specified background image.
-   * @throws IllegalArgumentException if the specified background image is null.
+   * @param backgroundImagePath the specified background image path.
+   * @throws IllegalArgumentException if the specified background image path is null.
    */
-  private void setBackgroundImage(Image backgroundImage) {
-    if (backgroundImage == null) {
-      throw new IllegalArgumentException("Background image cannot be null");
+  private void setBackgroundImagePath(String backgroundImagePath) {
+    if (backgroundImagePath == null) {
+      throw new IllegalArgumentException("Background image path cannot be null");
     }
-    this.backgroundImage = backgroundImage;
+    this.backgroundImagePath = backgroundImagePath;
   }
 
   /**
@@ -241,6 +248,15 @@ public class PassageScreen extends Screen {
     this.passage = passage;
   }
 
+  /**
+   * Gets the passage of this screen.
+   *
+   * @return the passage of this screen.
+   */
+  public Passage getPassage() {
+    return this.passage;
+  }
+
   /**
    * Sets the story of this screen to the specified story.
    *
@@ -255,39 +271,50 @@ public class PassageScreen extends Screen {
   }
 
   /**
-   * Sets the score label of this screen to the specified score label.
+   * Shows the specified passage of the specified story the next time the scene of this screen is
+   * shown.
    *
-   * @param scoreLabel the specified score label.
+   * @param passage the specified passage.
+   * @param story   the specified story.
+   * @throws IllegalArgumentException if the specified passage or story is null, or the passage
+   *                                  has no background image.
    */
-  public void setScoreLabel(Label scoreLabel) {
-    if (scoreLabel == null) {
-      throw new IllegalArgumentException("Score label cannot be null");
-    }
-    this.scoreLabel = scoreLabel;
+  public void showPassage(Passage passage, Story story) {
+    this.setPassage(passage);
+    this.setStory(story);
+    this.setBackgroundImagePath(passage.getBackgroundImagePath());
   }
 
   /**
-   * Sets the health label of this screen to the specified health label.
-   *
-   * @param healthLabel the specified score label.
+   * Updates the score, health and gold labels of this screen to the current stats of the player.
    */
-  public void setHealthLabel(Label healthLabel) {
-    if (healthLabel == null) {
-      throw new IllegalArgumentException("Health label cannot be null");
-    }
-    this.healthLabel = healthLabel;
+  private void updatePlayerStats() {
+    this.scoreLabel.setText("" + this.player.getScore());
+    this.healthLabel.setText("" + this.player.getHealth());
+    this.goldLabel.setText("" + this.player.getGold());
+  }
+
+  @Override
+  public void onHealthChanged(Player player, int oldHealth, int newHealth) {
+    this.healthLabel.setText("" + newHealth);
+  }
+
+  @Override
+  public void onScoreChanged(Player player, int oldScore, int newScore) {
+    this.scoreLabel.setText("" + newScore);
+  }
+
+  @Override
+  public void onGoldChanged(Player player, int oldGold, int newGold) {
+    this.goldLabel.setText("" + newGold);
   }
 
   /**
-   * Sets the gold label of this screen to the specified gold label.
-   *
-   * @param goldLabel the specified gold label.
+   * Stops listening to the stats of the player of this screen. Called when the screen is
+   * replaced, so the player does not keep the screen alive.
    */
-  public void setGoldLabel(Label goldLabel) {
-    if (goldLabel == null) {
-      throw new IllegalArgumentException("Gold label cannot be null");
-    }
-    this.goldLabel = goldLabel;
+  public void detachFromPlayer() {
+    this.player.removeStatListener(this);
   }
 
   /**
@@ -317,28 +344,54 @@ public class PassageScreen extends Screen {
     return this.goldLabel;
   }
 
+  /**
+   * Gets the scene of this screen showing the current passage. The scene graph is only built the
+   * first time, afterwards the same scene is reused and only its content is updated to the
+   * current passage, story and user.
+   *
+   * @param pathsApp the PathsApp instance of this application.
+   * @return the scene of this screen.
+   * @throws IllegalStateException if no passage has been shown on this screen.
+   */
   @Override
   public Scene createScene(PathsApp pathsApp) {
-    BorderPane root = new BorderPane();
+    if (this.passage == null) {
+      throw new IllegalStateException("No passage has been shown on the passage screen");
+    }
+    if (this.scene == null) {
+      this.buildScene(pathsApp);
+    }
+    this.updateScene(pathsApp);
+    return this.scene;
+  }
+
+  /**
+   * Builds the scene graph of this screen. The parts that depend on the current passage are
+   * filled in by {@link #updateScene(PathsApp)}.
+   *
+   * @param pathsApp the PathsApp instance of this application.
+   */
+  private void buildScene(PathsApp pathsApp) {
+    this.root = new BorderPane();
 
-    Scene passageScreenScene = new Scene(root, 800, 600);
-    passageScreenScene.getStylesheets().add(
+    this.scene = new Scene(this.root, 800, 600);
+    this.scene.getStylesheets().add(
         pathsApp.getClass().getResource("/css/passage_screen.css")
             .toExternalForm());
-    root.getStyleClass().add("root-style");
+    this.root.getStyleClass().add("root-style");
 
     VBox userProfileContainer = new VBox();
     userProfileContainer.getStyleClass().add("user-profile-container");
 
-    Label usernameLabel = new Label(this.user.getName());
-    usernameLabel.getStyleClass().add("username-label");
+    this.usernameLabel = new Label();
+    this.usernameLabel.getStyleClass().add("username-label");
 
     VBox userImageContainer = new VBox();
     userImageContainer.getStyleClass().add("user-image-container");
-    ImageView userImageView = new ImageView(this.user.getImage());
-    userImageContainer.getChildren().add(userImageView);
+    this.userImageView = new ImageView();
+    userImageContainer.getChildren().add(this.userImageView);
 
-    userProfileContainer.getChildren().addAll(usernameLabel, userImageContainer);
+    userProfileContainer.getChildren().addAll(this.usernameLabel, userImageContainer);
 
     VBox playerStatsContainer = new VBox();
     playerStatsContainer.getStyleClass().add("player-stats-container");
@@ -346,20 +399,17 @@ public class PassageScreen extends Screen {
     GridPane playerStatsGridPane = new GridPane();
     playerStatsGridPane.getStyleClass().add("player-stats-grid-pane");
     ImageView scoreImageView = new ImageView(this.scoreImage);
-    this.setScoreLabel(new Label("" + this.player.getScore()));
-    scoreLabel.getStyleClass().add("attribute-label");
+    this.scoreLabel.getStyleClass().add("attribute-label");
     playerStatsGridPane.add(scoreImageView, 0, 0);
     playerStatsGridPane.add(this.scoreLabel, 1, 0);
 
     ImageView healthImageView = new ImageView(this.healthImage);
-    this.setHealthLabel(new Label("" + this.player.getHealth()));
-    healthLabel.getStyleClass().add("attribute-label");
+    this.healthLabel.getStyleClass().add("attribute-label");
     playerStatsGridPane.add(healthImageView, 0, 1);
     playerStatsGridPane.add(this.healthLabel, 1, 1);
 
     ImageView goldImageView = new ImageView(this.goldImage);
-    this.setGoldLabel(new Label("" + this.player.getGold()));
-    goldLabel.getStyleClass().add("attribute-label");
+    this.goldLabel.getStyleClass().add("attribute-label");
     playerStatsGridPane.add(goldImageView, 0, 2);
     playerStatsGridPane.add(this.goldLabel, 1, 2);
 
@@ -373,7 +423,7 @@ public class PassageScreen extends Screen {
       PassageScreenController passageScreenController =
           (PassageScreenController) pathsApp.getUserInterfaceManager()
               .getController("passage_screen_controller");
-      passageScreenController.handleButton1Click(this.createGoalsTableView());
+      passageScreenController.handleButton1Click(this.createGoalsTableView(pathsApp));
     });
     button1.setOnMouseEntered(event -> button1.setCursor(Cursor.HAND));
 
@@ -393,24 +443,11 @@ public class PassageScreen extends Screen {
 
     playerStatsContainer.getChildren().addAll(playerStatsGridPane, button1, button2);
 
-    Label passageContentLabel = new Label(this.passage.getContent());
-    passageContentLabel.getStyleClass().add("passage-content-label");
-
-    HBox buttonContainer = new HBox();
-    buttonContainer.getStyleClass().add("button-container");
+    this.passageContentLabel = new Label();
+    this.passageContentLabel.getStyleClass().add("passage-content-label");
 
-    for (Link link : this.passage.getLinks()) {
-      Button button = new Button(link.getText());
-      button.getStyleClass().add("button-style");
-      button.setOnAction(event -> {
-        PassageScreenController passageScreenController =
-            (PassageScreenController) pathsApp.getUserInterfaceManager()
-                .getController("passage_screen_controller");
-        passageScreenController.handleButton3Click(link, this.story);
-      });
-      button.setOnMouseEntered(event -> button.setCursor(Cursor.HAND));
-      buttonContainer.getChildren().add(button);
-    }
+    this.buttonContainer = new HBox();
+    this.buttonContainer.getStyleClass().add("button-container");
 
     VBox invisibleContainer = new VBox();
     invisibleContainer.getStyleClass().add("invisible-container");
@@ -421,36 +458,66 @@ public class PassageScreen extends Screen {
     topHalfContainer.setRight(playerStatsContainer);
     topHalfContainer.getStyleClass().add("top-half-container");
 
-    VBox bottomHalfContainer = new VBox(passageContentLabel, buttonContainer);
+    VBox bottomHalfContainer = new VBox(this.passageContentLabel, this.buttonContainer);
     bottomHalfContainer.getStyleClass().add("bottom-half-container");
 
     MenuBar menuBar = this.createMenuBar(pathsApp);
 
-    root.setTop(menuBar);
-    root.setCenter(topHalfContainer);
-    root.setBottom(bottomHalfContainer);
+    this.root.setTop(menuBar);
+    this.root.setCenter(topHalfContainer);
+    this.root.setBottom(bottomHalfContainer);
+  }
+
+  /**
+   * Updates the content of the scene of this screen to the current passage, story and user. The
+   * player stats are kept up to date by listening to the player.
+   *
+   * @param pathsApp the PathsApp instance of this application.
+   */
+  private void updateScene(PathsApp pathsApp) {
+    ImageCache imageCache = pathsApp.getUserInterfaceManager().getImageCache();
+    this.usernameLabel.setText(this.user.getName());
+    this.userImageView.setImage(imageCache.getImage(this.user.getImagePath()));
+    this.passageContentLabel.setText(this.passage.getContent());
+
+    List<Button> buttons = new ArrayList<>();
+    for (Link link : this.passage.getLinks()) {
+      Button button = new Button(link.getText());
+      button.getStyleClass().add("button-style");
+      Story linkStory = this.story;
+      button.setOnAction(event -> {
+        PassageScreenController passageScreenController =
+            (PassageScreenController) pathsApp.getUserInterfaceManager()
+                .getController("passage_screen_controller");
+        passageScreenController.handleButton3Click(link, linkStory);
+      });
+      button.setOnMouseEntered(event -> button.setCursor(Cursor.HAND));
+      buttons.add(button);
+    }
+    this.buttonContainer.getChildren().setAll(buttons);
 
     BackgroundSize backgroundSize = new BackgroundSize(1.0, 1.0, true, true,
         false, false);
     BackgroundImage background =
-        new BackgroundImage(this.backgroundImage, BackgroundRepeat.NO_REPEAT,
+        new BackgroundImage(imageCache.getImage(this.backgroundImagePath),
+            BackgroundRepeat.NO_REPEAT,
             BackgroundRepeat.NO_REPEAT,
             BackgroundPosition.CENTER, backgroundSize);
-    root.setBackground(new Background(background));
-
-    return passageScreenScene;
+    this.root.setBackground(new Background(background));
   }
 
   /**
    * Creates the goals tableview of this screen.
    *
+   * @param pathsApp the PathsApp instance of this application.
    * @return the goals tableview of this screen.
    */
-  private TableView<Goal> createGoalsTableView() {
+  private TableView<Goal> createGoalsTableView(PathsApp pathsApp) {
+    ImageCache imageCache = pathsApp.getUserInterfaceManager().getImageCache();
     TableView<Goal> goalsTableView = new TableView<>();
     goalsTableView.setPlaceholder(new Label("You have no goals for this story"));
-    TableColumn<Goal, Image> imageTableColumn = new TableColumn<>();
-    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("image"));
+    TableColumn<Goal, String> imageTableColumn = new TableColumn<>();
+    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("imagePath"));
     imageTableColumn.setResizable(false);
     imageTableColumn.setReorderable(false);
     imageTableColumn.prefWidthProperty().bind(goalsTableView.widthProperty().multiply(0.2));
@@ -467,21 +534,29 @@ public class PassageScreen extends Screen {
       private final ImageView imageView = new ImageView();
 
       @Override
-      protected void updateItem(Image image, boolean empty) {
-        super.updateItem(image, empty);
-        if (empty || image == null) {
+      protected void updateItem(String imagePath, boolean empty) {
+        super.updateItem(imagePath, empty);
+        if (empty || imagePath == null) {
           setGraphic(null);
         } else {
-          imageView.setImage(image);
+          imageView.setImage(imageCache.getImage(imagePath));
           setGraphic(imageView);
         }
       }
     });
+    GoalTracker goalTracker = pathsApp.getModelManager().getGoalTracker();
     descriptionTableColumn.setCellFactory(goalDescriptionTableColumn -> new TableCell<>() {
       @Override
       protected void updateItem(String description, boolean empty) {
         super.updateItem(description, empty);
-        setText(empty || description == null ? "" : description);
+        if (empty || description == null) {
+          setText("");
+        } else if (goalTracker != null && getTableRow() != null
+            && goalTracker.isFulfilled(getTableRow().getItem())) {
+          setText(description + " (completed)");
+        } else {
+          setText(description);
+        }
       }
     });
 
@@ -500,17 +575,16 @@ public class PassageScreen extends Screen {
    * @return the inventory tableview of this screen.
    */
   private TableView<InventoryTableViewRowData> createInventoryTableView(PathsApp pathsApp) {
+    ImageCache imageCache = pathsApp.getUserInterfaceManager().getImageCache();
     List<InventoryTableViewRowData> tableViewData = new ArrayList<>();
     for (String item : this.player.getInventory()) {
-      Image itemImage = new Image(pathsApp.getClass()
-          .getResource("/images/icons/item_icon.png").toExternalForm());
-      tableViewData.add(new InventoryTableViewRowData(itemImage, item));
+      tableViewData.add(new InventoryTableViewRowData("/images/icons/item_icon.png", item));
     }
 
     TableView<InventoryTableViewRowData> inventoryTableView = new TableView<>();
     inventoryTableView.setPlaceholder(new Label("You have no items in your inventory"));
-    TableColumn<InventoryTableViewRowData, Image> imageTableColumn = new TableColumn<>();
-    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("image"));
+    TableColumn<InventoryTableViewRowData, String> imageTableColumn = new TableColumn<>();
+    imageTableColumn.setCellValueFactory(new PropertyValueFactory<>("imagePath"));
     imageTableColumn.setResizable(false);
     imageTableColumn.setReorderable(false);
     imageTableColumn.prefWidthProperty().bind(inventoryTableView.widthProperty().multiply(0.2));
@@ -527,12 +601,12 @@ public class PassageScreen extends Screen {
       private final ImageView imageView = new ImageView();
 
       @Override
-      protected void updateItem(Image image, boolean empty) {
-        super.updateItem(image, empty);
-        if (empty || image == null) {
+      protected void updateItem(String imagePath, boolean empty) {
+        super.updateItem(imagePath, empty);
+        if (empty || imagePath == null) {
           setGraphic(null);
         } else {
-          imageView.setImage(image);
+          imageView.setImage(imageCache.getImage(imagePath));
           getStyleClass().add("table-image-view");
           setGraphic(imageView);
         }
@@ -0,0 +1,136 @@
+package no.ntnu.idata2001.mappe29;
+
+import no.ntnu.idata2001.mappe29.model.CompiledStory;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.exceptions.BrokenLinksException;
+import no.ntnu.idata2001.mappe29.model.exceptions.InvalidLinksException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link CompiledStory CompiledStory}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that compiles a story and resolves the targets of its links.</li>
+ *      <li><b>Positive</b> test that detects that the story or the actions of its links have
+ *      changed since it was compiled.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to compile a story and get passages and links, using
+ *    invalid parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class CompiledStoryTest {
+
+  /**
+   * Creates a story with an opening passage that links to two other passages.
+   *
+   * @return the story.
+   */
+  public Story createStory() {
+    Passage openingPassage = new Passage("opening_passage", "You see a big ugly troll");
+    Link attackTroll = new Link("Attack the troll", "attack_troll_passage");
+    Link runAway = new Link("Run away", "run_away_passage");
+    try {
+      openingPassage.addAllLinks(attackTroll, runAway);
+    } catch (InvalidLinksException exception) {
+      throw new RuntimeException(exception.getMessage());
+    }
+    Story story = new Story("Troll Adventure", openingPassage);
+
+    Passage attackTrollPassage = new Passage("attack_troll_passage",
+        "How do you want to attack?");
+    attackTrollPassage.addLink(new Link("Run away", "run_away_passage"));
+    story.addPassage(attackTrollPassage);
+    Passage runAwayPassage = new Passage("run_away_passage",
+        "The troll sees you and runs after you.");
+    runAwayPassage.setEndingPassage(true);
+    story.addPassage(runAwayPassage);
+
+    return story;
+  }
+
+  @Test
+  public void testCompileWithValidParameters() throws BrokenLinksException {
+    Story story = this.createStory();
+    CompiledStory compiledStory = CompiledStory.compile(story);
+
+    assertSame(story, compiledStory.getStory());
+    assertEquals(3, compiledStory.getPassageCount());
+    assertSame(story.getOpeningPassage(), compiledStory.getPassage(0));
+    assertEquals(0, compiledStory.getPassageId(story.getOpeningPassage()));
+    assertEquals(2, compiledStory.getLinkCount(0));
+
+    Passage attackTrollPassage = story.getPassageByTitle("attack_troll_passage");
+    Passage runAwayPassage = story.getPassageByTitle("run_away_passage");
+    int attackTrollPassageId = compiledStory.getPassageId(attackTrollPassage);
+    int runAwayPassageId = compiledStory.getPassageId(runAwayPassage);
+    assertEquals(attackTrollPassageId, compiledStory.getLinkTarget(0, 0));
+    assertEquals(runAwayPassageId, compiledStory.getLinkTarget(0, 1));
+    assertEquals(runAwayPassageId, compiledStory.getLinkTarget(attackTrollPassageId, 0));
+    assertEquals(0, compiledStory.getLinkCount(runAwayPassageId));
+
+    Link attackTroll = story.getOpeningPassage().getLinks().get(0);
+    assertSame(attackTrollPassage, compiledStory.getTarget(attackTroll));
+    assertNull(compiledStory.getTarget(new Link("Attack the troll", "attack_troll_passage")));
+    assertEquals(-1, compiledStory.getPassageId(new Passage("other_passage", "Other")));
+  }
+
+  @Test
+  public void testIsUpToDate() throws BrokenLinksException {
+    Story story = this.createStory();
+    CompiledStory compiledStory = CompiledStory.compile(story);
+    assertTrue(compiledStory.isUpToDate());
+
+    story.getPassageByTitle("run_away_passage").addLink(
+        new Link("Go back", "opening_passage"));
+    assertFalse(compiledStory.isUpToDate());
+    CompiledStory recompiledStory = CompiledStory.compile(story);
+    assertTrue(recompiledStory.isUpToDate());
+
+    Link attackTroll = story.getOpeningPassage().getLinks().get(0);
+    AddGoldAction addGold = new AddGoldAction(10);
+    attackTroll.addAction(addGold);
+    assertFalse(recompiledStory.isUpToDate());
+    CompiledStory storyWithGold = CompiledStory.compile(story);
+    assertEquals(1, storyWithGold.getLinkEffect(0, 0).getActionCount());
+    attackTroll.removeAction(addGold);
+    assertFalse(storyWithGold.isUpToDate());
+    assertEquals(0, CompiledStory.compile(story).getLinkEffect(0, 0).getActionCount());
+  }
+
+  @Test
+  public void testCompileWithInvalidParameters() throws BrokenLinksException {
+    assertThrows(IllegalArgumentException.class, () -> {
+      CompiledStory.compile(null);
+    });
+
+    Story story = this.createStory();
+    CompiledStory compiledStory = CompiledStory.compile(story);
+    assertThrows(IllegalArgumentException.class, () -> {
+      compiledStory.getPassage(3);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      compiledStory.getLinkCount(-1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      compiledStory.getLinkTarget(0, 2);
+    });
+
+    story.getOpeningPassage().addLink(new Link("Seduce the troll", "seduce_troll_passage"));
+    assertThrows(BrokenLinksException.class, () -> {
+      CompiledStory.compile(story);
+    });
+  }
+}
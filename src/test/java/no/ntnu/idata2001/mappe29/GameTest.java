@@ -278,6 +278,14 @@ public class GameTest {
     Passage thirdPassage = game.go(runAway);
     assertEquals(attackTrollPassage, secondPassage);
     assertEquals(runAwayPassage, thirdPassage);
+
+    castMagicSpellPassage.addLink(new Link("Pick up the gold", "pick_up_gold_passage"));
+    assertEquals(useSwordPassage, game.go(useSword));
+    assertThrows(IllegalArgumentException.class, () -> {
+      game.getCompiledStory();
+    });
+    story.addPassage(new Passage("pick_up_gold_passage", "You are rich."));
+    assertEquals(keepRunningPassage, game.getCompiledStory().getTarget(keepRunning));
   }
 
   @Test
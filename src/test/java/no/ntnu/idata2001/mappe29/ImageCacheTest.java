@@ -0,0 +1,122 @@
+package no.ntnu.idata2001.mappe29;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import no.ntnu.idata2001.mappe29.userinterface.ImageCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the class {@link ImageCache ImageCache}. The images are created in memory instead of
+ * being decoded from the resources, so the tests do not depend on a graphics pipeline.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that gets the same image for the same resource path and counts
+ *      hits and misses.</li>
+ *      <li><b>Positive</b> test that evicts the least recently used images when the cache
+ *      exceeds its maximum number of bytes.</li>
+ *      <li><b>Positive</b> test that clears the cache.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to create an image cache and get images, using invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class ImageCacheTest {
+  /**
+   * Represents an image cache that creates 10 x 10 pixel images of 400 bytes instead of
+   * loading resources.
+   */
+  private static class InMemoryImageCache extends ImageCache {
+    private int loadCount;
+
+    /**
+     * Creates an instance of InMemoryImageCache.
+     *
+     * @param maximumBytes the maximum number of bytes of decoded images in the cache.
+     */
+    InMemoryImageCache(long maximumBytes) {
+      super(maximumBytes);
+      this.loadCount = 0;
+    }
+
+    @Override
+    protected Image loadImage(String resourcePath) {
+      this.loadCount++;
+      return new WritableImage(10, 10);
+    }
+  }
+
+  @Test
+  public void testGetImageReturnsCachedImage() {
+    InMemoryImageCache imageCache = new InMemoryImageCache(ImageCache.DEFAULT_MAXIMUM_BYTES);
+    Image goldImage = imageCache.getImage("/images/icons/gold_icon.png");
+    Image healthImage = imageCache.getImage("/images/icons/health_icon.png");
+
+    assertSame(goldImage, imageCache.getImage("/images/icons/gold_icon.png"));
+    assertSame(goldImage, imageCache.getImage("/images/icons/gold_icon.png"));
+    assertNotSame(goldImage, healthImage);
+    assertEquals(2, imageCache.loadCount);
+    assertEquals(2, imageCache.getHitCount());
+    assertEquals(2, imageCache.getMissCount());
+    assertEquals(2, imageCache.getSize());
+    assertEquals(800, imageCache.getCachedBytes());
+  }
+
+  @Test
+  public void testGetImageEvictsLeastRecentlyUsedImages() {
+    InMemoryImageCache imageCache = new InMemoryImageCache(1000);
+    Image goldImage = imageCache.getImage("/images/icons/gold_icon.png");
+    imageCache.getImage("/images/icons/health_icon.png");
+    imageCache.getImage("/images/icons/gold_icon.png");
+    imageCache.getImage("/images/icons/score_icon.png");
+
+    assertEquals(2, imageCache.getSize());
+    assertEquals(800, imageCache.getCachedBytes());
+    assertEquals(1, imageCache.getEvictionCount());
+    assertSame(goldImage, imageCache.getImage("/images/icons/gold_icon.png"));
+    imageCache.getImage("/images/icons/health_icon.png");
+    assertEquals(4, imageCache.loadCount);
+
+    InMemoryImageCache smallImageCache = new InMemoryImageCache(100);
+    smallImageCache.getImage("/images/icons/gold_icon.png");
+    assertEquals(1, smallImageCache.getSize());
+    smallImageCache.getImage("/images/icons/health_icon.png");
+    assertEquals(1, smallImageCache.getSize());
+    assertEquals(1, smallImageCache.getEvictionCount());
+  }
+
+  @Test
+  public void testClear() {
+    InMemoryImageCache imageCache = new InMemoryImageCache(ImageCache.DEFAULT_MAXIMUM_BYTES);
+    imageCache.getImage("/images/icons/gold_icon.png");
+    imageCache.clear();
+    assertEquals(0, imageCache.getSize());
+    assertEquals(0, imageCache.getCachedBytes());
+    imageCache.getImage("/images/icons/gold_icon.png");
+    assertEquals(2, imageCache.getMissCount());
+  }
+
+  @Test
+  public void testImageCacheWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new ImageCache(0);
+    });
+    ImageCache imageCache = new ImageCache();
+    assertThrows(IllegalArgumentException.class, () -> {
+      imageCache.getImage(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      imageCache.getImage(" ");
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      imageCache.getImage("/images/does_not_exist.png");
+    });
+  }
+}
@@ -0,0 +1,47 @@
+package no.ntnu.idata2001.mappe29;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import no.ntnu.idata2001.mappe29.model.ItemDictionary;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ItemDictionary ItemDictionary} class.
+ * <p>The following positive tests are performed:</p>
+ * <ul>
+ *   <li><b>Positive</b> test that interns items and gets their ids and names.</li>
+ * </ul>
+ * The following negative tests are performed:
+ *  <ul>
+ *     <li><b>Negative</b> test that tries to intern and get items with invalid parameters.</li>
+ *  </ul>
+ *  </p>
+ */
+public class ItemDictionaryTest {
+  @Test
+  public void testInternWithValidParameters() {
+    ItemDictionary itemDictionary = new ItemDictionary();
+    assertEquals(0, itemDictionary.intern("sword"));
+    assertEquals(1, itemDictionary.intern("shield"));
+    assertEquals(0, itemDictionary.intern("sword"));
+    assertEquals(2, itemDictionary.size());
+    assertEquals(1, itemDictionary.getId("shield"));
+    assertEquals(-1, itemDictionary.getId("torch"));
+    assertEquals("shield", itemDictionary.getItem(1));
+  }
+
+  @Test
+  public void testInternWithInvalidParameters() {
+    ItemDictionary itemDictionary = new ItemDictionary();
+    assertThrows(IllegalArgumentException.class, () -> {
+      itemDictionary.intern(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      itemDictionary.intern("  ");
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      itemDictionary.getItem(0);
+    });
+  }
+}
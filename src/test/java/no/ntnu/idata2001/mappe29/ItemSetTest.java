@@ -0,0 +1,67 @@
+package no.ntnu.idata2001.mappe29;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import no.ntnu.idata2001.mappe29.model.ItemSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ItemSet ItemSet} class.
+ * <p>The following positive tests are performed:</p>
+ * <ul>
+ *   <li><b>Positive</b> test that adds and removes item ids without changing the old sets.</li>
+ *   <li><b>Positive</b> test that stores item ids that need more than one level.</li>
+ * </ul>
+ * The following negative tests are performed:
+ *  <ul>
+ *     <li><b>Negative</b> test that tries to add an invalid item id.</li>
+ *  </ul>
+ *  </p>
+ */
+public class ItemSetTest {
+  @Test
+  public void testWithAndWithout() {
+    ItemSet first = ItemSet.EMPTY.with(3);
+    ItemSet second = first.with(40);
+    ItemSet third = second.without(3);
+    assertTrue(first.contains(3));
+    assertFalse(first.contains(40));
+    assertTrue(second.contains(3));
+    assertTrue(second.contains(40));
+    assertFalse(third.contains(3));
+    assertEquals(1, third.size());
+    assertEquals(0, ItemSet.EMPTY.size());
+    assertSame(second, second.with(40));
+    assertSame(third, third.without(3));
+    assertEquals(first, ItemSet.EMPTY.with(3));
+  }
+
+  @Test
+  public void testLargeItemIds() {
+    ItemSet itemSet = ItemSet.EMPTY.with(5).with(3000).with(100000).with(50000000);
+    assertTrue(itemSet.contains(5));
+    assertTrue(itemSet.contains(3000));
+    assertTrue(itemSet.contains(100000));
+    assertTrue(itemSet.contains(50000000));
+    assertFalse(itemSet.contains(2999));
+    BitSet bits = itemSet.toBitSet();
+    assertEquals(4, bits.cardinality());
+    assertEquals(itemSet, ItemSet.of(bits));
+    assertFalse(itemSet.without(100000).contains(100000));
+  }
+
+  @Test
+  public void testWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      ItemSet.EMPTY.with(-1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      ItemSet.of(null);
+    });
+  }
+}
@@ -0,0 +1,152 @@
+package no.ntnu.idata2001.mappe29;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.LinkEffect;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link LinkEffect LinkEffect} class.
+ * <p>The following positive tests are performed:</p>
+ * <ul>
+ *   <li><b>Positive</b> test that applies a fused effect and compares the result with executing
+ *   the actions one after the other, for several starting stats.</li>
+ *   <li><b>Positive</b> test that applies an effect that adds and removes items.</li>
+ *   <li><b>Positive</b> test that compiles the effect of a link again after an action was
+ *   added.</li>
+ * </ul>
+ * The following negative tests are performed:
+ *  <ul>
+ *     <li><b>Negative</b> test that tries to compile and apply effects with invalid parameters,
+ *     and checks that a failed effect does not change the player.</li>
+ *  </ul>
+ *  </p>
+ */
+public class LinkEffectTest {
+
+  /**
+   * Creates a player with the specified stats.
+   *
+   * @param health the specified health.
+   * @param score  the specified score.
+   * @param gold   the specified gold.
+   * @return the player.
+   */
+  private Player createPlayer(int health, int score, int gold) {
+    return new Player.PlayerBuilder().withName("James").withHealth(health).withScore(score)
+        .withGold(gold).build();
+  }
+
+  @Test
+  public void testApplyWithValidParameters() {
+    List<Action> actions = new ArrayList<>();
+    actions.add(new ReduceHealthAction(30));
+    actions.add(new AddHealthAction(50));
+    actions.add(new ReduceHealthAction(80));
+    actions.add(new AddScoreAction(10));
+    actions.add(new ReduceScoreAction(25));
+    actions.add(new AddScoreAction(5));
+    actions.add(new AddGoldAction(20));
+    actions.add(new ReduceGoldAction(50));
+    LinkEffect linkEffect = LinkEffect.compile(actions);
+    assertTrue(linkEffect.isFused());
+
+    int[] startingValues = {0, 1, 20, 40, 60, 90, 100};
+    for (int health : startingValues) {
+      for (int score : startingValues) {
+        Player fusedPlayer = this.createPlayer(health, score, 10);
+        Player sequentialPlayer = this.createPlayer(health, score, 10);
+        linkEffect.apply(fusedPlayer);
+        for (Action action : actions) {
+          action.execute(sequentialPlayer);
+        }
+        assertEquals(sequentialPlayer.getHealth(), fusedPlayer.getHealth());
+        assertEquals(sequentialPlayer.getScore(), fusedPlayer.getScore());
+        assertEquals(sequentialPlayer.getGold(), fusedPlayer.getGold());
+      }
+    }
+  }
+
+  @Test
+  public void testApplyWithItems() {
+    List<Action> actions = new ArrayList<>();
+    actions.add(new RemoveFromInventoryAction("Key"));
+    actions.add(new AddToInventoryAction("Sword"));
+    actions.add(new AddToInventoryAction("Torch"));
+    actions.add(new RemoveFromInventoryAction("Torch"));
+    LinkEffect linkEffect = LinkEffect.compile(actions);
+    assertTrue(linkEffect.isFused());
+
+    Player player = this.createPlayer(100, 0, 0);
+    player.addToInventory("Key");
+    linkEffect.apply(player);
+    assertEquals(List.of("Sword"), player.getInventory());
+  }
+
+  @Test
+  public void testGetEffectAfterAddingAction() {
+    Link link = new Link("Buy a sword", "shop_passage");
+    LinkEffect emptyEffect = link.getEffect();
+    assertEquals(0, emptyEffect.getActionCount());
+
+    link.addAction(new ReduceGoldAction(10));
+    LinkEffect linkEffect = link.getEffect();
+    assertNotSame(emptyEffect, linkEffect);
+    assertEquals(1, linkEffect.getActionCount());
+
+    Player player = this.createPlayer(100, 0, 30);
+    linkEffect.apply(player);
+    assertEquals(20, player.getGold());
+  }
+
+  @Test
+  public void testApplyWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      LinkEffect.compile(null);
+    });
+    List<Action> actionsWithNull = new ArrayList<>();
+    actionsWithNull.add(null);
+    assertThrows(IllegalArgumentException.class, () -> {
+      LinkEffect.compile(actionsWithNull);
+    });
+
+    List<Action> actions = new ArrayList<>();
+    actions.add(new AddGoldAction(50));
+    actions.add(new RemoveFromInventoryAction("Key"));
+    LinkEffect linkEffect = LinkEffect.compile(actions);
+    assertThrows(IllegalArgumentException.class, () -> {
+      linkEffect.apply(null);
+    });
+    Player player = this.createPlayer(100, 0, 0);
+    assertThrows(IllegalArgumentException.class, () -> {
+      linkEffect.apply(player);
+    });
+    assertEquals(0, player.getGold());
+
+    List<Action> failingActions = new ArrayList<>();
+    failingActions.add(new AddToInventoryAction("Key"));
+    failingActions.add(new AddToInventoryAction("Key"));
+    LinkEffect failingEffect = LinkEffect.compile(failingActions);
+    assertFalse(failingEffect.isFused());
+    assertThrows(IllegalArgumentException.class, () -> {
+      failingEffect.apply(this.createPlayer(100, 0, 0));
+    });
+  }
+}
@@ -5,9 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.LinkEffect;
 import no.ntnu.idata2001.mappe29.model.actions.Action;
 import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
 import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
@@ -23,7 +25,9 @@ import org.junit.jupiter.api.Test;
  *      <li><b>Positive</b> test that gets the text of the link.</li>
  *      <li><b>Positive</b> test that gets the reference of the link.</li>
  *      <li><b>Positive</b> test that adds an action to the link with valid parameters.</li>
- *      <li><b>Positive</b> test that gets the actions of the link.</li>
+ *      <li><b>Positive</b> test that removes an action from the link and compiles its effect
+ *      again.</li>
+ *      <li><b>Positive</b> test that gets the actions of the link, which cannot be modified.</li>
  *      <li><b>Positive</b> test that checks the toString method of the link.</li>
  *      <li><b>Positive</b> test that checks that two links with same reference are equal.</li>
  *      <li><b>Positive</b> test that checks that two equal links have the same hash code.</li>
@@ -33,6 +37,8 @@ import org.junit.jupiter.api.Test;
  *    <li><b>Negative</b> test that tries to create instances of {@link Link Link} with invalid
  *    parameters.</li>
  *    <li><b>Negative</b> test that tries to add an action to the link with invalid parameters.</li>
+ *    <li><b>Negative</b> test that tries to remove an action from the link with invalid
+ *    parameters.</li>
  *    <li><b>Negative</b> test that checks that two links with different references are
  *    not equal.</li>
  *    <li><b>Negative</b> test that checks that two links that are not equal do not have the same
@@ -97,6 +103,26 @@ public class LinkTest {
     });
   }
 
+  @Test
+  public void testRemoveAction() {
+    Link link = new Link("fight", "fight_passage");
+    Action increaseScore = new AddScoreAction(100);
+    Action increaseGold = new AddGoldAction(200);
+    link.addAction(increaseScore);
+    LinkEffect scoreEffect = link.getEffect();
+    link.removeAction(increaseScore);
+    link.addAction(increaseGold);
+    assertEquals(1, link.getActions().size());
+    assertNotSame(scoreEffect, link.getEffect());
+    assertEquals(1, link.getEffect().getActionCount());
+    assertThrows(IllegalArgumentException.class, () -> {
+      link.removeAction(increaseScore);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      link.removeAction(null);
+    });
+  }
+
   @Test
   public void testGetActions() {
     Link link = new Link("fight", "fight_passage");
@@ -106,6 +132,9 @@ public class LinkTest {
     link.addAction(increaseGold);
     assertEquals(increaseScore, link.getActions().get(0));
     assertEquals(increaseGold, link.getActions().get(1));
+    assertThrows(UnsupportedOperationException.class, () -> {
+      link.getActions().set(0, increaseGold);
+    });
   }
 
   @Test
@@ -0,0 +1,148 @@
+package no.ntnu.idata2001.mappe29;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.ItemDictionary;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.PlayerState;
+import no.ntnu.idata2001.mappe29.model.PlayerStatListener;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link PlayerState PlayerState} class.
+ * <p>The following positive tests are performed:</p>
+ * <ul>
+ *   <li><b>Positive</b> test that takes a snapshot and changes it without changing the
+ *   player.</li>
+ *   <li><b>Positive</b> test that follows links from a snapshot.</li>
+ *   <li><b>Positive</b> test that restores a player to a snapshot.</li>
+ * </ul>
+ * The following negative tests are performed:
+ *  <ul>
+ *     <li><b>Negative</b> test that tries to change a snapshot with invalid parameters.</li>
+ *  </ul>
+ *  </p>
+ */
+public class PlayerStateTest {
+
+  /**
+   * Creates a player with a sword and a lamp in the item dictionary, and a sword and a map in
+   * the inventory.
+   *
+   * @return the player.
+   */
+  public Player createPlayer() {
+    ItemDictionary itemDictionary = new ItemDictionary();
+    itemDictionary.intern("sword");
+    itemDictionary.intern("lamp");
+    List<String> inventory = new ArrayList<>();
+    inventory.add("sword");
+    inventory.add("map");
+    Player player = new Player.PlayerBuilder().withHealth(80).withScore(10).withGold(5)
+        .withInventory(inventory).build();
+    player.setItemDictionary(itemDictionary);
+    return player;
+  }
+
+  @Test
+  public void testSnapshot() {
+    Player player = this.createPlayer();
+    PlayerState state = player.snapshot();
+    PlayerState changedState = state.withHealth(20).withScore(0).withGold(-5)
+        .withItem("lamp").withoutItem("sword").withoutItem("map");
+    assertEquals(80, state.getHealth());
+    assertEquals(List.of("sword", "map"), state.getInventory());
+    assertEquals(20, changedState.getHealth());
+    assertEquals(0, changedState.getScore());
+    assertEquals(-5, changedState.getGold());
+    assertEquals(List.of("lamp"), changedState.getInventory());
+    assertTrue(changedState.hasItem("lamp"));
+    assertFalse(changedState.hasItem("map"));
+    assertEquals(80, player.getHealth());
+    assertEquals(List.of("sword", "map"), player.getInventory());
+  }
+
+  @Test
+  public void testFollow() {
+    PlayerState state = this.createPlayer().snapshot();
+    Link fightLink = new Link("Fight", "arena");
+    fightLink.addAction(new ReduceHealthAction(30));
+    fightLink.addAction(new AddGoldAction(10));
+    fightLink.addAction(new RemoveFromInventoryAction("sword"));
+    Link lampLink = new Link("Take the lamp twice", "cellar");
+    lampLink.addAction(new AddToInventoryAction("lamp"));
+    lampLink.addAction(new AddToInventoryAction("lamp"));
+
+    PlayerState afterFight = state.follow(fightLink);
+    assertEquals(50, afterFight.getHealth());
+    assertEquals(15, afterFight.getGold());
+    assertFalse(afterFight.hasItem("sword"));
+    assertTrue(state.hasItem("sword"));
+    assertThrows(IllegalArgumentException.class, () -> {
+      afterFight.follow(fightLink);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      state.follow(lampLink);
+    });
+  }
+
+  @Test
+  public void testRestore() {
+    Player player = this.createPlayer();
+    PlayerState state = player.snapshot();
+    List<String> changes = new ArrayList<>();
+    player.addStatListener(new PlayerStatListener() {
+      @Override
+      public void onHealthChanged(Player player, int oldHealth, int newHealth) {
+        changes.add("health " + newHealth);
+      }
+
+      @Override
+      public void onItemAdded(Player player, String item) {
+        changes.add("added " + item);
+      }
+    });
+    player.reduceHealth(50);
+    player.removeFromInventory("sword");
+    player.addGold(100);
+    player.restore(state);
+    assertEquals(80, player.getHealth());
+    assertEquals(5, player.getGold());
+    assertTrue(player.hasItem("sword"));
+    assertEquals(List.of("health 30", "health 80", "added sword"), changes);
+  }
+
+  @Test
+  public void testWithInvalidParameters() {
+    Player player = this.createPlayer();
+    PlayerState state = player.snapshot();
+    assertThrows(IllegalArgumentException.class, () -> {
+      state.withHealth(101);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      state.withScore(-1);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      state.withItem("sword");
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      state.withoutItem("lamp");
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      state.follow(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      player.restore(null);
+    });
+  }
+}
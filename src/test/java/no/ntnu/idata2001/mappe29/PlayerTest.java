@@ -8,7 +8,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
+import no.ntnu.idata2001.mappe29.model.ItemDictionary;
 import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.PlayerStatListener;
 import no.ntnu.idata2001.mappe29.model.goals.Goal;
 import org.junit.jupiter.api.Test;
 
@@ -38,6 +40,9 @@ import org.junit.jupiter.api.Test;
  *   <li><b>Positive</b> test that removes an item from the player's inventory.</li>
  *   <li><b>Positive</b> test that checks that the player is dead.</li>
  *   <li><b>Positive</b> test that checks that the player has a specified item.</li>
+ *   <li><b>Positive</b> test that notifies stat listeners of the stats that changed.</li>
+ *   <li><b>Positive</b> test that keeps the inventory when the item dictionary changes.</li>
+ *   <li><b>Positive</b> test that finds an item that was interned after it was stored.</li>
  * </ul>
  * The following negative tests are performed:
  *  <ul>
@@ -57,6 +62,8 @@ import org.junit.jupiter.api.Test;
  *     inventory.</li>
  *     <li><b>Negative</b> test that checks that the player is not dead.</li>
  *     <li><b>Negative</b> test that checks that the player does not have a specified item.</li>
+ *     <li><b>Negative</b> test that tries to add an invalid stat listener.</li>
+ *     <li><b>Negative</b> test that tries to set an invalid item dictionary.</li>
  *  </ul>
  *  </p>
  */
@@ -341,4 +348,110 @@ public class PlayerTest {
     Player player = new Player.PlayerBuilder().build();
     assertFalse(player.hasItem("beer"));
   }
+
+  @Test
+  public void testStatListener() {
+    Player player = new Player.PlayerBuilder().withHealth(90).build();
+    List<String> changes = new ArrayList<>();
+    PlayerStatListener statListener = new PlayerStatListener() {
+      @Override
+      public void onHealthChanged(Player player, int oldHealth, int newHealth) {
+        changes.add("health " + oldHealth + " " + newHealth);
+      }
+
+      @Override
+      public void onScoreChanged(Player player, int oldScore, int newScore) {
+        changes.add("score " + oldScore + " " + newScore);
+      }
+
+      @Override
+      public void onGoldChanged(Player player, int oldGold, int newGold) {
+        changes.add("gold " + oldGold + " " + newGold);
+      }
+
+      @Override
+      public void onItemAdded(Player player, String item) {
+        changes.add("added " + item);
+      }
+
+      @Override
+      public void onItemRemoved(Player player, String item) {
+        changes.add("removed " + item);
+      }
+    };
+    player.addStatListener(statListener);
+
+    player.addHealth(20);
+    player.addHealth(5);
+    player.reduceScore(10);
+    player.addGold(7);
+    player.addToInventory("beer");
+    player.resetStats();
+    assertEquals(List.of("health 90 100", "gold 0 7", "added beer", "gold 7 0", "removed beer"),
+        changes);
+
+    player.removeStatListener(statListener);
+    player.addScore(5);
+    assertEquals(5, changes.size());
+  }
+
+  @Test
+  public void testAddStatListenerWithInvalidParameters() {
+    Player player = new Player.PlayerBuilder().build();
+    assertThrows(IllegalArgumentException.class, () -> {
+      player.addStatListener(null);
+    });
+  }
+
+  @Test
+  public void testSetItemDictionary() {
+    Player player = new Player.PlayerBuilder().build();
+    player.addToInventory("socks");
+    player.addToInventory("hat");
+
+    ItemDictionary itemDictionary = new ItemDictionary();
+    itemDictionary.intern("sword");
+    itemDictionary.intern("hat");
+    player.setItemDictionary(itemDictionary);
+    assertTrue(player.hasItem("socks"));
+    assertTrue(player.hasItem("hat"));
+    assertTrue(player.getItemBits().get(itemDictionary.getId("hat")));
+    assertEquals(List.of("hat", "socks"), player.getInventory());
+
+    player.addToInventory("sword");
+    player.removeFromInventory("hat");
+    assertTrue(player.getItemBits().get(itemDictionary.getId("sword")));
+    assertFalse(player.hasItem("hat"));
+    assertEquals(List.of("sword", "socks"), player.getInventory());
+  }
+
+  @Test
+  public void testItemInternedAfterItWasStored() {
+    Player player = new Player.PlayerBuilder().build();
+    ItemDictionary itemDictionary = new ItemDictionary();
+    player.setItemDictionary(itemDictionary);
+    player.addToInventory("sword");
+    itemDictionary.intern("sword");
+    assertTrue(player.hasItem("sword"));
+    assertTrue(player.snapshot().hasItem("sword"));
+    assertThrows(IllegalArgumentException.class, () -> {
+      player.addToInventory("sword");
+    });
+    assertEquals(List.of("sword"), player.getInventory());
+
+    player.removeFromInventory("sword");
+    assertFalse(player.hasItem("sword"));
+    assertEquals(List.of(), player.getInventory());
+    player.addToInventory("sword");
+    assertTrue(player.getItemBits().get(itemDictionary.getId("sword")));
+    assertFalse(player.snapshot().withoutItem("sword").hasItem("sword"));
+  }
+
+  @Test
+  public void testSetItemDictionaryWithInvalidParameters() {
+    Player player = new Player.PlayerBuilder().build();
+    assertThrows(IllegalArgumentException.class, () -> {
+      player.setItemDictionary(null);
+    });
+  }
 }
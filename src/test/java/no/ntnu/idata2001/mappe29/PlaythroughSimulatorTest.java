@@ -0,0 +1,117 @@
+package no.ntnu.idata2001.mappe29;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.Game;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.PlaythroughSimulator;
+import no.ntnu.idata2001.mappe29.model.SimulationReport;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.GoldGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link PlaythroughSimulator PlaythroughSimulator}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that simulates playthroughs and checks the endings, deaths,
+ *      averages and goal success rates.</li>
+ *      <li><b>Positive</b> test that simulates the same playthroughs twice with the same
+ *      seed.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to create a simulator and simulate with invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class PlaythroughSimulatorTest {
+
+  /**
+   * Creates a game where the player finds a key, and then either opens a chest and succeeds or
+   * fights a troll and dies.
+   *
+   * @return the game.
+   */
+  public Game createGame() {
+    Passage openingPassage = new Passage("opening_passage", "You find a key");
+    Link takeKey = new Link("Take the key", "crossroads_passage");
+    takeKey.addAction(new AddToInventoryAction("key"));
+    openingPassage.addLink(takeKey);
+    Story story = new Story("Chest Adventure", openingPassage);
+
+    Passage crossroadsPassage = new Passage("crossroads_passage", "A chest and a troll");
+    Link openChest = new Link("Open the chest", "chest_story_success_passage");
+    openChest.addAction(new RemoveFromInventoryAction("key"));
+    openChest.addAction(new AddGoldAction(100));
+    Link fightTroll = new Link("Fight the troll", "troll_story_failed_passage");
+    fightTroll.addAction(new ReduceHealthAction(100));
+    crossroadsPassage.addLink(openChest);
+    crossroadsPassage.addLink(fightTroll);
+    story.addPassage(crossroadsPassage);
+    story.addPassage(new Passage("chest_story_success_passage", "You are rich"));
+    story.addPassage(new Passage("troll_story_failed_passage", "You died"));
+
+    List<Goal> goals = new ArrayList<>();
+    goals.add(new GoldGoal(100));
+    goals.add(new ItemGoal("key"));
+    Player player = new Player.PlayerBuilder().withGoals(new ArrayList<>()).build();
+    return new Game(player, story, goals);
+  }
+
+  @Test
+  public void testSimulateWithValidParameters() {
+    PlaythroughSimulator playthroughSimulator = new PlaythroughSimulator(this.createGame());
+    SimulationReport report = playthroughSimulator.simulate(10000, 42);
+
+    assertEquals(10000, report.getPlaythroughs());
+    assertEquals(10000, report.getSuccessCount() + report.getFailedCount());
+    assertEquals(report.getSuccessCount(),
+        report.getEndingCounts().get("chest_story_success_passage"));
+    assertEquals(report.getFailedCount(), report.getDeathCount());
+    assertEquals(0, report.getStuckCount());
+    assertTrue(report.getSuccessCount() > 4500 && report.getSuccessCount() < 5500);
+
+    double successRate = report.getSuccessCount() / 10000.0;
+    assertEquals(successRate * 100, report.getAverageGold(), 0.0001);
+    assertEquals(successRate * 100, report.getAverageHealth(), 0.0001);
+    assertEquals(successRate, report.getGoalSuccessRates().get(0), 0.0001);
+    assertEquals(1 - successRate, report.getGoalSuccessRates().get(1), 0.0001);
+  }
+
+  @Test
+  public void testSimulateWithSameSeed() {
+    PlaythroughSimulator playthroughSimulator = new PlaythroughSimulator(this.createGame());
+    SimulationReport report = playthroughSimulator.simulate(5000, 7);
+    SimulationReport otherReport = playthroughSimulator.simulate(5000, 7);
+    assertEquals(report.getEndingCounts(), otherReport.getEndingCounts());
+    assertEquals(report.getAverageScore(), otherReport.getAverageScore());
+  }
+
+  @Test
+  public void testSimulateWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new PlaythroughSimulator(null);
+    });
+    PlaythroughSimulator playthroughSimulator = new PlaythroughSimulator(this.createGame());
+    assertThrows(IllegalArgumentException.class, () -> {
+      playthroughSimulator.simulate(0, 42);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      playthroughSimulator.setMaximumSteps(0);
+    });
+  }
+}
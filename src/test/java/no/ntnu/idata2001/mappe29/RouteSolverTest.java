@@ -0,0 +1,168 @@
+package no.ntnu.idata2001.mappe29;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import no.ntnu.idata2001.mappe29.model.Game;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.Route;
+import no.ntnu.idata2001.mappe29.model.RouteSolver;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.goals.GoldGoal;
+import no.ntnu.idata2001.mappe29.model.goals.HealthGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ScoreGoal;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link RouteSolver RouteSolver}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that finds the route with the most score.</li>
+ *      <li><b>Positive</b> test that finds the route with the most gold through a loop.</li>
+ *      <li><b>Positive</b> test that finds the shortest routes that fulfill goals.</li>
+ *      <li><b>Positive</b> test that stops the search at the label limit.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to create a solver and find routes with invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class RouteSolverTest {
+
+  /**
+   * Creates a game where the player can take a key to open a chest, explore a dangerous cave for
+   * score, or sell trinkets for gold as many times as they want.
+   *
+   * @return the game.
+   */
+  public Game createGame() {
+    Passage openingPassage = new Passage("opening_passage", "You find a key");
+    Link takeKey = new Link("Take the key", "hall_passage");
+    takeKey.addAction(new AddToInventoryAction("key"));
+    openingPassage.addLink(takeKey);
+    openingPassage.addLink(new Link("Leave the key", "hall_passage"));
+    Story story = new Story("Cave Adventure", openingPassage);
+
+    Passage hallPassage = new Passage("hall_passage", "A chest, a troll and a cave");
+    Link openChest = new Link("Open the chest", "chest_story_success_passage");
+    openChest.addAction(new RemoveFromInventoryAction("key"));
+    openChest.addAction(new AddScoreAction(50));
+    Link fightTroll = new Link("Fight the troll", "troll_story_failed_passage");
+    fightTroll.addAction(new ReduceHealthAction(100));
+    Link exploreCave = new Link("Explore the cave", "cave_passage");
+    exploreCave.addAction(new ReduceHealthAction(30));
+    exploreCave.addAction(new AddScoreAction(5));
+    Link sellTrinket = new Link("Sell a trinket", "hall_passage");
+    sellTrinket.addAction(new AddGoldAction(10));
+    hallPassage.addLink(openChest);
+    hallPassage.addLink(fightTroll);
+    hallPassage.addLink(exploreCave);
+    hallPassage.addLink(sellTrinket);
+    story.addPassage(hallPassage);
+
+    Passage cavePassage = new Passage("cave_passage", "It is dark");
+    cavePassage.addLink(new Link("Return", "hall_passage"));
+    story.addPassage(cavePassage);
+    story.addPassage(new Passage("chest_story_success_passage", "You are rich"));
+    story.addPassage(new Passage("troll_story_failed_passage", "You died"));
+
+    Player player = new Player.PlayerBuilder().withGoals(new ArrayList<>()).build();
+    return new Game(player, story, List.of(new HealthGoal(1)));
+  }
+
+  /**
+   * Gets the texts of the links of the specified route.
+   *
+   * @param route the specified route.
+   * @return the texts of the links.
+   */
+  private List<String> getLinkTexts(Route route) {
+    List<String> linkTexts = new ArrayList<>();
+    for (Link link : route.getLinks()) {
+      linkTexts.add(link.getText());
+    }
+    return linkTexts;
+  }
+
+  @Test
+  public void testFindMaximumScoreRoute() {
+    Route route = new RouteSolver(this.createGame()).findMaximumScoreRoute().orElseThrow();
+    assertEquals(65, route.getScore());
+    assertEquals(10, route.getHealth());
+    assertEquals(10, route.getGold());
+    assertEquals(List.of("Take the key", "Explore the cave", "Return", "Explore the cave",
+        "Return", "Explore the cave", "Return", "Sell a trinket", "Open the chest"),
+        this.getLinkTexts(route));
+    assertEquals("chest_story_success_passage", route.getEnding().getTitle());
+    assertFalse(route.isUnbounded());
+    assertTrue(route.isComplete());
+  }
+
+  @Test
+  public void testFindMaximumGoldRoute() {
+    Route route = new RouteSolver(this.createGame()).findMaximumGoldRoute().orElseThrow();
+    assertEquals(10, route.getGold());
+    assertEquals(65, route.getScore());
+    assertEquals("Sell a trinket", route.getLinks().get(route.getLinks().size() - 2).getText());
+    assertTrue(route.isUnbounded());
+  }
+
+  @Test
+  public void testFindRoute() {
+    RouteSolver solver = new RouteSolver(this.createGame());
+    Route goldRoute = solver.findRoute(List.of(new GoldGoal(30))).orElseThrow();
+    assertEquals(List.of("Take the key", "Sell a trinket", "Sell a trinket", "Sell a trinket",
+        "Open the chest"), this.getLinkTexts(goldRoute));
+    Route scoreRoute = solver.findRoute(List.of(new ScoreGoal(60), new HealthGoal(40)))
+        .orElseThrow();
+    assertEquals(6, scoreRoute.getLinks().size());
+    assertEquals(60, scoreRoute.getScore());
+    assertTrue(solver.findRoute(new ArrayList<>()).isPresent());
+    assertFalse(solver.findRoute(List.of(new HealthGoal(101))).isPresent());
+    assertFalse(solver.findRoute(List.of(new ItemGoal("key"))).isPresent());
+    assertFalse(solver.findRoute(List.of(new ItemGoal("sword"))).isPresent());
+  }
+
+  @Test
+  public void testMaximumLabels() {
+    RouteSolver solver = new RouteSolver(this.createGame());
+    solver.setMaximumLabels(8);
+    Optional<Route> route = solver.findMaximumScoreRoute();
+    assertTrue(route.isEmpty() || !route.get().isComplete());
+    assertEquals(8, solver.getMaximumLabels());
+  }
+
+  @Test
+  public void testCreationWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new RouteSolver(null);
+    });
+    RouteSolver solver = new RouteSolver(this.createGame());
+    assertThrows(IllegalArgumentException.class, () -> {
+      solver.setMaximumLabels(0);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      solver.findRoute(null);
+    });
+    List<ItemGoal> goals = new ArrayList<>();
+    goals.add(null);
+    assertThrows(IllegalArgumentException.class, () -> {
+      solver.findRoute(new ArrayList<>(goals));
+    });
+  }
+}
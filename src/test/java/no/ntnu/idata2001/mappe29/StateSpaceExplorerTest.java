@@ -0,0 +1,137 @@
+package no.ntnu.idata2001.mappe29;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.Game;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.StateSpaceExplorer;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.HealthGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link StateSpaceExplorer StateSpaceExplorer}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that explores a story with a loop and checks which passages can
+ *      be reached.</li>
+ *      <li><b>Positive</b> test that checks which goals can be fulfilled together.</li>
+ *      <li><b>Positive</b> test that finds the choices that are always fatal.</li>
+ *      <li><b>Positive</b> test that stops the exploration at the memory budget.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to create an explorer and ask it questions with invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class StateSpaceExplorerTest {
+  private Story story;
+
+  /**
+   * Creates a game where the player can walk around a hall and get tired, and open a chest with
+   * a key or fight a troll.
+   *
+   * @return the game.
+   */
+  public Game createGame() {
+    Passage openingPassage = new Passage("opening_passage", "You find a key");
+    Link takeKey = new Link("Take the key", "hall_passage");
+    takeKey.addAction(new AddToInventoryAction("key"));
+    Link leaveKey = new Link("Leave the key", "hall_passage");
+    openingPassage.addLink(takeKey);
+    openingPassage.addLink(leaveKey);
+    this.story = new Story("Chest Adventure", openingPassage);
+
+    Passage hallPassage = new Passage("hall_passage", "A chest, a troll and a corridor");
+    Link openChest = new Link("Open the chest", "chest_story_success_passage");
+    openChest.addAction(new RemoveFromInventoryAction("key"));
+    Link fightTroll = new Link("Fight the troll", "troll_story_failed_passage");
+    fightTroll.addAction(new ReduceHealthAction(100));
+    Link walkAround = new Link("Walk around", "hall_passage");
+    walkAround.addAction(new ReduceHealthAction(10));
+    hallPassage.addLink(openChest);
+    hallPassage.addLink(fightTroll);
+    hallPassage.addLink(walkAround);
+    this.story.addPassage(hallPassage);
+    this.story.addPassage(new Passage("chest_story_success_passage", "You are rich"));
+    this.story.addPassage(new Passage("troll_story_failed_passage", "You died"));
+    this.story.addPassage(new Passage("secret_passage", "Nobody comes here"));
+
+    List<Goal> goals = new ArrayList<>();
+    goals.add(new HealthGoal(1));
+    Player player = new Player.PlayerBuilder().withGoals(new ArrayList<>()).build();
+    return new Game(player, this.story, goals);
+  }
+
+  @Test
+  public void testIsReachable() {
+    Game game = this.createGame();
+    Player player = game.getPlayer();
+    StateSpaceExplorer explorer = new StateSpaceExplorer(game, 1024 * 1024);
+    assertTrue(explorer.isComplete());
+    assertTrue(explorer.isReachable(this.story.getPassageByTitle("chest_story_success_passage")));
+    assertTrue(explorer.isReachable(this.story.getPassageByTitle("troll_story_failed_passage")));
+    assertFalse(explorer.isReachable(this.story.getPassageByTitle("secret_passage")));
+    assertEquals(100, player.getHealth());
+  }
+
+  @Test
+  public void testCanBeFulfilledTogether() {
+    StateSpaceExplorer explorer = new StateSpaceExplorer(this.createGame(), 1024 * 1024);
+    assertTrue(explorer.canBeFulfilledTogether(List.of(new HealthGoal(100))));
+    assertTrue(explorer.canBeFulfilledTogether(List.of(new ItemGoal("key"))));
+    assertFalse(explorer.canBeFulfilledTogether(List.of(new ItemGoal("key"),
+        new HealthGoal(1))));
+    assertFalse(explorer.canBeFulfilledTogether(List.of(new ItemGoal("sword"))));
+  }
+
+  @Test
+  public void testGetFatalChoices() {
+    StateSpaceExplorer explorer = new StateSpaceExplorer(this.createGame(), 1024 * 1024);
+    assertFalse(explorer.isDoomedFromStart());
+    List<String> fatalChoices = new ArrayList<>();
+    for (Link link : explorer.getFatalChoices()) {
+      fatalChoices.add(link.getText());
+    }
+    assertEquals(List.of("Leave the key", "Fight the troll"), fatalChoices);
+  }
+
+  @Test
+  public void testMemoryBudget() {
+    StateSpaceExplorer smallExplorer = new StateSpaceExplorer(this.createGame(), 1000);
+    assertFalse(smallExplorer.isComplete());
+    StateSpaceExplorer largeExplorer = new StateSpaceExplorer(this.createGame(), 1024 * 1024);
+    assertTrue(smallExplorer.getStateCount() < largeExplorer.getStateCount());
+  }
+
+  @Test
+  public void testCreationWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new StateSpaceExplorer(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new StateSpaceExplorer(this.createGame(), 0);
+    });
+    StateSpaceExplorer explorer = new StateSpaceExplorer(this.createGame(), 1024 * 1024);
+    assertThrows(IllegalArgumentException.class, () -> {
+      explorer.isReachable(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      explorer.canBeFulfilledTogether(null);
+    });
+  }
+}
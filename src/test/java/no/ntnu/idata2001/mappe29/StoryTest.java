@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -30,13 +31,18 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  *      parameters.</li>
  *      <li><b>Positive</b> test that gets a passage in the story.</li>
  *      <li><b>Positive</b> test that gets all passages in the story.</li>
+ *      <li><b>Positive</b> test that gets a passage in the story by its title.</li>
  *      <li><b>Positive</b> test that checks if a link refers to a passage in the passage
  *      of the story, with valid parameters.</li>
  *      <li><b>Positive</b> test that checks if other passages in the story link to a passage,
  *      with valid parameters.</li>
+ *      <li><b>Positive</b> test that gets the links and passages in the story that link to a
+ *      passage, with valid parameters.</li>
  *      <li><b>Positive</b> test that removes a passage from the story, with valid parameters.</li>
  *      <li><b>Positive</b> test that gets the broken links of a story with broken links a
  *      passage</li>
+ *      <li><b>Positive</b> test that keeps the broken links of a story up to date when links and
+ *      passages are added and removed.</li>
  *  </ul>
  * <p>The following negative tests are performed:
  * <ul>
@@ -50,6 +56,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  *    the story with invalid parameters.</li>
  *    <li><b>Negative</b> test that tries to check if other passages in the story link to a passage,
  *    with invalid parameters.</li>
+ *    <li><b>Negative</b> test that tries to get the links and passages in the story that link to
+ *    a passage, with invalid parameters.</li>
  *    <li><b>Negative</b> test that tries to remove a passage from the story, with invalid
  *    parameters.</li>
  *    <li><b>Negative</b> test that tries to get the broken links of a story without broken
@@ -246,6 +254,19 @@ public class StoryTest {
     assertTrue(story.getPassages().stream().toList().contains(runAwayPassage));
   }
 
+  @Test
+  public void testGetPassageByTitle() {
+    Passage openingPassage = this.createOpeningPassage();
+    Story story = new Story("Troll Adventure", openingPassage);
+
+    Passage attackTrollPassage = this.createAttackTrollPassage();
+    story.addPassage(attackTrollPassage);
+
+    assertEquals(attackTrollPassage, story.getPassageByTitle("attack_troll_passage"));
+    assertEquals(openingPassage, story.getPassageByTitle("opening_passage"));
+    assertNull(story.getPassageByTitle("run_away_passage"));
+  }
+
   @Test
   public void testdoesLinkReferToAPassageInPassagesWithValidParameters() {
     Passage openingPassage = new Passage("opening_passage", "You see a big ugly troll");
@@ -323,6 +344,57 @@ public class StoryTest {
     });
   }
 
+  @Test
+  public void testGetLinksAndPassagesLinkingToPassageWithValidParameters() {
+    Passage openingPassage = this.createOpeningPassage();
+    Story story = new Story("Troll Adventure", openingPassage);
+
+    Passage attackTrollPassage = this.createAttackTrollPassage();
+    Passage runAwayPassage = this.createRunAwayPassage();
+    Link attackAgain = new Link("Attack the troll again", "attack_troll_passage");
+    Link fightBack = new Link("Fight back", "attack_troll_passage");
+    runAwayPassage.addLink(attackAgain);
+    runAwayPassage.addLink(fightBack);
+
+    assertDoesNotThrow(() -> {
+      story.addAllPassages(attackTrollPassage, runAwayPassage);
+    });
+
+    assertEquals(3, story.getLinksToPassage(attackTrollPassage).size());
+    List<Passage> passagesLinkingToAttackTroll =
+        story.getPassagesLinkingToPassage(attackTrollPassage);
+    assertEquals(2, passagesLinkingToAttackTroll.size());
+    assertTrue(passagesLinkingToAttackTroll.get(0) == openingPassage);
+    assertTrue(passagesLinkingToAttackTroll.get(1) == runAwayPassage);
+    assertTrue(story.getPassagesLinkingToPassage(openingPassage).isEmpty());
+
+    runAwayPassage.removeLink(attackAgain);
+    assertEquals(2, story.getLinksToPassage(attackTrollPassage).size());
+    assertEquals(2, story.getPassagesLinkingToPassage(attackTrollPassage).size());
+    runAwayPassage.removeLink(fightBack);
+    assertEquals(1, story.getPassagesLinkingToPassage(attackTrollPassage).size());
+
+    Link untrackedLink = new Link("Hide behind the troll", "attack_troll_passage");
+    runAwayPassage.getLinks().add(0, untrackedLink);
+    runAwayPassage.removeLink(untrackedLink);
+    assertTrue(story.doOtherPassagesLinkToPassage(attackTrollPassage));
+    assertTrue(story.getLinksToPassage(attackTrollPassage).get(0)
+        == openingPassage.getLinks().get(0));
+  }
+
+  @Test
+  public void testGetLinksAndPassagesLinkingToPassageWithInvalidParameters() {
+    Passage openingPassage = this.createOpeningPassage();
+    Story story = new Story("Troll Adventure", openingPassage);
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      story.getLinksToPassage(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      story.getPassagesLinkingToPassage(null);
+    });
+  }
+
   @Test
   public void testRemovePassageWithValidParameters() {
     Passage openingPassage = new Passage("opening_passage", "You see a big ugly troll");
@@ -422,4 +494,51 @@ public class StoryTest {
     });
   }
 
+  @Test
+  public void testHasBrokenLinksIsUpdatedIncrementally() {
+    Passage openingPassage = this.createOpeningPassage();
+    Story story = new Story("Troll Adventure", openingPassage);
+    assertTrue(story.hasBrokenLinks());
+
+    Passage attackTrollPassage = new Passage("attack_troll_passage",
+        "How do you want to attack?");
+    Passage runAwayPassage = new Passage("run_away_passage",
+        "The troll sees you and runs after you.");
+    assertDoesNotThrow(() -> {
+      story.addAllPassages(attackTrollPassage, runAwayPassage);
+    });
+    assertFalse(story.hasBrokenLinks());
+
+    Link keepRunning = new Link("Keep running", "keep_running_passage");
+    runAwayPassage.addLink(keepRunning);
+    assertTrue(story.hasBrokenLinks());
+    AtomicReference<List<Link>> brokenLinks = new AtomicReference<>(new ArrayList<>());
+    assertDoesNotThrow(() -> {
+      brokenLinks.set(story.getBrokenLinks());
+    });
+    assertEquals(1, brokenLinks.get().size());
+    assertTrue(brokenLinks.get().get(0) == keepRunning);
+
+    runAwayPassage.removeLink(keepRunning);
+    assertFalse(story.hasBrokenLinks());
+
+    runAwayPassage.addLink(keepRunning);
+    story.addPassage(new Passage("keep_running_passage", "The troll catches up to you."));
+    assertFalse(story.hasBrokenLinks());
+  }
+
+  @Test
+  public void testRemovingAnUntrackedLinkKeepsTheBrokenLinks() {
+    Passage openingPassage = this.createOpeningPassage();
+    Story story = new Story("Troll Adventure", openingPassage);
+    Link untrackedLink = new Link("Hide from the troll", "run_away_passage");
+    openingPassage.getLinks().add(0, untrackedLink);
+
+    openingPassage.removeLink(untrackedLink);
+    AtomicReference<List<Link>> brokenLinks = new AtomicReference<>(new ArrayList<>());
+    assertDoesNotThrow(() -> {
+      brokenLinks.set(story.getBrokenLinks());
+    });
+    assertEquals(2, brokenLinks.get().size());
+  }
 }
@@ -0,0 +1,208 @@
+package no.ntnu.idata2001.mappe29.filehandling;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.UnknownActionException;
+import no.ntnu.idata2001.mappe29.model.filehandling.BinaryStoryFormat;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileConverter;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileFormatter;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileManager;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the classes {@link BinaryStoryFormat BinaryStoryFormat} and
+ * {@link StoryFileConverter StoryFileConverter}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that writes a story with every type of action in the binary
+ *      format and reads it back.</li>
+ *      <li><b>Positive</b> test that converts a text story file to a binary story file and
+ *      back.</li>
+ *      <li><b>Positive</b> test that imports a binary story file from a directory.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to read corrupt binary story files, a binary story file
+ *    whose checksum does not match, and a binary story file with an invalid title.</li>
+ *    <li><b>Negative</b> test that tries to write and read stories with invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class BinaryStoryFormatTest {
+  @TempDir
+  Path storyDirectory;
+
+  /**
+   * Creates a story with every type of action.
+   *
+   * @param brokenLink true if the story should have a broken link, false otherwise.
+   * @return the story.
+   */
+  public Story createStory(boolean brokenLink) {
+    Passage openingPassage = new Passage("opening_passage", "Et stygt troll på åsen");
+    Link attackTroll = new Link("Attack the troll", "attack_troll_passage");
+    attackTroll.addAction(new ReduceHealthAction(30));
+    attackTroll.addAction(new AddScoreAction(50));
+    attackTroll.addAction(new AddToInventoryAction("troll_tooth"));
+    Link runAway = new Link("Run away", "run_away_passage");
+    runAway.addAction(new ReduceScoreAction(10));
+    runAway.addAction(new ReduceGoldAction(5));
+    openingPassage.addLink(attackTroll);
+    openingPassage.addLink(runAway);
+    Story story = new Story("Trollskogen", openingPassage);
+
+    Passage attackTrollPassage = new Passage("attack_troll_passage", "The troll is defeated");
+    Link sellTooth = new Link("Sell the tooth", "opening_passage");
+    sellTooth.addAction(new RemoveFromInventoryAction("troll_tooth"));
+    sellTooth.addAction(new AddGoldAction(100));
+    sellTooth.addAction(new AddHealthAction(20));
+    attackTrollPassage.addLink(sellTooth);
+    if (brokenLink) {
+      attackTrollPassage.addLink(new Link("Open the secret door", "secret_passage"));
+    }
+    story.addPassage(attackTrollPassage);
+    story.addPassage(new Passage("run_away_passage", "You are safe, but ashamed"));
+    return story;
+  }
+
+  /**
+   * Writes the specified story in the binary format.
+   *
+   * @param story the specified story.
+   * @return the bytes of the binary story file.
+   * @throws Exception if the story cannot be written.
+   */
+  private byte[] writeStory(Story story) throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    new BinaryStoryFormat().writeStory(story, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  @Test
+  public void testWriteAndReadStory() throws Exception {
+    Story story = this.createStory(true);
+    Story readStory = new BinaryStoryFormat().readStory(this.writeStory(story));
+    StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
+    assertEquals(storyFileFormatter.formatStory(story),
+        storyFileFormatter.formatStory(readStory));
+    assertEquals("Trollskogen", readStory.getTitle());
+    assertEquals("/images/icons/story_icon.png", readStory.getImagePath());
+    assertTrue(readStory.hasBrokenLinks());
+    assertTrue(readStory.getItemDictionary().getId("troll_tooth") >= 0);
+
+    Player player = new Player.PlayerBuilder().build();
+    readStory.getOpeningPassage().getLinks().get(0).getEffect().apply(player);
+    assertEquals(70, player.getHealth());
+    assertTrue(player.hasItem("troll_tooth"));
+  }
+
+  @Test
+  public void testConvertStoryFiles() throws Exception {
+    Path textPath = this.storyDirectory.resolve("troll.paths");
+    Files.write(textPath, new StoryFileFormatter().formatStory(this.createStory(true)),
+        StandardCharsets.UTF_8);
+    Path binaryPath = StoryFileConverter.getBinaryPath(textPath);
+    assertEquals("troll.pathsb", binaryPath.getFileName().toString());
+
+    StoryFileConverter storyFileConverter = new StoryFileConverter();
+    storyFileConverter.convertToBinary(textPath, binaryPath);
+    Path convertedTextPath = this.storyDirectory.resolve("converted.paths");
+    storyFileConverter.convertToText(binaryPath, convertedTextPath);
+    assertEquals(Files.readAllLines(textPath, StandardCharsets.UTF_8),
+        Files.readAllLines(convertedTextPath, StandardCharsets.UTF_8));
+    assertTrue(Files.size(binaryPath) < Files.size(textPath) * 2);
+  }
+
+  @Test
+  public void testImportBinaryStoryFile() throws Exception {
+    Story story = this.createStory(false);
+    Files.write(this.storyDirectory.resolve("troll.pathsb"), this.writeStory(story));
+    Files.writeString(this.storyDirectory.resolve("notes.txt"), "Not a story");
+
+    StoryImportResult importResult = new StoryFileManager(new StoryFileFormatter())
+        .importStories(this.storyDirectory);
+    assertFalse(importResult.hasFailedFiles());
+    assertEquals(1, importResult.getStories().size());
+    assertEquals("Trollskogen", importResult.getStories().get(0).getTitle());
+  }
+
+  @Test
+  public void testReadCorruptStory() throws Exception {
+    BinaryStoryFormat binaryStoryFormat = new BinaryStoryFormat();
+    byte[] bytes = this.writeStory(this.createStory(true));
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory(Arrays.copyOf(bytes, bytes.length - 3));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory(Arrays.copyOf(bytes, bytes.length + 1));
+    });
+    byte[] newerVersion = bytes.clone();
+    newerVersion[5] = 4;
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory(newerVersion);
+    });
+    byte[] hugePassageCount = bytes.clone();
+    hugePassageCount[10] = 0x7F;
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory(hugePassageCount);
+    });
+    byte[] changedContent = bytes.clone();
+    changedContent[bytes.length - 1]++;
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory(changedContent);
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory("Trollskogen".getBytes(StandardCharsets.UTF_8));
+    });
+    Story invalidTitleStory = new Story("Trollskogen 2", this.createStory(false)
+        .getOpeningPassage());
+    byte[] invalidTitle = this.writeStory(invalidTitleStory);
+    assertThrows(CorruptStoryException.class, () -> {
+      binaryStoryFormat.readStory(invalidTitle);
+    });
+  }
+
+  @Test
+  public void testWithInvalidParameters() {
+    BinaryStoryFormat binaryStoryFormat = new BinaryStoryFormat();
+    assertThrows(IllegalArgumentException.class, () -> {
+      binaryStoryFormat.writeStory(null, new ByteArrayOutputStream());
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      binaryStoryFormat.readStory((byte[]) null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new StoryFileConverter().convertToBinary(this.storyDirectory.resolve("a.paths"), null);
+    });
+    Story story = this.createStory(true);
+    story.getOpeningPassage().getLinks().get(0).addAction(player -> {
+    });
+    assertThrows(UnknownActionException.class, () -> {
+      this.writeStory(story);
+    });
+  }
+}
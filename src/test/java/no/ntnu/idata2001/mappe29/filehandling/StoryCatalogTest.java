@@ -0,0 +1,206 @@
+package no.ntnu.idata2001.mappe29.filehandling;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.zip.CRC32;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.filehandling.BinaryStoryFormat;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalog;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryCatalogEntry;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link StoryCatalog StoryCatalog}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that scans a library with a text and a binary story file.</li>
+ *      <li><b>Positive</b> test that scanning again only reads the changed story files.</li>
+ *      <li><b>Positive</b> test that a new catalog reads the unchanged entries from the index
+ *      file instead of the story files.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that scans a library with corrupt story files and a story file
+ *    with an invalid title.</li>
+ *    <li><b>Negative</b> test that tries to create a catalog and read an entry with invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class StoryCatalogTest {
+  @TempDir
+  Path libraryDirectory;
+
+  /**
+   * Creates a story with the specified title and number of passages.
+   *
+   * @param title        the title of the story.
+   * @param passageCount the number of passages.
+   * @return the story.
+   */
+  public Story createStory(String title, int passageCount) {
+    Passage openingPassage = new Passage("passage_0", "The first room");
+    openingPassage.addLink(new Link("Go on", "passage_1"));
+    Story story = new Story(title, openingPassage);
+    for (int index = 1; index < passageCount; index++) {
+      Passage passage = new Passage("passage_" + index, "Room number " + index);
+      if (index + 1 < passageCount) {
+        Link link = new Link("Go on", "passage_" + (index + 1));
+        link.addAction(new AddScoreAction(index));
+        passage.addLink(link);
+      }
+      story.addPassage(passage);
+    }
+    return story;
+  }
+
+  /**
+   * Writes the specified story as a text story file in the library directory.
+   *
+   * @param story    the specified story.
+   * @param fileName the file name of the story file.
+   * @return the path of the story file.
+   * @throws Exception if the story cannot be written.
+   */
+  private Path writeTextStory(Story story, String fileName) throws Exception {
+    StringWriter writer = new StringWriter();
+    new StoryFileFormatter().writeStory(story, writer);
+    return Files.writeString(this.libraryDirectory.resolve(fileName), writer.toString(),
+        StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Gets the CRC-32 checksum of the bytes of the file at the specified path, starting at the
+   * specified offset.
+   *
+   * @param path   the specified path.
+   * @param offset the specified offset.
+   * @return the checksum of the bytes.
+   * @throws Exception if the file cannot be read.
+   */
+  private static long getChecksum(Path path, int offset) throws Exception {
+    byte[] bytes = Files.readAllBytes(path);
+    CRC32 checksum = new CRC32();
+    checksum.update(bytes, offset, bytes.length - offset);
+    return checksum.getValue();
+  }
+
+  @Test
+  public void testScanLibrary() throws Exception {
+    Path textPath = this.writeTextStory(this.createStory("Caves", 4), "caves.paths");
+    Path binaryPath = this.libraryDirectory.resolve("towers.pathsb");
+    new BinaryStoryFormat().writeStory(this.createStory("Towers", 7), binaryPath);
+
+    StoryCatalog storyCatalog = new StoryCatalog(this.libraryDirectory);
+    List<StoryCatalogEntry> entries = storyCatalog.scan();
+    assertEquals(2, entries.size());
+    StoryCatalogEntry textEntry = entries.get(0);
+    assertEquals("Caves", textEntry.getTitle());
+    assertEquals(4, textEntry.getPassageCount());
+    assertEquals(Files.size(textPath), textEntry.getSize());
+    assertEquals(getChecksum(textPath, 0), textEntry.getChecksum());
+    StoryCatalogEntry binaryEntry = entries.get(1);
+    assertEquals("Towers", binaryEntry.getTitle());
+    assertEquals(7, binaryEntry.getPassageCount());
+    assertEquals(Files.size(binaryPath), binaryEntry.getSize());
+    assertEquals(getChecksum(binaryPath, 18 + "Towers".length()),
+        binaryEntry.getChecksum());
+    assertTrue(storyCatalog.getFailedFiles().isEmpty());
+
+    StoryCatalog emptyCatalog = new StoryCatalog(this.libraryDirectory.resolve("missing"));
+    assertTrue(emptyCatalog.scan().isEmpty());
+  }
+
+  @Test
+  public void testScanAgainReadsChangedFiles() throws Exception {
+    this.writeTextStory(this.createStory("Caves", 4), "caves.paths");
+    Path binaryPath = this.libraryDirectory.resolve("towers.pathsb");
+    new BinaryStoryFormat().writeStory(this.createStory("Towers", 7), binaryPath);
+    StoryCatalog storyCatalog = new StoryCatalog(this.libraryDirectory);
+    List<StoryCatalogEntry> firstEntries = storyCatalog.scan();
+
+    new BinaryStoryFormat().writeStory(this.createStory("Towers", 9), binaryPath);
+    Files.setLastModifiedTime(binaryPath, FileTime.fromMillis(1000));
+    List<StoryCatalogEntry> secondEntries = storyCatalog.scan();
+    assertSame(firstEntries.get(0), secondEntries.get(0));
+    assertNotSame(firstEntries.get(1), secondEntries.get(1));
+    assertEquals(9, secondEntries.get(1).getPassageCount());
+  }
+
+  @Test
+  public void testScanWithIndexFile() throws Exception {
+    Path textPath = this.writeTextStory(this.createStory("Caves", 4), "caves.paths");
+    Path binaryPath = this.libraryDirectory.resolve("towers.pathsb");
+    new BinaryStoryFormat().writeStory(this.createStory("Towers", 7), binaryPath);
+    Path indexFile = this.libraryDirectory.resolve("cache").resolve("catalog.index");
+    new StoryCatalog(this.libraryDirectory, indexFile).scan();
+    assertTrue(Files.isRegularFile(indexFile));
+
+    String textContents = Files.readString(textPath);
+    FileTime textModifiedTime = Files.getLastModifiedTime(textPath);
+    Files.writeString(textPath, "O" + textContents.substring(1));
+    Files.setLastModifiedTime(textPath, textModifiedTime);
+    List<StoryCatalogEntry> entries = new StoryCatalog(this.libraryDirectory, indexFile).scan();
+    assertEquals(2, entries.size());
+    assertEquals("Caves", entries.get(0).getTitle());
+    assertEquals("Towers", entries.get(1).getTitle());
+
+    Files.delete(binaryPath);
+    Files.setLastModifiedTime(textPath, FileTime.fromMillis(1000));
+    new StoryCatalog(this.libraryDirectory, indexFile).scan();
+    entries = new StoryCatalog(this.libraryDirectory, indexFile).scan();
+    assertEquals(1, entries.size());
+    assertEquals("Oaves", entries.get(0).getTitle());
+
+    Files.write(indexFile, new byte[] {1, 2, 3});
+    assertEquals(1, new StoryCatalog(this.libraryDirectory, indexFile).scan().size());
+  }
+
+  @Test
+  public void testScanCorruptStoryFiles() throws Exception {
+    this.writeTextStory(this.createStory("Caves", 4), "caves.paths");
+    Path emptyPath = Files.writeString(this.libraryDirectory.resolve("empty.paths"), "");
+    Path corruptPath = Files.write(this.libraryDirectory.resolve("corrupt.pathsb"),
+        new byte[] {1, 2, 3});
+    Path invalidTitlePath = Files.writeString(this.libraryDirectory.resolve("invalid.paths"),
+        "Caves 2\n\n::passage_0\nThe first room\n");
+
+    StoryCatalog storyCatalog = new StoryCatalog(this.libraryDirectory);
+    List<StoryCatalogEntry> entries = storyCatalog.scan();
+    assertEquals(1, entries.size());
+    assertEquals("Caves", entries.get(0).getTitle());
+    assertEquals(3, storyCatalog.getFailedFiles().size());
+    assertTrue(storyCatalog.getFailedFiles().containsKey(emptyPath));
+    assertTrue(storyCatalog.getFailedFiles().containsKey(corruptPath));
+    assertTrue(storyCatalog.getFailedFiles().containsKey(invalidTitlePath));
+    assertThrows(CorruptStoryException.class, () -> {
+      StoryCatalog.readEntry(corruptPath);
+    });
+  }
+
+  @Test
+  public void testWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new StoryCatalog(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      StoryCatalog.readEntry(null);
+    });
+  }
+}
@@ -1,5 +1,10 @@
 package no.ntnu.idata2001.mappe29.filehandling;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -34,6 +39,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  *  <ul>
  *      <li><b>Positive</b> test that formats the specified story into a list of strings of the
  *      contents of the story file, using valid parameters.</li>
+ *      <li><b>Positive</b> test that writes the specified story to a writer with the same
+ *      contents as the formatted list of strings, using valid parameters.</li>
  *      <li><b>Positive</b> test that parses the specified list of strings of the contents of
  *      the story file into a Story, using valid parameters.</li>
  *      <li><b>Positive</b> test that parses the specified link string into a Link, using
@@ -49,8 +56,12 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * <ul>
  *    <li><b>Negative</b> test that tries to format the specified story into a list of strings
  *    of the contents of the story file, using invalid parameters.</li>
+ *    <li><b>Negative</b> test that tries to write the specified story to a writer, using
+ *    invalid parameters.</li>
  *    <li><b>Negative</b> test that tries to parse the specified list of strings of the contents
  *    of the story file into a Story, using invalid parameters.</li>
+ *    <li><b>Negative</b> test that tries to parse a story file read by a reader or from a path
+ *    into a Story, using invalid parameters.</li>
  *    <li><b>Negative</b> test that tries to parse the specified Link string into a link, using
  *    invalid parameters.</li>
  *    <li><b>Negative</b> test that tries to parse the specified action string into an Action,
@@ -225,7 +236,39 @@ public class StoryFileFormatterTest {
     });
   }
 
+  @Test
+  public void testWriteStoryWithValidParameters() throws Exception {
+    StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
+    Story story = this.createStory();
+    for (int index = 0; index < 500; index++) {
+      Passage passage = new Passage("passage_" + index, "x".repeat(1 + index * 20));
+      passage.addLink(new Link("Go back", "opening_passage"));
+      story.addPassage(passage);
+    }
+
+    StringWriter writer = new StringWriter();
+    storyFileFormatter.writeStory(story, writer);
+    StringBuilder expectedContents = new StringBuilder();
+    for (String line : storyFileFormatter.formatStory(story)) {
+      expectedContents.append(line).append('\n');
+    }
+    assertEquals(expectedContents.toString(), writer.toString());
+    assertEquals(story.getPassages().size(),
+        storyFileFormatter.parseStory(new StringReader(writer.toString())).getPassages().size());
+  }
+
+  @Test
+  public void testWriteStoryWithInvalidParameters() {
+    StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileFormatter.writeStory(null, new StringWriter());
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileFormatter.writeStory(this.createStory(), null);
+    });
+  }
 
+  @Test
   public void testParseStoryWithValidParameters() {
     StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
     Story story = this.createStory();
@@ -245,8 +288,50 @@ public class StoryFileFormatterTest {
     assertEquals(story.getTitle(), parsedStory.getTitle());
     assertEquals(story.getOpeningPassage(), parsedStory.getOpeningPassage());
     assertEquals(story.getPassages().size(), parsedStory.getPassages().size());
+    assertEquals("/images/icons/story_icon.png", parsedStory.getImagePath());
+    assertEquals("/images/backgrounds/default_background.png",
+        parsedStory.getOpeningPassage().getBackgroundImagePath());
   }
 
+  @Test
+  public void testParseStoryFromReaderWithInvalidParameters() {
+    StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileFormatter.parseStory((Reader) null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileFormatter.parseStory((Path) null);
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(new StringReader(""));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(new StringReader("suh dude 123 sda"));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(new StringReader("Troll Adventure\n\n"));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(new StringReader("Troll Adventure\n\nassdas\n"));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(
+          new StringReader("Troll Adventure\n\n::passage\n12sdas\ngfss12\n"));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(new StringReader("Troll Adventure\n\n::passage"));
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyFileFormatter.parseStory(new StringReader(
+          "Troll Adventure\n\n::passage\nA troll\n[Run away] (run_away) {Add 0 gold}\n"));
+    });
+    assertThrows(IOException.class, () -> {
+      storyFileFormatter.parseStory(Path.of("does_not_exist.paths"));
+    });
+  }
+
+  @Test
   public void testParseStoryWithInvalidParameters() {
     StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
     List<String> emptyStoryFileContents = new ArrayList<>();
@@ -254,7 +339,7 @@ public class StoryFileFormatterTest {
     invalidStoryFileContents.add("suh dude 123 sda");
 
     assertThrows(IllegalArgumentException.class, () -> {
-      storyFileFormatter.parseStory(null);
+      storyFileFormatter.parseStory((List<String>) null);
     });
     assertThrows(IllegalArgumentException.class, () -> {
       storyFileFormatter.parseStory(emptyStoryFileContents);
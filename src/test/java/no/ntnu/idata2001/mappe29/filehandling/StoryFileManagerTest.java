@@ -0,0 +1,158 @@
+package no.ntnu.idata2001.mappe29.filehandling;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileFormatter;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileManager;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportListener;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link StoryFileManager StoryFileManager}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that imports story files from a list of paths and reports the
+ *      story files that could not be imported.</li>
+ *      <li><b>Positive</b> test that imports the story files in a directory.</li>
+ *      <li><b>Positive</b> test that reports the progress of an import to a listener.</li>
+ *      <li><b>Positive</b> test that cancels an import through a listener.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to import story files, using invalid parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class StoryFileManagerTest {
+  @TempDir
+  Path storyDirectory;
+
+  /**
+   * Writes a story file with the specified name and lines to the story directory.
+   *
+   * @param fileName the specified file name.
+   * @param lines    the specified lines.
+   * @return the path of the story file.
+   * @throws IOException if the story file cannot be written.
+   */
+  public Path writeStoryFile(String fileName, String... lines) throws IOException {
+    return Files.write(this.storyDirectory.resolve(fileName), List.of(lines),
+        StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testImportStoriesFromPaths() throws IOException {
+    StoryFileManager storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    List<Path> paths = new ArrayList<>();
+    for (int index = 0; index < 20; index++) {
+      paths.add(this.writeStoryFile("corrupt_" + index + ".paths", "Troll Adventure", "",
+          "::opening_passage", "You see a big ugly troll", "gfss12"));
+    }
+    paths.add(this.writeStoryFile("invalid_title.paths", "suh dude 123 sda"));
+    paths.add(this.storyDirectory.resolve("missing.paths"));
+
+    StoryImportResult importResult = storyFileManager.importStories(paths);
+    assertTrue(importResult.getStories().isEmpty());
+    assertTrue(importResult.hasFailedFiles());
+    assertEquals(paths, new ArrayList<>(importResult.getFailedFiles().keySet()));
+    assertEquals("Failed to open story file",
+        importResult.getFailedFiles().get(this.storyDirectory.resolve("missing.paths")));
+
+    StoryImportResult emptyImportResult = storyFileManager.importStories(new ArrayList<>());
+    assertTrue(emptyImportResult.getStories().isEmpty());
+    assertFalse(emptyImportResult.hasFailedFiles());
+  }
+
+  @Test
+  public void testImportStoriesFromDirectory() throws IOException {
+    StoryFileManager storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    this.writeStoryFile("b.paths", "suh dude 123 sda");
+    this.writeStoryFile("a.paths", "");
+    this.writeStoryFile("notes.txt", "Not a story file");
+
+    StoryImportResult importResult = storyFileManager.importStories(this.storyDirectory);
+    List<Path> failedFiles = new ArrayList<>(importResult.getFailedFiles().keySet());
+    assertEquals(2, failedFiles.size());
+    assertEquals(this.storyDirectory.resolve("a.paths"), failedFiles.get(0));
+    assertEquals(this.storyDirectory.resolve("b.paths"), failedFiles.get(1));
+  }
+
+  @Test
+  public void testImportStoriesReportsProgress() throws IOException {
+    StoryFileManager storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    List<Path> paths = new ArrayList<>();
+    long totalBytes = 0;
+    for (int index = 0; index < 5; index++) {
+      Path path = this.writeStoryFile("corrupt_" + index + ".paths", "Troll Adventure", "",
+          "assdas");
+      paths.add(path);
+      totalBytes += Files.size(path);
+    }
+    AtomicLong bytesRead = new AtomicLong();
+
+    storyFileManager.importStories(paths, new StoryImportListener() {
+      @Override
+      public void onBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+      }
+    });
+    assertEquals(totalBytes, bytesRead.get());
+  }
+
+  @Test
+  public void testImportStoriesCanBeCancelled() throws IOException {
+    StoryFileManager storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    List<Path> paths = new ArrayList<>();
+    for (int index = 0; index < 5; index++) {
+      paths.add(this.writeStoryFile("story_" + index + ".paths", "Troll Adventure"));
+    }
+
+    StoryImportResult importResult = storyFileManager.importStories(paths,
+        new StoryImportListener() {
+          @Override
+          public boolean isCancelled() {
+            return true;
+          }
+        });
+    assertTrue(importResult.getStories().isEmpty());
+    assertEquals(5, importResult.getFailedFiles().size());
+    for (String reason : importResult.getFailedFiles().values()) {
+      assertEquals("Import of story file was cancelled", reason);
+    }
+  }
+
+  @Test
+  public void testImportStoriesWithInvalidParameters() {
+    StoryFileManager storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    List<Path> pathsWithNull = new ArrayList<>();
+    pathsWithNull.add(null);
+
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileManager.importStories((Path) null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileManager.importStories((List<Path>) null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileManager.importStories(pathsWithNull);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyFileManager.importStories(new ArrayList<>(), null);
+    });
+    assertThrows(IOException.class, () -> {
+      storyFileManager.importStories(this.storyDirectory.resolve("missing_directory"));
+    });
+  }
+}
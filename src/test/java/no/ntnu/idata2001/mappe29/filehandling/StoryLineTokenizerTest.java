@@ -0,0 +1,215 @@
+package no.ntnu.idata2001.mappe29.filehandling;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.actions.Action;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddHealthAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.AddToInventoryAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceGoldAction;
+import no.ntnu.idata2001.mappe29.model.actions.ReduceScoreAction;
+import no.ntnu.idata2001.mappe29.model.actions.RemoveFromInventoryAction;
+import no.ntnu.idata2001.mappe29.model.exceptions.CorruptStoryException;
+import no.ntnu.idata2001.mappe29.model.exceptions.StringHasNoLinksException;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryLineTokenizer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link StoryLineTokenizer StoryLineTokenizer}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that checks if lines are valid story titles.</li>
+ *      <li><b>Positive</b> test that checks if lines mark a passage without links.</li>
+ *      <li><b>Positive</b> test that parses link lines into links, using valid parameters.</li>
+ *      <li><b>Positive</b> test that parses action strings into actions, using valid
+ *      parameters.</li>
+ *      <li><b>Positive</b> benchmark that parses the link lines of a generated story file and
+ *      reports the number of link lines parsed per second. The target is one million link lines
+ *      per second on a desktop machine. The benchmark is tagged {@code benchmark} and only runs
+ *      with {@code mvn test -Pbenchmark}.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that tries to parse link lines into links, using invalid
+ *    parameters.</li>
+ *    <li><b>Negative</b> test that tries to parse action strings into actions, using invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class StoryLineTokenizerTest {
+  @Test
+  public void testIsValidTitle() {
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+    assertTrue(storyLineTokenizer.isValidTitle("Troll Adventure"));
+    assertFalse(storyLineTokenizer.isValidTitle(""));
+    assertFalse(storyLineTokenizer.isValidTitle("suh dude 123 sda"));
+    assertFalse(storyLineTokenizer.isValidTitle("::opening_passage"));
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyLineTokenizer.isValidTitle(null);
+    });
+  }
+
+  @Test
+  public void testIsNoLinksLine() {
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+    assertTrue(storyLineTokenizer.isNoLinksLine("[no_links]"));
+    assertTrue(storyLineTokenizer.isNoLinksLine("  [no_links] "));
+    assertFalse(storyLineTokenizer.isNoLinksLine("[no_links"));
+    assertFalse(storyLineTokenizer.isNoLinksLine("[no_links_passage] (passage) {}"));
+    assertFalse(storyLineTokenizer.isNoLinksLine(""));
+  }
+
+  @Test
+  public void testParseLinkWithValidParameters() throws StringHasNoLinksException,
+      CorruptStoryException {
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+
+    Link link1 = storyLineTokenizer.parseLink(
+        "[Fight troll] (fight_troll_passage) {Add 30 health, Add shield to inventory}");
+    assertEquals("Fight troll", link1.getText());
+    assertEquals("fight_troll_passage", link1.getReference());
+    assertEquals(2, link1.getActions().size());
+    assertTrue(link1.getActions().get(0) instanceof AddHealthAction);
+    assertTrue(link1.getActions().get(1) instanceof AddToInventoryAction);
+
+    Link link2 = storyLineTokenizer.parseLink("[Confuse troll] (confuse_troll_passage) {}");
+    assertEquals("Confuse troll", link2.getText());
+    assertTrue(link2.getActions().isEmpty());
+
+    Link link3 = storyLineTokenizer.parseLink(
+        "[Run away] (run_away_passage) {no_actions}");
+    assertEquals("run_away_passage", link3.getReference());
+    assertTrue(link3.getActions().isEmpty());
+
+    Link link4 = storyLineTokenizer.parseLink("[Run away] (run_away_passage)");
+    assertEquals("run_away_passage", link4.getReference());
+    assertTrue(link4.getActions().isEmpty());
+
+    Link link5 = storyLineTokenizer.parseLink(
+        "[Distract troll] (distract_troll_passage) {Reduce 1000 points from score,"
+            + "Remove sword from inventory }");
+    assertEquals(2, link5.getActions().size());
+    assertTrue(link5.getActions().get(0) instanceof ReduceScoreAction);
+    assertTrue(link5.getActions().get(1) instanceof RemoveFromInventoryAction);
+  }
+
+  @Test
+  public void testParseLinkWithInvalidParameters() {
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyLineTokenizer.parseLink(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyLineTokenizer.parseLink("   ");
+    });
+    assertThrows(StringHasNoLinksException.class, () -> {
+      storyLineTokenizer.parseLink("[no_links]");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseLink("Run away (run_away_passage)");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseLink("[Run away (run_away_passage)");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseLink("[Run away] run_away_passage");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseLink("[Run away] (run_away_passage) {Add 30 gold");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseLink("[Run away] (run_away_passage) {Steal 30 gold}");
+    });
+  }
+
+  @Test
+  public void testParseActionWithValidParameters() throws CorruptStoryException {
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+
+    Action action1 = storyLineTokenizer.parseAction("Add 300 gold");
+    assertTrue(action1 instanceof AddGoldAction);
+    assertEquals(300, ((AddGoldAction) action1).getGold());
+
+    Action action2 = storyLineTokenizer.parseAction("Add 500 points to score");
+    assertTrue(action2 instanceof AddScoreAction);
+    assertEquals(500, ((AddScoreAction) action2).getPoints());
+
+    Action action3 = storyLineTokenizer.parseAction("Add 2147483648 to inventory");
+    assertTrue(action3 instanceof AddToInventoryAction);
+    assertEquals("2147483648", ((AddToInventoryAction) action3).getItem());
+
+    Action action4 = storyLineTokenizer.parseAction("Reduce 100 gold");
+    assertTrue(action4 instanceof ReduceGoldAction);
+    assertEquals(100, ((ReduceGoldAction) action4).getGold());
+  }
+
+  @Test
+  public void testParseActionWithInvalidParameters() {
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyLineTokenizer.parseAction(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyLineTokenizer.parseAction(" ");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseAction("Add");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseAction("Add 30 mana");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseAction("Reduce sword gold");
+    });
+    assertThrows(CorruptStoryException.class, () -> {
+      storyLineTokenizer.parseAction("Steal 30 gold");
+    });
+  }
+
+  @Test
+  @Tag("benchmark")
+  public void testParseLinkThroughput(@TempDir Path directory) throws Exception {
+    Path storyPath = directory.resolve("benchmark.paths");
+    int linkLineCount = 1_000_000;
+    try (BufferedWriter writer = Files.newBufferedWriter(storyPath, StandardCharsets.UTF_8)) {
+      for (int index = 0; index < linkLineCount; index++) {
+        writer.write("[Seduce troll " + index + "] (seduce_troll_passage_" + index
+            + ") {Add " + (index % 100 + 1) + " gold, Add 500 points to score,"
+            + " Add shield to inventory}");
+        writer.newLine();
+      }
+    }
+    List<String> linkLines = Files.readAllLines(storyPath, StandardCharsets.UTF_8);
+    StoryLineTokenizer storyLineTokenizer = new StoryLineTokenizer();
+    for (String linkLine : linkLines) {
+      storyLineTokenizer.parseLink(linkLine);
+    }
+
+    long startTime = System.nanoTime();
+    int actions = 0;
+    for (String linkLine : linkLines) {
+      actions += storyLineTokenizer.parseLink(linkLine).getActions().size();
+    }
+    long elapsedTime = Math.max(1, System.nanoTime() - startTime);
+    long linkLinesPerSecond = (long) (linkLineCount * 1_000_000_000.0 / elapsedTime);
+    System.out.println("StoryLineTokenizer parsed " + linkLinesPerSecond
+        + " link lines per second");
+
+    assertEquals(3 * linkLineCount, actions);
+    assertTrue(linkLinesPerSecond >= 1_000_000,
+        "Parsed " + linkLinesPerSecond + " link lines per second");
+  }
+}
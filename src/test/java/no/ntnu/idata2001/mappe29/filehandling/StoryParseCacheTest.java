@@ -0,0 +1,267 @@
+package no.ntnu.idata2001.mappe29.filehandling;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import no.ntnu.idata2001.mappe29.model.Link;
+import no.ntnu.idata2001.mappe29.model.Passage;
+import no.ntnu.idata2001.mappe29.model.Story;
+import no.ntnu.idata2001.mappe29.model.actions.AddGoldAction;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileFormatter;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryFileManager;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryImportResult;
+import no.ntnu.idata2001.mappe29.model.filehandling.StoryParseCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the class {@link StoryParseCache StoryParseCache}.
+ * <p>The following positive tests are performed:</p>
+ *  <ul>
+ *      <li><b>Positive</b> test that puts a story in the cache and gets it back, also from a new
+ *      cache for the same directory.</li>
+ *      <li><b>Positive</b> test that the least recently used stories are evicted when the cache
+ *      is full.</li>
+ *      <li><b>Positive</b> test that a story larger than the cache is not cached and does not
+ *      evict other stories.</li>
+ *      <li><b>Positive</b> test that temporary files left behind by a crash are removed when a
+ *      cache is created.</li>
+ *      <li><b>Positive</b> test that puts and gets stories from several threads at once.</li>
+ *      <li><b>Positive</b> test that importing an unchanged story file a second time reads it
+ *      from the cache.</li>
+ *  </ul>
+ * <p>The following negative tests are performed:
+ * <ul>
+ *    <li><b>Negative</b> test that a corrupt cached file is treated as a miss.</li>
+ *    <li><b>Negative</b> test that tries to create and use a cache with invalid
+ *    parameters.</li>
+ * </ul>
+ * </p>
+ */
+public class StoryParseCacheTest {
+  @TempDir
+  Path directory;
+
+  /**
+   * Creates a story with the specified title.
+   *
+   * @param title the specified title.
+   * @return the story.
+   */
+  public Story createStory(String title) {
+    Passage openingPassage = new Passage("Market", "A busy market square");
+    Link buyLink = new Link("Sell your boots", "Harbour");
+    buyLink.addAction(new AddGoldAction(3));
+    openingPassage.addLink(buyLink);
+    Story story = new Story(title, openingPassage);
+    story.addPassage(new Passage("Harbour", "Ships are waiting in the harbour"));
+    return story;
+  }
+
+  /**
+   * Gets the contents of a text story file of the specified story.
+   *
+   * @param story the specified story.
+   * @return the contents of the text story file.
+   * @throws Exception if the story cannot be formatted.
+   */
+  private static byte[] getContents(Story story) throws Exception {
+    return String.join("\n", new StoryFileFormatter().formatStory(story))
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes a text story file of the specified story and gets its cache key.
+   *
+   * @param story the specified story.
+   * @return the cache key of the text story file.
+   * @throws Exception if the story cannot be written.
+   */
+  private String getKey(Story story) throws Exception {
+    Path storyPath = this.directory.resolve(story.getTitle() + ".paths");
+    Files.write(storyPath, getContents(story));
+    return StoryParseCache.getKey(storyPath);
+  }
+
+  @Test
+  public void testPutAndGetStory() throws Exception {
+    Path cacheDirectory = this.directory.resolve("cache");
+    StoryParseCache storyParseCache = new StoryParseCache(cacheDirectory);
+    Story story = this.createStory("Harbour town");
+    String key = this.getKey(story);
+    assertEquals(64, key.length());
+    assertNull(storyParseCache.getStory(key));
+    storyParseCache.putStory(key, story);
+    Story cachedStory = storyParseCache.getStory(key);
+    StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
+    assertEquals(storyFileFormatter.formatStory(story),
+        storyFileFormatter.formatStory(cachedStory));
+    assertEquals(1, storyParseCache.getHitCount());
+    assertEquals(1, storyParseCache.getMissCount());
+
+    StoryParseCache reopenedCache = new StoryParseCache(cacheDirectory);
+    assertEquals(storyParseCache.getCachedBytes(), reopenedCache.getCachedBytes());
+    assertEquals("Harbour town", reopenedCache.getStory(key).getTitle());
+    assertNull(reopenedCache.getStory(this.getKey(this.createStory("Other town"))));
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsedStories() throws Exception {
+    Path cacheDirectory = this.directory.resolve("cache");
+    Story story = this.createStory("Town A");
+    new StoryParseCache(cacheDirectory).putStory(this.getKey(story), story);
+    Path storyPath = Files.list(cacheDirectory).findFirst().orElseThrow();
+    long storyBytes = Files.size(storyPath);
+    Files.setLastModifiedTime(storyPath, FileTime.fromMillis(1000));
+
+    StoryParseCache storyParseCache = new StoryParseCache(cacheDirectory, storyBytes * 2);
+    for (int index = 1; index < 4; index++) {
+      Story townStory = this.createStory("Town " + (char) ('A' + index));
+      storyParseCache.putStory(this.getKey(townStory), townStory);
+    }
+    assertEquals(2, storyParseCache.getEvictionCount());
+    assertTrue(storyParseCache.getCachedBytes() <= storyBytes * 2);
+    assertNull(storyParseCache.getStory(this.getKey(story)));
+    assertEquals("Town D",
+        storyParseCache.getStory(this.getKey(this.createStory("Town D"))).getTitle());
+  }
+
+  @Test
+  public void testStoryLargerThanCacheIsNotCached() throws Exception {
+    Path cacheDirectory = this.directory.resolve("cache");
+    Story story = this.createStory("Town A");
+    String key = this.getKey(story);
+    new StoryParseCache(cacheDirectory).putStory(key, story);
+    long storyBytes = Files.size(Files.list(cacheDirectory).findFirst().orElseThrow());
+
+    StoryParseCache storyParseCache = new StoryParseCache(cacheDirectory, storyBytes);
+    Story largeStory = this.createStory("Town B by the sea with a very busy market square");
+    String largeKey = this.getKey(largeStory);
+    storyParseCache.putStory(largeKey, largeStory);
+    assertEquals(0, storyParseCache.getEvictionCount());
+    assertEquals(storyBytes, storyParseCache.getCachedBytes());
+    assertNull(storyParseCache.getStory(largeKey));
+    assertEquals("Town A", storyParseCache.getStory(key).getTitle());
+    assertEquals(1, Files.list(cacheDirectory).count());
+  }
+
+  @Test
+  public void testRemoveTemporaryFiles() throws Exception {
+    Path cacheDirectory = Files.createDirectories(this.directory.resolve("cache"));
+    String key = this.getKey(this.createStory("Harbour town"));
+    Path temporaryPath = Files.write(cacheDirectory.resolve(key + "12345.tmp"),
+        new byte[] {1, 2, 3});
+    Path otherPath = Files.write(cacheDirectory.resolve("catalog.index.tmp"), new byte[] {1});
+    StoryParseCache storyParseCache = new StoryParseCache(cacheDirectory);
+    assertFalse(Files.exists(temporaryPath));
+    assertTrue(Files.exists(otherPath));
+    assertEquals(0, storyParseCache.getCachedBytes());
+  }
+
+  @Test
+  public void testConcurrentGetAndPutStory() throws Exception {
+    StoryParseCache storyParseCache = new StoryParseCache(this.directory.resolve("cache"));
+    List<String> keys = new ArrayList<>();
+    List<Story> stories = new ArrayList<>();
+    for (int index = 0; index < 8; index++) {
+      Story story = this.createStory("Town " + (char) ('A' + index));
+      keys.add(this.getKey(story));
+      stories.add(story);
+    }
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int index = 0; index < keys.size(); index++) {
+        String key = keys.get(index);
+        Story story = stories.get(index);
+        futures.add(executorService.submit(() -> {
+          storyParseCache.putStory(key, story);
+          return storyParseCache.getStory(key).getTitle();
+        }));
+      }
+      for (int index = 0; index < keys.size(); index++) {
+        assertEquals(stories.get(index).getTitle(), futures.get(index).get());
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    assertEquals(keys.size(), storyParseCache.getHitCount());
+    assertEquals(0, storyParseCache.getMissCount());
+  }
+
+  @Test
+  public void testImportUnchangedStoryFromCache() throws Exception {
+    Path storyPath = this.directory.resolve("harbour.paths");
+    Files.write(storyPath, getContents(this.createStory("Harbour town")));
+    StoryFileManager storyFileManager = new StoryFileManager(new StoryFileFormatter());
+    StoryParseCache storyParseCache = new StoryParseCache(this.directory.resolve("cache"));
+    storyFileManager.setStoryParseCache(storyParseCache);
+
+    StoryImportResult firstResult = storyFileManager.importStories(List.of(storyPath));
+    StoryImportResult secondResult = storyFileManager.importStories(List.of(storyPath));
+    assertFalse(secondResult.hasFailedFiles());
+    assertEquals(1, storyParseCache.getMissCount());
+    assertEquals(1, storyParseCache.getHitCount());
+    StoryFileFormatter storyFileFormatter = new StoryFileFormatter();
+    assertEquals(storyFileFormatter.formatStory(firstResult.getStories().get(0)),
+        storyFileFormatter.formatStory(secondResult.getStories().get(0)));
+
+    Path brokenPath = this.directory.resolve("broken.paths");
+    Files.writeString(brokenPath,
+        "Broken\n\n::Market\nA market\n[Leave] (Nowhere) {no_actions}\n");
+    storyFileManager.importStories(List.of(brokenPath));
+    assertTrue(storyFileManager.importStories(List.of(brokenPath)).hasFailedFiles());
+    assertEquals(1, storyParseCache.getHitCount());
+  }
+
+  @Test
+  public void testCorruptCachedFile() throws Exception {
+    Path cacheDirectory = this.directory.resolve("cache");
+    StoryParseCache storyParseCache = new StoryParseCache(cacheDirectory);
+    Story story = this.createStory("Harbour town");
+    String key = this.getKey(story);
+    storyParseCache.putStory(key, story);
+    Path cachedPath = Files.list(cacheDirectory).findFirst().orElseThrow();
+    Files.write(cachedPath, new byte[] {1, 2, 3});
+
+    assertNull(storyParseCache.getStory(key));
+    assertFalse(Files.exists(cachedPath));
+    assertEquals(0, storyParseCache.getCachedBytes());
+  }
+
+  @Test
+  public void testWithInvalidParameters() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new StoryParseCache(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      new StoryParseCache(this.directory, 0);
+    });
+    StoryParseCache storyParseCache = new StoryParseCache(this.directory);
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyParseCache.getStory(null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyParseCache.getStory("../harbour");
+    });
+    String key = this.getKey(this.createStory("Harbour town"));
+    assertThrows(IllegalArgumentException.class, () -> {
+      storyParseCache.putStory(key, null);
+    });
+    assertThrows(IllegalArgumentException.class, () -> {
+      StoryParseCache.getKey((Path) null);
+    });
+  }
+}
@@ -0,0 +1,118 @@
+package no.ntnu.idata2001.mappe29.goals;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.ntnu.idata2001.mappe29.model.Player;
+import no.ntnu.idata2001.mappe29.model.goals.Goal;
+import no.ntnu.idata2001.mappe29.model.goals.GoalListener;
+import no.ntnu.idata2001.mappe29.model.goals.GoalTracker;
+import no.ntnu.idata2001.mappe29.model.goals.GoldGoal;
+import no.ntnu.idata2001.mappe29.model.goals.HealthGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ItemGoal;
+import no.ntnu.idata2001.mappe29.model.goals.ScoreGoal;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the {@link GoalTracker GoalTracker} class.
+ * <p>The following positive tests are performed:</p>
+ * <ul>
+ *   <li><b>Positive</b> test that tracks gold, health, score and item goals while the stats of
+ *   the player change, and compares the result with evaluating every goal.</li>
+ *   <li><b>Positive</b> test that notifies goal listeners when goals are fulfilled and no longer
+ *   fulfilled.</li>
+ * </ul>
+ * The following negative tests are performed:
+ *  <ul>
+ *     <li><b>Negative</b> test that tries to create a tracker and add a listener with invalid
+ *     parameters.</li>
+ *  </ul>
+ *  </p>
+ */
+public class GoalTrackerTest {
+
+  /**
+   * Creates a player with gold, health, score and item goals.
+   *
+   * @return the player.
+   */
+  private Player createPlayer() {
+    List<Goal> goals = new ArrayList<>();
+    goals.add(new GoldGoal(50));
+    goals.add(new GoldGoal(10));
+    goals.add(new GoldGoal(30));
+    goals.add(new HealthGoal(80));
+    goals.add(new ScoreGoal(20));
+    goals.add(new ItemGoal("sword"));
+    return new Player.PlayerBuilder().withHealth(90).withGoals(goals).build();
+  }
+
+  @Test
+  public void testTrackGoals() {
+    Player player = this.createPlayer();
+    GoalTracker goalTracker = new GoalTracker(player);
+    assertEquals(1, goalTracker.getFulfilledGoalCount());
+
+    player.addGold(35);
+    player.reduceHealth(20);
+    player.addScore(25);
+    player.addToInventory("sword");
+    for (Goal goal : player.getGoals()) {
+      assertEquals(goal.isFulfilled(player), goalTracker.isFulfilled(goal));
+    }
+    assertEquals(4, goalTracker.getFulfilledGoalCount());
+
+    player.addGold(20);
+    player.addHealth(30);
+    assertTrue(goalTracker.areAllGoalsFulfilled());
+
+    player.reduceGold(45);
+    player.removeFromInventory("sword");
+    for (Goal goal : player.getGoals()) {
+      assertEquals(goal.isFulfilled(player), goalTracker.isFulfilled(goal));
+    }
+
+    goalTracker.detach();
+    player.addGold(100);
+    assertFalse(goalTracker.areAllGoalsFulfilled());
+  }
+
+  @Test
+  public void testGoalListener() {
+    Player player = this.createPlayer();
+    GoalTracker goalTracker = new GoalTracker(player);
+    List<String> changes = new ArrayList<>();
+    goalTracker.addGoalListener(new GoalListener() {
+      @Override
+      public void onGoalFulfilled(Goal goal) {
+        changes.add("fulfilled " + goal.getClass().getSimpleName());
+      }
+
+      @Override
+      public void onGoalUnfulfilled(Goal goal) {
+        changes.add("unfulfilled " + goal.getClass().getSimpleName());
+      }
+    });
+
+    player.addToInventory("sword");
+    player.addGold(15);
+    player.reduceHealth(50);
+    assertEquals(List.of("fulfilled ItemGoal", "fulfilled GoldGoal", "unfulfilled HealthGoal"),
+        changes);
+  }
+
+  @Test
+  public void testCreationWithInvalidParameters() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new GoalTracker(null);
+    });
+    GoalTracker goalTracker = new GoalTracker(this.createPlayer());
+    assertThrows(IllegalArgumentException.class, () -> {
+      goalTracker.addGoalListener(null);
+    });
+  }
+}